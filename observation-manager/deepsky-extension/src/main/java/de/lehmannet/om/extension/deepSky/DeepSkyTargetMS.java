@@ -1,10 +1,10 @@
 package de.lehmannet.om.extension.deepSky;
 
 import de.lehmannet.om.IObserver;
-import de.lehmannet.om.ISchemaElement;
 import de.lehmannet.om.ITarget;
 import de.lehmannet.om.ITargetContaining;
 import de.lehmannet.om.RootElement;
+import de.lehmannet.om.SerializationContext;
 import de.lehmannet.om.Target;
 import de.lehmannet.om.TargetStar;
 import de.lehmannet.om.util.SchemaException;
@@ -15,7 +15,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
@@ -145,39 +144,19 @@ public class DeepSkyTargetMS extends Target implements ITargetContaining {
         Document ownerDoc = element.getOwnerDocument();
 
         // Get or create the container element
-        Element e_Targets = null;
-        NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_TARGET_CONTAINER);
-        if (nodeList.getLength() == 0) { // we're the first element. Create container element
+        Element e_Targets = SerializationContext.getContainer(ownerDoc, RootElement.XML_TARGET_CONTAINER);
+        if (e_Targets == null) { // we're the first element. Create container element
             e_Targets = ownerDoc.createElement(RootElement.XML_TARGET_CONTAINER);
-        } else {
-            e_Targets = (Element) nodeList.item(0); // there should be only one container element
         }
 
         // Check if this element doesn't exist so far
-        nodeList = e_Targets.getElementsByTagName(ITarget.XML_ELEMENT_TARGET);
-        if (nodeList.getLength() > 0) {
-            Node currentNode = null;
-            NamedNodeMap attributes = null;
-            for (int i = 0; i < nodeList.getLength(); i++) { // iterate over all found nodes
-                currentNode = nodeList.item(i);
-                attributes = currentNode.getAttributes();
-                Node idAttribute = attributes.getNamedItem(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID);
-                if ((idAttribute != null) // if ID attribute is set and equals this objects ID, return existing element
-                        && (idAttribute
-                                .getNodeValue()
-                                .trim()
-                                .equals(this.getID().trim()))) {
-                    // Not sure if this is good!? Maybe we should return currentNode and make
-                    // doublicity check in caller
-                    // class!?
-                    return;
-                }
-            }
+        if (!SerializationContext.isNewElement(e_Targets, ITarget.XML_ELEMENT_TARGET, this.getID())) {
+            return;
         }
 
         // Create the new target element
         Element e_MSTarget = this.createXmlTargetElement(e_Targets);
-        e_Targets.appendChild(e_MSTarget);
+        SerializationContext.appendElement(e_Targets, e_MSTarget);
 
         // Check if element already exists
         if (e_MSTarget == null) {
@@ -1,5 +1,6 @@
 package de.lehmannet.om.ui.extension.deepSky;
 
+import de.lehmannet.om.GenericFinding;
 import de.lehmannet.om.IFinding;
 import de.lehmannet.om.IObservation;
 import de.lehmannet.om.ISchemaElement;
@@ -23,7 +24,6 @@ import de.lehmannet.om.extension.deepSky.DeepSkyTargetPN;
 import de.lehmannet.om.extension.deepSky.DeepSkyTargetQS;
 import de.lehmannet.om.extension.deepSky.DeepSkyTargetSC;
 import de.lehmannet.om.ui.catalog.ICatalog;
-import de.lehmannet.om.ui.catalog.IListableCatalog;
 import de.lehmannet.om.ui.dialog.IDialog;
 import de.lehmannet.om.ui.dialog.ITargetDialog;
 import de.lehmannet.om.ui.extension.AbstractExtension;
@@ -31,6 +31,7 @@ import de.lehmannet.om.ui.extension.IExtensionContext;
 import de.lehmannet.om.ui.extension.PopupMenuExtension;
 import de.lehmannet.om.ui.extension.deepSky.catalog.CaldwellCatalog;
 import de.lehmannet.om.ui.extension.deepSky.catalog.DeepSkyTableModel;
+import de.lehmannet.om.ui.extension.deepSky.catalog.HCNGCCatalog;
 import de.lehmannet.om.ui.extension.deepSky.catalog.ICCatalog;
 import de.lehmannet.om.ui.extension.deepSky.catalog.MessierCatalog;
 import de.lehmannet.om.ui.extension.deepSky.catalog.NGCCatalog;
@@ -43,12 +44,14 @@ import java.net.URL;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.function.Supplier;
 import javax.swing.JFrame;
 import javax.swing.JMenu;
 import org.w3c.dom.Document;
@@ -95,92 +98,118 @@ public class DeepSkyExtension extends AbstractExtension {
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.deepSky.DeepSkyTargetDN")
                 .targetType("oal:deepSkyDN")
+                .targetFactory(DeepSkyTargetDN::new)
                 .findingClassName("de.lehmannet.om.extension.deepSky.DeepSkyFinding")
                 .findingType("oal:findingsDeepSkyType")
+                .findingFactory(DeepSkyFinding::new)
                 .build());
 
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.deepSky.DeepSkyTargetDS")
                 .targetType("oal:deepSkyDS")
+                .targetFactory(DeepSkyTargetDS::new)
                 .findingClassName("de.lehmannet.om.extension.deepSky.DeepSkyFindingDS")
                 .findingType("oal:findingsDeepSkyDSType")
+                .findingFactory(DeepSkyFindingDS::new)
                 .build());
 
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.deepSky.DeepSkyTargetGC")
                 .targetType("oal:deepSkyGC")
+                .targetFactory(DeepSkyTargetGC::new)
                 .findingClassName("de.lehmannet.om.extension.deepSky.DeepSkyFinding")
                 .findingType("oal:findingsDeepSkyType")
+                .findingFactory(DeepSkyFinding::new)
                 .build());
 
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.deepSky.DeepSkyTargetGN")
                 .targetType("oal:deepSkyGN")
+                .targetFactory(DeepSkyTargetGN::new)
                 .findingClassName("de.lehmannet.om.extension.deepSky.DeepSkyFinding")
                 .findingType("oal:findingsDeepSkyType")
+                .findingFactory(DeepSkyFinding::new)
                 .build());
 
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.deepSky.DeepSkyTargetGX")
                 .targetType("oal:deepSkyGX")
+                .targetFactory(DeepSkyTargetGX::new)
                 .findingClassName("de.lehmannet.om.extension.deepSky.DeepSkyFinding")
                 .findingType("oal:findingsDeepSkyType")
+                .findingFactory(DeepSkyFinding::new)
                 .build());
 
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.deepSky.DeepSkyTargetOC")
                 .targetType("oal:deepSkyOC")
+                .targetFactory(DeepSkyTargetOC::new)
                 .findingClassName("de.lehmannet.om.extension.deepSky.DeepSkyFindingOC")
                 .findingType("oal:findingsDeepSkyOCType")
+                .findingFactory(DeepSkyFindingOC::new)
                 .build());
 
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.deepSky.DeepSkyTargetPN")
                 .targetType("oal:deepSkyPN")
+                .targetFactory(DeepSkyTargetPN::new)
                 .findingClassName("de.lehmannet.om.extension.deepSky.DeepSkyFinding")
                 .findingType("oal:findingsDeepSkyType")
+                .findingFactory(DeepSkyFinding::new)
                 .build());
 
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.deepSky.DeepSkyTargetQS")
                 .targetType("oal:deepSkyQS")
+                .targetFactory(DeepSkyTargetQS::new)
                 .findingClassName("de.lehmannet.om.extension.deepSky.DeepSkyFinding")
                 .findingType("oal:findingsDeepSkyType")
+                .findingFactory(DeepSkyFinding::new)
                 .build());
 
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.deepSky.DeepSkyTargetNA")
                 .targetType("oal:deepSkyNA")
+                .targetFactory(DeepSkyTargetNA::new)
                 .findingClassName("de.lehmannet.om.GenericFinding")
                 .findingType("oal:findingsType")
+                .findingFactory(GenericFinding::new)
                 .build());
 
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.deepSky.DeepSkyTargetAS")
                 .targetType("oal:deepSkyAS")
+                .targetFactory(DeepSkyTargetAS::new)
                 .findingClassName("de.lehmannet.om.extension.deepSky.DeepSkyFinding")
                 .findingType("oal:findingsDeepSkyType")
+                .findingFactory(DeepSkyFinding::new)
                 .build());
 
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.deepSky.DeepSkyTargetSC")
                 .targetType("oal:deepSkySC")
+                .targetFactory(DeepSkyTargetSC::new)
                 .findingClassName("de.lehmannet.om.extension.deepSky.DeepSkyFinding")
                 .findingType("oal:findingsDeepSkyType")
+                .findingFactory(DeepSkyFinding::new)
                 .build());
 
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.deepSky.DeepSkyTargetMS")
                 .targetType("oal:deepSkyMS")
+                .targetFactory(DeepSkyTargetMS::new)
                 .findingClassName("de.lehmannet.om.GenericFinding")
                 .findingType("oal:findingsType")
+                .findingFactory(GenericFinding::new)
                 .build());
 
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.deepSky.DeepSkyTargetCG")
                 .targetType("oal:deepSkyCG")
+                .targetFactory(DeepSkyTargetCG::new)
                 .findingClassName("de.lehmannet.om.extension.deepSky.DeepSkyFinding")
                 .findingType("oal:findingsDeepSkyType")
+                .findingFactory(DeepSkyFinding::new)
                 .build());
     }
 
@@ -230,18 +259,22 @@ public class DeepSkyExtension extends AbstractExtension {
     @Override
     public ICatalog[] getCatalogs(File catalogDir) {
 
-        IListableCatalog messier =
-                new MessierCatalog(new File(catalogDir.getAbsoluteFile() + File.separator + "deepSky/messier"));
-        IListableCatalog ngc =
-                new NGCCatalog(new File(catalogDir.getAbsoluteFile() + File.separator + "deepSky/NGC2009"));
-        IListableCatalog ic = new ICCatalog(new File(catalogDir.getAbsoluteFile() + File.separator + "deepSky/IC2009"));
-        // @since 0.81: Replaced with NGC/IC2009 by Wolfgang Steinicke
-        // IListableCatalog hcngc = new HCNGCCatalog(new
-        // File(catalogDir.getAbsoluteFile() + File.separator + "deepSky/HCNGC"));
-        IListableCatalog caldwell =
-                new CaldwellCatalog(new File(catalogDir.getAbsoluteFile() + File.separator + "deepSky/caldwell"));
-
-        return new ICatalog[] {messier, ngc, ic, caldwell};
+        return this.getCatalogLoaders(catalogDir).stream().map(Supplier::get).toArray(ICatalog[]::new);
+    }
+
+    @Override
+    public List<Supplier<ICatalog>> getCatalogLoaders(File catalogDir) {
+
+        String path = catalogDir.getAbsolutePath() + File.separator;
+
+        return List.of(
+                () -> new MessierCatalog(new File(path + "deepSky/messier")),
+                () -> new NGCCatalog(new File(path + "deepSky/NGC2009")),
+                () -> new ICCatalog(new File(path + "deepSky/IC2009")),
+                // @since 0.81: Replaced with NGC/IC2009 by Wolfgang Steinicke
+                // Still available, its targets are read on demand
+                () -> new HCNGCCatalog(new File(path + "deepSky/HCNGC")),
+                () -> new CaldwellCatalog(new File(path + "deepSky/caldwell")));
     }
 
     @Override
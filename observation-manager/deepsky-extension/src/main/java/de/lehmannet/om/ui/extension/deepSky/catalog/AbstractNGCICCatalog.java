@@ -8,7 +8,6 @@
 package de.lehmannet.om.ui.extension.deepSky.catalog;
 
 import de.lehmannet.om.Angle;
-import de.lehmannet.om.Constellation;
 import de.lehmannet.om.EquPosition;
 import de.lehmannet.om.ITarget;
 import de.lehmannet.om.SurfaceBrightness;
@@ -27,48 +26,48 @@ import de.lehmannet.om.ui.catalog.IListableCatalog;
 import de.lehmannet.om.ui.navigation.tableModel.AbstractSchemaTableModel;
 import de.lehmannet.om.ui.panel.AbstractSearchPanel;
 import de.lehmannet.om.ui.panel.GenericListableCatalogSearchPanel;
-import de.lehmannet.om.util.FloatUtil;
-import java.io.BufferedReader;
+import de.lehmannet.om.util.InternPool;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 public abstract class AbstractNGCICCatalog implements IListableCatalog {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractNGCICCatalog.class);
+    // The catalog lines, null if the catalog cannot be loaded
+    private final CompiledNGCICCatalog catalog;
 
     // Key = NGC/IC Number
-    // Value = ITarget
-    private final Map<String, ITarget> map = new LinkedHashMap<>();
+    // Value = Record in compiled catalog
+    private final Map<String, Integer> index = new LinkedHashMap<>();
 
-    private AbstractSchemaTableModel tableModel = null;
+    // Targets are created on first access, by record
+    private final ITarget[] targets;
+
+    // Types and diameters repeat a lot, share equal values between the targets
+    private final InternPool pool = InternPool.getShared();
 
-    private static final Logger LOG = LoggerFactory.getLogger(AbstractNGCICCatalog.class);
+    private AbstractSchemaTableModel tableModel = null;
 
     AbstractNGCICCatalog(File catalogFile) {
 
-        // Load targets into memory.
-        // In case or problems aboard
-        if (!this.loadTargets(catalogFile)) {
+        this.catalog = CompiledNGCICCatalog.open(catalogFile);
+        if (this.catalog == null) { // In case or problems aboard
+            this.targets = new ITarget[0];
             return;
         }
 
-        // Do this after the targets are loaded
-        this.tableModel = new DeepSkyTableModel(this);
+        for (int i = 0; i < this.catalog.size(); i++) {
+            this.index.put(this.catalog.getName(i), i);
+        }
+        this.targets = new ITarget[this.catalog.size()];
     }
 
     @Override
-    public AbstractSchemaTableModel getTableModel() {
+    public synchronized AbstractSchemaTableModel getTableModel() {
 
+        if ((this.tableModel == null) && (this.catalog != null)) {
+            this.tableModel = new DeepSkyTableModel(this);
+        }
         return this.tableModel;
     }
 
@@ -81,19 +80,49 @@ public abstract class AbstractNGCICCatalog implements IListableCatalog {
     @Override
     public ITarget getTarget(String objectName) {
 
-        return (ITarget) this.map.get(objectName);
+        Integer record = this.index.get(objectName);
+        if (record == null) {
+            return null;
+        }
+        return this.getTarget(record);
     }
 
     @Override
     public ITarget[] getTargets() {
 
-        return (ITarget[]) this.map.values().toArray(new ITarget[] {});
+        return this.getTargets(0, this.targets.length);
+    }
+
+    @Override
+    public ITarget[] getTargets(int from, int count) {
+
+        int to = Math.min(from + count, this.targets.length);
+        if (from >= to) {
+            return new ITarget[0];
+        }
+
+        ITarget[] result = new ITarget[to - from];
+        for (int i = from; i < to; i++) {
+            result[i - from] = this.getTarget(i);
+        }
+        return result;
     }
 
     @Override
     public String[] getCatalogIndex() {
 
-        return (String[]) this.map.keySet().toArray(new String[] {});
+        return (String[]) this.index.keySet().toArray(new String[] {});
+    }
+
+    @Override
+    public String[] getAliasNames(String objectName) {
+
+        // Read from the compiled catalog, without creating the target
+        Integer record = this.index.get(objectName);
+        if (record == null) {
+            return null;
+        }
+        return this.catalog.getAliasNames(record);
     }
 
     @Override
@@ -102,392 +131,221 @@ public abstract class AbstractNGCICCatalog implements IListableCatalog {
     @Override
     public abstract String getName();
 
-    private boolean loadTargets(File file) {
-
-        // Check catalog file
-        Reader reader = null;
+    private synchronized ITarget getTarget(int record) {
 
-        try {
-            reader = new InputStreamReader(new FileInputStream(file));
-        } catch (FileNotFoundException fnfe) {
-            LOG.error("File not found: {}", file);
-            return false;
+        if (this.targets[record] == null) {
+            this.targets[record] = this.createTarget(record);
         }
+        return this.targets[record];
+    }
 
-        try (BufferedReader bufferedReader = new BufferedReader(reader); ) {
-
-            // Line Data
-            String catalogPrefix = null;
-            String catalogNumber = null;
-            String extension = null;
-            String components = null;
-            String constellation = null;
-            Constellation con = null;
-            String ra = null;
-            String dec = null;
-            EquPosition position = null;
-            String vMag = null;
-            String surfaceBrightness = null;
-            String diameterLage = null;
-            String diameterSmall = null;
-            String positionAngle = null;
-            String type = null;
-            String pgcNumber = null;
-            List<String> aliasNames = new ArrayList<>();
-
-            // Get each line and create target
-            String line = null;
-            String[] tokens = null;
-            ITarget target = null;
-            int index = 0;
-
-            try {
-                line = bufferedReader.readLine();
-            } catch (IOException ioe) {
-                LOGGER.error("Error reading first line from: {}. Catalog cannot be loaded.", file, ioe);
-                return false;
-            }
+    private ITarget createTarget(int record) {
 
-            while (line != null) {
+        String catalogNumber = this.catalog.getName(record);
+        String type = this.pool.intern(this.catalog.getType(record));
+        float vMag = this.catalog.getVisibleMagnitude(record);
+        float surfaceBrightness = this.catalog.getSurfaceBrightness(record);
+        float diameterLarge = this.catalog.getLargeDiameter(record);
+        float diameterSmall = this.catalog.getSmallDiameter(record);
+        int positionAngle = this.catalog.getPositionAngle(record);
 
-                // --------------- Line parsing start
+        // --------------- Create ITarget object depending on type
 
-                if ("".equals(line.trim())) { // Empty line.
-                    continue;
-                }
+        ITarget target = null;
 
-                // Split line into all 34 elements
-                tokens = line.split(";", 34);
+        // Stars
+        if (type.startsWith("*")) {
+            if ("*".equals(type)) { // Single star
 
-                // Get NGC or IC prefix
-                catalogPrefix = tokens[index++];
-                if ("N".equals(catalogPrefix)) {
-                    catalogPrefix = "NGC";
-                } else {
-                    catalogPrefix = "IC";
+                target = new TargetStar(catalogNumber, this.getName());
+                if (!Float.isNaN(vMag)) {
+                    ((TargetStar) target).setMagnitudeApparent(vMag);
                 }
 
-                // Build catalogNumber (like NGC123)
-                catalogNumber = catalogPrefix + tokens[index++];
+            } else if ("*2".equals(type)) { // Double star
 
-                // Catalog Number extension like A,B (if any)
-                extension = tokens[index++];
-                if (!"".equals(extension)) {
-                    catalogNumber = catalogNumber + extension;
+                target = new DeepSkyTargetDS(catalogNumber, this.getName());
+                if (positionAngle != CompiledNGCICCatalog.NO_POSITION_ANGLE) {
+                    ((DeepSkyTargetDS) target).setPositionAngle(positionAngle);
                 }
 
-                // Catalog Number extension like A,B (if any)
-                components = tokens[index++];
-                if (!"".equals(components)) {
-                    catalogNumber = catalogNumber + "-" + components;
-                }
+            } else { // Asterism (Multiple star system cannot be created
+                // due to insufficient information from catalog)
+                // therefore everything after double star is an asterism
 
-                // We're not interested in the next 3 entries
-                // - Dreyer object (seen/listed by Dreyer?)
-                // - Status of identification
-                // - Precision flag
-                index = index + 3;
-
-                // Constellation
-                constellation = tokens[index++];
-                con = Constellation.getConstellationByAbbOrName(constellation);
-
-                // Right ascension
-                ra = tokens[index++]
-                        + EquPosition.RA_HOUR
-                        + tokens[index++]
-                        + EquPosition.RA_MIN
-                        + tokens[index++]
-                        + EquPosition.RA_SEC;
-                ra = ra.replace(',', '.'); // Second value can contain , a decimal separator
-
-                // Declination
-                dec = tokens[index++]
-                        + tokens[index++]
-                        + EquPosition.DEC_DEG
-                        + tokens[index++]
-                        + EquPosition.DEC_MIN
-                        + tokens[index++]
-                        + EquPosition.DEC_SEC;
-
-                position = new EquPosition(ra, dec);
-
-                // Photographic (blue) magnitude (Bmag) is not of interest for us
-                index++;
-
-                // Visual magnitude
-                vMag = tokens[index++];
-                vMag = vMag.replace(',', '.');
-
-                // Surface Brightness
-                surfaceBrightness = tokens[index++];
-                surfaceBrightness = surfaceBrightness.replace(',', '.');
-
-                // Diameter
-                diameterLage = tokens[index++];
-                diameterLage = diameterLage.replace(',', '.');
-                diameterSmall = tokens[index++];
-                diameterSmall = diameterSmall.replace(',', '.');
-
-                // Position angle
-                positionAngle = tokens[index++];
-
-                // Type (Galaxy, star, ...)
-                type = tokens[index++];
-
-                // PGC number + Aliasnames
-                pgcNumber = tokens[index++];
-                if (!"".equals(pgcNumber)) {
-                    aliasNames.add("PGC " + pgcNumber);
+                target = new DeepSkyTargetAS(catalogNumber, this.getName());
+                if (positionAngle != CompiledNGCICCatalog.NO_POSITION_ANGLE) {
+                    ((DeepSkyTargetAS) target).setPositionAngle(positionAngle);
                 }
+            }
+        } else if (type.startsWith("OCL") // Open Cluster (check with startsWith as sometimes it's OCL+EN (NGC
+                // 361)
+                // )
+                || type.startsWith("I1")
+                || type.startsWith("I2")
+                || type.startsWith("I3")
+                || type.startsWith("II1")
+                || type.startsWith("II2")
+                || type.startsWith("II3")
+                || type.startsWith("III1")
+                || type.startsWith("III2")
+                || type.startsWith("III3")
+                || type.startsWith("IV1")
+                || type.startsWith("IV2")
+                || type.startsWith("IV3")) {
+
+            target = new DeepSkyTargetOC(catalogNumber, this.getName());
+            if (type.startsWith("I1") // Truempler classification
+                    || type.startsWith("I2")
+                    || type.startsWith("I3")
+                    || type.startsWith("II1")
+                    || type.startsWith("II2")
+                    || type.startsWith("II3")
+                    || type.startsWith("III1")
+                    || type.startsWith("III2")
+                    || type.startsWith("III3")
+                    || type.startsWith("IV1")
+                    || type.startsWith("IV2")
+                    || type.startsWith("IV3")
+                    || type.startsWith("OCL")) {
+                ((DeepSkyTargetOC) target).setClusterClassification(type);
+            }
 
-                // Add all remaining aliasNames
-                for (; index < tokens.length; index++) {
-                    if (!"".equals(tokens[index])) {
-                        aliasNames.add(tokens[index]);
-                    } else {
-                        break; // After the first empty token, there won't be additional tokens
-                    }
-                }
+        } else if ("GCL".equals(type) // Globular Cluster
+                || "I".equals(type)
+                || "II".equals(type)
+                || "III".equals(type)
+                || "IV".equals(type)
+                || "V".equals(type)
+                || "VI".equals(type)
+                || "VII".equals(type)
+                || "VIII".equals(type)
+                || "IX".equals(type)
+                || "X".equals(type)
+                || "XI".equals(type)
+                || "XII".equals(type)) {
+
+            target = new DeepSkyTargetGC(catalogNumber, this.getName());
+            if ("I".equals(type) // Shapley Sawyer Globular Cluster Concentration
+                    || "II".equals(type)
+                    || "III".equals(type)
+                    || "IV".equals(type)
+                    || "V".equals(type)
+                    || "VI".equals(type)
+                    || "VII".equals(type)
+                    || "VIII".equals(type)
+                    || "IX".equals(type)
+                    || "X".equals(type)
+                    || "XI".equals(type)
+                    || "XII".equals(type)) {
+                ((DeepSkyTargetGC) target).setConcentration(type);
+            }
 
-                // --------------- Line parsing done
-
-                // --------------- Create ITarget object depending on type
-
-                // Stars
-                if (type.startsWith("*")) {
-                    if ("*".equals(type)) { // Single star
-
-                        target = new TargetStar(catalogNumber, this.getName());
-                        if (!"".equals(vMag)) {
-                            ((TargetStar) target).setMagnitudeApparent(FloatUtil.parseFloat(vMag));
-                        }
-
-                    } else if ("*2".equals(type)) { // Double star
-
-                        target = new DeepSkyTargetDS(catalogNumber, this.getName());
-                        if (!"".equals(positionAngle)) {
-                            ((DeepSkyTargetDS) target).setPositionAngle(Integer.parseInt(positionAngle));
-                        }
-
-                    } else { // Asterism (Multiple star system cannot be created
-                        // due to insufficient information from catalog)
-                        // therefore everything after double star is an asterism
-
-                        target = new DeepSkyTargetAS(catalogNumber, this.getName());
-                        if (!"".equals(positionAngle)) {
-                            ((DeepSkyTargetAS) target).setPositionAngle(Integer.parseInt(positionAngle));
-                        }
-                    }
-                } else if (type.startsWith("OCL") // Open Cluster (check with startsWith as sometimes it's OCL+EN (NGC
-                        // 361)
-                        // )
-                        || type.startsWith("I1")
-                        || type.startsWith("I2")
-                        || type.startsWith("I3")
-                        || type.startsWith("II1")
-                        || type.startsWith("II2")
-                        || type.startsWith("II3")
-                        || type.startsWith("III1")
-                        || type.startsWith("III2")
-                        || type.startsWith("III3")
-                        || type.startsWith("IV1")
-                        || type.startsWith("IV2")
-                        || type.startsWith("IV3")) {
-
-                    target = new DeepSkyTargetOC(catalogNumber, this.getName());
-                    if (type.startsWith("I1") // Truempler classification
-                            || type.startsWith("I2")
-                            || type.startsWith("I3")
-                            || type.startsWith("II1")
-                            || type.startsWith("II2")
-                            || type.startsWith("II3")
-                            || type.startsWith("III1")
-                            || type.startsWith("III2")
-                            || type.startsWith("III3")
-                            || type.startsWith("IV1")
-                            || type.startsWith("IV2")
-                            || type.startsWith("IV3")
-                            || type.startsWith("OCL")) {
-                        ((DeepSkyTargetOC) target).setClusterClassification(type);
-                    }
-
-                } else if ("GCL".equals(type) // Globular Cluster
-                        || "I".equals(type)
-                        || "II".equals(type)
-                        || "III".equals(type)
-                        || "IV".equals(type)
-                        || "V".equals(type)
-                        || "VI".equals(type)
-                        || "VII".equals(type)
-                        || "VIII".equals(type)
-                        || "IX".equals(type)
-                        || "X".equals(type)
-                        || "XI".equals(type)
-                        || "XII".equals(type)) {
-
-                    target = new DeepSkyTargetGC(catalogNumber, this.getName());
-                    if ("I".equals(type) // Shapley Sawyer Globular Cluster Concentration
-                            || "II".equals(type)
-                            || "III".equals(type)
-                            || "IV".equals(type)
-                            || "V".equals(type)
-                            || "VI".equals(type)
-                            || "VII".equals(type)
-                            || "VIII".equals(type)
-                            || "IX".equals(type)
-                            || "X".equals(type)
-                            || "XI".equals(type)
-                            || "XII".equals(type)) {
-                        ((DeepSkyTargetGC) target).setConcentration(type);
-                    }
-
-                } else if ("DN".equals(type)) { // Dark nebulae
-
-                    target = new DeepSkyTargetDN(catalogNumber, this.getName());
-                    if (!"".equals(positionAngle)) {
-                        ((DeepSkyTargetDN) target).setPositionAngle(Integer.parseInt(positionAngle));
-                    }
-
-                } else if ("EM".equals(type) // Emission & reflection nebulae / Supernova remnant
-                        || "EN".equals(type)
-                        || "RN".equals(type)
-                        || "SNR".equals(type) // Make sure to check SNR before
-                // galaxies!
-                ) {
-
-                    target = new DeepSkyTargetGN(catalogNumber, this.getName());
-                    if (!"".equals(positionAngle)) {
-                        ((DeepSkyTargetGN) target).setPositionAngle(Integer.parseInt(positionAngle));
-                    }
-                    if ("EM".equals(type) || "EN".equals(type)) {
-                        ((DeepSkyTargetGN) target).setNebulaType("Emission nebula");
-                    }
-                    if ("RN".equals(type)) {
-                        ((DeepSkyTargetGN) target).setNebulaType("Reflection nebula");
-                    }
-                    if ("SNR".equals(type)) {
-                        ((DeepSkyTargetGN) target).setNebulaType(" 	Supernova remnant");
-                    }
-
-                } else if ("NF".equals(type)) { // Not Found / Unknown type
-
-                    target = new DeepSkyTargetNA(catalogNumber, this.getName());
-
-                } else if ("PN".equals(type)) { // Planetary nebluae
-
-                    target = new DeepSkyTargetPN(catalogNumber, this.getName());
-
-                } else if ("GxyP".equals(type)) { // Planetary nebluae
-
-                    target = new DeepSkyTargetNA(catalogNumber, this.getName());
-                    target.setNotes("Part of galaxy (e.g. bright HII region)");
-
-                } else if ((type.startsWith("C")) // All kinds of Galaxies
-                        || (type.startsWith("D")) // As we check with startWith()...
-                        || (type.startsWith("E")) // make sure we call this as last option
-                        || (type.startsWith("I"))
-                        || (type.startsWith("P"))
-                        || (type.startsWith("R"))
-                        || (type.startsWith("PRG"))
-                        || (type.startsWith("S"))
-                        || (type.startsWith("c"))
-                        || (type.startsWith("d"))
-                        || (type.startsWith("5C"))
-                        || (type.startsWith("4S"))
-                        || (type.startsWith("3S"))) {
-
-                    target = new DeepSkyTargetGX(catalogNumber, this.getName());
-                    if (!"".equals(positionAngle)) {
-                        ((DeepSkyTargetGX) target).setPositionAngle(Integer.parseInt(positionAngle));
-                    }
-                    ((DeepSkyTargetGX) target).setHubbleType(type);
-
-                } else { // Should never get here!
-
-                    target = new DeepSkyTargetNA(catalogNumber, this.getName());
-                }
+        } else if ("DN".equals(type)) { // Dark nebulae
 
-                // --------------- Set all common target values
+            target = new DeepSkyTargetDN(catalogNumber, this.getName());
+            if (positionAngle != CompiledNGCICCatalog.NO_POSITION_ANGLE) {
+                ((DeepSkyTargetDN) target).setPositionAngle(positionAngle);
+            }
+
+        } else if ("EM".equals(type) // Emission & reflection nebulae / Supernova remnant
+                || "EN".equals(type)
+                || "RN".equals(type)
+                || "SNR".equals(type) // Make sure to check SNR before
+        // galaxies!
+        ) {
 
-                if (target instanceof DeepSkyTarget) { // e.g. TargetStar is not a DeepSkyTarget
+            target = new DeepSkyTargetGN(catalogNumber, this.getName());
+            if (positionAngle != CompiledNGCICCatalog.NO_POSITION_ANGLE) {
+                ((DeepSkyTargetGN) target).setPositionAngle(positionAngle);
+            }
+            if ("EM".equals(type) || "EN".equals(type)) {
+                ((DeepSkyTargetGN) target).setNebulaType("Emission nebula");
+            }
+            if ("RN".equals(type)) {
+                ((DeepSkyTargetGN) target).setNebulaType("Reflection nebula");
+            }
+            if ("SNR".equals(type)) {
+                ((DeepSkyTargetGN) target).setNebulaType(" 	Supernova remnant");
+            }
 
-                    // Set all DeepSkyTarget parameters
+        } else if ("NF".equals(type)) { // Not Found / Unknown type
 
-                    // Visual magnitude
-                    if (!"".equals(vMag)) {
-                        ((DeepSkyTarget) target).setVisibleMagnitude(Float.parseFloat(vMag));
-                    }
+            target = new DeepSkyTargetNA(catalogNumber, this.getName());
 
-                    // Surface brightness
-                    if (!"".equals(surfaceBrightness)) {
-                        SurfaceBrightness sb = new SurfaceBrightness(
-                                Float.parseFloat(surfaceBrightness), SurfaceBrightness.MAGS_SQR_ARC_MIN);
-                        ((DeepSkyTarget) target).setSurfaceBrightness(sb);
-                    }
+        } else if ("PN".equals(type)) { // Planetary nebluae
 
-                    // Large Diameter
-                    if (!"".equals(diameterLage)) {
-                        ((DeepSkyTarget) target)
-                                .setLargeDiameter(new Angle(Float.parseFloat(diameterLage), Angle.ARCMINUTE));
-                    }
+            target = new DeepSkyTargetPN(catalogNumber, this.getName());
 
-                    // Small Diameter
-                    if (!"".equals(diameterSmall)) {
-                        ((DeepSkyTarget) target)
-                                .setSmallDiameter(new Angle(Float.parseFloat(diameterSmall), Angle.ARCMINUTE));
-                    }
-                }
+        } else if ("GxyP".equals(type)) { // Planetary nebluae
 
-                // Alias names
-                target.setAliasNames((String[]) aliasNames.toArray(new String[] {}));
+            target = new DeepSkyTargetNA(catalogNumber, this.getName());
+            target.setNotes("Part of galaxy (e.g. bright HII region)");
 
-                // Constellation
-                target.setConstellation(con);
+        } else if ((type.startsWith("C")) // All kinds of Galaxies
+                || (type.startsWith("D")) // As we check with startWith()...
+                || (type.startsWith("E")) // make sure we call this as last option
+                || (type.startsWith("I"))
+                || (type.startsWith("P"))
+                || (type.startsWith("R"))
+                || (type.startsWith("PRG"))
+                || (type.startsWith("S"))
+                || (type.startsWith("c"))
+                || (type.startsWith("d"))
+                || (type.startsWith("5C"))
+                || (type.startsWith("4S"))
+                || (type.startsWith("3S"))) {
 
-                // Position
-                target.setPosition(position);
+            target = new DeepSkyTargetGX(catalogNumber, this.getName());
+            if (positionAngle != CompiledNGCICCatalog.NO_POSITION_ANGLE) {
+                ((DeepSkyTargetGX) target).setPositionAngle(positionAngle);
+            }
+            ((DeepSkyTargetGX) target).setHubbleType(type);
 
-                // Add target to map and increment counter
-                this.map.put(catalogNumber, target);
+        } else { // Should never get here!
 
-                // --------------- Read next line
-                try {
-                    line = bufferedReader.readLine();
-                } catch (IOException ioe) {
-                    LOGGER.error(
-                            "Error reading line from: {} . Catalog cannot be loaded. Last successful line was: {}",
-                            file,
-                            catalogNumber);
-                    return false;
-                }
+            target = new DeepSkyTargetNA(catalogNumber, this.getName());
+        }
+
+        // --------------- Set all common target values
+
+        if (target instanceof DeepSkyTarget) { // e.g. TargetStar is not a DeepSkyTarget
+
+            // Set all DeepSkyTarget parameters
+
+            // Visual magnitude
+            if (!Float.isNaN(vMag)) {
+                ((DeepSkyTarget) target).setVisibleMagnitude(vMag);
+            }
 
-                // --------------- Reset values for next round
-                index = 0;
-                catalogPrefix = null;
-                catalogNumber = null;
-                extension = null;
-                components = null;
-                constellation = null;
-                con = null;
-                ra = null;
-                dec = null;
-                position = null;
-                vMag = null;
-                surfaceBrightness = null;
-                diameterLage = null;
-                diameterSmall = null;
-                positionAngle = null;
-                type = null;
-                pgcNumber = null;
-                aliasNames.clear();
+            // Surface brightness
+            if (!Float.isNaN(surfaceBrightness)) {
+                SurfaceBrightness sb = new SurfaceBrightness(surfaceBrightness, SurfaceBrightness.MAGS_SQR_ARC_MIN);
+                ((DeepSkyTarget) target).setSurfaceBrightness(sb);
             }
 
-            return true;
+            // Large Diameter
+            if (!Float.isNaN(diameterLarge)) {
+                ((DeepSkyTarget) target).setLargeDiameter(this.pool.intern(new Angle(diameterLarge, Angle.ARCMINUTE)));
+            }
 
-        } catch (IOException ioex) {
-            LOG.error("Cannot open file: {}", file, ioex);
-            return false;
+            // Small Diameter
+            if (!Float.isNaN(diameterSmall)) {
+                ((DeepSkyTarget) target).setSmallDiameter(this.pool.intern(new Angle(diameterSmall, Angle.ARCMINUTE)));
+            }
         }
+
+        // Alias names
+        target.setAliasNames(this.catalog.getAliasNames(record));
+
+        // Constellation
+        target.setConstellation(this.catalog.getConstellation(record));
+
+        // Position
+        target.setPosition(new EquPosition(
+                new Angle(this.catalog.getRa(record), Angle.DEGREE),
+                new Angle(this.catalog.getDec(record), Angle.DEGREE)));
+
+        return target;
     }
 }
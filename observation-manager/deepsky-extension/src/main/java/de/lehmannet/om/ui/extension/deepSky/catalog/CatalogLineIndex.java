@@ -0,0 +1,225 @@
+package de.lehmannet.om.ui.extension.deepSky.catalog;
+
+import de.lehmannet.om.util.CacheFile;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the object lines of a text catalog file, for catalogs which are read on demand.<br>
+ * The index holds the name of each object and the position of its line in the catalog file. It is built on first use
+ * and written as hidden file next to the catalog file (see {@link CacheFile}), later starts read it from there. The
+ * catalog file itself is memory mapped and a line is only decoded when its object is requested. If the index file is
+ * stale, the index is built again. If the index cannot be written (e.g. read only installation), it is kept in
+ * memory.
+ */
+final class CatalogLineIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatalogLineIndex.class);
+
+    // "OMLI"
+    private static final int MAGIC = 0x4F4D4C49;
+
+    private static final int VERSION = 2;
+
+    private static final String SUFFIX = ".index";
+
+    /**
+     * Finds the object lines of a catalog file. It gets all lines of the file in their order.
+     */
+    interface LineNames {
+
+        /**
+         * @param line
+         *            The next line of the catalog file
+         * @return the name of the object of the line, or <code>null</code> for lines without object (e.g. comments)
+         */
+        String getName(String line);
+    }
+
+    private final ByteBuffer catalog;
+    private final String[] names;
+    private final int[] offsets;
+    private final int[] lengths;
+
+    private CatalogLineIndex(ByteBuffer catalog, String[] names, int[] offsets, int[] lengths) {
+
+        this.catalog = catalog;
+        this.names = names;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    /**
+     * Opens the index of the given catalog file, builds the index if needed.
+     *
+     * @param catalogFile
+     *            UTF-8 encoded text catalog with one object per line
+     * @param lineNames
+     *            Finds the object lines, only used if the index is built
+     * @return the index or <code>null</code> if the catalog file cannot be read
+     */
+    static CatalogLineIndex open(File catalogFile, LineNames lineNames) {
+
+        if (!catalogFile.isFile()) {
+            LOGGER.error("File not found: {}", catalogFile);
+            return null;
+        }
+
+        // Taken before the catalog is read, so a catalog changed meanwhile is indexed again next time
+        long size = catalogFile.length();
+        long lastModified = catalogFile.lastModified();
+
+        ByteBuffer catalog;
+        try (FileChannel channel = FileChannel.open(catalogFile.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            catalog = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException ioe) {
+            LOGGER.error("Cannot read catalog file: {}", catalogFile, ioe);
+            return null;
+        }
+
+        CacheFile indexFile = cacheFile(catalogFile);
+        CatalogLineIndex index = CatalogLineIndex.read(indexFile, catalog);
+        if (index == null) {
+            index = CatalogLineIndex.build(catalog, lineNames);
+            CatalogLineIndex.write(indexFile, size, lastModified, index);
+            LOGGER.info("Indexed catalog {} with {} objects", catalogFile, index.size());
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the index file of the given catalog file (a hidden file in the same directory).
+     *
+     * @param catalogFile
+     *            The catalog file
+     * @return The index file, which might not exist
+     */
+    static File getIndexFile(File catalogFile) {
+
+        return cacheFile(catalogFile).getFile();
+    }
+
+    int size() {
+
+        return this.names.length;
+    }
+
+    String getName(int line) {
+
+        return this.names[line];
+    }
+
+    // Only absolute reads, so the catalog can be read by several threads
+    String getLine(int line) {
+
+        byte[] bytes = new byte[this.lengths[line]];
+        this.catalog.get(this.offsets[line], bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static CatalogLineIndex build(ByteBuffer catalog, LineNames lineNames) {
+
+        List<String> names = new ArrayList<>();
+        List<int[]> lines = new ArrayList<>();
+
+        int start = 0;
+        int limit = catalog.limit();
+        while (start < limit) {
+            // A line feed byte is never part of a multibyte UTF-8 character
+            int end = start;
+            while ((end < limit) && (catalog.get(end) != '\n')) {
+                end++;
+            }
+            int length = end - start;
+            if ((length > 0) && (catalog.get(end - 1) == '\r')) {
+                length--;
+            }
+
+            byte[] bytes = new byte[length];
+            catalog.get(start, bytes);
+            String name = lineNames.getName(new String(bytes, StandardCharsets.UTF_8));
+            if (name != null) {
+                names.add(name);
+                lines.add(new int[] {start, length});
+            }
+
+            start = end + 1;
+        }
+
+        int[] offsets = new int[lines.size()];
+        int[] lengths = new int[lines.size()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = lines.get(i)[0];
+            lengths[i] = lines.get(i)[1];
+        }
+
+        return new CatalogLineIndex(catalog, names.toArray(new String[] {}), offsets, lengths);
+    }
+
+    private static CacheFile cacheFile(File catalogFile) {
+
+        return new CacheFile(catalogFile, SUFFIX, MAGIC, VERSION, "");
+    }
+
+    // Returns null if the index file does not exist, is stale or cannot be read
+    private static CatalogLineIndex read(CacheFile indexFile, ByteBuffer catalog) {
+
+        ByteBuffer buffer = indexFile.map();
+        if (buffer == null) {
+            return null;
+        }
+
+        try {
+            int count = buffer.getInt();
+            String[] names = new String[count];
+            int[] offsets = new int[count];
+            int[] lengths = new int[count];
+            for (int i = 0; i < count; i++) {
+                offsets[i] = buffer.getInt();
+                lengths[i] = buffer.getInt();
+                if ((offsets[i] < 0) || (lengths[i] < 0) || (offsets[i] + lengths[i] > catalog.limit())) {
+                    LOGGER.warn("Catalog index {} is corrupt", indexFile.getFile());
+                    return null;
+                }
+                byte[] name = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(name);
+                names[i] = new String(name, StandardCharsets.UTF_8);
+            }
+
+            return new CatalogLineIndex(catalog, names, offsets, lengths);
+        } catch (RuntimeException e) {
+            // Corrupt index files (e.g. truncated) show up as buffer underflows
+            LOGGER.warn("Unable to read catalog index {}. Indexing catalog again. ", indexFile.getFile(), e);
+            return null;
+        }
+    }
+
+    private static void write(CacheFile indexFile, long size, long lastModified, CatalogLineIndex index) {
+
+        try {
+            indexFile.write(size, lastModified, out -> {
+                out.writeInt(index.size());
+                for (int i = 0; i < index.size(); i++) {
+                    out.writeInt(index.offsets[i]);
+                    out.writeInt(index.lengths[i]);
+                    byte[] name = index.names[i].getBytes(StandardCharsets.UTF_8);
+                    out.writeShort(name.length);
+                    out.write(name);
+                }
+            });
+        } catch (IOException ioe) {
+            LOGGER.warn("Unable to write catalog index {}. Keeping it in memory. ", indexFile.getFile(), ioe);
+        }
+    }
+}
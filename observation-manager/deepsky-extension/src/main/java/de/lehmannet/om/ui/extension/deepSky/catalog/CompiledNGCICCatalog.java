@@ -0,0 +1,460 @@
+package de.lehmannet.om.ui.extension.deepSky.catalog;
+
+import de.lehmannet.om.Constellation;
+import de.lehmannet.om.EquPosition;
+import de.lehmannet.om.util.CacheFile;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * NGC/IC 2009 catalog file (by Wolfgang Steinicke) compiled into fixed size binary records.<br>
+ * On first use the semicolon separated catalog file is parsed once and written as hidden file next to it (see
+ * {@link CacheFile}). Later starts memory map that file, so opening a catalog only reads the header. Each record holds
+ * the already parsed values of one catalog line, strings are stored once in a string table at the end of the file.
+ * The compiled file is keyed by the charset the catalog file was read with as well, if the compiled file is stale the
+ * catalog is compiled again. If the compiled file cannot be written (e.g. read only installation), the compiled
+ * records are kept in memory.
+ */
+final class CompiledNGCICCatalog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledNGCICCatalog.class);
+
+    // "OMNC"
+    private static final int MAGIC = 0x4F4D4E43;
+
+    private static final int VERSION = 2;
+
+    private static final String SUFFIX = ".compiled";
+
+    // Record count, string table position
+    private static final int HEADER_SIZE = 4 + 4;
+    private static final int COUNT_POSITION = 0;
+    private static final int STRINGS_POSITION = 4;
+
+    // Record layout, strings are positions in the string table
+    private static final int NAME = 0;
+    private static final int TYPE = 4;
+    private static final int ALIAS_NAMES = 8;
+    private static final int CONSTELLATION = 12;
+    private static final int RA = 13;
+    private static final int DEC = 21;
+    private static final int VISIBLE_MAGNITUDE = 29;
+    private static final int SURFACE_BRIGHTNESS = 33;
+    private static final int LARGE_DIAMETER = 37;
+    private static final int SMALL_DIAMETER = 41;
+    private static final int POSITION_ANGLE = 45;
+    private static final int RECORD_SIZE = 49;
+
+    // Values not given in the catalog
+    static final int NO_POSITION_ANGLE = Integer.MIN_VALUE;
+    private static final byte NO_CONSTELLATION = -1;
+    private static final int NO_STRING = -1;
+
+    // Separates the alias names of a record in the string table
+    private static final char ALIAS_SEPARATOR = '\n';
+
+    private static final Constellation[] CONSTELLATIONS = Constellation.values();
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int strings;
+
+    private CompiledNGCICCatalog(ByteBuffer buffer) {
+
+        this.buffer = buffer;
+        this.count = buffer.getInt(COUNT_POSITION);
+        this.strings = buffer.getInt(STRINGS_POSITION);
+    }
+
+    /**
+     * Opens the compiled catalog of the given catalog file, compiles the catalog file if needed. The catalog file is
+     * read with the default charset, as the former text loader did.
+     *
+     * @param catalogFile
+     *            NGC/IC 2009 catalog file
+     * @return the compiled catalog or <code>null</code> if the catalog file cannot be read
+     */
+    static CompiledNGCICCatalog open(File catalogFile) {
+
+        return CompiledNGCICCatalog.open(catalogFile, Charset.defaultCharset());
+    }
+
+    /**
+     * Opens the compiled catalog of the given catalog file, compiles the catalog file if needed.
+     *
+     * @param catalogFile
+     *            NGC/IC 2009 catalog file
+     * @param charset
+     *            Charset of the catalog file
+     * @return the compiled catalog or <code>null</code> if the catalog file cannot be read
+     */
+    static CompiledNGCICCatalog open(File catalogFile, Charset charset) {
+
+        if (!catalogFile.isFile()) {
+            LOGGER.error("File not found: {}", catalogFile);
+            return null;
+        }
+
+        CacheFile compiledFile = cacheFile(catalogFile, charset);
+        ByteBuffer mapped = CompiledNGCICCatalog.map(compiledFile);
+        if (mapped != null) {
+            return new CompiledNGCICCatalog(mapped);
+        }
+
+        // Taken before the catalog is read, so a catalog changed meanwhile is compiled again next time
+        long size = catalogFile.length();
+        long lastModified = catalogFile.lastModified();
+
+        ByteBuffer compiled;
+        try {
+            compiled = CompiledNGCICCatalog.compile(catalogFile, charset);
+        } catch (IOException ioe) {
+            LOGGER.error("Cannot read catalog file: {}", catalogFile, ioe);
+            return null;
+        }
+        try {
+            compiledFile.write(size, lastModified, out -> out.write(compiled.array(), 0, compiled.limit()));
+        } catch (IOException ioe) {
+            LOGGER.warn("Unable to write compiled catalog {}. Keeping it in memory. ", compiledFile.getFile(), ioe);
+        }
+
+        return new CompiledNGCICCatalog(compiled);
+    }
+
+    /**
+     * Returns the compiled file of the given catalog file (a hidden file in the same directory).
+     *
+     * @param catalogFile
+     *            The catalog file
+     * @return The compiled file, which might not exist
+     */
+    static File getCompiledFile(File catalogFile) {
+
+        return cacheFile(catalogFile, Charset.defaultCharset()).getFile();
+    }
+
+    int size() {
+
+        return this.count;
+    }
+
+    // Catalog number like NGC123 or IC12A
+    String getName(int record) {
+
+        return this.getString(this.position(record) + NAME);
+    }
+
+    // Type (Galaxy, star, ...) as given in the catalog
+    String getType(int record) {
+
+        return this.getString(this.position(record) + TYPE);
+    }
+
+    String[] getAliasNames(int record) {
+
+        String aliasNames = this.getString(this.position(record) + ALIAS_NAMES);
+        if (aliasNames == null) {
+            return new String[0];
+        }
+        return aliasNames.split(String.valueOf(ALIAS_SEPARATOR));
+    }
+
+    Constellation getConstellation(int record) {
+
+        byte constellation = this.buffer.get(this.position(record) + CONSTELLATION);
+        return (constellation == NO_CONSTELLATION) ? null : CONSTELLATIONS[constellation];
+    }
+
+    // Right ascension in degrees
+    double getRa(int record) {
+
+        return this.buffer.getDouble(this.position(record) + RA);
+    }
+
+    // Declination in degrees
+    double getDec(int record) {
+
+        return this.buffer.getDouble(this.position(record) + DEC);
+    }
+
+    // NaN if not given
+    float getVisibleMagnitude(int record) {
+
+        return this.buffer.getFloat(this.position(record) + VISIBLE_MAGNITUDE);
+    }
+
+    // In mags per square arc minute, NaN if not given
+    float getSurfaceBrightness(int record) {
+
+        return this.buffer.getFloat(this.position(record) + SURFACE_BRIGHTNESS);
+    }
+
+    // In arc minutes, NaN if not given
+    float getLargeDiameter(int record) {
+
+        return this.buffer.getFloat(this.position(record) + LARGE_DIAMETER);
+    }
+
+    // In arc minutes, NaN if not given
+    float getSmallDiameter(int record) {
+
+        return this.buffer.getFloat(this.position(record) + SMALL_DIAMETER);
+    }
+
+    // NO_POSITION_ANGLE if not given
+    int getPositionAngle(int record) {
+
+        return this.buffer.getInt(this.position(record) + POSITION_ANGLE);
+    }
+
+    private int position(int record) {
+
+        return HEADER_SIZE + (record * RECORD_SIZE);
+    }
+
+    // Only absolute reads, so the buffer can be read by several threads
+    private String getString(int position) {
+
+        int string = this.buffer.getInt(position);
+        if (string == NO_STRING) {
+            return null;
+        }
+
+        int start = this.strings + string;
+        int length = this.buffer.getShort(start) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        this.buffer.get(start + 2, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // The compiled records depend on the charset the catalog file was read with
+    private static CacheFile cacheFile(File catalogFile, Charset charset) {
+
+        return new CacheFile(catalogFile, SUFFIX, MAGIC, VERSION, charset.name());
+    }
+
+    // Returns null if the compiled file does not exist, is stale or cannot be read
+    private static ByteBuffer map(CacheFile compiledFile) {
+
+        ByteBuffer buffer = compiledFile.map();
+        if (buffer == null) {
+            return null;
+        }
+
+        if (buffer.capacity() < HEADER_SIZE) {
+            LOGGER.warn("Compiled catalog {} is corrupt", compiledFile.getFile());
+            return null;
+        }
+        int count = buffer.getInt(COUNT_POSITION);
+        int strings = buffer.getInt(STRINGS_POSITION);
+        if ((count < 0) || (strings != HEADER_SIZE + (count * RECORD_SIZE)) || (strings > buffer.capacity())) {
+            LOGGER.warn("Compiled catalog {} is corrupt", compiledFile.getFile());
+            return null;
+        }
+        return buffer;
+    }
+
+    private static ByteBuffer compile(File catalogFile, Charset charset) throws IOException {
+
+        List<byte[]> records = new ArrayList<>();
+        StringTable strings = new StringTable();
+
+        try (BufferedReader reader =
+                new BufferedReader(new InputStreamReader(new FileInputStream(catalogFile), charset))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!"".equals(line.trim())) { // Empty line
+                    records.add(CompiledNGCICCatalog.compileLine(line, strings));
+                }
+            }
+        }
+
+        byte[] stringTable = strings.toByteArray();
+        int stringsPosition = HEADER_SIZE + (records.size() * RECORD_SIZE);
+        ByteBuffer buffer = ByteBuffer.allocate(stringsPosition + stringTable.length);
+        buffer.putInt(records.size());
+        buffer.putInt(stringsPosition);
+        for (byte[] record : records) {
+            buffer.put(record);
+        }
+        buffer.put(stringTable);
+        buffer.flip();
+
+        LOGGER.info("Compiled catalog {} with {} objects", catalogFile, records.size());
+
+        return buffer;
+    }
+
+    private static byte[] compileLine(String line, StringTable strings) {
+
+        // Split line into all 34 elements
+        String[] tokens = line.split(";", 34);
+        int index = 0;
+
+        // Get NGC or IC prefix
+        String catalogPrefix = "N".equals(tokens[index++]) ? "NGC" : "IC";
+
+        // Build catalogNumber (like NGC123)
+        String catalogNumber = catalogPrefix + tokens[index++];
+
+        // Catalog Number extension like A,B (if any)
+        String extension = tokens[index++];
+        if (!"".equals(extension)) {
+            catalogNumber = catalogNumber + extension;
+        }
+
+        // Catalog Number extension like A,B (if any)
+        String components = tokens[index++];
+        if (!"".equals(components)) {
+            catalogNumber = catalogNumber + "-" + components;
+        }
+
+        // We're not interested in the next 3 entries
+        // - Dreyer object (seen/listed by Dreyer?)
+        // - Status of identification
+        // - Precision flag
+        index = index + 3;
+
+        Constellation constellation = Constellation.getConstellationByAbbOrName(tokens[index++]);
+
+        // Right ascension
+        String ra = tokens[index++]
+                + EquPosition.RA_HOUR
+                + tokens[index++]
+                + EquPosition.RA_MIN
+                + tokens[index++]
+                + EquPosition.RA_SEC;
+        ra = ra.replace(',', '.'); // Second value can contain , a decimal separator
+
+        // Declination
+        String dec = tokens[index++]
+                + tokens[index++]
+                + EquPosition.DEC_DEG
+                + tokens[index++]
+                + EquPosition.DEC_MIN
+                + tokens[index++]
+                + EquPosition.DEC_SEC;
+
+        EquPosition position = new EquPosition(ra, dec);
+
+        // Photographic (blue) magnitude (Bmag) is not of interest for us
+        index++;
+
+        float vMag = CompiledNGCICCatalog.parseFloat(tokens[index++]);
+        float surfaceBrightness = CompiledNGCICCatalog.parseFloat(tokens[index++]);
+        float diameterLarge = CompiledNGCICCatalog.parseFloat(tokens[index++]);
+        float diameterSmall = CompiledNGCICCatalog.parseFloat(tokens[index++]);
+
+        String positionAngleValue = tokens[index++];
+        int positionAngle = NO_POSITION_ANGLE;
+        if (!"".equals(positionAngleValue)) {
+            try {
+                positionAngle = Integer.parseInt(positionAngleValue);
+            } catch (NumberFormatException nfe) {
+                LOGGER.error("Malformed entry: {}  - Position Angle is: {} ", catalogNumber, positionAngleValue);
+            }
+        }
+
+        // Type (Galaxy, star, ...)
+        String type = tokens[index++];
+
+        // PGC number + Aliasnames
+        StringBuilder aliasNames = new StringBuilder();
+        String pgcNumber = tokens[index++];
+        if (!"".equals(pgcNumber)) {
+            aliasNames.append("PGC ").append(pgcNumber);
+        }
+
+        // Add all remaining aliasNames
+        for (; index < tokens.length; index++) {
+            if ("".equals(tokens[index])) {
+                break; // After the first empty token, there won't be additional tokens
+            }
+            if (aliasNames.length() > 0) {
+                aliasNames.append(ALIAS_SEPARATOR);
+            }
+            aliasNames.append(tokens[index]);
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putInt(NAME, strings.add(catalogNumber));
+        record.putInt(TYPE, strings.add(type));
+        record.putInt(ALIAS_NAMES, (aliasNames.length() == 0) ? NO_STRING : strings.add(aliasNames.toString()));
+        record.put(CONSTELLATION, (constellation == null) ? NO_CONSTELLATION : (byte) constellation.ordinal());
+        record.putDouble(RA, position.getRaAngle().getValue());
+        record.putDouble(DEC, position.getDecAngle().getValue());
+        record.putFloat(VISIBLE_MAGNITUDE, vMag);
+        record.putFloat(SURFACE_BRIGHTNESS, surfaceBrightness);
+        record.putFloat(LARGE_DIAMETER, diameterLarge);
+        record.putFloat(SMALL_DIAMETER, diameterSmall);
+        record.putInt(POSITION_ANGLE, positionAngle);
+
+        return record.array();
+    }
+
+    // Values use , as decimal separator
+    private static float parseFloat(String value) {
+
+        if ("".equals(value)) {
+            return Float.NaN;
+        }
+        return Float.parseFloat(value.replace(',', '.'));
+    }
+
+    /**
+     * Strings of the compiled catalog, each written once as length and UTF-8 bytes.
+     */
+    private static final class StringTable {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(this.bytes);
+
+        // Key = String, Value = Position in table
+        private final Map<String, Integer> positions = new HashMap<>();
+
+        int add(String value) {
+
+            Integer position = this.positions.get(value);
+            if (position != null) {
+                return position;
+            }
+
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            if (encoded.length > 0xFFFF) {
+                throw new IllegalArgumentException("Catalog value too long: " + value.substring(0, 20));
+            }
+
+            position = this.out.size();
+            try {
+                this.out.writeShort(encoded.length);
+                this.out.write(encoded);
+            } catch (IOException ioe) {
+                // Cannot happen on a byte array
+                throw new IllegalStateException(ioe);
+            }
+            this.positions.put(value, position);
+
+            return position;
+        }
+
+        byte[] toByteArray() {
+
+            return this.bytes.toByteArray();
+        }
+    }
+}
@@ -8,10 +8,14 @@
 package de.lehmannet.om.ui.extension.deepSky.catalog;
 
 import de.lehmannet.om.EquPosition;
+import de.lehmannet.om.ISchemaElement;
 import de.lehmannet.om.ITarget;
 import de.lehmannet.om.ui.catalog.IListableCatalog;
 import de.lehmannet.om.ui.navigation.tableModel.AbstractSchemaTableModel;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 public class DeepSkyTableModel extends AbstractSchemaTableModel {
@@ -26,15 +30,52 @@ public class DeepSkyTableModel extends AbstractSchemaTableModel {
     private static ResourceBundle bundle =
             ResourceBundle.getBundle("de.lehmannet.om.ui.extension.deepSky.DeepSky", Locale.getDefault());
 
+    // Targets are read from the catalog in pages of this size, when a row of the page is requested
+    private static final int PAGE_SIZE = 256;
+
+    private final transient IListableCatalog catalog;
+
+    // Key = Target name
+    // Value = Row
+    private final Map<String, Integer> rows = new HashMap<>();
+
+    // Pages read from the catalog
+    private final BitSet pages = new BitSet();
+
     public DeepSkyTableModel(IListableCatalog catalog) {
 
+        this.catalog = catalog;
+
         String[] index = catalog.getCatalogIndex();
-        ITarget[] targets = new ITarget[index.length];
         for (int i = 0; i < index.length; i++) {
-            targets[i] = catalog.getTarget(index[i]);
+            this.rows.put(index[i], i);
         }
 
-        this.elements = targets;
+        // Filled page by page
+        this.elements = new ITarget[index.length];
+    }
+
+    @Override
+    public ISchemaElement getSchemaElement(int row) {
+
+        if ((row == -1) || (this.elements.length == 0)) {
+            return null;
+        }
+
+        return this.getTarget(row);
+    }
+
+    @Override
+    public int getRow(ISchemaElement element) {
+
+        if (element instanceof ITarget) {
+            Integer row = this.rows.get(((ITarget) element).getName());
+            if ((row != null) && element.equals(this.getTarget(row))) {
+                return row;
+            }
+        }
+
+        return 0;
     }
 
     @Override
@@ -52,9 +93,6 @@ public class DeepSkyTableModel extends AbstractSchemaTableModel {
     @Override
     public int getRowCount() {
 
-        if (this.elements == null) {
-            return 5;
-        }
         return this.elements.length;
     }
 
@@ -63,12 +101,11 @@ public class DeepSkyTableModel extends AbstractSchemaTableModel {
 
         String value = "";
 
-        if (this.elements == null) {
+        ITarget target = this.getTarget(rowIndex);
+        if (target == null) { // Malformed catalog entry
             return value;
         }
 
-        ITarget target = (ITarget) this.elements[rowIndex];
-
         switch (columnIndex) {
             case 0: {
                 value = target.getName();
@@ -154,6 +191,19 @@ public class DeepSkyTableModel extends AbstractSchemaTableModel {
         }
     }
 
+    private ITarget getTarget(int row) {
+
+        int page = row / DeepSkyTableModel.PAGE_SIZE;
+        if (!this.pages.get(page)) {
+            int from = page * DeepSkyTableModel.PAGE_SIZE;
+            ITarget[] targets = this.catalog.getTargets(from, DeepSkyTableModel.PAGE_SIZE);
+            System.arraycopy(targets, 0, this.elements, from, targets.length);
+            this.pages.set(page);
+        }
+
+        return (ITarget) this.elements[row];
+    }
+
     public static void reloadLanguage() {
 
         DeepSkyTableModel.bundle =
@@ -25,16 +25,14 @@ import de.lehmannet.om.ui.navigation.tableModel.AbstractSchemaTableModel;
 import de.lehmannet.om.ui.panel.AbstractSearchPanel;
 import de.lehmannet.om.ui.panel.GenericListableCatalogSearchPanel;
 import de.lehmannet.om.util.FloatUtil;
-import java.io.BufferedReader;
+import de.lehmannet.om.util.InternPool;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.StringTokenizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,21 +47,40 @@ public class HCNGCCatalog implements IListableCatalog {
 
     private static final String CATALOG_ABB = "HCNGC";
 
-    // Key = NGC Number
-    // Value = ITarget
-    private final Map<String, ITarget> map = new LinkedHashMap<>();
+    // Tokens of a line, see createTarget(String)
+    private static final int GC_NUMBER_TOKEN = 2;
+    private static final int NGC_NUMBER_TOKEN = 20;
+    private static final int IC_NUMBER_TOKEN = 21;
+    private static final int ALIAS_NAMES_TOKEN = 22;
+
+    // The catalog lines, null if the catalog cannot be loaded
+    private final CatalogLineIndex index;
+
+    // Key = HCNGC Number
+    // Value = Line in index
+    private final Map<String, Integer> records = new LinkedHashMap<>();
+
+    // Targets are created on first access, by line
+    private final ITarget[] targets;
+
+    // Classifications and diameters repeat a lot, share equal values between the targets
+    private final InternPool pool = InternPool.getShared();
 
     private AbstractSchemaTableModel tableModel = null;
 
     public HCNGCCatalog(File file) {
 
-        // Load targets into memory.
-        // In case or problems aboard
-        if (!this.loadTargets(file)) {
+        // Only the positions of the lines are loaded, targets are read on demand
+        this.index = CatalogLineIndex.open(file, new DataLines());
+        if (this.index == null) { // In case or problems aboard
+            this.targets = new ITarget[0];
             return;
         }
 
-        this.tableModel = new DeepSkyTableModel(this);
+        for (int i = 0; i < this.index.size(); i++) {
+            this.records.put(this.index.getName(i), i);
+        }
+        this.targets = new ITarget[this.index.size()];
     }
 
     @Override
@@ -81,13 +98,38 @@ public class HCNGCCatalog implements IListableCatalog {
     @Override
     public ITarget getTarget(String hcngcNumber) {
 
-        return (ITarget) this.map.get(hcngcNumber);
+        Integer record = this.records.get(hcngcNumber);
+        if (record == null) {
+            return null;
+        }
+        return this.getTarget(record);
     }
 
     @Override
     public ITarget[] getTargets() {
 
-        return (ITarget[]) this.map.values().toArray(new ITarget[] {});
+        List<ITarget> result = new ArrayList<>(this.targets.length);
+        for (ITarget target : this.getTargets(0, this.targets.length)) {
+            if (target != null) { // Malformed entry
+                result.add(target);
+            }
+        }
+        return result.toArray(new ITarget[] {});
+    }
+
+    @Override
+    public ITarget[] getTargets(int from, int count) {
+
+        int to = Math.min(from + count, this.targets.length);
+        if (from >= to) {
+            return new ITarget[0];
+        }
+
+        ITarget[] result = new ITarget[to - from];
+        for (int i = from; i < to; i++) {
+            result[i - from] = this.getTarget(i);
+        }
+        return result;
     }
 
     @Override
@@ -96,290 +138,335 @@ public class HCNGCCatalog implements IListableCatalog {
         return new GenericListableCatalogSearchPanel(this);
     }
 
-    private boolean loadTargets(File file) {
-
-        // Check catalog file
-        Reader reader = null;
-        try {
-            // Must read UTF-16 as we run into problems on some OS
-            reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8);
+    private ITarget getTarget(int record) {
 
-        } catch (FileNotFoundException fnfe) {
-            LOGGER.error("File not found: {}", file, fnfe);
-            return false;
+        synchronized (this.targets) {
+            if (this.targets[record] == null) {
+                try {
+                    this.targets[record] = this.createTarget(this.index.getLine(record));
+                } catch (IllegalArgumentException | NoSuchElementException e) {
+                    // Also NumberFormatException, or lines with too few tokens
+                    LOGGER.error("Malformed entry: {} ", this.index.getName(record), e);
+                }
+            }
+            return this.targets[record];
         }
+    }
 
-        // Get each line and create target
-        String line = null;
-        String hcngcNumber = null;
-        StringTokenizer tokenizer = null;
+    private ITarget createTarget(String line) {
+
+        // Get HCNGC Number
+        String hcngcNumber = "HCNGC" + line.substring(0, line.indexOf('|'));
+
+        // Parse line...and create Target
         ITarget target = null;
-        try (BufferedReader bufferedReader = new BufferedReader(reader); ) {
-            int counter = 1;
-            while ((line = bufferedReader.readLine()) != null) {
-                if (!(line.startsWith("" + counter)) || ("".equals(line.trim()))) { // Comment, header or empty line.
-                    // Real data starts with a counter
-                    // at 1.
-                    continue;
-                }
 
-                // Get HCNGC Number
-                hcngcNumber = "HCNGC" + line.substring(0, line.indexOf('|'));
-
-                // Parse line...and create Target
-                target = null;
-
-                tokenizer = new StringTokenizer(line, "|");
-
-                tokenizer.nextToken(); // Skip token (HCNGC number)
-                tokenizer.nextToken(); // LineCounter (ignore this for now)
-                String gcNo = tokenizer.nextToken();
-                tokenizer.nextToken(); // Skip token (John Herschel (JH) designation)
-                tokenizer.nextToken(); // Skip token (William Herschel (WH) designation)
-                String ra = tokenizer.nextToken();
-                String dec = tokenizer.nextToken();
-                String constellation = tokenizer.nextToken();
-                tokenizer.nextToken(); // Skip token (Original NGC Summary Description)
-                tokenizer.nextToken(); // Skip token (Discoverer)
-                tokenizer.nextToken(); // Skip token (Year)
-                tokenizer.nextToken(); // Skip token (Type)
-                tokenizer.nextToken(); // Skip token (inch)
-                String type = tokenizer.nextToken();
-                String classification = tokenizer.nextToken();
-                String size = tokenizer.nextToken();
-                String positionAngle = tokenizer.nextToken();
-                String vMag = tokenizer.nextToken();
-                tokenizer.nextToken(); // Skip token (bMag (blue Magnification)
-                tokenizer.nextToken(); // vsourceFaceBrightness
-                String ngcNo = tokenizer.nextToken();
-                String icNo = tokenizer.nextToken();
-
-                String aliasNames = hcngcNumber.replaceAll("HCNGC", "NGC") + ",";
-                // Add NGC number which is equal to HCNGC number.
-                // The above ngcNo is only given in case the NGC Catalog has two entries for the
-                // same
-                // object (NGC20 == NGC6) so for compatibility reasons add the NGC Number
-                aliasNames = aliasNames + tokenizer.nextToken();
-
-                // Skip the rest from here...
-
-                // Cut off decimal points at positionAngle (if given)
-                if (positionAngle.lastIndexOf(".") != -1) {
-                    positionAngle = positionAngle.substring(0, positionAngle.lastIndexOf("."));
-                }
-                // Some objects have two values...skip positionAngle entry for those
-                if (positionAngle.contains("/")) {
-                    positionAngle = null;
-                }
-                if ("E".equals(positionAngle)) { // PA for HCNGC1089 is E...whatever that means
-                    positionAngle = null;
-                }
+        StringTokenizer tokenizer = new StringTokenizer(line, "|");
+
+        tokenizer.nextToken(); // Skip token (HCNGC number)
+        tokenizer.nextToken(); // LineCounter (ignore this for now)
+        String gcNo = tokenizer.nextToken();
+        tokenizer.nextToken(); // Skip token (John Herschel (JH) designation)
+        tokenizer.nextToken(); // Skip token (William Herschel (WH) designation)
+        String ra = tokenizer.nextToken();
+        String dec = tokenizer.nextToken();
+        String constellation = tokenizer.nextToken();
+        tokenizer.nextToken(); // Skip token (Original NGC Summary Description)
+        tokenizer.nextToken(); // Skip token (Discoverer)
+        tokenizer.nextToken(); // Skip token (Year)
+        tokenizer.nextToken(); // Skip token (Type)
+        tokenizer.nextToken(); // Skip token (inch)
+        String type = tokenizer.nextToken();
+        String classification = this.pool.intern(tokenizer.nextToken());
+        String size = tokenizer.nextToken();
+        String positionAngle = tokenizer.nextToken();
+        String vMag = tokenizer.nextToken();
+        tokenizer.nextToken(); // Skip token (bMag (blue Magnification)
+        tokenizer.nextToken(); // vsourceFaceBrightness
+        String ngcNo = tokenizer.nextToken();
+        String icNo = tokenizer.nextToken();
+
+        String aliasNames = tokenizer.nextToken();
+
+        // Skip the rest from here...
+
+        // Cut off decimal points at positionAngle (if given)
+        if (positionAngle.lastIndexOf(".") != -1) {
+            positionAngle = positionAngle.substring(0, positionAngle.lastIndexOf("."));
+        }
+        // Some objects have two values...skip positionAngle entry for those
+        if (positionAngle.contains("/")) {
+            positionAngle = null;
+        }
+        if ("E".equals(positionAngle)) { // PA for HCNGC1089 is E...whatever that means
+            positionAngle = null;
+        }
 
-                if (("NF".equals(type)) // NF Not Found NGC 412
-                        || ("GxyCld".equals(type)) // Bright cloud/knot in a galaxy NGC 5447
-                        || ("***".equals(type)) // *** Triple Star NGC 4397 (Cannot use DeepSkyMS as catalog doesn't
-                // contain component star list
-                ) {
-                    // For the above named types we don't have a representation in the OAL model,
-                    // therefore
-                    // we map them to the general type DeepSkyTargetNA
-                    target = new DeepSkyTargetNA(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
-
-                } else if ("**".equals(type)) { // ** Double Star NGC 8
-                    target = new DeepSkyTargetDS(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
-
-                    if ((positionAngle != null) && !("".equals(positionAngle.trim()))) {
-                        try {
-                            int pa = Integer.parseInt(positionAngle);
-                            ((DeepSkyTargetDS) target).setPositionAngle(pa);
-                        } catch (NumberFormatException nfe) {
-                            LOGGER.error("Malformed entry: {}  - Position Angle is: {} ", hcngcNumber, positionAngle);
-                        }
-                    }
+        if (("NF".equals(type)) // NF Not Found NGC 412
+                || ("GxyCld".equals(type)) // Bright cloud/knot in a galaxy NGC 5447
+                || ("***".equals(type)) // *** Triple Star NGC 4397 (Cannot use DeepSkyMS as catalog doesn't
+        // contain component star list
+        ) {
+            // For the above named types we don't have a representation in the OAL model,
+            // therefore
+            // we map them to the general type DeepSkyTargetNA
+            target = new DeepSkyTargetNA(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
+
+        } else if ("**".equals(type)) { // ** Double Star NGC 8
+            target = new DeepSkyTargetDS(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
+
+            if ((positionAngle != null) && !("".equals(positionAngle.trim()))) {
+                try {
+                    int pa = Integer.parseInt(positionAngle);
+                    ((DeepSkyTargetDS) target).setPositionAngle(pa);
+                } catch (NumberFormatException nfe) {
+                    LOGGER.error("Malformed entry: {}  - Position Angle is: {} ", hcngcNumber, positionAngle);
+                }
+            }
 
-                } else if ("Ast".equals(type)) { // Ast Asterism NGC 305
-                    target = new DeepSkyTargetAS(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
+        } else if ("Ast".equals(type)) { // Ast Asterism NGC 305
+            target = new DeepSkyTargetAS(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
 
-                    if ((positionAngle != null) && !("".equals(positionAngle.trim()))) {
-                        try {
-                            int pa = Integer.parseInt(positionAngle);
-                            ((DeepSkyTargetAS) target).setPositionAngle(pa);
-                        } catch (NumberFormatException nfe) {
-                            LOGGER.error("Malformed entry: {}  - Position Angle is: {} ", hcngcNumber, positionAngle);
-                        }
-                    }
+            if ((positionAngle != null) && !("".equals(positionAngle.trim()))) {
+                try {
+                    int pa = Integer.parseInt(positionAngle);
+                    ((DeepSkyTargetAS) target).setPositionAngle(pa);
+                } catch (NumberFormatException nfe) {
+                    LOGGER.error("Malformed entry: {}  - Position Angle is: {} ", hcngcNumber, positionAngle);
+                }
+            }
 
-                } else if ("*".equals(type)) { // Single Star NGC 3797
-                    target = new TargetStar(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
+        } else if ("*".equals(type)) { // Single Star NGC 3797
+            target = new TargetStar(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
 
-                    if ((classification != null) && !("".equals(classification.trim()))) {
-                        ((TargetStar) target).setStellarClassification(classification);
-                    }
+            if ((classification != null) && !("".equals(classification.trim()))) {
+                ((TargetStar) target).setStellarClassification(classification);
+            }
 
-                    if ((vMag != null) && !("".equals(vMag.trim()))) {
-                        ((TargetStar) target).setMagnitudeApparent(FloatUtil.parseFloat(vMag));
-                    }
+            if ((vMag != null) && !("".equals(vMag.trim()))) {
+                ((TargetStar) target).setMagnitudeApparent(FloatUtil.parseFloat(vMag));
+            }
 
-                } else if ("Gxy".equals(type)) { // Galaxy NGC 3320
-                    target = new DeepSkyTargetGX(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
+        } else if ("Gxy".equals(type)) { // Galaxy NGC 3320
+            target = new DeepSkyTargetGX(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
 
-                    if ((positionAngle != null) && !("".equals(positionAngle.trim()))) {
-                        try {
-                            int pa = Integer.parseInt(positionAngle);
-                            ((DeepSkyTargetGX) target).setPositionAngle(pa);
-                        } catch (NumberFormatException nfe) {
-                            LOGGER.error("Malformed entry: {}  - Position Angle is: {} ", hcngcNumber, positionAngle);
-                        }
-                    }
+            if ((positionAngle != null) && !("".equals(positionAngle.trim()))) {
+                try {
+                    int pa = Integer.parseInt(positionAngle);
+                    ((DeepSkyTargetGX) target).setPositionAngle(pa);
+                } catch (NumberFormatException nfe) {
+                    LOGGER.error("Malformed entry: {}  - Position Angle is: {} ", hcngcNumber, positionAngle);
+                }
+            }
 
-                    if ((classification != null) && !("".equals(classification.trim()))) {
-                        ((DeepSkyTargetGX) target).setHubbleType(classification);
-                    }
+            if ((classification != null) && !("".equals(classification.trim()))) {
+                ((DeepSkyTargetGX) target).setHubbleType(classification);
+            }
 
-                } else if ("GC".equals(type)) {
-                    target = new DeepSkyTargetGC(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
+        } else if ("GC".equals(type)) {
+            target = new DeepSkyTargetGC(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
 
-                } else if (("Neb".equals(type))
-                        || ("Neb?".equals(type)) // e.g. HCNGC1990
-                        || ("SNR".equals(type))
-                        || ("HIIRgn".equals(type))
-                        || ("OC+Neb".equals(type)) // NGC 256
-                ) {
-                    target = new DeepSkyTargetGN(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
+        } else if (("Neb".equals(type))
+                || ("Neb?".equals(type)) // e.g. HCNGC1990
+                || ("SNR".equals(type))
+                || ("HIIRgn".equals(type))
+                || ("OC+Neb".equals(type)) // NGC 256
+        ) {
+            target = new DeepSkyTargetGN(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
 
-                    if ("Neb".equals(type)) {
-                        if ((classification != null) && !("".equals(classification.trim()))) {
-                            ((DeepSkyTargetGN) target).setNebulaType(classification);
-                        }
-                    } else if ("SNR".equals(type)) {
-                        if ((classification != null) && !("".equals(classification.trim()))) {
-                            ((DeepSkyTargetGN) target).setNebulaType(type + " " + classification);
-                        }
-                    }
+            if ("Neb".equals(type)) {
+                if ((classification != null) && !("".equals(classification.trim()))) {
+                    ((DeepSkyTargetGN) target).setNebulaType(classification);
+                }
+            } else if ("SNR".equals(type)) {
+                if ((classification != null) && !("".equals(classification.trim()))) {
+                    ((DeepSkyTargetGN) target).setNebulaType(type + " " + classification);
+                }
+            }
 
-                    if ((positionAngle != null) && !("".equals(positionAngle.trim()))) {
-                        try {
-                            int pa = Integer.parseInt(positionAngle);
-                            ((DeepSkyTargetGN) target).setPositionAngle(pa);
-                        } catch (NumberFormatException nfe) {
-                            LOGGER.error("Malformed entry: {}  - Position Angle is: {} ", hcngcNumber, positionAngle);
-                        }
-                    }
+            if ((positionAngle != null) && !("".equals(positionAngle.trim()))) {
+                try {
+                    int pa = Integer.parseInt(positionAngle);
+                    ((DeepSkyTargetGN) target).setPositionAngle(pa);
+                } catch (NumberFormatException nfe) {
+                    LOGGER.error("Malformed entry: {}  - Position Angle is: {} ", hcngcNumber, positionAngle);
+                }
+            }
 
-                } else if (("OC".equals(type)) || ("MWSC".equals(type))) {
+        } else if (("OC".equals(type)) || ("MWSC".equals(type))) {
 
-                    target = new DeepSkyTargetOC(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
+            target = new DeepSkyTargetOC(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
 
-                } else if ("PN".equals(type)) {
-                    target = new DeepSkyTargetPN(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
-                }
+        } else if ("PN".equals(type)) {
+            target = new DeepSkyTargetPN(hcngcNumber, HCNGCCatalog.DATASOURCE_ORIGIN);
+        }
 
-                // Make sure aliasNames are ; seperated list and no space is between catalogue
-                // name and index
-                // Also add NGC, GC and IC as aliasNames
-                aliasNames = aliasNames.trim();
-                if ((ngcNo != null) && !("".equals(ngcNo.trim()))) {
-                    if (!aliasNames.trim().equals("")) {
-                        aliasNames = aliasNames + ",";
-                    }
-                    aliasNames = aliasNames + "NGC" + ngcNo;
-                }
-                if ((gcNo != null) && !("".equals(gcNo.trim()))) {
-                    if (!aliasNames.trim().equals("")) {
-                        aliasNames = aliasNames + ",";
-                    }
-                    aliasNames = aliasNames + "GC" + gcNo;
-                }
-                if ((icNo != null) && !("".equals(icNo.trim()))) {
-                    if (!aliasNames.trim().equals("")) {
-                        aliasNames = aliasNames + ",";
-                    }
-                    aliasNames = aliasNames + "IC" + icNo;
-                }
-                aliasNames = aliasNames.replaceAll(" ", "");
-                aliasNames = aliasNames.toUpperCase();
+        // Hack! Cut off decimal point at seconds
+        ra = ra.substring(0, ra.lastIndexOf("."));
+        ra = ra + "s";
 
-                // Hack! Cut off decimal point at seconds
-                ra = ra.substring(0, ra.lastIndexOf("."));
-                ra = ra + "s";
+        // Only for HCNGC6439...
+        if ("HCNGC6439".equals(hcngcNumber)) {
+            dec = dec.substring(0, dec.lastIndexOf("."));
+            dec = dec + "\"";
+        }
 
-                // Only for HCNGC6439...
-                if ("HCNGC6439".equals(hcngcNumber)) {
-                    dec = dec.substring(0, dec.lastIndexOf("."));
-                    dec = dec + "\"";
-                }
+        dec = dec.replaceAll("\'\'", "\""); // Sometimes " is given as '' (HCNGC224)
+        if (!dec.endsWith("\"")) { // Sometimes " is missing (HCNGC339)
+            dec = dec + "\"";
+        }
+        dec = dec.replace('.', '\''); // Sometimes ' is given as . (HCNGC467)
 
-                dec = dec.replaceAll("\'\'", "\""); // Sometimes " is given as '' (HCNGC224)
-                if (!dec.endsWith("\"")) { // Sometimes " is missing (HCNGC339)
-                    dec = dec + "\"";
+        if (target != null) {
+            // Serpens is given as Serpens Caput (SerCp) and Serpens Cauda (SerCd)
+            if (constellation.startsWith("Ser")) {
+                constellation = "Ser";
+            }
+            target.setConstellation(constellation);
+
+            target.setPosition(new EquPosition(ra, dec));
+
+            if (target instanceof DeepSkyTarget) { // In case of single star target is not an DeepSkyTarget
+                // instance
+                size = size.replaceAll("\'", "");
+                size = size.replaceAll("\"", "");
+                size = size.replaceAll("\u00b0", "");
+                size = size.replaceAll("O", "0"); // Sometimes 0 is given as 'O' (HCNGC7308)
+                size = size.toUpperCase(); // Sometimes the x is lower case :-(
+                if (size.indexOf('&') != -1) { // HCNGC6991 has two size entries divided by &
+                    size = size.substring(0, size.indexOf('&') - 1);
                 }
-                dec = dec.replace('.', '\''); // Sometimes ' is given as . (HCNGC467)
-
-                if (target != null) {
-                    target.setConstellation(constellation);
-
-                    target.setPosition(new EquPosition(ra, dec));
-
-                    if (target instanceof DeepSkyTarget) { // In case of single star target is not an DeepSkyTarget
-                        // instance
-                        size = size.replaceAll("\'", "");
-                        size = size.replaceAll("\"", "");
-                        size = size.replaceAll("\u00b0", "");
-                        size = size.replaceAll("O", "0"); // Sometimes 0 is given as 'O' (HCNGC7308)
-                        size = size.toUpperCase(); // Sometimes the x is lower case :-(
-                        if (size.indexOf('&') != -1) { // HCNGC6991 has two size entries divided by &
-                            size = size.substring(0, size.indexOf('&') - 1);
-                        }
-                        if (!"".equals(size.trim())) {
-                            if (size.indexOf('X') != -1) { // No (valid) entry (e.g. HCNGC1554)
-                                String s_large = size.substring(0, size.indexOf('X'));
-                                String s_small = size.substring(size.indexOf('X') + 1);
-                                if (!("".equals(s_large.trim()) && ("".equals(s_small.trim())))) { // In case of e.g.
-                                    // HCNGC501 size is
-                                    // empty
-                                    double large = Double.parseDouble(s_large);
-                                    double small = Double.parseDouble(s_small);
-                                    if (small > large) {
-                                        double x = small;
-                                        small = large;
-                                        large = x;
-                                    }
-                                    ((DeepSkyTarget) target).setLargeDiameter(new Angle(large, Angle.ARCMINUTE));
-                                    ((DeepSkyTarget) target).setSmallDiameter(new Angle(small, Angle.ARCMINUTE));
-                                }
+                if (!"".equals(size.trim())) {
+                    if (size.indexOf('X') != -1) { // No (valid) entry (e.g. HCNGC1554)
+                        String s_large = size.substring(0, size.indexOf('X'));
+                        String s_small = size.substring(size.indexOf('X') + 1);
+                        if (!("".equals(s_large.trim()) && ("".equals(s_small.trim())))) { // In case of e.g.
+                            // HCNGC501 size is
+                            // empty
+                            double large = Double.parseDouble(s_large);
+                            double small = Double.parseDouble(s_small);
+                            if (small > large) {
+                                double x = small;
+                                small = large;
+                                large = x;
                             }
-                        }
-
-                        if ((vMag != null) && !("".equals(vMag.trim()))) {
-                            ((DeepSkyTarget) target).setVisibleMagnitude(FloatUtil.parseFloat(vMag));
+                            ((DeepSkyTarget) target)
+                                    .setLargeDiameter(this.pool.intern(new Angle(large, Angle.ARCMINUTE)));
+                            ((DeepSkyTarget) target)
+                                    .setSmallDiameter(this.pool.intern(new Angle(small, Angle.ARCMINUTE)));
                         }
                     }
+                }
 
-                    String[] an = aliasNames.split(",");
-                    target.setAliasNames(an);
-
-                    // Add target to map and increment counter
-                    this.map.put(hcngcNumber, target);
+                if ((vMag != null) && !("".equals(vMag.trim()))) {
+                    ((DeepSkyTarget) target).setVisibleMagnitude(FloatUtil.parseFloat(vMag));
                 }
-                counter++;
             }
-        } catch (IOException ioe) {
-            LOGGER.error("Error reading file {} ", file, ioe);
-            return false;
+
+            target.setAliasNames(this.getAliasNames(hcngcNumber, gcNo, ngcNo, icNo, aliasNames));
         }
 
-        return true;
+        return target;
     }
 
     @Override
     public String[] getCatalogIndex() {
 
-        return (String[]) this.map.keySet().toArray(new String[] {});
+        return (String[]) this.records.keySet().toArray(new String[] {});
     }
 
     @Override
-    public AbstractSchemaTableModel getTableModel() {
+    public String[] getAliasNames(String hcngcNumber) {
 
+        Integer record = this.records.get(hcngcNumber);
+        if (record == null) {
+            return null;
+        }
+
+        // Read the alias names only, without creating the target
+        StringTokenizer tokenizer = new StringTokenizer(this.index.getLine(record), "|");
+        String[] tokens = new String[HCNGCCatalog.ALIAS_NAMES_TOKEN + 1];
+        try {
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = tokenizer.nextToken();
+            }
+        } catch (NoSuchElementException nsee) {
+            LOGGER.error("Malformed entry: {} ", hcngcNumber, nsee);
+            return null;
+        }
+
+        return this.getAliasNames(
+                hcngcNumber,
+                tokens[HCNGCCatalog.GC_NUMBER_TOKEN],
+                tokens[HCNGCCatalog.NGC_NUMBER_TOKEN],
+                tokens[HCNGCCatalog.IC_NUMBER_TOKEN],
+                tokens[HCNGCCatalog.ALIAS_NAMES_TOKEN]);
+    }
+
+    @Override
+    public synchronized AbstractSchemaTableModel getTableModel() {
+
+        if ((this.tableModel == null) && (this.index != null)) {
+            this.tableModel = new DeepSkyTableModel(this);
+        }
         return this.tableModel;
     }
+
+    private String[] getAliasNames(String hcngcNumber, String gcNo, String ngcNo, String icNo, String aliasNames) {
+
+        // Add NGC number which is equal to HCNGC number.
+        // The ngcNo is only given in case the NGC Catalog has two entries for the
+        // same
+        // object (NGC20 == NGC6) so for compatibility reasons add the NGC Number
+        aliasNames = hcngcNumber.replace("HCNGC", "NGC") + "," + aliasNames;
+
+        // Make sure aliasNames are ; seperated list and no space is between catalogue
+        // name and index
+        // Also add NGC, GC and IC as aliasNames
+        aliasNames = aliasNames.trim();
+        if ((ngcNo != null) && !("".equals(ngcNo.trim()))) {
+            if (!aliasNames.trim().equals("")) {
+                aliasNames = aliasNames + ",";
+            }
+            aliasNames = aliasNames + "NGC" + ngcNo;
+        }
+        if ((gcNo != null) && !("".equals(gcNo.trim()))) {
+            if (!aliasNames.trim().equals("")) {
+                aliasNames = aliasNames + ",";
+            }
+            aliasNames = aliasNames + "GC" + gcNo;
+        }
+        if ((icNo != null) && !("".equals(icNo.trim()))) {
+            if (!aliasNames.trim().equals("")) {
+                aliasNames = aliasNames + ",";
+            }
+            aliasNames = aliasNames + "IC" + icNo;
+        }
+        aliasNames = aliasNames.replace(" ", "");
+        aliasNames = aliasNames.toUpperCase();
+
+        // Some entries have no own alias names
+        return Arrays.stream(aliasNames.split(","))
+                .filter(name -> !name.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Real data lines start with a counter at 1, all other lines are comments, header or empty lines.
+     */
+    private static final class DataLines implements CatalogLineIndex.LineNames {
+
+        private int counter = 1;
+
+        @Override
+        public String getName(String line) {
+
+            if (!(line.startsWith("" + this.counter)) || ("".equals(line.trim()))) {
+                return null;
+            }
+            this.counter++;
+
+            return "HCNGC" + line.substring(0, line.indexOf('|'));
+        }
+    }
 }
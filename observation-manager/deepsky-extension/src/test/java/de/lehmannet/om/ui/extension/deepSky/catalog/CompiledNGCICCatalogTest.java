@@ -0,0 +1,54 @@
+package de.lehmannet.om.ui.extension.deepSky.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CompiledNGCICCatalogTest {
+
+    @Test
+    public void ngcCatalogTest(@TempDir Path dir) throws Exception {
+        final File file = ReferenceTargets.copyCatalog("NGC2009", dir);
+
+        // First opening compiles the text file, the second one maps the compiled file
+        ReferenceTargets.assertSameTargets(new NGCCatalog(file), "/catalog/ngc-targets.txt", 8448);
+        assertTrue(CompiledNGCICCatalog.getCompiledFile(file).exists(), "Compiled file written");
+        ReferenceTargets.assertSameTargets(new NGCCatalog(file), "/catalog/ngc-targets.txt", 8448);
+    }
+
+    @Test
+    public void icCatalogTest(@TempDir Path dir) throws Exception {
+        final File file = ReferenceTargets.copyCatalog("IC2009", dir);
+
+        ReferenceTargets.assertSameTargets(new ICCatalog(file), "/catalog/ic-targets.txt", 5554);
+        assertTrue(CompiledNGCICCatalog.getCompiledFile(file).exists(), "Compiled file written");
+        ReferenceTargets.assertSameTargets(new ICCatalog(file), "/catalog/ic-targets.txt", 5554);
+    }
+
+    @Test
+    public void compiledForCharsetTest(@TempDir Path dir) throws Exception {
+        final String line = Files.readAllLines(Path.of("catalog", "NGC2009"), StandardCharsets.ISO_8859_1)
+                .get(0);
+        final Path file = dir.resolve("NGC2009");
+        // Alias name with a character encoded differently in both charsets
+        Files.write(file, List.of(line.replace("UGC 57", "Caf\u00e9")), StandardCharsets.UTF_8);
+
+        final CompiledNGCICCatalog utf8 = CompiledNGCICCatalog.open(file.toFile(), StandardCharsets.UTF_8);
+        assertEquals("Caf\u00e9", utf8.getAliasNames(0)[1], "Read as UTF-8");
+
+        // Not the records compiled with the other charset
+        final CompiledNGCICCatalog latin1 = CompiledNGCICCatalog.open(file.toFile(), StandardCharsets.ISO_8859_1);
+        assertEquals("Caf\u00c3\u00a9", latin1.getAliasNames(0)[1], "Read as ISO-8859-1");
+        assertEquals(
+                "Caf\u00e9",
+                CompiledNGCICCatalog.open(file.toFile(), StandardCharsets.UTF_8).getAliasNames(0)[1],
+                "Read as UTF-8 again");
+    }
+}
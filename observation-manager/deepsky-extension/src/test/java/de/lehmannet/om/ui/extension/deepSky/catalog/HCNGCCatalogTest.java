@@ -0,0 +1,47 @@
+package de.lehmannet.om.ui.extension.deepSky.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class HCNGCCatalogTest {
+
+    // The former parser failed on Serpens given as SerCp/SerCd, so its reference
+    // targets were read from a copy of the catalog with Ser instead
+    @Test
+    public void hcngcCatalogTest(@TempDir Path dir) throws Exception {
+        final File file = ReferenceTargets.copyCatalog("HCNGC", dir);
+
+        // First opening builds the line index, the second one reads the index file
+        ReferenceTargets.assertSameTargets(new HCNGCCatalog(file), "/catalog/hcngc-targets.txt", 7840);
+        assertTrue(CatalogLineIndex.getIndexFile(file).exists(), "Index file written");
+        ReferenceTargets.assertSameTargets(new HCNGCCatalog(file), "/catalog/hcngc-targets.txt", 7840);
+    }
+
+    @Test
+    public void shortLineTest(@TempDir Path dir) throws Exception {
+        final List<String> lines = Files.readAllLines(Path.of("catalog", "HCNGC"), StandardCharsets.UTF_8);
+        final String first =
+                lines.stream().filter(line -> line.startsWith("1|")).findFirst().orElseThrow();
+        final String second =
+                lines.stream().filter(line -> line.startsWith("2|")).findFirst().orElseThrow();
+        final Path file = dir.resolve("HCNGC");
+        // The first line ends after the constellation
+        Files.write(file, List.of(first.substring(0, first.indexOf("|Peg|") + 4), second), StandardCharsets.UTF_8);
+
+        final HCNGCCatalog catalog = new HCNGCCatalog(file.toFile());
+        assertEquals(2, catalog.getCatalogIndex().length, "Catalog index");
+        assertNull(catalog.getTarget("HCNGC1"), "Short line");
+        assertNotNull(catalog.getTarget("HCNGC2"), "Complete line");
+        assertEquals(1, catalog.getTargets().length, "Targets");
+    }
+}
@@ -0,0 +1,82 @@
+package de.lehmannet.om.ui.extension.deepSky.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import de.lehmannet.om.ITarget;
+import de.lehmannet.om.ui.catalog.IListableCatalog;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Targets as the former text parsers of the catalogs created them. Each line of a reference file holds the name, the
+ * class and the serialized target (without its generated ID) of one target.
+ */
+final class ReferenceTargets {
+
+    private ReferenceTargets() {}
+
+    /**
+     * Copies a catalog of the module into the given directory, as opening a catalog writes files next to it.
+     */
+    static File copyCatalog(String name, Path dir) throws IOException {
+
+        final Path copy = dir.resolve(name);
+        Files.copy(Path.of("catalog", name), copy);
+        return copy.toFile();
+    }
+
+    static void assertSameTargets(IListableCatalog catalog, String referenceFile, int count) throws Exception {
+
+        assertEquals(count, catalog.getCatalogIndex().length, "Catalog index");
+        final ITarget[] targets = catalog.getTargets();
+        assertEquals(count, targets.length, "Targets");
+        assertEquals(
+                catalog.getTarget(catalog.getCatalogIndex()[count - 1]).getName(),
+                targets[count - 1].getName(),
+                "Index order");
+
+        final String reference;
+        try (InputStream in = ReferenceTargets.class.getResourceAsStream(referenceFile)) {
+            reference = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        for (String line : reference.split("\n")) {
+            final String[] fields = line.split("\t");
+            final ITarget target = catalog.getTarget(fields[0]);
+            assertNotNull(target, fields[0]);
+            assertEquals(fields[1], target.getClass().getSimpleName(), fields[0]);
+            assertEquals(fields[2], toXml(target), fields[0]);
+        }
+    }
+
+    private static String toXml(ITarget target) throws Exception {
+
+        final Document document =
+                DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        document.appendChild(document.createElement("observations"));
+        target.addToXmlElement(document.getDocumentElement());
+
+        final Element element = (Element)
+                document.getElementsByTagName(ITarget.XML_ELEMENT_TARGET).item(0);
+        element.removeAttribute("id");
+
+        final Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        final StringWriter writer = new StringWriter();
+        transformer.transform(new DOMSource(element), new StreamResult(writer));
+        return writer.toString();
+    }
+}
@@ -64,6 +64,7 @@ public class ImagerExtension extends AbstractExtension {
         this.extensionTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.imaging.CCDImager")
                 .targetType(CCDImager.XML_ATTRIBUTE_CCDIMAGER)
+                .imagerFactory(CCDImager::new)
                 .build());
     }
 
@@ -0,0 +1,48 @@
+package de.lehmannet.om.model;
+
+import de.lehmannet.om.ISchemaElement;
+import java.util.List;
+
+/**
+ * Change of some schema elements of the model, sent to all {@link ModelChangeListener}s after the change was applied.
+ * Loading or clearing the model sends no event, views are rebuilt completely in that case.
+ */
+public final class ModelChangeEvent {
+
+    public enum Type {
+        /** The elements were added to the model */
+        ADDED,
+        /** Values of the elements changed, but not the elements they refer to */
+        UPDATED,
+        /**
+         * The elements changed, including their references to other elements (e.g. the target of an observation, the
+         * coObservers of a session or the components of a multiple star). So the observations of the referred
+         * elements might have changed as well.
+         */
+        REFERENCES_CHANGED,
+        /** The elements were removed from the model */
+        REMOVED
+    }
+
+    private final Type type;
+    private final List<ISchemaElement> elements;
+
+    public ModelChangeEvent(Type type, List<? extends ISchemaElement> elements) {
+
+        this.type = type;
+        this.elements = List.copyOf(elements);
+    }
+
+    public Type getType() {
+
+        return this.type;
+    }
+
+    /**
+     * @return the changed elements, never empty
+     */
+    public List<ISchemaElement> getElements() {
+
+        return this.elements;
+    }
+}
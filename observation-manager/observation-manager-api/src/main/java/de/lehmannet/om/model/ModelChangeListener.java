@@ -0,0 +1,10 @@
+package de.lehmannet.om.model;
+
+/**
+ * Listener for changes of the {@link ObservationManagerModel}. The listener is called on the thread that changed the
+ * model, which is not the event dispatch thread in all cases (e.g. imports).
+ */
+public interface ModelChangeListener {
+
+    void modelChanged(ModelChangeEvent event);
+}
@@ -0,0 +1,211 @@
+package de.lehmannet.om.model;
+
+import de.lehmannet.om.Constellation;
+import de.lehmannet.om.IEyepiece;
+import de.lehmannet.om.IFilter;
+import de.lehmannet.om.IImager;
+import de.lehmannet.om.ILens;
+import de.lehmannet.om.IObservation;
+import de.lehmannet.om.IObserver;
+import de.lehmannet.om.ISchemaElement;
+import de.lehmannet.om.IScope;
+import de.lehmannet.om.ISession;
+import de.lehmannet.om.ISite;
+import de.lehmannet.om.ITarget;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sorted schema elements of the model at one point in time. The element lists of a snapshot never change, so a
+ * snapshot can be read by background tasks (e.g. statistics) without locking, while the model is edited. Each change
+ * of the model results in a new snapshot with a higher version. The arrays are shared by all readers of the snapshot,
+ * don't modify them.
+ */
+public final class ModelSnapshot {
+
+    private final long version;
+    private final IObserver[] observers;
+    private final IEyepiece[] eyepieces;
+    private final IImager[] imagers;
+    private final IFilter[] filters;
+    private final IObservation[] observations;
+    private final IScope[] scopes;
+    private final ISession[] sessions;
+    private final ISite[] sites;
+    private final ITarget[] targets;
+    private final ILens[] lenses;
+
+    // Created on first use, as most snapshots are never queried by date
+    private volatile ObservationDateIndex observationDateIndex;
+
+    // Created on first use as well
+    // Key=Constellation of the target - Value: Observations of targets in that constellation
+    private volatile Map<Constellation, List<IObservation>> constellationIndex;
+
+    // Created on first use as well
+    // Key=ID of an element - Value: Observations referring to that element
+    private volatile Map<String, List<IObservation>> referenceIndex;
+
+    public ModelSnapshot(
+            long version,
+            IObserver[] observers,
+            IEyepiece[] eyepieces,
+            IImager[] imagers,
+            IFilter[] filters,
+            IObservation[] observations,
+            IScope[] scopes,
+            ISession[] sessions,
+            ISite[] sites,
+            ITarget[] targets,
+            ILens[] lenses) {
+
+        this.version = version;
+        this.observers = observers;
+        this.eyepieces = eyepieces;
+        this.imagers = imagers;
+        this.filters = filters;
+        this.observations = observations;
+        this.scopes = scopes;
+        this.sessions = sessions;
+        this.sites = sites;
+        this.targets = targets;
+        this.lenses = lenses;
+    }
+
+    /**
+     * @return the version of the model this snapshot was taken from. A newer snapshot has a higher version.
+     */
+    public long getVersion() {
+
+        return this.version;
+    }
+
+    public IObserver[] getObservers() {
+
+        return this.observers;
+    }
+
+    public IEyepiece[] getEyepieces() {
+
+        return this.eyepieces;
+    }
+
+    public IImager[] getImagers() {
+
+        return this.imagers;
+    }
+
+    public IFilter[] getFilters() {
+
+        return this.filters;
+    }
+
+    public IObservation[] getObservations() {
+
+        return this.observations;
+    }
+
+    public IScope[] getScopes() {
+
+        return this.scopes;
+    }
+
+    public ISession[] getSessions() {
+
+        return this.sessions;
+    }
+
+    public ISite[] getSites() {
+
+        return this.sites;
+    }
+
+    public ITarget[] getTargets() {
+
+        return this.targets;
+    }
+
+    public ILens[] getLenses() {
+
+        return this.lenses;
+    }
+
+    /**
+     * @return the observations of this snapshot, indexed by their begin date
+     */
+    public ObservationDateIndex getObservationDateIndex() {
+
+        // Two threads might create an index at the same time, both are equal
+        ObservationDateIndex result = this.observationDateIndex;
+        if (result == null) {
+            result = new ObservationDateIndex(this.observations);
+            this.observationDateIndex = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * @param constellation
+     *            The constellation
+     * @return the observations of this snapshot of targets in the given constellation, in the order of
+     *         {@link #getObservations()}
+     */
+    public List<IObservation> getObservations(Constellation constellation) {
+
+        Map<Constellation, List<IObservation>> index = this.constellationIndex;
+        if (index == null) {
+            index = new EnumMap<>(Constellation.class);
+            for (IObservation observation : this.observations) {
+                ITarget target = observation.getTarget();
+                if ((target != null) && (target.getConstellation() != null)) {
+                    index.computeIfAbsent(target.getConstellation(), k -> new ArrayList<>())
+                            .add(observation);
+                }
+            }
+            this.constellationIndex = index;
+        }
+
+        return Collections.unmodifiableList(index.getOrDefault(constellation, Collections.emptyList()));
+    }
+
+    /**
+     * @param element
+     *            An observer, site, scope, eyepiece, filter, imager, lens, target or session
+     * @return the observations of this snapshot referring to the given element, in the order of
+     *         {@link #getObservations()}
+     */
+    public List<IObservation> getObservations(ISchemaElement element) {
+
+        Map<String, List<IObservation>> index = this.referenceIndex;
+        if (index == null) {
+            index = new HashMap<>();
+            for (IObservation observation : this.observations) {
+                addReference(index, observation.getObserver(), observation);
+                addReference(index, observation.getSite(), observation);
+                addReference(index, observation.getScope(), observation);
+                addReference(index, observation.getEyepiece(), observation);
+                addReference(index, observation.getFilter(), observation);
+                addReference(index, observation.getImager(), observation);
+                addReference(index, observation.getLens(), observation);
+                addReference(index, observation.getTarget(), observation);
+                addReference(index, observation.getSession(), observation);
+            }
+            this.referenceIndex = index;
+        }
+
+        return Collections.unmodifiableList(index.getOrDefault(element.getID(), Collections.emptyList()));
+    }
+
+    private static void addReference(
+            Map<String, List<IObservation>> index, ISchemaElement element, IObservation observation) {
+
+        if (element != null) {
+            index.computeIfAbsent(element.getID(), k -> new ArrayList<>()).add(observation);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package de.lehmannet.om.model;
+
+import de.lehmannet.om.IObservation;
+import de.lehmannet.om.ISite;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Observations ordered by their begin date, for fast queries of the observations of a time range, a night or a month.
+ * A query costs O(log n + k), where k is the number of observations found. The index never changes, a new one is
+ * created with each {@link ModelSnapshot}.
+ */
+public final class ObservationDateIndex {
+
+    // A night starts and ends at local noon
+    private static final LocalTime NIGHT_START = LocalTime.NOON;
+
+    // Key=Begin in epoch millis - Value: Observations with that begin
+    private final NavigableMap<Long, List<IObservation>> observations = new TreeMap<>();
+
+    // Sorted begins of all observations, to count the observations of a range without collecting them
+    private final long[] begins;
+
+    public ObservationDateIndex(IObservation[] observations) {
+
+        long[] begins = new long[observations.length];
+        int count = 0;
+        for (IObservation observation : observations) {
+            if (observation.getBegin() == null) { // Invalid observation, nothing to index
+                continue;
+            }
+            long begin = observation.getBegin().toInstant().toEpochMilli();
+            this.observations.computeIfAbsent(begin, k -> new ArrayList<>(1)).add(observation);
+            begins[count++] = begin;
+        }
+        this.begins = Arrays.copyOf(begins, count);
+        Arrays.sort(this.begins);
+    }
+
+    /**
+     * @return number of indexed observations
+     */
+    public int size() {
+
+        return this.begins.length;
+    }
+
+    /**
+     * Counts the observations which begin within the given range, in O(log n).
+     *
+     * @param from
+     *            Start of the range (inclusive)
+     * @param to
+     *            End of the range (exclusive)
+     * @return the number of observations {@link #getObservations(Instant, Instant)} returns
+     */
+    public int count(Instant from, Instant to) {
+
+        if (!from.isBefore(to)) {
+            return 0;
+        }
+
+        return this.lowerBound(to.toEpochMilli()) - this.lowerBound(from.toEpochMilli());
+    }
+
+    // Index of the first begin not before the given one
+    private int lowerBound(long begin) {
+
+        int low = 0;
+        int high = this.begins.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.begins[middle] < begin) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the observations which begin within the given range.
+     *
+     * @param from
+     *            Start of the range (inclusive)
+     * @param to
+     *            End of the range (exclusive)
+     * @return the observations ordered by their begin date, an empty list if there are none
+     */
+    public List<IObservation> getObservations(Instant from, Instant to) {
+
+        if (!from.isBefore(to)) {
+            return Collections.emptyList();
+        }
+
+        List<IObservation> result = new ArrayList<>();
+        for (List<IObservation> current : this.observations
+                .subMap(from.toEpochMilli(), true, to.toEpochMilli(), false)
+                .values()) {
+            result.addAll(current);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the observations of one night, i.e. from noon of the given day until noon of the next day.
+     *
+     * @param night
+     *            Day the night starts
+     * @param zone
+     *            Time zone the noon is calculated in
+     * @return the observations ordered by their begin date, an empty list if there are none
+     */
+    public List<IObservation> getObservationsOfNight(LocalDate night, ZoneId zone) {
+
+        Instant from =
+                night.atTime(ObservationDateIndex.NIGHT_START).atZone(zone).toInstant();
+        Instant to = night.plusDays(1)
+                .atTime(ObservationDateIndex.NIGHT_START)
+                .atZone(zone)
+                .toInstant();
+
+        return this.getObservations(from, to);
+    }
+
+    /**
+     * Returns the observations of one night at the given site, i.e. from noon of the given day until noon of the next
+     * day in the time zone of the site.
+     *
+     * @param night
+     *            Day the night starts
+     * @param site
+     *            The site, whose time zone is used
+     * @return the observations ordered by their begin date, an empty list if there are none. Observations of other
+     *         sites in the same time range are returned as well.
+     */
+    public List<IObservation> getObservationsOfNight(LocalDate night, ISite site) {
+
+        return this.getObservationsOfNight(night, ZoneOffset.ofTotalSeconds(site.getTimezone() * 60));
+    }
+
+    /**
+     * Returns the observations of one month.
+     *
+     * @param month
+     *            The month
+     * @param zone
+     *            Time zone the month starts and ends in
+     * @return the observations ordered by their begin date, an empty list if there are none
+     */
+    public List<IObservation> getObservationsOfMonth(YearMonth month, ZoneId zone) {
+
+        Instant from = month.atDay(1).atStartOfDay(zone).toInstant();
+        Instant to = month.plusMonths(1).atDay(1).atStartOfDay(zone).toInstant();
+
+        return this.getObservations(from, to);
+    }
+}
@@ -13,6 +13,7 @@ import de.lehmannet.om.ISite;
 import de.lehmannet.om.ITarget;
 import de.lehmannet.om.ui.util.IConfiguration;
 import java.io.File;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.w3c.dom.Document;
@@ -28,6 +29,8 @@ public interface ObservationManagerModel {
 
     Document getDocumentForElement(ISchemaElement schemaElement);
 
+    Document getDocumentForObservations(List<IObservation> observations);
+
     void setSelectedElement(ISchemaElement selected);
 
     ISchemaElement getSelectedElement();
@@ -52,10 +55,29 @@ public interface ObservationManagerModel {
 
     void add(ISchemaElement element, boolean dependend);
 
+    /**
+     * Adds a batch of schema elements at once, e.g. all elements of an imported file. Elements already known are
+     * skipped.
+     *
+     * @param elements
+     *            The elements to add
+     */
+    void addAll(Collection<? extends ISchemaElement> elements);
+
     List<ISchemaElement> remove(ISchemaElement element);
 
     void update(ISchemaElement element);
 
+    /**
+     * Adds a listener, informed about all elements added, updated or removed from now on.
+     *
+     * @param listener
+     *            The listener to add
+     */
+    void addModelChangeListener(ModelChangeListener listener);
+
+    void removeModelChangeListener(ModelChangeListener listener);
+
     IObserver[] getObservers();
 
     IEyepiece[] getEyepieces();
@@ -80,8 +102,36 @@ public interface ObservationManagerModel {
 
     ILens[] getLenses();
 
+    /**
+     * @param element
+     *            An element of the model
+     * @return the position of the element in the sorted array of its type (e.g. {@link #getTargets()}), -1 if the
+     *         element is not part of the model
+     */
+    int indexOf(ISchemaElement element);
+
+    /**
+     * @return consistent elements for background tasks, which must not see changes made while they run
+     */
+    ModelSnapshot getSnapshot();
+
+    /**
+     * @return the current observations indexed by their begin date, e.g. to get the observations of a night or month
+     *         without iterating over all observations. The index is created once per change of the model.
+     */
+    ObservationDateIndex getObservationDateIndex();
+
+    /**
+     * @param query
+     *            Criteria of the observations
+     * @return all observations matching the query, in no particular order
+     */
+    List<IObservation> query(ObservationQuery query);
+
     boolean loadObservations(String file);
 
+    boolean loadObservations(List<String> files);
+
     List<File> getFilesFromPath(List<String> imagePath);
 
     String getXMLFileForSchemaElement(ISchemaElement schemaElement);
@@ -95,4 +145,12 @@ public interface ObservationManagerModel {
     boolean save(String name);
 
     boolean saveAs(String oldPath, String newPath);
+
+    /**
+     * Writes the saved changes, which are only held in the edit journal so far, into the opened XML file. Called when
+     * the application exits.
+     *
+     * @return true if the changes were written, false in other case
+     */
+    boolean compact();
 }
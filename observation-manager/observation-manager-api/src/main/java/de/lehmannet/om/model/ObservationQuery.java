@@ -0,0 +1,261 @@
+package de.lehmannet.om.model;
+
+import de.lehmannet.om.Constellation;
+import de.lehmannet.om.IEyepiece;
+import de.lehmannet.om.IObservation;
+import de.lehmannet.om.IObserver;
+import de.lehmannet.om.ISchemaElement;
+import de.lehmannet.om.IScope;
+import de.lehmannet.om.ISite;
+import de.lehmannet.om.ITarget;
+import de.lehmannet.om.SurfaceBrightness;
+import java.time.Instant;
+
+/**
+ * Criteria for observations, e.g. all observations of galaxies in Leo with a given scope and a seeing of 2 or better.
+ * All criteria which are set must match, criteria which are not set match all observations. Run a query with
+ * {@link ObservationManagerModel#query(ObservationQuery)}.
+ */
+public final class ObservationQuery {
+
+    private IObserver observer;
+    private ISite site;
+    private IScope scope;
+    private IEyepiece eyepiece;
+    private String targetType;
+    private Constellation constellation;
+    private Instant from;
+    private Instant to;
+    private int maxSeeing = -1;
+    private float minSkyQuality = Float.NaN;
+    private float minFaintestStar = Float.NaN;
+
+    /**
+     * @param observer
+     *            The observer of the observations, or null for all observers
+     * @return this query
+     */
+    public ObservationQuery withObserver(IObserver observer) {
+
+        this.observer = observer;
+        return this;
+    }
+
+    /**
+     * @param site
+     *            The site of the observations, or null for all sites
+     * @return this query
+     */
+    public ObservationQuery withSite(ISite site) {
+
+        this.site = site;
+        return this;
+    }
+
+    /**
+     * @param scope
+     *            The scope used for the observations, or null for all scopes
+     * @return this query
+     */
+    public ObservationQuery withScope(IScope scope) {
+
+        this.scope = scope;
+        return this;
+    }
+
+    /**
+     * @param eyepiece
+     *            The eyepiece used for the observations, or null for all eyepieces
+     * @return this query
+     */
+    public ObservationQuery withEyepiece(IEyepiece eyepiece) {
+
+        this.eyepiece = eyepiece;
+        return this;
+    }
+
+    /**
+     * @param targetType
+     *            XSI type of the observed targets (e.g. oal:deepSkyGX for galaxies), or null for all types
+     * @return this query
+     */
+    public ObservationQuery withTargetType(String targetType) {
+
+        this.targetType = targetType;
+        return this;
+    }
+
+    /**
+     * @param constellation
+     *            The constellation of the observed targets, or null for all constellations
+     * @return this query
+     */
+    public ObservationQuery withConstellation(Constellation constellation) {
+
+        this.constellation = constellation;
+        return this;
+    }
+
+    /**
+     * @param from
+     *            Observations beginning at this instant or later, or null for no lower limit
+     * @param to
+     *            Observations beginning before this instant, or null for no upper limit
+     * @return this query
+     */
+    public ObservationQuery withBegin(Instant from, Instant to) {
+
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    /**
+     * @param maxSeeing
+     *            Worst seeing of the observations (1 is best, 5 worst), or -1 for any seeing. Observations without
+     *            seeing don't match a limit.
+     * @return this query
+     */
+    public ObservationQuery withMaxSeeing(int maxSeeing) {
+
+        this.maxSeeing = maxSeeing;
+        return this;
+    }
+
+    /**
+     * @param minSkyQuality
+     *            Lowest sky quality in magnitudes per square arc second, or <code>Float.NaN</code> for any sky
+     *            quality. Observations without sky quality don't match a limit.
+     * @return this query
+     */
+    public ObservationQuery withMinSkyQuality(float minSkyQuality) {
+
+        this.minSkyQuality = minSkyQuality;
+        return this;
+    }
+
+    /**
+     * @param minFaintestStar
+     *            Lowest magnitude of the faintest star visible, or <code>Float.NaN</code> for any magnitude.
+     *            Observations without faintest star don't match a limit.
+     * @return this query
+     */
+    public ObservationQuery withMinFaintestStar(float minFaintestStar) {
+
+        this.minFaintestStar = minFaintestStar;
+        return this;
+    }
+
+    public IObserver getObserver() {
+
+        return this.observer;
+    }
+
+    public ISite getSite() {
+
+        return this.site;
+    }
+
+    public IScope getScope() {
+
+        return this.scope;
+    }
+
+    public IEyepiece getEyepiece() {
+
+        return this.eyepiece;
+    }
+
+    public String getTargetType() {
+
+        return this.targetType;
+    }
+
+    public Constellation getConstellation() {
+
+        return this.constellation;
+    }
+
+    public Instant getFrom() {
+
+        return this.from;
+    }
+
+    public Instant getTo() {
+
+        return this.to;
+    }
+
+    public int getMaxSeeing() {
+
+        return this.maxSeeing;
+    }
+
+    public float getMinSkyQuality() {
+
+        return this.minSkyQuality;
+    }
+
+    public float getMinFaintestStar() {
+
+        return this.minFaintestStar;
+    }
+
+    /**
+     * @param observation
+     *            The observation to check
+     * @return true if the observation matches all criteria of this query
+     */
+    public boolean matches(IObservation observation) {
+
+        if (!this.matches(this.observer, observation.getObserver())
+                || !this.matches(this.site, observation.getSite())
+                || !this.matches(this.scope, observation.getScope())
+                || !this.matches(this.eyepiece, observation.getEyepiece())) {
+            return false;
+        }
+
+        ITarget target = observation.getTarget();
+        if ((this.targetType != null) && ((target == null) || !this.targetType.equals(target.getXSIType()))) {
+            return false;
+        }
+        if ((this.constellation != null) && ((target == null) || (this.constellation != target.getConstellation()))) {
+            return false;
+        }
+
+        if ((this.from != null) || (this.to != null)) {
+            if (observation.getBegin() == null) {
+                return false;
+            }
+            Instant begin = observation.getBegin().toInstant();
+            if (((this.from != null) && begin.isBefore(this.from)) || ((this.to != null) && !begin.isBefore(this.to))) {
+                return false;
+            }
+        }
+
+        if ((this.maxSeeing > 0) && ((observation.getSeeing() <= 0) || (observation.getSeeing() > this.maxSeeing))) {
+            return false;
+        }
+
+        if (!Float.isNaN(this.minSkyQuality)) {
+            SurfaceBrightness skyQuality = observation.getSkyQuality();
+            if ((skyQuality == null)
+                    || !(skyQuality.getValueAs(SurfaceBrightness.MAGS_SQR_ARC_SEC) >= this.minSkyQuality)) {
+                return false;
+            }
+        }
+
+        // Comparison with NaN is false, so observations without value don't match
+        return Float.isNaN(this.minFaintestStar) || (observation.getFaintestStar() >= this.minFaintestStar);
+    }
+
+    // Elements are compared by ID, like in the caches of the model
+    private boolean matches(ISchemaElement criteria, ISchemaElement element) {
+
+        if (criteria == null) {
+            return true;
+        }
+
+        return (element != null) && criteria.getID().equals(element.getID());
+    }
+}
@@ -0,0 +1,96 @@
+package de.lehmannet.om.model;
+
+import de.lehmannet.om.IObservation;
+import de.lehmannet.om.ISchemaElement;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs {@link ObservationQuery}s on a {@link ModelSnapshot} of a model, so a query never mixes versions of the model
+ * and can run off the event dispatch thread. The candidate observations are taken from the most selective index of
+ * the snapshot for the criteria of the query (the observations of an observer, site, scope or eyepiece, the
+ * {@link ObservationDateIndex} or the observations of a constellation). The remaining criteria are checked on the
+ * candidates only, in parallel for large numbers of candidates.
+ */
+public final class ObservationQueryEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ObservationQueryEngine.class);
+
+    // Below this number of candidates, checking the criteria in parallel costs more than it saves
+    private static final int PARALLEL_THRESHOLD = 10000;
+
+    private final ObservationManagerModel model;
+
+    public ObservationQueryEngine(ObservationManagerModel model) {
+
+        this.model = model;
+    }
+
+    /**
+     * @param query
+     *            The criteria of the observations
+     * @return the matching observations. The order depends on the index used, sort the result if needed.
+     */
+    public List<IObservation> execute(ObservationQuery query) {
+
+        ModelSnapshot snapshot = this.model.getSnapshot();
+        Collection<IObservation> candidates = this.getCandidates(query, snapshot);
+
+        Stream<IObservation> stream = (candidates.size() > ObservationQueryEngine.PARALLEL_THRESHOLD)
+                ? candidates.parallelStream()
+                : candidates.stream();
+
+        return stream.filter(query::matches).collect(Collectors.toList());
+    }
+
+    private Collection<IObservation> getCandidates(ObservationQuery query, ModelSnapshot snapshot) {
+
+        Collection<IObservation> result = Arrays.asList(snapshot.getObservations());
+        String index = "all observations";
+
+        // Observations referring to the elements
+        for (ISchemaElement element :
+                new ISchemaElement[] {query.getObserver(), query.getSite(), query.getScope(), query.getEyepiece()}) {
+            if (element != null) {
+                List<IObservation> observations = snapshot.getObservations(element);
+                if (observations.isEmpty()) { // Element has no observations
+                    return Collections.emptyList();
+                }
+                if (observations.size() < result.size()) {
+                    result = observations;
+                    index = "observations of " + element.getID();
+                }
+            }
+        }
+
+        if (query.getConstellation() != null) {
+            List<IObservation> observations = snapshot.getObservations(query.getConstellation());
+            if (observations.size() < result.size()) {
+                result = observations;
+                index = "observations in " + query.getConstellation();
+            }
+        }
+
+        if ((query.getFrom() != null) || (query.getTo() != null)) {
+            Instant from = (query.getFrom() != null) ? query.getFrom() : Instant.ofEpochMilli(Long.MIN_VALUE);
+            Instant to = (query.getTo() != null) ? query.getTo() : Instant.ofEpochMilli(Long.MAX_VALUE);
+            // Only collect the observations of the range if they are the fewest candidates
+            ObservationDateIndex dateIndex = snapshot.getObservationDateIndex();
+            if (dateIndex.count(from, to) < result.size()) {
+                result = dateIndex.getObservations(from, to);
+                index = "observations by date";
+            }
+        }
+
+        LOGGER.debug("Query uses {}: {} candidates", index, result.size());
+
+        return result;
+    }
+}
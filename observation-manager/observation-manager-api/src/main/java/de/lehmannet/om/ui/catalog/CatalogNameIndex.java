@@ -0,0 +1,309 @@
+package de.lehmannet.om.ui.catalog;
+
+import de.lehmannet.om.ITarget;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the normalized names and alias names of the targets of catalogs, e.g. NGC 224, M31, PGC 2557 or UGC 454 all
+ * lead to the same galaxy. Listable catalogs are indexed with their {@link IListableCatalog#getCatalogIndex()} and
+ * alias names, other catalogs with their {@link ICatalog#getTargetNames()} (if they can list them). Names are
+ * normalized by {@link #normalize(String)}, so lookups ignore case and whitespace. Lookups only use the index, targets
+ * are not created before they are requested.<br>
+ * The index of a single catalog is built once and kept as long as the application runs (as the catalogs are), see
+ * {@link #of(ICatalog)}. The index of several catalogs is merged from these, see {@link #of(Collection)}. Instances are
+ * immutable and thread safe.
+ */
+public final class CatalogNameIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatalogNameIndex.class);
+
+    // Key: Catalog, Value: Index of the catalog
+    // Not weak, the entries of an index refer to their catalog
+    private static final Map<ICatalog, CatalogNameIndex> CATALOG_INDEXES = new HashMap<>();
+
+    // Key: Normalized name
+    // Value: Entries, target names before alias names
+    private final Map<String, Entry[]> entries;
+
+    private CatalogNameIndex(Map<String, Entry[]> entries) {
+
+        this.entries = entries;
+    }
+
+    /**
+     * Returns the index of the given catalog. The index is built on first use.
+     *
+     * @param catalog
+     *            The catalog
+     * @return the index of the catalog
+     */
+    public static CatalogNameIndex of(ICatalog catalog) {
+
+        CatalogNameIndex index;
+        synchronized (CATALOG_INDEXES) {
+            index = CATALOG_INDEXES.get(catalog);
+        }
+        if (index != null) {
+            return index;
+        }
+
+        // Built without lock, so several catalogs can be indexed at the same time
+        index = CatalogNameIndex.build(catalog);
+        synchronized (CATALOG_INDEXES) {
+            CatalogNameIndex other = CATALOG_INDEXES.putIfAbsent(catalog, index);
+            return (other != null) ? other : index;
+        }
+    }
+
+    /**
+     * Returns the index of the given catalogs. The catalogs are indexed in parallel.<br>
+     * If a name is used in several catalogs, target names come first, then alias names. Otherwise catalogs are ordered
+     * by their name.
+     *
+     * @param catalogs
+     *            The catalogs
+     * @return the index of all catalogs
+     */
+    public static CatalogNameIndex of(Collection<? extends ICatalog> catalogs) {
+
+        long start = System.currentTimeMillis();
+
+        List<CatalogNameIndex> indexes =
+                catalogs.stream()
+                        .sorted(Comparator.comparing(ICatalog::getName))
+                        .collect(Collectors.toList())
+                        .parallelStream()
+                        .map(CatalogNameIndex::of)
+                        .collect(Collectors.toList());
+
+        Map<String, Entry[]> merged = new HashMap<>();
+        for (CatalogNameIndex index : indexes) {
+            for (Map.Entry<String, Entry[]> names : index.entries.entrySet()) {
+                merged.merge(names.getKey(), names.getValue(), CatalogNameIndex::merge);
+            }
+        }
+
+        LOGGER.debug(
+                "Indexed {} names of {} catalogs in {} ms",
+                merged.size(),
+                indexes.size(),
+                System.currentTimeMillis() - start);
+
+        return new CatalogNameIndex(merged);
+    }
+
+    /**
+     * Normalizes a name for lookups: whitespace is removed and letters are converted to upper case.
+     *
+     * @param name
+     *            The name
+     * @return the normalized name, or <code>null</code> if the name was <code>null</code> or blank
+     */
+    public static String normalize(String name) {
+
+        if (name == null) {
+            return null;
+        }
+
+        StringBuilder normalized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                normalized.append(c);
+            }
+        }
+        if (normalized.length() == 0) {
+            return null;
+        }
+
+        return normalized.toString().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * @param name
+     *            The name or alias name of a target, normalized or not
+     * @return the first target with this name, or <code>null</code> if there is none
+     */
+    public ITarget getTarget(String name) {
+
+        for (Entry entry : this.getEntries(name)) {
+            ITarget target = entry.getTarget();
+            if (target != null) {
+                return target;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param name
+     *            The name or alias name of a target, normalized or not
+     * @return all entries with this name, target names before alias names. Empty if there is none.
+     */
+    public List<Entry> getEntries(String name) {
+
+        Entry[] result = this.entries.get(CatalogNameIndex.normalize(name));
+        if (result == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    /**
+     * @return all normalized names of the index
+     */
+    public Set<String> getNames() {
+
+        return Collections.unmodifiableSet(this.entries.keySet());
+    }
+
+    /**
+     * @return the number of normalized names
+     */
+    public int size() {
+
+        return this.entries.size();
+    }
+
+    private static CatalogNameIndex build(ICatalog catalog) {
+
+        long start = System.currentTimeMillis();
+
+        IListableCatalog listable = (catalog instanceof IListableCatalog) ? (IListableCatalog) catalog : null;
+        String[] objectNames = (listable != null) ? listable.getCatalogIndex() : catalog.getTargetNames();
+        if (objectNames == null) {
+            return new CatalogNameIndex(Collections.emptyMap());
+        }
+        Map<String, Entry[]> entries = new HashMap<>(objectNames.length * 2);
+
+        // Target names first, so they come before equal alias names
+        List<Entry> aliases = new ArrayList<>();
+        for (String objectName : objectNames) {
+            CatalogNameIndex.add(entries, objectName, new Entry(catalog, objectName, null));
+
+            String[] aliasNames = (listable != null) ? listable.getAliasNames(objectName) : null;
+            if (aliasNames != null) {
+                for (String aliasName : aliasNames) {
+                    aliases.add(new Entry(catalog, objectName, aliasName));
+                }
+            }
+        }
+        for (Entry alias : aliases) {
+            CatalogNameIndex.add(entries, alias.aliasName, alias);
+        }
+
+        LOGGER.debug(
+                "Indexed {} names of catalog {} in {} ms",
+                entries.size(),
+                catalog.getName(),
+                System.currentTimeMillis() - start);
+
+        return new CatalogNameIndex(entries);
+    }
+
+    private static void add(Map<String, Entry[]> entries, String name, Entry entry) {
+
+        String normalized = CatalogNameIndex.normalize(name);
+        if (normalized == null) {
+            return;
+        }
+
+        Entry[] existing = entries.get(normalized);
+        if (existing == null) {
+            entries.put(normalized, new Entry[] {entry});
+            return;
+        }
+
+        // A target can have the same alias names several times (e.g. in different notations)
+        for (Entry e : existing) {
+            if ((e.catalog == entry.catalog) && e.objectName.equals(entry.objectName)) {
+                return;
+            }
+        }
+        Entry[] added = Arrays.copyOf(existing, existing.length + 1);
+        added[existing.length] = entry;
+        entries.put(normalized, added);
+    }
+
+    // Keeps target names before alias names, the sort is stable
+    private static Entry[] merge(Entry[] first, Entry[] second) {
+
+        Entry[] merged = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, merged, first.length, second.length);
+        Arrays.sort(merged, Comparator.comparing(Entry::isAlias));
+        return merged;
+    }
+
+    /**
+     * A target of a catalog, found by its name or by one of its alias names.
+     */
+    public static final class Entry {
+
+        private final ICatalog catalog;
+        private final String objectName;
+        // null if the entry was found by the target name
+        private final String aliasName;
+
+        private Entry(ICatalog catalog, String objectName, String aliasName) {
+
+            this.catalog = catalog;
+            this.objectName = objectName;
+            this.aliasName = aliasName;
+        }
+
+        public ICatalog getCatalog() {
+
+            return this.catalog;
+        }
+
+        /**
+         * @return the name the entry was found by, i.e. the alias name or the name of the target
+         */
+        public String getName() {
+
+            return this.isAlias() ? this.aliasName : this.objectName;
+        }
+
+        /**
+         * @return the name of the target in its catalog, see {@link IListableCatalog#getCatalogIndex()} and
+         *         {@link ICatalog#getTargetNames()}
+         */
+        public String getObjectName() {
+
+            return this.objectName;
+        }
+
+        /**
+         * @return the alias name the entry was found by, or <code>null</code> if it was found by the target name
+         */
+        public String getAliasName() {
+
+            return this.aliasName;
+        }
+
+        public boolean isAlias() {
+
+            return this.aliasName != null;
+        }
+
+        /**
+         * @return the target, created by the catalog if needed. <code>null</code> if the target cannot be created.
+         */
+        public ITarget getTarget() {
+
+            return this.catalog.getTarget(this.objectName);
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package de.lehmannet.om.ui.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Suggests targets for a partially typed name, e.g. while the user types in a search field. The suggestions are taken
+ * from a {@link CatalogNameIndex}, so they cover the names and alias names of all indexed catalogs.<br>
+ * The normalized names are kept in a sorted array, which serves as compact trie: all names with a given prefix are
+ * found by binary search, and names starting with a misspelled text (e.g. "NCG 22" for NGC 224) are found by walking
+ * the array like a trie. A bigram index of the names finds names which contain the typed text. Suggestions are ranked:
+ * exact names first, then names starting with the text (shorter names first), then names containing the text and then
+ * misspelled names. Each target is suggested once, by its best ranked name.<br>
+ * Instances are immutable and thread safe. Building them takes some time, so this should not be done on the event
+ * dispatch thread.
+ */
+public final class CatalogNameSuggestions {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CatalogNameSuggestions.class);
+
+    // Texts shorter than this are not searched for misspellings
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    // Texts of at least this length may contain two misspellings
+    private static final int TWO_ERRORS_LENGTH = 8;
+
+    // Sorted, normalized names
+    private final String[] names;
+
+    // Length of the longest name
+    private final int maxLength;
+
+    // Best entry of each name, same order as names
+    private final CatalogNameIndex.Entry[] entries;
+
+    // Key: Bigram of a name
+    // Value: Positions of the names containing the bigram, ascending
+    private final Map<Integer, int[]> bigrams;
+
+    private CatalogNameSuggestions(String[] names, CatalogNameIndex.Entry[] entries, Map<Integer, int[]> bigrams) {
+
+        this.names = names;
+        this.maxLength = Arrays.stream(names).mapToInt(String::length).max().orElse(0);
+        this.entries = entries;
+        this.bigrams = bigrams;
+    }
+
+    /**
+     * Builds the suggestions of all names of the given index.
+     *
+     * @param index
+     *            The index
+     * @return the suggestions
+     */
+    public static CatalogNameSuggestions of(CatalogNameIndex index) {
+
+        long start = System.currentTimeMillis();
+
+        String[] names = index.getNames().toArray(new String[] {});
+        Arrays.sort(names);
+
+        // Target names come first, so the best entry is a target name if there is one
+        CatalogNameIndex.Entry[] entries = new CatalogNameIndex.Entry[names.length];
+        for (int i = 0; i < names.length; i++) {
+            entries[i] = index.getEntries(names[i]).get(0);
+        }
+
+        // Count first, so each posting list is allocated once
+        Map<Integer, int[]> counts = new HashMap<>();
+        for (String name : names) {
+            for (int bigram : CatalogNameSuggestions.getBigrams(name)) {
+                counts.computeIfAbsent(bigram, b -> new int[1])[0]++;
+            }
+        }
+        Map<Integer, int[]> bigrams = new HashMap<>(counts.size() * 2);
+        for (Map.Entry<Integer, int[]> count : counts.entrySet()) {
+            bigrams.put(count.getKey(), new int[count.getValue()[0]]);
+            count.getValue()[0] = 0;
+        }
+        for (int i = 0; i < names.length; i++) {
+            for (int bigram : CatalogNameSuggestions.getBigrams(names[i])) {
+                int[] position = counts.get(bigram);
+                bigrams.get(bigram)[position[0]++] = i;
+            }
+        }
+
+        LOGGER.debug(
+                "Built suggestions of {} names with {} bigrams in {} ms",
+                names.length,
+                bigrams.size(),
+                System.currentTimeMillis() - start);
+
+        return new CatalogNameSuggestions(names, entries, bigrams);
+    }
+
+    /**
+     * Returns the best ranked targets for the given text.
+     *
+     * @param text
+     *            The text typed so far, normalized or not
+     * @param limit
+     *            Maximum number of suggestions
+     * @return the suggestions, best first. Each entry gives the target and the name it was found by (see
+     *         {@link CatalogNameIndex.Entry#getName()}). Empty if the text is blank.
+     */
+    public List<CatalogNameIndex.Entry> suggest(String text, int limit) {
+
+        String query = CatalogNameIndex.normalize(text);
+        if ((query == null) || (limit <= 0)) {
+            return Collections.emptyList();
+        }
+
+        // Key: catalog name and target name, so each target is suggested once
+        Map<String, CatalogNameIndex.Entry> result = new LinkedHashMap<>();
+        Set<Integer> seen = new HashSet<>();
+
+        this.addPrefixMatches(query, limit, result, seen);
+        if (result.size() < limit) {
+            this.addSubstringMatches(query, limit, result, seen);
+        }
+        if ((result.size() < limit) && (query.length() >= CatalogNameSuggestions.MIN_FUZZY_LENGTH)) {
+            this.addFuzzyMatches(query, limit, result, seen);
+        }
+
+        return new ArrayList<>(result.values());
+    }
+
+    /**
+     * @return the number of names
+     */
+    public int size() {
+
+        return this.names.length;
+    }
+
+    // Exact name first, then shorter names first
+    private void addPrefixMatches(
+            String query, int limit, Map<String, CatalogNameIndex.Entry> result, Set<Integer> seen) {
+
+        int from = this.lowerBound(query);
+        int to = this.lowerBound(query + Character.MAX_VALUE);
+
+        // Names are ranked by length first, so only names up to the length of the
+        // last suggestion need to be ranked (short names are rare in large ranges)
+        int[] lengths = new int[this.maxLength + 1];
+        for (int i = from; i < to; i++) {
+            lengths[this.names[i].length()]++;
+        }
+        int maxLength = 0;
+        for (int count = 0; (maxLength < this.maxLength) && (count + lengths[maxLength] < limit); maxLength++) {
+            count += lengths[maxLength];
+        }
+
+        List<Integer> matches = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (this.names[i].length() <= maxLength) {
+                matches.add(i);
+            }
+        }
+
+        Integer[] ranked = matches.stream()
+                .sorted(Comparator.<Integer>comparingInt(i -> this.names[i].length())
+                        .thenComparing(i -> this.entries[i].isAlias())
+                        .thenComparingInt(i -> i))
+                .limit(limit)
+                .toArray(Integer[]::new);
+        this.addAll(ranked, limit, result, seen);
+    }
+
+    // Names containing the query, earlier matches and shorter names first
+    private void addSubstringMatches(
+            String query, int limit, Map<String, CatalogNameIndex.Entry> result, Set<Integer> seen) {
+
+        int[] candidates = this.getCandidates(query);
+        if (candidates == null) {
+            return;
+        }
+
+        List<int[]> matches = new ArrayList<>();
+        for (int i : candidates) {
+            if (!seen.contains(i)) {
+                int position = this.names[i].indexOf(query);
+                if (position > 0) {
+                    matches.add(new int[] {i, position});
+                }
+            }
+        }
+
+        Integer[] ranked = matches.stream()
+                .sorted(Comparator.<int[]>comparingInt(m -> m[1])
+                        .thenComparingInt(m -> this.names[m[0]].length())
+                        .thenComparingInt(m -> m[0]))
+                .limit(limit)
+                .map(m -> m[0])
+                .toArray(Integer[]::new);
+        this.addAll(ranked, limit, result, seen);
+    }
+
+    // Names starting with a text which differs from the query by few typing errors.
+    // The sorted names are walked like a trie: names share the distance rows of their
+    // common prefix, and all names of a prefix are skipped once it is too different.
+    private void addFuzzyMatches(
+            String query, int limit, Map<String, CatalogNameIndex.Entry> result, Set<Integer> seen) {
+
+        int maxDistance = (query.length() >= CatalogNameSuggestions.TWO_ERRORS_LENGTH) ? 2 : 1;
+        int m = query.length();
+        int maxDepth = m + maxDistance;
+
+        // Row k: edit distances between the first k characters of the name and the prefixes of the query
+        int[][] rows = new int[maxDepth + 1][m + 1];
+        for (int j = 0; j <= m; j++) {
+            rows[0][j] = j;
+        }
+        // Smallest distance between the query and the prefixes of the name up to k characters
+        int[] best = new int[maxDepth + 1];
+        best[0] = m;
+
+        List<int[]> matches = new ArrayList<>();
+        String previous = "";
+        int valid = 0; // Rows computed for the previous name
+        int i = 0;
+        while (i < this.names.length) {
+            String name = this.names[i];
+            int depth = Math.min(name.length(), maxDepth);
+
+            int k = 0;
+            int common = Math.min(valid, depth);
+            while ((k < common) && (name.charAt(k) == previous.charAt(k))) {
+                k++;
+            }
+
+            boolean pruned = false;
+            while (!pruned && (k < depth)) {
+                k++;
+                pruned = CatalogNameSuggestions.computeRow(query, name, k, rows) > maxDistance;
+                best[k] = Math.min(best[k - 1], rows[k][m]);
+            }
+            previous = name;
+            valid = k;
+
+            if (pruned) {
+                // Longer prefixes are not closer, so all names with this prefix have the
+                // distance of the shorter prefixes (if that is close enough at all)
+                int end = this.lowerBound(name.substring(0, k) + Character.MAX_VALUE);
+                if (best[k - 1] <= maxDistance) {
+                    for (int j = i; j < end; j++) {
+                        if (!seen.contains(j)) {
+                            matches.add(new int[] {j, best[k - 1]});
+                        }
+                    }
+                }
+                i = end;
+                continue;
+            }
+            if ((best[depth] <= maxDistance) && !seen.contains(i)) {
+                matches.add(new int[] {i, best[depth]});
+            }
+            i++;
+        }
+
+        Integer[] ranked = matches.stream()
+                .sorted(Comparator.<int[]>comparingInt(match -> match[1])
+                        .thenComparingInt(match -> this.names[match[0]].length())
+                        .thenComparingInt(match -> match[0]))
+                .limit(limit)
+                .map(match -> match[0])
+                .toArray(Integer[]::new);
+        this.addAll(ranked, limit, result, seen);
+    }
+
+    private void addAll(Integer[] ranked, int limit, Map<String, CatalogNameIndex.Entry> result, Set<Integer> seen) {
+
+        for (Integer i : ranked) {
+            if (result.size() >= limit) {
+                return;
+            }
+            seen.add(i);
+            CatalogNameIndex.Entry entry = this.entries[i];
+            result.putIfAbsent(entry.getCatalog().getName() + '\n' + entry.getObjectName(), entry);
+        }
+    }
+
+    // Postings of the rarest bigram of the query, all names containing the query are among them
+    private int[] getCandidates(String query) {
+
+        if (query.length() < 2) {
+            return null;
+        }
+
+        int[] candidates = null;
+        for (int i = 1; i < query.length(); i++) {
+            int[] postings = this.bigrams.get(CatalogNameSuggestions.getBigram(query.charAt(i - 1), query.charAt(i)));
+            if (postings == null) {
+                return null;
+            }
+            if ((candidates == null) || (postings.length < candidates.length)) {
+                candidates = postings;
+            }
+        }
+        return candidates;
+    }
+
+    // Position of the first name which is not less than the given text
+    private int lowerBound(String text) {
+
+        int low = 0;
+        int high = this.names.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.names[middle].compareTo(text) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // Distinct bigrams of a name
+    private static int[] getBigrams(String name) {
+
+        int[] bigrams = new int[name.length() - 1];
+        for (int i = 1; i < name.length(); i++) {
+            bigrams[i - 1] = CatalogNameSuggestions.getBigram(name.charAt(i - 1), name.charAt(i));
+        }
+        return Arrays.stream(bigrams).distinct().toArray();
+    }
+
+    private static int getBigram(char first, char second) {
+
+        return (first << 16) | second;
+    }
+
+    /**
+     * Computes row k of the edit distances between the first k characters of the name and the prefixes of the query.
+     * Edits are insertions, deletions, substitutions and transpositions of adjacent characters. The rows before k must
+     * be computed already.
+     *
+     * @return the smallest distance of the row. Longer name prefixes cannot have a smaller distance.
+     */
+    private static int computeRow(String query, String name, int k, int[][] rows) {
+
+        int[] row = rows[k];
+        int[] previous = rows[k - 1];
+        char c = name.charAt(k - 1);
+
+        row[0] = k;
+        int min = k;
+        for (int j = 1; j < row.length; j++) {
+            int cost = (query.charAt(j - 1) == c) ? 0 : 1;
+            int distance = Math.min(Math.min(previous[j] + 1, row[j - 1] + 1), previous[j - 1] + cost);
+            if ((k > 1) && (j > 1) && (query.charAt(j - 2) == c) && (query.charAt(j - 1) == name.charAt(k - 2))) {
+                distance = Math.min(distance, rows[k - 2][j - 2] + 1);
+            }
+            row[j] = distance;
+            min = Math.min(min, distance);
+        }
+        return min;
+    }
+}
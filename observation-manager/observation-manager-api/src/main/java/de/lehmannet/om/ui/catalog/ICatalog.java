@@ -19,4 +19,16 @@ public interface ICatalog {
     AbstractSearchPanel getSearchPanel();
 
     String getAbbreviation();
+
+    /**
+     * Returns the names of all targets of a catalog which is not listable, so its targets can be found by name (e.g.
+     * while typing in a search field). Listable catalogs use {@link IListableCatalog#getCatalogIndex()} instead.
+     *
+     * @return the target names, as accepted by {@link #getTarget(String)}, or <code>null</code> if the catalog cannot
+     *         list its target names
+     */
+    default String[] getTargetNames() {
+
+        return null;
+    }
 }
@@ -14,7 +14,50 @@ public interface IListableCatalog extends ICatalog {
 
     ITarget[] getTargets();
 
+    /**
+     * Returns one page of the targets, in the order of {@link #getCatalogIndex()}. Catalogs which read their targets on
+     * demand only create the targets of the page.
+     *
+     * @param from
+     *            Position of the first target in the catalog index
+     * @param count
+     *            Maximum number of targets
+     * @return the targets of the page, less than count at the end of the catalog. An entry is <code>null</code> if the
+     *         target of the index entry cannot be created.
+     */
+    default ITarget[] getTargets(int from, int count) {
+
+        String[] index = this.getCatalogIndex();
+        int to = Math.min(from + count, index.length);
+        if (from >= to) {
+            return new ITarget[0];
+        }
+
+        ITarget[] targets = new ITarget[to - from];
+        for (int i = from; i < to; i++) {
+            targets[i - from] = this.getTarget(index[i]);
+        }
+        return targets;
+    }
+
     String[] getCatalogIndex();
 
+    /**
+     * Returns the alias names of a target. Catalogs which read their targets on demand return them without creating
+     * the target.
+     *
+     * @param objectName
+     *            Name of the target, as in {@link #getCatalogIndex()}
+     * @return the alias names, or <code>null</code> if the catalog has no such target or the target has no alias names
+     */
+    default String[] getAliasNames(String objectName) {
+
+        ITarget target = this.getTarget(objectName);
+        if (target == null) {
+            return null;
+        }
+        return target.getAliasNames();
+    }
+
     AbstractSchemaTableModel getTableModel();
 }
@@ -22,8 +22,10 @@ import de.lehmannet.om.ui.preferences.PreferencesPanel;
 import de.lehmannet.om.util.SchemaElementConstants;
 import java.io.File;
 import java.net.URL;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import javax.swing.JFrame;
 import javax.swing.JMenu;
 import org.w3c.dom.Element;
@@ -40,6 +42,20 @@ public interface IExtension {
 
     ICatalog[] getCatalogs(File catalogDir);
 
+    /**
+     * Returns one loader per catalog of the extension, so that the catalogs can be loaded concurrently and each catalog
+     * is available as soon as it is loaded.
+     *
+     * @param catalogDir
+     *            The catalog directory
+     * @return the catalog loaders, or <code>null</code> if the catalogs are loaded together by
+     *         {@link #getCatalogs(File)}
+     */
+    default List<Supplier<ICatalog>> getCatalogLoaders(File catalogDir) {
+
+        return null;
+    }
+
     Set<String> getAllSupportedXSITypes();
 
     Set<String> getSupportedXSITypes(SchemaElementConstants schemaElementConstant);
@@ -1,6 +1,6 @@
 package de.lehmannet.om.ui.panel;
 
-import de.lehmannet.om.ITarget;
+import de.lehmannet.om.ui.catalog.CatalogNameIndex;
 import de.lehmannet.om.ui.catalog.IListableCatalog;
 
 public class GenericListableCatalogSearchPanel extends AbstractSearchPanel {
@@ -35,23 +35,7 @@ public class GenericListableCatalogSearchPanel extends AbstractSearchPanel {
             return;
         }
 
-        // Need to search a bit more sophisticated
-        String[] targetNames = this.catalog.getCatalogIndex();
-        ITarget currentTarget = null;
-        String[] currentTargetAliasNames = null;
-        for (String targetName : targetNames) {
-            currentTarget = this.catalog.getTarget(targetName);
-            currentTargetAliasNames = currentTarget.getAliasNames();
-            if (currentTargetAliasNames == null) {
-                continue;
-            }
-            for (String currentTargetAliasName : currentTargetAliasNames) {
-                if (searchText.equals(this.formatName(currentTargetAliasName))) { // Found string within alias
-                    // names
-                    this.searchResult = currentTarget;
-                    return;
-                }
-            }
-        }
+        // Search the alias names too
+        this.searchResult = CatalogNameIndex.of(this.catalog).getTarget(searchText);
     }
 }
@@ -23,7 +23,11 @@ public enum ConfigKey implements IConfigKey {
     CONFIG_CONSTELLATION_USEI18N("om.constellation.useI18N"),
     CONFIG_UPDATECHECK_STARTUP("om.update.checkForUpdates"),
     CONFIG_NIGHTVISION_ENABLED("om.nightvision.enable"),
-    CONFIG_FIX_XML_ERRORS_ON_LOAD("om.fix.xml.errors.on.load");
+    CONFIG_FIX_XML_ERRORS_ON_LOAD("om.fix.xml.errors.on.load"),
+    CONFIG_XML_STREAMING_LOAD("om.xml.load.streaming"),
+    CONFIG_XML_PARALLEL_LOAD("om.xml.load.parallel"),
+    CONFIG_XML_SNAPSHOT("om.xml.snapshot"),
+    CONFIG_XML_JOURNAL("om.xml.journal");
     // @formatter:on
 
     private final String key;
@@ -11,6 +11,9 @@ import de.lehmannet.om.IScope;
 import de.lehmannet.om.ISession;
 import de.lehmannet.om.ISite;
 import de.lehmannet.om.ITarget;
+import de.lehmannet.om.model.ModelSnapshot;
+import de.lehmannet.om.util.SchemaLoader;
+import java.util.Collection;
 import java.util.List;
 import org.w3c.dom.Document;
 
@@ -57,16 +60,35 @@ public interface XMLFileLoader {
 
     Document getDocumentForSchemaElement(ISchemaElement schemaElement);
 
+    /**
+     * @return a new document with the given observations and the elements they depend on, null if it cannot be created
+     */
+    Document getDocumentForObservations(List<IObservation> observations);
+
     void addSchemaElement(ISchemaElement element);
 
     void addSchemaElement(ISchemaElement element, boolean dependend);
 
+    /**
+     * Adds a batch of schema elements, e.g. all elements of an imported file. Elements already known (by their ID)
+     * are skipped. Observations are added after all other elements, so their references are set regardless of the
+     * order of the batch.
+     *
+     * @param elements
+     *            The elements to add
+     */
+    void addSchemaElements(Collection<? extends ISchemaElement> elements);
+
     List<ISchemaElement> removeSchemaElement(ISchemaElement element);
 
     void updateSchemaElement(ISchemaElement element);
 
     String[] getAllOpenedFiles();
 
+    // The sorted arrays returned by the get{SchemaElement}s() and getObservations()
+    // methods below are shared until the next change of the loaded elements.
+    // Don't modify them.
+
     IObserver[] getObservers();
 
     IEyepiece[] getEyepieces();
@@ -91,5 +113,58 @@ public interface XMLFileLoader {
 
     ILens[] getLenses();
 
+    /**
+     * @param element
+     *            A loaded element
+     * @return the position of the element in the sorted array of its type (e.g. {@link #getTargets()}), -1 if the
+     *         element is not loaded. The position is found by binary search.
+     */
+    int indexOf(ISchemaElement element);
+
+    /**
+     * Returns the sorted elements of all opened files as they are right now. The snapshot doesn't change on later
+     * changes, so it can be read from other threads while the elements are edited.
+     *
+     * @return the current snapshot, the same instance until the next change of the loaded elements
+     */
+    ModelSnapshot getSnapshot();
+
     boolean loadObservations(String xmlPath, boolean fixErrors);
+
+    /**
+     * Loads several XML files at once, replacing the opened ones. The files are loaded concurrently, each file keeps
+     * its own elements and changes of an element are saved to the file it was loaded from. New elements are added to
+     * the first file.
+     *
+     * @param xmlPaths
+     *            Paths to the XML files
+     * @param fixErrors
+     *            true to fix load errors
+     * @return true if all files were loaded, false if at least one file could not be loaded. The files which could be
+     *         loaded are opened anyway.
+     */
+    boolean loadObservations(List<String> xmlPaths, boolean fixErrors);
+
+    void setLoadEngine(SchemaLoader.Engine engine);
+
+    void setParallelLoad(boolean parallel);
+
+    void setSnapshots(boolean snapshots);
+
+    /**
+     * Enables the edit journal of the opened XML file. Changes are appended to the journal, and a save of a file with
+     * a small journal only marks the journal as saved, instead of rewriting the whole file.
+     *
+     * @param journal
+     *            true to journal changes
+     */
+    void setJournal(boolean journal);
+
+    /**
+     * Writes the saved changes of the edit journal into the XML file and closes the journal. Changes which were not
+     * saved are discarded.
+     *
+     * @return true if the journal was written (or there was nothing to write), false in other case
+     */
+    boolean compact();
 }
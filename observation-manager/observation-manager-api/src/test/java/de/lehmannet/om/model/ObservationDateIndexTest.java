@@ -0,0 +1,127 @@
+package de.lehmannet.om.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.lehmannet.om.Angle;
+import de.lehmannet.om.GenericFinding;
+import de.lehmannet.om.GenericTarget;
+import de.lehmannet.om.IObservation;
+import de.lehmannet.om.IObserver;
+import de.lehmannet.om.ISite;
+import de.lehmannet.om.Observation;
+import de.lehmannet.om.Observer;
+import de.lehmannet.om.Site;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ObservationDateIndexTest {
+
+    private static final ZoneOffset ZONE = ZoneOffset.ofHours(2);
+
+    private final IObserver observer = new Observer("Carl", "Sagan");
+
+    @Test
+    public void getObservationsTest() {
+        final IObservation first = this.newObservation(2024, 3, 9, 22, 0);
+        final IObservation second = this.newObservation(2024, 3, 9, 23, 30);
+        final IObservation sameBegin = this.newObservation(2024, 3, 9, 23, 30);
+        final ObservationDateIndex index = new ObservationDateIndex(new IObservation[] {second, sameBegin, first});
+        assertEquals(3, index.size(), "All observations indexed");
+
+        final Instant begin = first.getBegin().toInstant();
+        assertEquals(List.of(first), index.getObservations(begin, begin.plusMillis(1)), "Begin included");
+        assertEquals(
+                List.of(first), index.getObservations(begin, second.getBegin().toInstant()), "End excluded");
+        assertEquals(
+                List.of(first, second, sameBegin),
+                index.getObservations(begin, begin.plusSeconds(86400)),
+                "Ordered by begin");
+        assertTrue(index.getObservations(begin, begin).isEmpty(), "Empty range");
+    }
+
+    @Test
+    public void countTest() {
+        final IObservation first = this.newObservation(2024, 3, 9, 22, 0);
+        final IObservation second = this.newObservation(2024, 3, 9, 23, 30);
+        final IObservation sameBegin = this.newObservation(2024, 3, 9, 23, 30);
+        final IObservation later = this.newObservation(2024, 3, 12, 1, 0);
+        final ObservationDateIndex index =
+                new ObservationDateIndex(new IObservation[] {later, second, sameBegin, first});
+
+        final Instant begin = first.getBegin().toInstant();
+        final Instant[][] ranges = {
+            {begin, begin.plusMillis(1)},
+            {begin, second.getBegin().toInstant()},
+            {begin, begin.plusSeconds(86400)},
+            {begin.minusSeconds(1), later.getBegin().toInstant().plusMillis(1)},
+            {Instant.ofEpochMilli(Long.MIN_VALUE), Instant.ofEpochMilli(Long.MAX_VALUE)},
+            {begin, begin},
+            {later.getBegin().toInstant(), begin}
+        };
+        for (Instant[] range : ranges) {
+            assertEquals(
+                    index.getObservations(range[0], range[1]).size(),
+                    index.count(range[0], range[1]),
+                    "Count of " + Arrays.toString(range));
+        }
+        assertEquals(4, index.count(Instant.ofEpochMilli(Long.MIN_VALUE), Instant.ofEpochMilli(Long.MAX_VALUE)), "All");
+    }
+
+    @Test
+    public void getObservationsOfNightTest() {
+        final IObservation evening = this.newObservation(2024, 3, 9, 21, 0);
+        final IObservation morning = this.newObservation(2024, 3, 10, 4, 0);
+        final IObservation nextNight = this.newObservation(2024, 3, 10, 20, 0);
+        final IObservation lastNight = this.newObservation(2024, 3, 9, 11, 59);
+        final ObservationDateIndex index =
+                new ObservationDateIndex(new IObservation[] {evening, morning, nextNight, lastNight});
+
+        // A night lasts from noon to noon
+        final LocalDate night = LocalDate.of(2024, 3, 9);
+        assertEquals(List.of(evening, morning), index.getObservationsOfNight(night, ZONE), "Night");
+
+        // The time zone of the site is given in minutes
+        final ISite site = new Site("Home", new Angle(7.0, Angle.DEGREE), new Angle(50.0, Angle.DEGREE), 120);
+        assertEquals(List.of(evening, morning), index.getObservationsOfNight(night, site), "Night at site");
+        final ISite west = new Site("West", new Angle(-7.0, Angle.DEGREE), new Angle(50.0, Angle.DEGREE), -600);
+        assertEquals(List.of(morning, nextNight), index.getObservationsOfNight(night, west), "Night at other site");
+    }
+
+    @Test
+    public void getObservationsOfMonthTest() {
+        final IObservation[] observations = {
+            this.newObservation(2024, 2, 29, 23, 0),
+            this.newObservation(2024, 3, 1, 0, 30),
+            this.newObservation(2024, 3, 15, 22, 0),
+            this.newObservation(2024, 3, 31, 23, 59),
+            this.newObservation(2024, 4, 1, 0, 0)
+        };
+        final ObservationDateIndex index = new ObservationDateIndex(observations);
+
+        assertEquals(
+                Arrays.asList(observations).subList(1, 4),
+                index.getObservationsOfMonth(YearMonth.of(2024, 3), ZONE),
+                "Observations of month");
+        // In UTC the first observation of March belongs to February
+        assertEquals(
+                Arrays.asList(observations).subList(0, 2),
+                index.getObservationsOfMonth(YearMonth.of(2024, 2), ZoneOffset.UTC),
+                "Observations of month in UTC");
+    }
+
+    private IObservation newObservation(int year, int month, int day, int hour, int minute) {
+
+        return new Observation(
+                ZonedDateTime.of(year, month, day, hour, minute, 0, 0, ZONE),
+                new GenericTarget("M 42", this.observer),
+                this.observer,
+                new GenericFinding("Nice"));
+    }
+}
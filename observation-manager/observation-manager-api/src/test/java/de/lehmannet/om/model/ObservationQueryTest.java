@@ -0,0 +1,159 @@
+package de.lehmannet.om.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.lehmannet.om.Angle;
+import de.lehmannet.om.Constellation;
+import de.lehmannet.om.GenericFinding;
+import de.lehmannet.om.GenericTarget;
+import de.lehmannet.om.IObservation;
+import de.lehmannet.om.IObserver;
+import de.lehmannet.om.ISchemaElement;
+import de.lehmannet.om.ISite;
+import de.lehmannet.om.ITarget;
+import de.lehmannet.om.Observation;
+import de.lehmannet.om.Observer;
+import de.lehmannet.om.Site;
+import de.lehmannet.om.SurfaceBrightness;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ObservationQueryTest {
+
+    private final IObserver carl = new Observer("Carl", "Sagan");
+    private final IObserver edwin = new Observer("Edwin", "Hubble");
+    private final ISite home = new Site("Home", new Angle(7.0, Angle.DEGREE), new Angle(50.0, Angle.DEGREE), 60);
+
+    private final List<Observation> observations = new ArrayList<>();
+    private ObservationManagerModel model;
+
+    @BeforeEach
+    public void setUp() {
+        final ITarget m42 = new GenericTarget("M 42", this.carl);
+        m42.setConstellation(Constellation.ORION);
+        final ITarget m65 = new GenericTarget("M 65", this.carl);
+        m65.setConstellation(Constellation.LEO);
+
+        for (int day = 1; day <= 20; day++) {
+            final Observation observation = new Observation(
+                    ZonedDateTime.of(2024, 3, day, 22, 0, 0, 0, ZoneOffset.UTC),
+                    (day % 2 == 0) ? m42 : m65,
+                    (day % 3 == 0) ? this.edwin : this.carl,
+                    new GenericFinding("Seen"));
+            observation.setSeeing(1 + (day % 5));
+            if (day % 4 == 0) {
+                observation.setSite(this.home);
+                observation.setSkyQuality(new SurfaceBrightness(21.0f, SurfaceBrightness.MAGS_SQR_ARC_SEC));
+            }
+            this.observations.add(observation);
+        }
+
+        final IObservation[] all = this.observations.toArray(new IObservation[0]);
+        this.model = mock(ObservationManagerModel.class);
+        when(this.model.getSnapshot())
+                .thenReturn(new ModelSnapshot(1, null, null, null, null, all, null, null, null, null, null));
+    }
+
+    @Test
+    public void matchesTest() {
+        final Observation observation = this.observations.get(3); // Day 4, M 42 by Carl at home
+
+        assertTrue(new ObservationQuery().matches(observation), "Empty query");
+        assertTrue(
+                new ObservationQuery()
+                        .withObserver(this.carl)
+                        .withSite(this.home)
+                        .withConstellation(Constellation.ORION)
+                        .withMaxSeeing(5)
+                        .withMinSkyQuality(20.5f)
+                        .matches(observation),
+                "All criteria");
+        assertFalse(new ObservationQuery().withObserver(this.edwin).matches(observation), "Other observer");
+        assertFalse(
+                new ObservationQuery().withConstellation(Constellation.LEO).matches(observation),
+                "Other constellation");
+        assertFalse(new ObservationQuery().withMaxSeeing(4).matches(observation), "Worse seeing");
+        assertFalse(new ObservationQuery().withMinSkyQuality(21.5f).matches(observation), "Brighter sky");
+        assertFalse(new ObservationQuery().withMinFaintestStar(5.0f).matches(observation), "No faintest star");
+
+        // Begin range includes its start and excludes its end
+        final ZonedDateTime begin = observation.getBegin().toZonedDateTime();
+        assertTrue(
+                new ObservationQuery()
+                        .withBegin(begin.toInstant(), begin.plusHours(1).toInstant())
+                        .matches(observation),
+                "Start of range");
+        assertFalse(
+                new ObservationQuery()
+                        .withBegin(begin.minusHours(1).toInstant(), begin.toInstant())
+                        .matches(observation),
+                "End of range");
+    }
+
+    @Test
+    public void executeTest() {
+        final ObservationQueryEngine engine = new ObservationQueryEngine(this.model);
+        final ZonedDateTime from = ZonedDateTime.of(2024, 3, 5, 0, 0, 0, 0, ZoneOffset.UTC);
+
+        final ObservationQuery[] queries = {
+            new ObservationQuery(),
+            new ObservationQuery().withObserver(this.edwin),
+            new ObservationQuery().withSite(this.home).withMinSkyQuality(20.0f),
+            new ObservationQuery().withConstellation(Constellation.LEO).withMaxSeeing(3),
+            new ObservationQuery().withBegin(from.toInstant(), from.plusDays(7).toInstant()),
+            new ObservationQuery()
+                    .withObserver(this.carl)
+                    .withConstellation(Constellation.ORION)
+                    .withBegin(from.toInstant(), null),
+            new ObservationQuery().withConstellation(Constellation.ANDROMEDA)
+        };
+
+        // Same result, whichever index is used, as checking all observations
+        for (ObservationQuery query : queries) {
+            final List<IObservation> expected = new ArrayList<>();
+            for (IObservation observation : this.observations) {
+                if (query.matches(observation)) {
+                    expected.add(observation);
+                }
+            }
+            final List<IObservation> found = engine.execute(query);
+            assertEquals(expected.size(), found.size(), "Number of observations");
+            assertEquals(new HashSet<>(expected), new HashSet<>(found), "Observations");
+        }
+        assertEquals(
+                this.observations.size(), engine.execute(new ObservationQuery()).size(), "Empty query");
+        assertTrue(engine.execute(queries[queries.length - 1]).isEmpty(), "No observation in Andromeda");
+
+        // References are looked up in the snapshot, not in the live model
+        verify(this.model, never()).getObservations(any(ISchemaElement.class));
+    }
+
+    @Test
+    public void snapshotReferencesTest() {
+        final ModelSnapshot snapshot = this.model.getSnapshot();
+
+        final List<IObservation> atHome = snapshot.getObservations(this.home);
+        assertEquals(5, atHome.size(), "Observations at home");
+        assertTrue(atHome.stream().allMatch(o -> o.getSite() == this.home), "Observations at home");
+        assertEquals(
+                this.observations.stream()
+                        .filter(o -> o.getObserver() == this.edwin)
+                        .count(),
+                snapshot.getObservations(this.edwin).size(),
+                "Observations of observer");
+        assertTrue(
+                snapshot.getObservations(new Observer("Edwin", "Hubble")).isEmpty(), "Observer without observations");
+    }
+}
@@ -11,14 +11,19 @@ import de.lehmannet.om.IScope;
 import de.lehmannet.om.ISession;
 import de.lehmannet.om.ISite;
 import de.lehmannet.om.ITarget;
+import de.lehmannet.om.ITargetContaining;
 import de.lehmannet.om.ui.navigation.observation.utils.InstallDir;
 import de.lehmannet.om.ui.util.ConfigKey;
 import de.lehmannet.om.ui.util.IConfiguration;
 import de.lehmannet.om.ui.util.XMLFileLoader;
+import de.lehmannet.om.util.SchemaLoader;
 import java.io.File;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import org.w3c.dom.Document;
 
@@ -36,6 +41,8 @@ public class ObservationManagerModelImpl implements ObservationManagerModel {
 
     private ISchemaElement selected;
 
+    private final List<ModelChangeListener> listeners = new CopyOnWriteArrayList<>();
+
     public ObservationManagerModelImpl(XMLFileLoader cache, InstallDir installDir, IConfiguration configuration) {
         this.xmlCache = cache;
         this.installDir = installDir;
@@ -86,12 +93,23 @@ public class ObservationManagerModelImpl implements ObservationManagerModel {
     public void add(ISchemaElement element) {
         this.xmlCache.addSchemaElement(element);
         this.setChanged(true);
+        this.fireModelChanged(ModelChangeEvent.Type.ADDED, element);
     }
 
     @Override
     public void add(ISchemaElement element, boolean dependend) {
         this.xmlCache.addSchemaElement(element, dependend);
         this.setChanged(true);
+        this.fireModelChanged(ModelChangeEvent.Type.ADDED, element);
+    }
+
+    @Override
+    public void addAll(Collection<? extends ISchemaElement> elements) {
+        this.xmlCache.addSchemaElements(elements);
+        this.setChanged(true);
+        this.fireModelChanged(
+                ModelChangeEvent.Type.ADDED,
+                elements.stream().filter(Objects::nonNull).collect(Collectors.toList()));
     }
 
     @Override
@@ -99,6 +117,9 @@ public class ObservationManagerModelImpl implements ObservationManagerModel {
 
         final List<ISchemaElement> result = this.xmlCache.removeSchemaElement(element);
         this.setChanged(true);
+        if ((result != null) && result.isEmpty()) { // Removed, no dependencies
+            this.fireModelChanged(ModelChangeEvent.Type.REMOVED, element);
+        }
         return result;
     }
 
@@ -106,6 +127,42 @@ public class ObservationManagerModelImpl implements ObservationManagerModel {
     public void update(ISchemaElement element) {
         this.xmlCache.updateSchemaElement(element);
         this.setChanged(true);
+
+        // Same distinction as in the cache, which updates the observation references
+        // for these elements only
+        if ((element instanceof IObservation)
+                || (element instanceof ISession)
+                || (element instanceof ITargetContaining)) {
+            this.fireModelChanged(ModelChangeEvent.Type.REFERENCES_CHANGED, element);
+        } else {
+            this.fireModelChanged(ModelChangeEvent.Type.UPDATED, element);
+        }
+    }
+
+    @Override
+    public void addModelChangeListener(ModelChangeListener listener) {
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void removeModelChangeListener(ModelChangeListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    private void fireModelChanged(ModelChangeEvent.Type type, ISchemaElement element) {
+        if (element != null) {
+            this.fireModelChanged(type, List.of(element));
+        }
+    }
+
+    private void fireModelChanged(ModelChangeEvent.Type type, List<? extends ISchemaElement> elements) {
+        if (elements.isEmpty() || this.listeners.isEmpty()) {
+            return;
+        }
+        ModelChangeEvent event = new ModelChangeEvent(type, elements);
+        for (ModelChangeListener listener : this.listeners) {
+            listener.modelChanged(event);
+        }
     }
 
     @Override
@@ -171,13 +228,52 @@ public class ObservationManagerModelImpl implements ObservationManagerModel {
         return this.xmlCache.getLenses();
     }
 
+    @Override
+    public int indexOf(ISchemaElement element) {
+        return this.xmlCache.indexOf(element);
+    }
+
+    @Override
+    public ModelSnapshot getSnapshot() {
+        return this.xmlCache.getSnapshot();
+    }
+
+    @Override
+    public ObservationDateIndex getObservationDateIndex() {
+        return this.xmlCache.getSnapshot().getObservationDateIndex();
+    }
+
+    @Override
+    public List<IObservation> query(ObservationQuery query) {
+        return new ObservationQueryEngine(this).execute(query);
+    }
+
     @Override
     public boolean loadObservations(final String filePath) {
         this.clear();
-        boolean fixErrors = configuration.getBooleanConfig(ConfigKey.CONFIG_FIX_XML_ERRORS_ON_LOAD);
+        boolean fixErrors = this.configureLoad();
         return this.xmlCache.loadObservations(filePath, fixErrors);
     }
 
+    @Override
+    public boolean loadObservations(final List<String> filePaths) {
+        this.clear();
+        boolean fixErrors = this.configureLoad();
+        return this.xmlCache.loadObservations(filePaths, fixErrors);
+    }
+
+    // Applies the load settings to the cache, returns whether to fix errors on load
+    private boolean configureLoad() {
+        this.xmlCache.setLoadEngine(
+                configuration.getBooleanConfig(ConfigKey.CONFIG_XML_STREAMING_LOAD)
+                        ? SchemaLoader.Engine.STAX
+                        : SchemaLoader.Engine.DOM);
+        this.xmlCache.setParallelLoad(configuration.getBooleanConfig(ConfigKey.CONFIG_XML_PARALLEL_LOAD));
+        this.xmlCache.setSnapshots(configuration.getBooleanConfig(ConfigKey.CONFIG_XML_SNAPSHOT));
+        this.xmlCache.setJournal(configuration.getBooleanConfig(ConfigKey.CONFIG_XML_JOURNAL, true));
+        return configuration.getBooleanConfig(ConfigKey.CONFIG_FIX_XML_ERRORS_ON_LOAD);
+    }
+
     public void exportToHtml() {}
 
     @Override
@@ -222,6 +318,11 @@ public class ObservationManagerModelImpl implements ObservationManagerModel {
         return this.xmlCache.getDocumentForSchemaElement(schemaElement);
     }
 
+    @Override
+    public Document getDocumentForObservations(List<IObservation> observations) {
+        return this.xmlCache.getDocumentForObservations(observations);
+    }
+
     @Override
     public String getXMLFileForSchemaElement(ISchemaElement schemaElement) {
         return this.xmlCache.getXMLFileForSchemaElement(schemaElement);
@@ -270,14 +371,23 @@ public class ObservationManagerModelImpl implements ObservationManagerModel {
     @Override
     public boolean save(String name) {
 
+        this.xmlCache.setSnapshots(configuration.getBooleanConfig(ConfigKey.CONFIG_XML_SNAPSHOT));
+        this.xmlCache.setJournal(configuration.getBooleanConfig(ConfigKey.CONFIG_XML_JOURNAL, true));
         return this.xmlCache.save(name);
     }
 
     @Override
     public boolean saveAs(String oldPath, String newPath) {
+        this.xmlCache.setSnapshots(configuration.getBooleanConfig(ConfigKey.CONFIG_XML_SNAPSHOT));
+        this.xmlCache.setJournal(configuration.getBooleanConfig(ConfigKey.CONFIG_XML_JOURNAL, true));
         return this.xmlCache.saveAs(oldPath, newPath);
     }
 
+    @Override
+    public boolean compact() {
+        return this.xmlCache.compact();
+    }
+
     @Override
     public IConfiguration getConfiguration() {
         return this.configuration;
@@ -13,21 +13,37 @@ import de.lehmannet.om.ui.navigation.ObservationManager;
 import de.lehmannet.om.ui.util.LocaleToolsFactory;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import org.semver4j.Semver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Loads the catalogs of all extensions. The catalogs are loaded concurrently in the background, each catalog on its own
+ * (if its extension provides {@link IExtension#getCatalogLoaders(File)}). Consumers can wait for a single catalog with
+ * {@link #getCatalogAsync(String)} or for all catalogs with {@link #whenLoaded()}. The other methods wait until all
+ * catalogs are loaded.<br>
+ * Once all catalogs are loaded, the names and alias names of the catalogs are indexed in the background, see
+ * {@link #findTarget(String)}. Afterwards the suggestions for typed names are built, see {@link #getSuggestions()}.
+ */
 public class CatalogLoader {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CatalogLoader.class);
 
+    private static final int MAX_LOAD_THREADS = Runtime.getRuntime().availableProcessors();
+
     private final ResourceBundle bundle;
 
     private static final String CATALOG_DIR = "catalog";
@@ -37,7 +53,20 @@ public class CatalogLoader {
 
     // Key: Catalog name (String)
     // Value: Catalog (ICatalog)
-    private final Map<String, ICatalog> catalogMap = new HashMap<>();
+    private final Map<String, ICatalog> catalogMap = new ConcurrentHashMap<>();
+
+    // Key: Catalog name (String)
+    // Value: Catalog, once loaded (ICatalog)
+    private final Map<String, CompletableFuture<ICatalog>> catalogFutures = new ConcurrentHashMap<>();
+
+    // Completes when all catalogs are loaded
+    private volatile CompletableFuture<Void> loaded = CompletableFuture.completedFuture(null);
+
+    // Completes when all catalogs are loaded and indexed
+    private final CompletableFuture<CatalogNameIndex> nameIndex;
+
+    // Completes when the suggestions of the indexed names are built
+    private final CompletableFuture<CatalogNameSuggestions> suggestions;
 
     // Key: Extension name (String)
     // Value: Extension version (Semver string)
@@ -50,15 +79,83 @@ public class CatalogLoader {
         this.extensions = extensions;
 
         this.loadCatalogues();
+
+        this.nameIndex = this.loaded.thenApplyAsync(v -> this.createNameIndex());
+        this.suggestions = this.nameIndex.thenApplyAsync(CatalogNameSuggestions::of);
+    }
+
+    /**
+     * @return a future which completes when all catalogs are loaded (including catalogs which failed to load)
+     */
+    public CompletableFuture<Void> whenLoaded() {
+
+        return this.loaded;
+    }
+
+    /**
+     * Returns the catalog with the given name or abbreviation as soon as it is loaded, without waiting for the other
+     * catalogs.
+     *
+     * @param catalogName
+     *            The catalog name or abbreviation
+     * @return a future of the catalog. It completes with <code>null</code> if there is no such catalog, once all
+     *         catalogs are loaded.
+     */
+    public CompletableFuture<ICatalog> getCatalogAsync(String catalogName) {
+
+        if (catalogName == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return this.catalogFutures.computeIfAbsent(catalogName, name -> {
+            CompletableFuture<ICatalog> future = new CompletableFuture<>();
+            // Abbreviations and unknown names are only resolved with all catalogs
+            this.loaded.thenRun(() -> future.complete(this.getCatalog(name)));
+            return future;
+        });
+    }
+
+    /**
+     * @return a future of the name index of all catalogs, which completes once all catalogs are loaded and indexed
+     */
+    public CompletableFuture<CatalogNameIndex> getNameIndex() {
+
+        return this.nameIndex;
+    }
+
+    /**
+     * @return a future of the suggestions for typed names of all catalogs, which completes once all catalogs are
+     *         indexed and the suggestions are built
+     */
+    public CompletableFuture<CatalogNameSuggestions> getSuggestions() {
+
+        return this.suggestions;
+    }
+
+    /**
+     * Finds a target by its name or one of its alias names in all catalogs, ignoring case and whitespace (e.g. "M 31",
+     * "NGC224" or "pgc 2557"). Waits until the catalogs are indexed.
+     *
+     * @param name
+     *            The name or alias name of the target
+     * @return the target or <code>null</code> if no catalog has a target with this name
+     */
+    public ITarget findTarget(String name) {
+
+        return this.nameIndex.join().getTarget(name);
     }
 
     public String[] getCatalogNames() {
 
+        this.waitForCatalogs();
+
         return (String[]) this.catalogMap.keySet().toArray(new String[] {});
     }
 
     public String[] getListableCatalogNames() {
 
+        this.waitForCatalogs();
+
         Iterator<String> iterator = this.catalogMap.keySet().iterator();
         ICatalog cat = null;
         String currentKey = null;
@@ -87,18 +184,27 @@ public class CatalogLoader {
 
     public ICatalog getCatalog(String catalogName) {
 
+        if (catalogName == null) {
+            return null;
+        }
+
+        // Loaded catalogs are available before all catalogs are loaded
+        ICatalog catalog = this.catalogMap.get(catalogName);
+        if (catalog != null) {
+            return catalog;
+        }
+
+        this.waitForCatalogs();
+
         if (!this.catalogMap.containsKey(catalogName)) {
-            if (catalogName != null) { // Search for abbreviation
-                Iterator<ICatalog> catIterator = this.catalogMap.values().iterator();
-                ICatalog current = null;
-                while (catIterator.hasNext()) {
-                    current = catIterator.next();
-                    if (catalogName.equals(current.getAbbreviation())) {
-                        return current;
-                    }
+            // Search for abbreviation
+            Iterator<ICatalog> catIterator = this.catalogMap.values().iterator();
+            ICatalog current = null;
+            while (catIterator.hasNext()) {
+                current = catIterator.next();
+                if (catalogName.equals(current.getAbbreviation())) {
+                    return current;
                 }
-            } else {
-                return null;
             }
         }
 
@@ -117,6 +223,8 @@ public class CatalogLoader {
             }
         }
 
+        // One task per catalog, or per extension if the extension loads its catalogs together
+        Map<String, List<Supplier<ICatalog[]>>> tasks = new LinkedHashMap<>();
         Iterator<IExtension> iterator = this.extensions.iterator();
         IExtension current = null;
         while (iterator.hasNext()) {
@@ -134,44 +242,135 @@ public class CatalogLoader {
                 }
             }
 
-            this.catalogMap.putAll(loadCatalogsAsMap(current, catalogDir));
+            tasks.put(current.getName(), this.getCatalogLoaders(current, catalogDir));
 
             // Add current extension to list of known extesions
             this.knownExtensions.put(current.getName(), current.getVersion());
         }
+
+        int count = tasks.values().stream().mapToInt(List::size).sum();
+        if (count == 0) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(count, MAX_LOAD_THREADS));
+        List<CompletableFuture<Void>> futures = new ArrayList<>(count);
+        for (Map.Entry<String, List<Supplier<ICatalog[]>>> extensionTasks : tasks.entrySet()) {
+            String extensionName = extensionTasks.getKey();
+            for (Supplier<ICatalog[]> task : extensionTasks.getValue()) {
+                futures.add(CompletableFuture.supplyAsync(task, executor)
+                        .thenAccept(this::addCatalogs)
+                        .exceptionally(e -> {
+                            LOGGER.error("Cannot load catalog of extension: {}", extensionName, e);
+                            return null;
+                        }));
+            }
+        }
+        // Running tasks are not affected, the threads terminate once all catalogs are loaded
+        executor.shutdown();
+
+        long start = System.currentTimeMillis();
+        this.loaded = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[] {}))
+                .thenRun(() -> LOGGER.info(
+                        "Loaded {} catalogs in {} ms", this.catalogMap.size(), System.currentTimeMillis() - start));
     }
 
+    /**
+     * Checks if a listable catalog has a target with the given name (no alias name). Until the catalogs are indexed the
+     * catalogs are asked one by one, so the check never waits for the index.
+     *
+     * @param name
+     *            The name of the target
+     * @return <code>true</code> if a listable catalog has a target with this name
+     */
     public boolean isFromCatalog(String name) {
 
-        for (String catalog : getListableCatalogNames()) {
+        CatalogNameIndex index = this.nameIndex.getNow(null);
+        if (index == null) { // Still indexing
+            for (String catalog : this.getListableCatalogNames()) {
+                if (this.getTarget(catalog, name) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
 
-            if (getTarget(catalog, name) != null) {
+        // Only target names as given in the catalogs, no alias names. The index
+        // contains the names of the other catalogs (e.g. GCVS) as well.
+        for (CatalogNameIndex.Entry entry : index.getEntries(name)) {
+            if (!entry.isAlias()
+                    && (entry.getCatalog() instanceof IListableCatalog)
+                    && entry.getObjectName().equals(name)
+                    && (entry.getTarget() != null)) {
                 return true;
             }
         }
         return false;
     }
 
-    private Map<String, ICatalog> loadCatalogsAsMap(IExtension extension, File catalogDir) {
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Catalog loading start: {}", extension.getName());
+    private List<Supplier<ICatalog[]>> getCatalogLoaders(IExtension extension, File catalogDir) {
+
+        List<Supplier<ICatalog>> catalogLoaders = extension.getCatalogLoaders(catalogDir);
+        if (catalogLoaders == null) {
+            // On huge catalogs, this may take some time:
+            return List.of(() -> this.loadCatalogs(extension, catalogDir));
         }
 
-        // On huge catalogs, this may take some time:
-        ICatalog[] currentCatalogs = extension.getCatalogs(catalogDir);
+        List<Supplier<ICatalog[]>> result = new ArrayList<>(catalogLoaders.size());
+        for (Supplier<ICatalog> catalogLoader : catalogLoaders) {
+            result.add(() -> new ICatalog[] {catalogLoader.get()});
+        }
+        return result;
+    }
 
-        var catalogs = new ConcurrentHashMap<String, ICatalog>();
+    private ICatalog[] loadCatalogs(IExtension extension, File catalogDir) {
 
-        // All catalogs are loaded, so add them to map
-        if (currentCatalogs != null) {
-            for (ICatalog currentCatalog : currentCatalogs) {
-                catalogs.put(currentCatalog.getName(), currentCatalog);
-            }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Catalog loading start: {}", extension.getName());
         }
 
+        ICatalog[] catalogs = extension.getCatalogs(catalogDir);
+
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Catalog loading done: {}", extension.getName());
         }
         return catalogs;
     }
+
+    // Makes the catalogs available as soon as they are loaded
+    private void addCatalogs(ICatalog[] catalogs) {
+
+        if (catalogs == null) {
+            return;
+        }
+
+        for (ICatalog catalog : catalogs) {
+            if (catalog != null) {
+                LOGGER.debug("Catalog loaded: {}", catalog.getName());
+                this.catalogMap.put(catalog.getName(), catalog);
+                this.catalogFutures
+                        .computeIfAbsent(catalog.getName(), name -> new CompletableFuture<>())
+                        .complete(catalog);
+            }
+        }
+    }
+
+    private CatalogNameIndex createNameIndex() {
+
+        try {
+            return CatalogNameIndex.of(this.catalogMap.values());
+        } catch (RuntimeException e) {
+            LOGGER.error("Cannot index catalogs", e);
+            return CatalogNameIndex.of(Collections.emptyList());
+        }
+    }
+
+    private void waitForCatalogs() {
+
+        if (!this.loaded.isDone()) {
+            LOGGER.debug("Waiting for catalogs to be loaded...");
+            // Loading errors are handled per catalog, so this never completes exceptionally
+            this.loaded.join();
+        }
+    }
 }
@@ -0,0 +1,299 @@
+package de.lehmannet.om.ui.dialog;
+
+import de.lehmannet.om.IEyepiece;
+import de.lehmannet.om.IObservation;
+import de.lehmannet.om.IObserver;
+import de.lehmannet.om.IScope;
+import de.lehmannet.om.ISite;
+import de.lehmannet.om.model.ObservationManagerModel;
+import de.lehmannet.om.model.ObservationQuery;
+import de.lehmannet.om.ui.box.ConstellationBox;
+import de.lehmannet.om.ui.box.OMComboBox;
+import de.lehmannet.om.ui.comparator.ObservationComparator;
+import de.lehmannet.om.ui.extension.SchemaUILoader;
+import de.lehmannet.om.ui.navigation.ObservationManager;
+import de.lehmannet.om.ui.navigation.tableModel.ObservationTableModel;
+import de.lehmannet.om.ui.util.ConstraintsBuilder;
+import de.lehmannet.om.ui.util.LocaleToolsFactory;
+import de.lehmannet.om.util.SchemaElementConstants;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.WindowConstants;
+
+/**
+ * Searches observations by observer, site, equipment, target and observing conditions. A double click on a found
+ * observation selects it in the main window.
+ */
+public class AdvancedSearchDialog extends OMDialog implements ActionListener {
+
+    private static final long serialVersionUID = -2304650591275437715L;
+
+    private static final String EMPTY_ENTRY = "----";
+
+    private final ResourceBundle bundle =
+            LocaleToolsFactory.appInstance().getBundle("ObservationManager", Locale.getDefault());
+
+    private final ObservationManager om;
+    private final ObservationManagerModel model;
+    private final SchemaUILoader schemaUILoader;
+
+    private final OMComboBox<IObserver> observerBox = new OMComboBox<>();
+    private final OMComboBox<ISite> siteBox = new OMComboBox<>();
+    private final OMComboBox<IScope> scopeBox = new OMComboBox<>();
+    private final OMComboBox<IEyepiece> eyepieceBox = new OMComboBox<>();
+    private final JComboBox<String> targetTypeBox = new JComboBox<>();
+    private final ConstellationBox constellationBox = new ConstellationBox(true);
+    private final JTextField from = new JTextField();
+    private final JTextField to = new JTextField();
+    private final JComboBox<String> seeingBox =
+            new JComboBox<>(new String[] {AdvancedSearchDialog.EMPTY_ENTRY, "1", "2", "3", "4", "5"});
+    private final JTextField minSkyQuality = new JTextField();
+    private final JTextField minFaintestStar = new JTextField();
+
+    private final JButton search = new JButton(this.bundle.getString("dialog.advancedSearch.search"));
+    private final JButton close = new JButton(this.bundle.getString("dialog.button.cancel"));
+
+    private final JLabel resultLabel = new JLabel();
+    private final JTable resultTable = new JTable();
+    private IObservation[] result = new IObservation[0];
+
+    public AdvancedSearchDialog(ObservationManager om, ObservationManagerModel model) {
+
+        super(om);
+
+        this.om = om;
+        this.model = model;
+        this.schemaUILoader = om.getExtensionLoader().getSchemaUILoader();
+
+        this.setTitle(this.bundle.getString("dialog.advancedSearch.title"));
+        this.setModal(false);
+        this.setSize(AdvancedSearchDialog.serialVersionUID, 640, 560);
+        this.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        this.setLocationRelativeTo(om);
+
+        this.initBoxes();
+        this.initDialog();
+
+        this.setVisible(true);
+    }
+
+    // --------------
+    // ActionListener ---------------------------------------------------------
+    // --------------
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+
+        Object source = e.getSource();
+        if (source.equals(this.close)) {
+            this.dispose();
+        } else if (source.equals(this.search)) {
+            ObservationQuery query = this.createQuery();
+            if (query == null) {
+                this.om.getUiHelper().showWarning(this.bundle.getString("dialog.advancedSearch.error.input"));
+                return;
+            }
+            this.showResult(this.model.query(query));
+        }
+    }
+
+    // Returns null if one of the text fields is not valid
+    private ObservationQuery createQuery() {
+
+        ObservationQuery query = new ObservationQuery()
+                .withObserver(this.observerBox.getSelectedSchemaElement())
+                .withSite(this.siteBox.getSelectedSchemaElement())
+                .withScope(this.scopeBox.getSelectedSchemaElement())
+                .withEyepiece(this.eyepieceBox.getSelectedSchemaElement())
+                .withConstellation(this.constellationBox.getSelectedConstellation());
+
+        String targetType = (String) this.targetTypeBox.getSelectedItem();
+        if ((targetType != null) && !AdvancedSearchDialog.EMPTY_ENTRY.equals(targetType)) {
+            query.withTargetType(this.schemaUILoader.getTypeForDisplayName(targetType));
+        }
+
+        String seeing = (String) this.seeingBox.getSelectedItem();
+        if ((seeing != null) && !AdvancedSearchDialog.EMPTY_ENTRY.equals(seeing)) {
+            query.withMaxSeeing(Integer.parseInt(seeing));
+        }
+
+        try {
+            // The until date is included
+            ZoneId zone = ZoneId.systemDefault();
+            Instant fromInstant = this.from.getText().isBlank()
+                    ? null
+                    : LocalDate.parse(this.from.getText().trim())
+                            .atStartOfDay(zone)
+                            .toInstant();
+            Instant toInstant = this.to.getText().isBlank()
+                    ? null
+                    : LocalDate.parse(this.to.getText().trim())
+                            .plusDays(1)
+                            .atStartOfDay(zone)
+                            .toInstant();
+            query.withBegin(fromInstant, toInstant);
+
+            if (!this.minSkyQuality.getText().isBlank()) {
+                query.withMinSkyQuality(
+                        Float.parseFloat(this.minSkyQuality.getText().trim()));
+            }
+            if (!this.minFaintestStar.getText().isBlank()) {
+                query.withMinFaintestStar(
+                        Float.parseFloat(this.minFaintestStar.getText().trim()));
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+
+        return query;
+    }
+
+    private void showResult(List<IObservation> observations) {
+
+        observations.sort(new ObservationComparator());
+        this.result = observations.toArray(new IObservation[] {});
+
+        this.resultTable.setModel(new ObservationTableModel(this.result, this.om));
+        this.resultLabel.setText(this.bundle.getString("dialog.advancedSearch.results") + " " + this.result.length);
+    }
+
+    private void initBoxes() {
+
+        this.observerBox.addEmptyItem();
+        for (IObserver observer : this.model.getObservers()) {
+            this.observerBox.addItem(observer);
+        }
+        this.observerBox.selectEmptyItem();
+
+        this.siteBox.addEmptyItem();
+        for (ISite site : this.model.getSites()) {
+            this.siteBox.addItem(site);
+        }
+        this.siteBox.selectEmptyItem();
+
+        this.scopeBox.addEmptyItem();
+        for (IScope scope : this.model.getScopes()) {
+            this.scopeBox.addItem(scope);
+        }
+        this.scopeBox.selectEmptyItem();
+
+        this.eyepieceBox.addEmptyItem();
+        for (IEyepiece eyepiece : this.model.getEyepieces()) {
+            this.eyepieceBox.addItem(eyepiece);
+        }
+        this.eyepieceBox.selectEmptyItem();
+
+        this.targetTypeBox.addItem(AdvancedSearchDialog.EMPTY_ENTRY);
+        for (String type : this.schemaUILoader.getAllXSIDisplayNames(SchemaElementConstants.TARGET)) {
+            this.targetTypeBox.addItem(type);
+        }
+    }
+
+    private void initDialog() {
+
+        GridBagLayout gridbag = new GridBagLayout();
+        GridBagConstraints constraints = new GridBagConstraints();
+        constraints.anchor = GridBagConstraints.WEST;
+        constraints.fill = GridBagConstraints.HORIZONTAL;
+        this.getContentPane().setLayout(gridbag);
+
+        int row = 0;
+        this.addRow(gridbag, constraints, row++, this.bundle.getString("observer"), this.observerBox);
+        this.addRow(gridbag, constraints, row++, this.bundle.getString("site"), this.siteBox);
+        this.addRow(gridbag, constraints, row++, this.bundle.getString("scope"), this.scopeBox);
+        this.addRow(gridbag, constraints, row++, this.bundle.getString("eyepiece"), this.eyepieceBox);
+        this.addRow(
+                gridbag,
+                constraints,
+                row++,
+                this.bundle.getString("table.header.observation.targetType"),
+                this.targetTypeBox);
+        this.addRow(
+                gridbag,
+                constraints,
+                row++,
+                this.bundle.getString("dialog.advancedSearch.constellation"),
+                this.constellationBox);
+        this.addRow(gridbag, constraints, row++, this.bundle.getString("dialog.advancedSearch.from"), this.from);
+        this.addRow(gridbag, constraints, row++, this.bundle.getString("dialog.advancedSearch.to"), this.to);
+        this.addRow(
+                gridbag, constraints, row++, this.bundle.getString("dialog.advancedSearch.maxSeeing"), this.seeingBox);
+        this.addRow(
+                gridbag,
+                constraints,
+                row++,
+                this.bundle.getString("dialog.advancedSearch.minSkyQuality"),
+                this.minSkyQuality);
+        this.addRow(
+                gridbag,
+                constraints,
+                row++,
+                this.bundle.getString("dialog.advancedSearch.minFaintestStar"),
+                this.minFaintestStar);
+
+        ConstraintsBuilder.buildConstraints(constraints, 0, row, 1, 1, 50, 1);
+        gridbag.setConstraints(this.search, constraints);
+        this.search.addActionListener(this);
+        this.getContentPane().add(this.search);
+
+        ConstraintsBuilder.buildConstraints(constraints, 1, row++, 1, 1, 50, 1);
+        gridbag.setConstraints(this.close, constraints);
+        this.close.addActionListener(this);
+        this.getContentPane().add(this.close);
+
+        ConstraintsBuilder.buildConstraints(constraints, 0, row++, 2, 1, 100, 1);
+        gridbag.setConstraints(this.resultLabel, constraints);
+        this.getContentPane().add(this.resultLabel);
+
+        this.resultTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        this.resultTable.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int row = AdvancedSearchDialog.this.resultTable.getSelectedRow();
+                if ((e.getClickCount() == 2) && (row >= 0)) {
+                    AdvancedSearchDialog.this.om.updateUI(AdvancedSearchDialog.this.result[row]);
+                }
+            }
+        });
+
+        ConstraintsBuilder.buildConstraints(constraints, 0, row, 2, 1, 100, 80);
+        constraints.fill = GridBagConstraints.BOTH;
+        JScrollPane scrollTable = new JScrollPane(this.resultTable);
+        gridbag.setConstraints(scrollTable, constraints);
+        this.getContentPane().add(scrollTable);
+
+        this.getRootPane().setDefaultButton(this.search);
+    }
+
+    private void addRow(
+            GridBagLayout gridbag, GridBagConstraints constraints, int row, String label, JComponent component) {
+
+        ConstraintsBuilder.buildConstraints(constraints, 0, row, 1, 1, 30, 1);
+        JLabel jLabel = new JLabel(label);
+        gridbag.setConstraints(jLabel, constraints);
+        this.getContentPane().add(jLabel);
+
+        ConstraintsBuilder.buildConstraints(constraints, 1, row, 1, 1, 70, 1);
+        gridbag.setConstraints(component, constraints);
+        this.getContentPane().add(component);
+    }
+}
@@ -11,6 +11,7 @@ import de.lehmannet.om.ISchemaElement;
 import de.lehmannet.om.ITarget;
 import de.lehmannet.om.model.ObservationManagerModel;
 import de.lehmannet.om.ui.catalog.CatalogLoader;
+import de.lehmannet.om.ui.catalog.CatalogNameIndex;
 import de.lehmannet.om.ui.catalog.ICatalog;
 import de.lehmannet.om.ui.catalog.IListableCatalog;
 import de.lehmannet.om.ui.i18n.TextManager;
@@ -20,6 +21,7 @@ import de.lehmannet.om.ui.panel.AbstractPanel;
 import de.lehmannet.om.ui.panel.AbstractSearchPanel;
 import de.lehmannet.om.ui.util.ConfigKey;
 import de.lehmannet.om.ui.util.ConstraintsBuilder;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
@@ -27,13 +29,27 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.DefaultListCellRenderer;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
+import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.WindowConstants;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableColumn;
 
@@ -59,7 +75,7 @@ public class CatalogDialog extends OMDialog implements ComponentListener {
         this.setTitle(this.textManager.getString("dialog.catalog.title"));
         this.setModal(true);
         this.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
-        this.setSize(CatalogDialog.serialVersionUID, 660, 340);
+        this.setSize(CatalogDialog.serialVersionUID, 660, 400);
         this.setLocationRelativeTo(om);
 
         this.setVisible(true);
@@ -105,6 +121,19 @@ class CatalogPanel extends AbstractPanel implements ActionListener {
      */
     private static final long serialVersionUID = -8388323169559287306L;
 
+    // Waiting time after the last keystroke, before suggestions are searched
+    private static final int QUICK_SEARCH_DELAY = 150;
+
+    private static final int MAX_SUGGESTIONS = 20;
+
+    // Type-ahead search over all catalogs
+    private final JTextField quickSearchField = new JTextField();
+    private final JList<CatalogNameIndex.Entry> suggestionList = new JList<>();
+    private final JPopupMenu suggestionPopup = new JPopupMenu();
+    private final Timer quickSearchTimer = new Timer(CatalogPanel.QUICK_SEARCH_DELAY, e -> this.searchSuggestions());
+    // Increased on each search, so results of outdated searches are dropped
+    private int quickSearchCount = 0;
+
     private final JComboBox<String> catalogBox = new JComboBox<>();
     private JButton searchButton = null;
 
@@ -183,6 +212,8 @@ class CatalogPanel extends AbstractPanel implements ActionListener {
 
         this.scrollTable = new JScrollPane(this.table);
 
+        this.initQuickSearch();
+
         this.createPanel();
     }
 
@@ -252,7 +283,162 @@ class CatalogPanel extends AbstractPanel implements ActionListener {
 
         AbstractSearchPanel panel = this.selectedCatalog.getSearchPanel();
         SearchDialog sd = new SearchDialog(this.textManager.getString("dialog.catalog.search.title"), panel, this, om);
-        this.selectedTarget = (ITarget) sd.getSearchResult();
+        this.selectTarget((ITarget) sd.getSearchResult());
+    }
+
+    private void initQuickSearch() {
+
+        this.quickSearchTimer.setRepeats(false);
+
+        this.quickSearchField.setToolTipText(this.textManager.getString("dialog.catalog.tooltip.quickSearch"));
+        this.quickSearchField.getDocument().addDocumentListener(new DocumentListener() {
+
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+
+                CatalogPanel.this.quickSearchTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+
+                CatalogPanel.this.quickSearchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+
+                // Attribute changes only
+            }
+        });
+        this.quickSearchField.addKeyListener(new KeyAdapter() {
+
+            @Override
+            public void keyPressed(KeyEvent e) {
+
+                CatalogPanel.this.quickSearchKeyPressed(e);
+            }
+        });
+        this.quickSearchField.addActionListener(e -> this.selectSuggestion());
+
+        this.suggestionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        this.suggestionList.setFocusable(false);
+        this.suggestionList.setCellRenderer(new DefaultListCellRenderer() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Component getListCellRendererComponent(
+                    JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+
+                CatalogNameIndex.Entry entry = (CatalogNameIndex.Entry) value;
+                return super.getListCellRendererComponent(
+                        list, CatalogPanel.getSuggestionText(entry), index, isSelected, cellHasFocus);
+            }
+        });
+        this.suggestionList.addMouseListener(new MouseAdapter() {
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+
+                CatalogPanel.this.selectSuggestion();
+            }
+        });
+
+        // The popup must not take the focus from the search field, otherwise typing stops
+        this.suggestionPopup.setFocusable(false);
+        this.suggestionPopup.add(new JScrollPane(this.suggestionList));
+    }
+
+    // Runs on the EDT once the user stopped typing, the suggestions are searched in the background
+    private void searchSuggestions() {
+
+        int count = ++this.quickSearchCount;
+        String text = this.quickSearchField.getText();
+        if (CatalogNameIndex.normalize(text) == null) {
+            this.suggestionPopup.setVisible(false);
+            return;
+        }
+
+        CompletableFuture<List<CatalogNameIndex.Entry>> suggestions =
+                this.loader.getSuggestions().thenApplyAsync(s -> s.suggest(text, CatalogPanel.MAX_SUGGESTIONS));
+        suggestions.thenAccept(result -> SwingUtilities.invokeLater(() -> {
+            if (count == this.quickSearchCount) {
+                this.showSuggestions(result);
+            }
+        }));
+    }
+
+    private void showSuggestions(List<CatalogNameIndex.Entry> suggestions) {
+
+        if (suggestions.isEmpty() || !this.quickSearchField.isShowing()) {
+            this.suggestionPopup.setVisible(false);
+            return;
+        }
+
+        this.suggestionList.setListData(suggestions.toArray(new CatalogNameIndex.Entry[] {}));
+        this.suggestionList.setSelectedIndex(0);
+        this.suggestionList.setVisibleRowCount(Math.min(suggestions.size(), 10));
+
+        this.suggestionPopup.setPopupSize(
+                this.quickSearchField.getWidth(), this.suggestionList.getPreferredScrollableViewportSize().height + 4);
+        this.suggestionPopup.show(this.quickSearchField, 0, this.quickSearchField.getHeight());
+    }
+
+    private void quickSearchKeyPressed(KeyEvent e) {
+
+        if (!this.suggestionPopup.isVisible()) {
+            return;
+        }
+
+        int index = this.suggestionList.getSelectedIndex();
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_DOWN:
+                index = Math.min(index + 1, this.suggestionList.getModel().getSize() - 1);
+                break;
+            case KeyEvent.VK_UP:
+                index = Math.max(index - 1, 0);
+                break;
+            case KeyEvent.VK_ESCAPE:
+                this.suggestionPopup.setVisible(false);
+                e.consume();
+                return;
+            default:
+                return;
+        }
+        this.suggestionList.setSelectedIndex(index);
+        this.suggestionList.ensureIndexIsVisible(index);
+        e.consume();
+    }
+
+    private void selectSuggestion() {
+
+        CatalogNameIndex.Entry entry = this.suggestionList.getSelectedValue();
+        if ((entry == null) || !this.suggestionPopup.isVisible()) {
+            return;
+        }
+        this.suggestionPopup.setVisible(false);
+
+        this.selectTarget(entry.getTarget());
+    }
+
+    // E.g. "M 31 (Messier)" or "PGC 2557 = NGC 224 (NGC)"
+    private static String getSuggestionText(CatalogNameIndex.Entry entry) {
+
+        ICatalog catalog = entry.getCatalog();
+        String catalogName = ((catalog.getAbbreviation() == null) || "".equals(catalog.getAbbreviation()))
+                ? catalog.getName()
+                : catalog.getAbbreviation();
+
+        if (entry.isAlias()) {
+            return entry.getAliasName() + " = " + entry.getObjectName() + " (" + catalogName + ")";
+        }
+        return entry.getObjectName() + " (" + catalogName + ")";
+    }
+
+    private void selectTarget(ITarget result) {
+
+        this.selectedTarget = result;
         if (this.selectedTarget != null) {
             // Check if selected target exists already in cache...if so, use that one.
             ITarget[] targets = this.model.getTargets();
@@ -295,16 +481,24 @@ class CatalogPanel extends AbstractPanel implements ActionListener {
         constraints.anchor = GridBagConstraints.WEST;
         this.setLayout(gridbag);
 
-        ConstraintsBuilder.buildConstraints(constraints, 0, 0, 1, 1, 5, 1);
+        ConstraintsBuilder.buildConstraints(constraints, 0, 0, 2, 1, 5, 1);
         constraints.fill = GridBagConstraints.HORIZONTAL;
+        JLabel LquickSearch = new JLabel(this.textManager.getString("dialog.catalog.label.quickSearch"));
+        gridbag.setConstraints(LquickSearch, constraints);
+        this.add(LquickSearch);
+        ConstraintsBuilder.buildConstraints(constraints, 0, 1, 2, 1, 45, 1);
+        gridbag.setConstraints(this.quickSearchField, constraints);
+        this.add(this.quickSearchField);
+
+        ConstraintsBuilder.buildConstraints(constraints, 0, 2, 1, 1, 5, 1);
         JLabel LcatalogName = new JLabel(this.textManager.getString("dialog.catalog.label.catalogName"));
         gridbag.setConstraints(LcatalogName, constraints);
         this.add(LcatalogName);
-        ConstraintsBuilder.buildConstraints(constraints, 0, 1, 1, 1, 45, 1);
+        ConstraintsBuilder.buildConstraints(constraints, 0, 3, 1, 1, 45, 1);
         gridbag.setConstraints(this.catalogBox, constraints);
         this.add(this.catalogBox);
 
-        ConstraintsBuilder.buildConstraints(constraints, 1, 1, 1, 1, 20, 1);
+        ConstraintsBuilder.buildConstraints(constraints, 1, 3, 1, 1, 20, 1);
         this.searchButton = new JButton(this.textManager.getString("dialog.catalog.label.searchButton"));
         this.searchButton.setToolTipText(this.textManager.getString("dialog.catalog.tooltip.searchButton"));
         this.searchButton.addActionListener(this);
@@ -314,24 +508,24 @@ class CatalogPanel extends AbstractPanel implements ActionListener {
         gridbag.setConstraints(this.searchButton, constraints);
         this.add(this.searchButton);
 
-        ConstraintsBuilder.buildConstraints(constraints, 0, 2, 2, 1, 5, 1);
+        ConstraintsBuilder.buildConstraints(constraints, 0, 4, 2, 1, 5, 1);
         constraints.fill = GridBagConstraints.HORIZONTAL;
         JLabel LTargets = new JLabel(this.textManager.getString("dialog.catalog.label.targets"));
         gridbag.setConstraints(LTargets, constraints);
         this.add(LTargets);
-        ConstraintsBuilder.buildConstraints(constraints, 0, 3, 2, 5, 45, 10);
+        ConstraintsBuilder.buildConstraints(constraints, 0, 5, 2, 5, 45, 10);
         gridbag.setConstraints(this.scrollTable, constraints);
         this.scrollTable.setMinimumSize(new Dimension(200, 200));
         this.add(this.scrollTable);
 
-        ConstraintsBuilder.buildConstraints(constraints, 0, 8, 2, 1, 45, 1);
+        ConstraintsBuilder.buildConstraints(constraints, 0, 10, 2, 1, 45, 1);
         constraints.fill = GridBagConstraints.HORIZONTAL;
         this.positive = new JButton(this.textManager.getString("dialog.catalog.positive"));
         this.positive.addActionListener(this);
         gridbag.setConstraints(this.positive, constraints);
         this.add(this.positive);
 
-        ConstraintsBuilder.buildConstraints(constraints, 0, 9, 2, 1, 45, 86);
+        ConstraintsBuilder.buildConstraints(constraints, 0, 11, 2, 1, 45, 86);
         constraints.fill = GridBagConstraints.BOTH;
         JLabel Lfill = new JLabel("");
         gridbag.setConstraints(Lfill, constraints);
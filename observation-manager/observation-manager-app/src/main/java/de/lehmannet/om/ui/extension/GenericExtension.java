@@ -68,15 +68,19 @@ public class GenericExtension extends AbstractExtension {
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.GenericTarget")
                 .targetType(GenericTarget.XML_XSI_TYPE_VALUE)
+                .targetFactory(GenericTarget::new)
                 .findingClassName("de.lehmannet.om.GenericFinding")
                 .findingType(GenericFinding.XML_XSI_TYPE_VALUE)
+                .findingFactory(GenericFinding::new)
                 .build());
 
         this.extensionOalTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.TargetStar")
                 .targetType(TargetStar.XML_XSI_TYPE_VALUE)
+                .targetFactory(TargetStar::new)
                 .findingClassName("de.lehmannet.om.GenericFinding")
                 .findingType(GenericFinding.XML_XSI_TYPE_VALUE)
+                .findingFactory(GenericFinding::new)
                 .build());
     }
 
@@ -400,9 +400,8 @@ public class ObservationManager extends JFrame implements IObservationManagerJFr
             return;
         }
 
-        if (result.isEmpty()) { // Deletion successful
-            this.update(element);
-        } else { // Deletion failed due to dependencies
+        // On success the tree and table remove the element on the change event of the model
+        if (!result.isEmpty()) { // Deletion failed due to dependencies
             new TableElementsDialog(this, this.model, result);
         }
     }
@@ -479,12 +478,10 @@ public class ObservationManager extends JFrame implements IObservationManagerJFr
 
     public void update(final ISchemaElement element) {
 
-        // Update cache
+        // Update cache (the tree and table update their nodes/rows of the element
+        // on the change event of the model)
         this.model.update(element);
 
-        // Update tree (clears old data and refreshes it completely)
-        this.updateLeft();
-
         // Update UI
         this.updateUI(element);
     }
@@ -2,6 +2,7 @@ package de.lehmannet.om.ui.navigation;
 
 import de.lehmannet.om.IObservation;
 import de.lehmannet.om.ISchemaElement;
+import de.lehmannet.om.ISite;
 import de.lehmannet.om.model.ObservationManagerModel;
 import de.lehmannet.om.ui.i18n.TextManager;
 import de.lehmannet.om.ui.navigation.observation.utils.InstallDir;
@@ -19,8 +20,13 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import javax.xml.transform.Templates;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
@@ -315,9 +321,48 @@ public class ObservationManagerHtmlHelper {
 
     public void createHTMLForSchemaElement(ISchemaElement schemaElement) {
 
+        this.createHTMLForSchemaElement(schemaElement, this.getNewHTMLFile(schemaElement.getDisplayName()));
+    }
+
+    public void createHTMLForNight(IObservation observation) {
+
+        // The night is taken in the time zone of the site, as it starts at local noon
+        ISite site = observation.getSite();
+        ZoneOffset zone = (site != null)
+                ? ZoneOffset.ofTotalSeconds(site.getTimezone() * 60)
+                : observation.getBegin().getOffset();
+        ZonedDateTime begin = observation.getBegin().atZoneSameInstant(zone);
+        LocalDate night = (begin.getHour() < 12) ? begin.toLocalDate().minusDays(1) : begin.toLocalDate();
+
+        // The index returns the observations of all sites within that night
+        List<IObservation> observations =
+                this.model.getObservationDateIndex().getObservationsOfNight(night, zone).stream()
+                        .filter(o -> isSameSite(site, o.getSite()))
+                        .collect(Collectors.toList());
+
+        Document doc = this.model.getDocumentForObservations(observations);
+
+        String htmlName = (site != null) ? site.getDisplayName() + " " + night : night.toString();
+        File html = this.getNewHTMLFile(htmlName);
+        boolean result = this.transformXML2HTML(doc, html, null);
+        if (result) {
+            this.uiHelper.showInfo(textManager.getString("info.htmlExportDir") + " " + html);
+        } // Otherwise error message have been provided
+    }
+
+    private static boolean isSameSite(ISite site, ISite other) {
+
+        if ((site == null) || (other == null)) {
+            return site == other;
+        }
+
+        return site.getID().equals(other.getID());
+    }
+
+    private File getNewHTMLFile(String name) {
+
         // Build filename
-        String htmlName = schemaElement.getDisplayName();
-        htmlName = this.replaceSpecialChars(htmlName);
+        String htmlName = this.replaceSpecialChars(name);
 
         String fullFileName = this.getCurrentXMLParentPath() + File.separatorChar + htmlName + ".html";
         File html = new File(fullFileName);
@@ -330,7 +375,7 @@ public class ObservationManagerHtmlHelper {
             html = new File(fullFileName);
         }
 
-        this.createHTMLForSchemaElement(schemaElement, html);
+        return html;
     }
 
     public void createHTML(Document doc, File html, File xslFile) {
@@ -161,8 +161,6 @@ public final class ObservationManagerMenuData {
         while (dialog == null || dialog.isCreateAdditionalObservation()) {
             dialog = new ObservationDialog(this.observationManager, this.model, this.textManager, null, this.uiCache);
             this.model.add(dialog.getObservation());
-            this.observationManager.updateLeft(); // Refreshes tree (without that, the new element
-            // won't appear on UI)
             this.observationManager.updateUI(dialog.getObservation()); // Sets selection in tree
             // (and table) on new
             // element
@@ -173,8 +171,6 @@ public final class ObservationManagerMenuData {
 
         ObserverDialog dialog = new ObserverDialog(this.observationManager, this.model, null);
         this.model.add(dialog.getObserver());
-        this.observationManager.updateLeft(); // Refreshes tree (without that, the new element
-        // won't appear on UI)
         this.observationManager.updateUI(dialog.getObserver()); // Sets selection in tree (and
         // table) on new element
 
@@ -184,8 +180,6 @@ public final class ObservationManagerMenuData {
 
         SessionDialog dialog = new SessionDialog(this.observationManager, this.model, null, this.uiCache);
         this.model.add(dialog.getSession());
-        this.observationManager.updateLeft(); // Refreshes tree (without that, the new element
-        // won't appear on UI)
         this.observationManager.updateUI(dialog.getSession()); // Sets selection in tree (and
         // table) on new element
 
@@ -195,8 +189,6 @@ public final class ObservationManagerMenuData {
 
         SiteDialog dialog = new SiteDialog(this.observationManager, this.model, null);
         this.model.add(dialog.getSite());
-        this.observationManager.updateLeft(); // Refreshes tree (without that, the new element
-        // won't appear on UI)
         this.observationManager.updateUI(dialog.getSite()); // Sets selection in tree (and table)
         // on new element
 
@@ -206,8 +198,6 @@ public final class ObservationManagerMenuData {
 
         ScopeDialog dialog = new ScopeDialog(this.observationManager, this.model, null);
         this.model.add(dialog.getScope());
-        this.observationManager.updateLeft(); // Refreshes tree (without that, the new element
-        // won't appear on UI)
         this.observationManager.updateUI(dialog.getScope()); // Sets selection in tree (and table)
         // on new element
 
@@ -217,8 +207,6 @@ public final class ObservationManagerMenuData {
 
         EyepieceDialog dialog = new EyepieceDialog(this.observationManager, this.model, null);
         this.model.add(dialog.getEyepiece());
-        this.observationManager.updateLeft(); // Refreshes tree (without that, the new element
-        // won't appear on UI)
         this.observationManager.updateUI(dialog.getEyepiece()); // Sets selection in tree (and
         // table) on new element
 
@@ -234,8 +222,6 @@ public final class ObservationManagerMenuData {
             // Get Imager Dialog
             IImagerDialog imagerDialog = (IImagerDialog) is.getDialog();
             this.model.add(imagerDialog.getImager());
-            this.observationManager.updateLeft(); // Refreshes tree (without that, the new element
-            // won't appear on UI)
             this.observationManager.updateUI(imagerDialog.getImager()); // Sets selection in tree
             // (and table) on new
             // element
@@ -246,8 +232,6 @@ public final class ObservationManagerMenuData {
 
         FilterDialog dialog = new FilterDialog(this.observationManager, this.model, null);
         this.model.add(dialog.getFilter());
-        this.observationManager.updateLeft(); // Refreshes tree (without that, the new element
-        // won't appear on UI)
         this.observationManager.updateUI(dialog.getFilter()); // Sets selection in tree (and table)
         // on new element
 
@@ -263,8 +247,6 @@ public final class ObservationManagerMenuData {
             // Get TargetContainer
             ITargetDialog targetDialog = (ITargetDialog) ts.getDialog();
             this.model.add(targetDialog.getTarget());
-            this.observationManager.updateLeft(); // Refreshes tree (without that, the new element
-            // won't appear on UI)
             this.observationManager.updateUI(targetDialog.getTarget()); // Sets selection in tree
             // (and table) on new
             // element
@@ -275,8 +257,6 @@ public final class ObservationManagerMenuData {
 
         LensDialog dialog = new LensDialog(this.observationManager, this.model, null);
         this.model.add(dialog.getLens());
-        this.observationManager.updateLeft(); // Refreshes tree (without that, the new element
-        // won't appear on UI)
         this.observationManager.updateUI(dialog.getLens()); // Sets selection in tree (and table)
         // on new element
 
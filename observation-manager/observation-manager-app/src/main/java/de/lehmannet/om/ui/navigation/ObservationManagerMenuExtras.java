@@ -1,6 +1,7 @@
 package de.lehmannet.om.ui.navigation;
 
 import de.lehmannet.om.model.ObservationManagerModel;
+import de.lehmannet.om.ui.dialog.AdvancedSearchDialog;
 import de.lehmannet.om.ui.dialog.DidYouKnowDialog;
 import de.lehmannet.om.ui.dialog.LogDialog;
 import de.lehmannet.om.ui.i18n.TextManager;
@@ -94,6 +95,11 @@ public final class ObservationManagerMenuExtras {
         new StatisticsDialog(this.observationManager, this.model);
     }
 
+    public void showAdvancedSearch() {
+
+        new AdvancedSearchDialog(this.observationManager, this.model);
+    }
+
     public void showPreferencesDialog() {
 
         new PreferencesDialog(
@@ -142,6 +148,11 @@ public final class ObservationManagerMenuExtras {
         showStatistics.addActionListener(new StatisticsActionListener());
         extraMenu.add(showStatistics);
 
+        JMenuItem advancedSearch = new JMenuItem(this.textManager.getString("menu.advancedSearch"));
+        advancedSearch.setMnemonic('a');
+        advancedSearch.addActionListener(new AdvancedSearchActionListener());
+        extraMenu.add(advancedSearch);
+
         JMenuItem preferences = new JMenuItem(
                 this.textManager.getString("menu.preferences"),
                 new ImageIcon(this.imageResolver.getImageURL("preferences.png").orElse(null), ""));
@@ -193,6 +204,13 @@ public final class ObservationManagerMenuExtras {
         }
     }
 
+    class AdvancedSearchActionListener implements ActionListener {
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            ObservationManagerMenuExtras.this.showAdvancedSearch();
+        }
+    }
+
     class PreferencesActionListener implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
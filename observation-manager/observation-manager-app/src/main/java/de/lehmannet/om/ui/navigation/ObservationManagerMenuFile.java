@@ -117,11 +117,12 @@ public final class ObservationManagerMenuFile {
         openFile.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_O, menuKeyModifier));
         fileMenu.add(openFile);
 
-        // this.openDir = new JMenuItem("Open dir");
-        // this.openDir.setMnemonic('d');
-        // this.openDir.addActionListener(this);
-        // this.fileMenu.add(openDir); // @todo: Uncomment this as soon as we
-        // know what this means
+        JMenuItem openDir = new JMenuItem(
+                textManager.getString("menu.openDir"),
+                new ImageIcon(this.imageResolver.getImageURL("open.png").orElse(null), ""));
+        openDir.setMnemonic('d');
+        openDir.addActionListener(new OpenDirListener());
+        fileMenu.add(openDir);
 
         JMenuItem saveFile = new JMenuItem(
                 textManager.getString("menu.save"),
@@ -185,6 +186,14 @@ public final class ObservationManagerMenuFile {
         }
     }
 
+    class OpenDirListener implements ActionListener {
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            ObservationManagerMenuFile.this.openDir(ObservationManagerMenuFile.this.hasModelChanged());
+        }
+    }
+
     class SaveFileListener implements ActionListener {
 
         @Override
@@ -273,6 +282,11 @@ public final class ObservationManagerMenuFile {
                 // 3 = No save required...continue
         }
 
+        // Write saved changes of the edit journal into the XML file (unsaved ones are discarded)
+        if (!this.model.compact()) {
+            this.createWarning(textManager.getString("error.save"));
+        }
+
         // Write into log that we start now
         LOGGER.info("--- Observation Manager shutting down...");
 
@@ -334,9 +348,10 @@ public final class ObservationManagerMenuFile {
         String oldPath = null;
 
         String[] files = this.model.getAllOpenedFiles();
-        if ((files != null) && (files.length == 1)) { // @todo This works only
-            // with ONE file open
+        if ((files != null) && (files.length == 1)) {
             oldPath = files[0];
+        } else if ((files != null) && (files.length > 1)) { // Save the file of the selected element
+            oldPath = this.model.getXMLFileForSchemaElement(this.model.getSelectedElement());
         }
 
         final File f = this.saveDialog();
@@ -540,7 +555,6 @@ public final class ObservationManagerMenuFile {
         LOGGER.debug("Save file: {}", new Date());
         LOGGER.debug(SystemInfo.printMemoryUsage());
 
-        // @todo This works only with ONE file opened
         Worker calculation = new Worker() {
 
             private String message = null;
@@ -549,7 +563,10 @@ public final class ObservationManagerMenuFile {
             @Override
             public void run() {
 
-                boolean result = ObservationManagerMenuFile.this.model.save(files[0]);
+                boolean result = true;
+                for (String file : files) {
+                    result &= ObservationManagerMenuFile.this.model.save(file);
+                }
                 if (!result) {
                     message = textManager.getString("error.save");
                     returnValue = Worker.RETURN_TYPE_ERROR;
@@ -643,72 +660,20 @@ public final class ObservationManagerMenuFile {
         this.cleanUp();
 
         // Add schema elements to (empty) cache
-        if (imagers != null) {
-            for (IImager imager : imagers) {
-                this.model.add(imager);
-            }
-        }
-
-        if (eyepieces != null) {
-            for (IEyepiece eyepiece : eyepieces) {
-                this.model.add(eyepiece);
-            }
-        }
-
-        if (filters != null) {
-            for (IFilter filter : filters) {
-                this.model.add(filter);
-            }
-        }
-
-        if (lenses != null) {
-            for (ILens lens : lenses) {
-                this.model.add(lens);
-            }
-        }
-
-        if (observers != null) {
-            for (IObserver observer : observers) {
-                this.model.add(observer);
-            }
-        }
-
-        if (scopes != null) {
-            for (IScope scope : scopes) {
-                this.model.add(scope);
-            }
-        }
-
-        if (sites != null) {
-            for (ISite site : sites) {
-                this.model.add(site);
-            }
-        }
-
-        if (sessions != null) {
-            for (ISession session : sessions) {
-                this.model.add(session);
-            }
-        }
-
-        if (targets != null) {
-            for (ITarget target : targets) {
-                this.model.add(target);
-            }
-        }
-
-        // !!! This must be the last entry to add, in order to find the
-        // observations
-        // under the other schemaElements in the TreeView !!!
-        if (observations != null) {
-            for (IObservation observation : observations) {
-                this.model.add(observation);
+        // (The model adds the observations after all other elements, in order to
+        // find the observations under the other schemaElements in the TreeView)
+        List<ISchemaElement> elements = new ArrayList<>();
+        for (ISchemaElement[] selected : new ISchemaElement[][] {
+            imagers, eyepieces, filters, lenses, observers, scopes, sites, sessions, targets, observations
+        }) {
+            if (selected != null) {
+                elements.addAll(Arrays.asList(selected));
             }
         }
+        this.model.addAll(elements);
 
         // Update views
         observationManager.getTableView().showObservations(null, null);
-        observationManager.getTreeView().updateTree();
 
         // Set content changed is elements were copied.
         // (Force save on a blank document doesn't make sense)
@@ -772,7 +737,22 @@ public final class ObservationManagerMenuFile {
         this.observationManager.setChanged(false);
     }
 
-    public void openDir() {
+    public void openDir(boolean changed) {
+
+        // Save before exit...
+        switch (this.saveBeforeExit(changed)) {
+            case -1:
+                // 1 = No save wanted...continue
+            case 2: {
+                return; // Save failed (message was provided)
+            }
+            case 0: {
+                // 0 = Save was ok...continue, but create message before
+                this.createInfo(textManager.getString("ok.save"));
+                break;
+            } // Cancel was pressed
+                // 3 = No save required...continue
+        }
 
         JFileChooser chooser = new JFileChooser();
         chooser.setMultiSelectionEnabled(true);
@@ -786,16 +766,27 @@ public final class ObservationManagerMenuFile {
         }
         int returnVal = chooser.showOpenDialog(this.observationManager);
         FilenameFilter xml = (dir, name) -> name.endsWith(".xml");
-        File[] files = null;
         if (returnVal == JFileChooser.APPROVE_OPTION) {
-            File[] dirs = chooser.getSelectedFiles();
-
-            for (File dir : dirs) {
-                files = dir.listFiles(xml);
+            List<File> files = new ArrayList<>();
+            for (File dir : chooser.getSelectedFiles()) {
+                File[] dirFiles = dir.listFiles(xml);
+                if (dirFiles != null) {
+                    Arrays.sort(dirFiles);
+                    files.addAll(Arrays.asList(dirFiles));
+                }
             }
 
-            this.loadFiles(files);
+            Cursor hourglassCursor = new Cursor(Cursor.WAIT_CURSOR);
+            observationManager.setCursor(hourglassCursor);
+
+            this.loadFiles(files.toArray(new File[files.size()]));
+
+            Cursor normalCursor = new Cursor(Cursor.DEFAULT_CURSOR);
+            observationManager.setCursor(normalCursor);
         }
+
+        // Make sure change flag is unset
+        this.observationManager.setChanged(false);
     }
 
     public void createInfo(String message) {
@@ -815,9 +806,11 @@ public final class ObservationManagerMenuFile {
             return;
         }
 
+        List<String> paths = new ArrayList<>(files.length);
         for (File file : files) {
-            this.loadFile(file.getAbsolutePath());
+            paths.add(file.getAbsolutePath());
         }
+        this.loadFiles(paths);
 
         this.configuration.setConfig(ConfigKey.CONFIG_LASTDIR, files[0].getParent());
         this.configuration.setConfig(ConfigKey.CONFIG_LASTXML, files[files.length - 1].getAbsolutePath());
@@ -826,11 +819,8 @@ public final class ObservationManagerMenuFile {
         observationManager.getVerticalSplitPane().updateUI();
     }
 
-    private void loadFile(final String file) {
-
-        if (file == null) {
-            return;
-        }
+    // All files are loaded at once, so they are opened together
+    private void loadFiles(final List<String> files) {
 
         this.cleanUp();
 
@@ -845,9 +835,9 @@ public final class ObservationManagerMenuFile {
             @Override
             public void run() {
 
-                boolean result = ObservationManagerMenuFile.this.model.loadObservations(file);
+                boolean result = ObservationManagerMenuFile.this.model.loadObservations(files);
                 if (!result) {
-                    message = textManager.getString("error.loadXML") + " " + file;
+                    message = textManager.getString("error.loadXML") + " " + String.join(", ", files);
                     returnValue = Worker.RETURN_TYPE_ERROR;
                 }
 
@@ -959,6 +949,10 @@ public final class ObservationManagerMenuFile {
                 SchemaLoader importer = new SchemaLoader();
                 try {
                     boolean fixErrors = configuration.getBooleanConfig(ConfigKey.CONFIG_FIX_XML_ERRORS_ON_LOAD);
+                    if (configuration.getBooleanConfig(ConfigKey.CONFIG_XML_STREAMING_LOAD)) {
+                        importer.setEngine(SchemaLoader.Engine.STAX);
+                    }
+                    importer.setParallel(configuration.getBooleanConfig(ConfigKey.CONFIG_XML_PARALLEL_LOAD));
                     importer.load(importFile, schemaFile, fixErrors);
                 } catch (OALException se) {
                     returnValue = Worker.RETURN_TYPE_ERROR;
@@ -966,7 +960,7 @@ public final class ObservationManagerMenuFile {
                     return;
                 }
 
-                // Get imported elements (without observations)
+                // Get imported elements
                 List<ISchemaElement> importedElements = new ArrayList<>();
                 importedElements.addAll(Arrays.asList(importer.getEyepieces()));
                 importedElements.addAll(Arrays.asList(importer.getFilters()));
@@ -977,28 +971,12 @@ public final class ObservationManagerMenuFile {
                 importedElements.addAll(Arrays.asList(importer.getSites()));
                 importedElements.addAll(Arrays.asList(importer.getTargets()));
                 importedElements.addAll(Arrays.asList(importer.getLenses()));
+                importedElements.addAll(Arrays.asList(importer.getObservations()));
 
-                // Add imported elements to current file
-                for (Object importedElement : importedElements) {
-                    this.model.add((ISchemaElement) importedElement);
-                }
-
-                // Finally add observations
-                // If we add the observations before all other elements are
-                // known to the XMLLoader
-                // the references are not set correctly, as only adding
-                // observations, checks dependencies
-                // and adds references in the XMLLoader.
-                IObservation[] obs = importer.getObservations();
-                if ((obs != null) && (obs.length > 0)) {
-                    for (IObservation ob : obs) {
-                        this.model.add(ob);
-                    }
-                }
-
-                // Refresh UI
-                this.om.updateLeft(); // Refreshes tree (without that, the new
-                // element won't appear on UI)
+                // Add imported elements to current file in one batch
+                // (The model adds the observations after all other elements,
+                // so that their references are set correctly)
+                this.model.addAll(importedElements);
 
                 // Set success message
                 message = textManager.getString("ok.import.xmlFile");
@@ -64,6 +64,7 @@ class PopupMenuHandler implements ActionListener {
     private JMenuItem edit = null;
     private JMenuItem delete = null;
     private JMenuItem createHTML = null;
+    private JMenuItem createNightHTML = null;
     private JMenuItem createNewObservation = null;
     private JMenuItem createXML = null;
 
@@ -198,6 +199,13 @@ class PopupMenuHandler implements ActionListener {
             this.createHTML.addActionListener(this);
             export.add(this.createHTML);
 
+            // Add HTML export of all observations in the same night
+            if (seType == SchemaElementConstants.OBSERVATION && se != null) {
+                this.createNightHTML = new JMenuItem(bundle.getString("menu.htmlExportNight"));
+                this.createNightHTML.addActionListener(this);
+                export.add(this.createNightHTML);
+            }
+
             // Add OAL export
             this.createXML = new JMenuItem(bundle.getString("menu.oalExport"));
             this.createXML.addActionListener(this);
@@ -283,6 +291,8 @@ class PopupMenuHandler implements ActionListener {
                 this.observationManager.deleteSchemaElement(element);
             } else if (source.equals(this.createHTML)) {
                 this.observationManager.getHtmlHelper().createHTMLForSchemaElement(element);
+            } else if (source.equals(this.createNightHTML)) {
+                this.observationManager.getHtmlHelper().createHTMLForNight((IObservation) element);
             } else if (source.equals(this.createXML)) {
                 this.observationManager.getHtmlHelper().createXMLForSchemaElement(element);
             } else if (source.equals(this.createNewObservation)) {
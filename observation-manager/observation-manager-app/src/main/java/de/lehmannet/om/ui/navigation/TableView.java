@@ -20,6 +20,8 @@ import de.lehmannet.om.ISession;
 import de.lehmannet.om.ISite;
 import de.lehmannet.om.ITarget;
 import de.lehmannet.om.SchemaElement;
+import de.lehmannet.om.model.ModelChangeEvent;
+import de.lehmannet.om.model.ModelChangeListener;
 import de.lehmannet.om.model.ObservationManagerModel;
 import de.lehmannet.om.ui.cache.UIDataCache;
 import de.lehmannet.om.ui.i18n.TextManager;
@@ -70,7 +72,7 @@ import javax.swing.table.TableColumnModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class TableView extends JPanel {
+public class TableView extends JPanel implements ModelChangeListener {
 
     /**
      *
@@ -132,6 +134,49 @@ public class TableView extends JPanel {
 
         // Load table column settings
         this.loadSettings();
+
+        this.model.addModelChangeListener(this);
+    }
+
+    // -------------------
+    // ModelChangeListener ----------------------------------------------------
+    // -------------------
+
+    @Override
+    public void modelChanged(ModelChangeEvent event) {
+
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> this.modelChanged(event));
+            return;
+        }
+
+        // Nothing shown
+        AbstractSchemaTableModel shown = this.sorter.getTableModel();
+        if ((shown == null) || (this.table.getModel() != this.sorter)) {
+            return;
+        }
+
+        if (event.getType() == ModelChangeEvent.Type.UPDATED) {
+            // Only values changed, so repaint the rows (and the item view) of the elements
+            for (ISchemaElement element : event.getElements()) {
+                int row = this.getModelRow(shown, element);
+                if (row >= 0) {
+                    shown.fireTableRowsUpdated(row, row);
+                    if (element == this.selectedElement) {
+                        this.updateItemView(element);
+                    }
+                }
+            }
+            return;
+        }
+
+        // Rows might be added or removed, show the current elements again
+        ISchemaElement selected = this.selectedElement;
+        if ((event.getType() == ModelChangeEvent.Type.REMOVED)
+                && event.getElements().stream().anyMatch(element -> element == this.selectedElement)) {
+            selected = null;
+        }
+        this.showElements(shown, selected);
     }
 
     private MouseAdapter mouseListener() {
@@ -704,6 +749,43 @@ public class TableView extends JPanel {
         return this.selectedElement;
     }
 
+    // Row of the element in the (unsorted) table model, or -1
+    private int getModelRow(AbstractSchemaTableModel tableModel, ISchemaElement element) {
+
+        for (int row = 0; row < tableModel.getRowCount(); row++) {
+            if (tableModel.getSchemaElement(row) == element) {
+                return row;
+            }
+        }
+
+        return -1;
+    }
+
+    private void showElements(AbstractSchemaTableModel tableModel, ISchemaElement selected) {
+
+        if (tableModel instanceof ObservationTableModel) {
+            this.showObservations((IObservation) selected, this.parentElement);
+        } else if (tableModel instanceof TargetTableModel) {
+            this.showTargets((ITarget) selected);
+        } else if (tableModel instanceof SiteTableModel) {
+            this.showSites((ISite) selected);
+        } else if (tableModel instanceof ScopeTableModel) {
+            this.showScopes((IScope) selected);
+        } else if (tableModel instanceof SessionTableModel) {
+            this.showSessions((ISession) selected);
+        } else if (tableModel instanceof ObserverTableModel) {
+            this.showObservers((IObserver) selected);
+        } else if (tableModel instanceof FilterTableModel) {
+            this.showFilters((IFilter) selected);
+        } else if (tableModel instanceof EyepieceTableModel) {
+            this.showEyepieces((IEyepiece) selected);
+        } else if (tableModel instanceof ImagerTableModel) {
+            this.showImagers((IImager) selected);
+        } else if (tableModel instanceof LensTableModel) {
+            this.showLenses((ILens) selected);
+        }
+    }
+
     public void reloadLanguage() {
 
         AbstractSchemaTableModel.reloadLanguage(); // Reload static bundle
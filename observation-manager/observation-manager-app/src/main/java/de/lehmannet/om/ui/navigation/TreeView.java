@@ -19,6 +19,8 @@ import de.lehmannet.om.IScope;
 import de.lehmannet.om.ISession;
 import de.lehmannet.om.ISite;
 import de.lehmannet.om.ITarget;
+import de.lehmannet.om.model.ModelChangeEvent;
+import de.lehmannet.om.model.ModelChangeListener;
 import de.lehmannet.om.model.ObservationManagerModel;
 import de.lehmannet.om.ui.cache.UIDataCache;
 import de.lehmannet.om.ui.i18n.TextManager;
@@ -37,9 +39,12 @@ import java.awt.event.MouseListener;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
 import javax.swing.JPanel;
@@ -51,17 +56,24 @@ import javax.swing.event.TreeSelectionEvent;
 import javax.swing.event.TreeSelectionListener;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeCellRenderer;
+import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.TreePath;
 
-public class TreeView extends JPanel implements TreeSelectionListener {
+public class TreeView extends JPanel implements TreeSelectionListener, ModelChangeListener {
 
     /**
      *
      */
     private static final long serialVersionUID = 1L;
 
+    // Above this number of changed elements, the tree is rebuilt instead of
+    // changing each node
+    private static final int MAX_NODE_CHANGES = 100;
+
     private JTree tree = null;
 
+    private DefaultTreeModel treeModel = null;
+
     private JScrollPane scrollTree = null;
 
     // Make default visible as PopupMenuHandler and SchemaElementTreeCellRender
@@ -78,9 +90,17 @@ public class TreeView extends JPanel implements TreeSelectionListener {
     DefaultMutableTreeNode observation = null;
     DefaultMutableTreeNode lens = null;
 
-    // Used for faster access in setSelection
-    // Key=ISchemaElement - Value: SchemaElementMutableTreeNode
-    private final Map<ISchemaElement, SchemaElementMutableTreeNode> nodes = new HashMap<>();
+    // Used for faster access in setSelection and on model changes
+    // Key=ID of the ISchemaElement - Value: SchemaElementMutableTreeNode
+    // Keyed by ID, as the values of an element (and so its hashCode) change on edits
+    private final Map<String, SchemaElementMutableTreeNode> nodes = new HashMap<>();
+
+    // Nodes of the elements an observation is listed underneath
+    // Key=IObservation - Value: List of SchemaElementMutableTreeNodes
+    private final Map<IObservation, List<SchemaElementMutableTreeNode>> observationParents = new IdentityHashMap<>();
+
+    // Key=Category node - Value: i18n key of the category name
+    private final Map<DefaultMutableTreeNode, String> categoryKeys = new HashMap<>();
 
     private final ImageResolver imageResolver;
     private final ObservationManagerModel model;
@@ -102,31 +122,21 @@ public class TreeView extends JPanel implements TreeSelectionListener {
         this.cache = cache;
 
         this.root = new DefaultMutableTreeNode(this.textManager.getString("treeRoot"));
-        this.observation = new DefaultMutableTreeNode(this.textManager.getString("tree.observations"));
-        this.target = new DefaultMutableTreeNode(this.textManager.getString("targets"));
-        this.scope = new DefaultMutableTreeNode(this.textManager.getString("scopes"));
-        this.imager = new DefaultMutableTreeNode(this.textManager.getString("imagers"));
-        this.filter = new DefaultMutableTreeNode(this.textManager.getString("filters"));
-        this.eyepiece = new DefaultMutableTreeNode(this.textManager.getString("eyepieces"));
-        this.lens = new DefaultMutableTreeNode(this.textManager.getString("lenses"));
-        this.site = new DefaultMutableTreeNode(this.textManager.getString("sites"));
-        this.session = new DefaultMutableTreeNode(this.textManager.getString("sessions"));
-        this.observer = new DefaultMutableTreeNode(this.textManager.getString("observers"));
-
-        this.root.add(this.observation);
-        this.root.add(this.target);
-        this.root.add(this.scope);
-        this.root.add(this.imager);
-        this.root.add(this.eyepiece);
-        this.root.add(this.lens);
-        this.root.add(this.filter);
-        this.root.add(this.site);
-        this.root.add(this.session);
-        this.root.add(this.observer);
+        this.observation = this.createCategory("tree.observations");
+        this.target = this.createCategory("targets");
+        this.scope = this.createCategory("scopes");
+        this.imager = this.createCategory("imagers");
+        this.eyepiece = this.createCategory("eyepieces");
+        this.lens = this.createCategory("lenses");
+        this.filter = this.createCategory("filters");
+        this.site = this.createCategory("sites");
+        this.session = this.createCategory("sessions");
+        this.observer = this.createCategory("observers");
 
         this.initTree();
 
-        this.tree = new JTree(this.root);
+        this.treeModel = new DefaultTreeModel(this.root);
+        this.tree = new JTree(this.treeModel);
         this.tree.setCellRenderer(new SchemaElementTreeCellRenderer(this, this.observationManager, this.imageResolver));
         this.tree.addTreeSelectionListener(this);
         this.tree.setExpandsSelectedPaths(true);
@@ -220,6 +230,8 @@ public class TreeView extends JPanel implements TreeSelectionListener {
         this.setLayout(new BorderLayout());
         this.scrollTree = new JScrollPane(this.tree);
         this.add(this.scrollTree);
+
+        this.model.addModelChangeListener(this);
     }
 
     // ---------------------
@@ -273,6 +285,44 @@ public class TreeView extends JPanel implements TreeSelectionListener {
         }
     }
 
+    // -------------------
+    // ModelChangeListener ----------------------------------------------------
+    // -------------------
+
+    @Override
+    public void modelChanged(ModelChangeEvent event) {
+
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> this.modelChanged(event));
+            return;
+        }
+
+        // Many changes (e.g. an import), rebuilding is faster
+        if (event.getElements().size() > TreeView.MAX_NODE_CHANGES) {
+            this.updateTree();
+            return;
+        }
+
+        for (ISchemaElement element : event.getElements()) {
+            switch (event.getType()) {
+                case ADDED:
+                    this.elementAdded(element);
+                    break;
+                case UPDATED:
+                    this.elementUpdated(element, false);
+                    break;
+                case REFERENCES_CHANGED:
+                    this.elementUpdated(element, true);
+                    break;
+                case REMOVED:
+                    this.elementRemoved(element);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
     // --------------
     // Public Methods ---------------------------------------------------------
     // --------------
@@ -292,6 +342,8 @@ public class TreeView extends JPanel implements TreeSelectionListener {
         this.session.removeAllChildren();
         this.observer.removeAllChildren();
         this.lens.removeAllChildren();
+        this.nodes.clear();
+        this.observationParents.clear();
         this.initTree();
 
         // This might cause NullPointerExceptions in BasicTreeUI.paintRow
@@ -308,8 +360,8 @@ public class TreeView extends JPanel implements TreeSelectionListener {
 
         TreePath tp = null;
         if (parentElement != null) { // Select observation underneath the parentElement
-            if (this.nodes.containsKey(parentElement)) {
-                SchemaElementMutableTreeNode current = (SchemaElementMutableTreeNode) this.nodes.get(parentElement);
+            SchemaElementMutableTreeNode current = this.findNode(parentElement);
+            if (current != null) {
                 ISchemaElement currentSE = null;
                 for (int i = 0; i < current.getChildCount(); i++) {
                     currentSE = ((SchemaElementMutableTreeNode) current.getChildAt(i)).getSchemaElement();
@@ -327,12 +379,10 @@ public class TreeView extends JPanel implements TreeSelectionListener {
                 this.tree.setSelectionPath(tp);
             }
         } else { // Select schemaElement
-            if (this.nodes.containsKey(element)) {
-                SchemaElementMutableTreeNode current = (SchemaElementMutableTreeNode) this.nodes.get(element);
-                if (current.getSchemaElement().equals(element)) {
-                    tp = new TreePath(current.getPath());
-                    this.tree.setSelectionPath(tp);
-                }
+            SchemaElementMutableTreeNode current = this.findNode(element);
+            if (current != null) {
+                tp = new TreePath(current.getPath());
+                this.tree.setSelectionPath(tp);
             }
         }
 
@@ -382,152 +432,329 @@ public class TreeView extends JPanel implements TreeSelectionListener {
         viewport.scrollRectToVisible(rect);
     }
 
+    private DefaultMutableTreeNode createCategory(String key) {
+
+        DefaultMutableTreeNode category = new DefaultMutableTreeNode(this.textManager.getString(key));
+        this.categoryKeys.put(category, key);
+        this.root.add(category);
+
+        return category;
+    }
+
     private void initTree() {
 
-        // Observation Node
-        ISchemaElement[] elements = this.model.getObservations();
-        this.addSchemaElements(elements, this.observation);
-        if (elements.length > 0) {
-            this.observation.setUserObject(
-                    this.textManager.getString("tree.observations") + " (" + elements.length + ")");
-        } else {
-            this.observation.setUserObject(this.textManager.getString("tree.observations"));
+        for (int i = 0; i < this.root.getChildCount(); i++) {
+            DefaultMutableTreeNode category = (DefaultMutableTreeNode) this.root.getChildAt(i);
+            for (ISchemaElement element : this.getElements(category)) {
+                category.add(this.createNode(element)); // Add element to treenode
+            }
+            this.updateCategoryName(category);
         }
+    }
+
+    private void updateCategoryName(DefaultMutableTreeNode category) {
 
-        // TargetContainer Node
-        elements = this.model.getTargets();
-        this.addSchemaElements(elements, this.target);
-        if (elements.length > 0) {
-            this.target.setUserObject(this.textManager.getString("targets") + " (" + elements.length + ")");
+        String name = this.textManager.getString(this.categoryKeys.get(category));
+        if (category.getChildCount() > 0) {
+            category.setUserObject(name + " (" + category.getChildCount() + ")");
         } else {
-            this.target.setUserObject(this.textManager.getString("targets"));
+            category.setUserObject(name);
         }
+    }
 
-        // ScopePanel Node
-        elements = this.model.getScopes();
-        this.addSchemaElements(elements, this.scope);
-        if (elements.length > 0) {
-            this.scope.setUserObject(this.textManager.getString("scopes") + " (" + elements.length + ")");
-        } else {
-            this.scope.setUserObject(this.textManager.getString("scopes"));
+    private ISchemaElement[] getElements(DefaultMutableTreeNode category) {
+
+        if (category == this.observation) {
+            return this.model.getObservations();
+        } else if (category == this.target) {
+            return this.model.getTargets();
+        } else if (category == this.scope) {
+            return this.model.getScopes();
+        } else if (category == this.imager) {
+            return this.model.getImagers();
+        } else if (category == this.eyepiece) {
+            return this.model.getEyepieces();
+        } else if (category == this.lens) {
+            return this.model.getLenses();
+        } else if (category == this.filter) {
+            return this.model.getFilters();
+        } else if (category == this.site) {
+            return this.model.getSites();
+        } else if (category == this.session) {
+            return this.model.getSessions();
+        } else if (category == this.observer) {
+            return this.model.getObservers();
         }
 
-        // ImagerPanel Node
-        elements = this.model.getImagers();
-        this.addSchemaElements(elements, this.imager);
-        if (elements.length > 0) {
-            this.imager.setUserObject(this.textManager.getString("imagers") + " (" + elements.length + ")");
-        } else {
-            this.imager.setUserObject(this.textManager.getString("imagers"));
+        return new ISchemaElement[0];
+    }
+
+    private DefaultMutableTreeNode getCategory(ISchemaElement element) {
+
+        if (element instanceof IObservation) {
+            return this.observation;
+        } else if (element instanceof ITarget) {
+            return this.target;
+        } else if (element instanceof IScope) {
+            return this.scope;
+        } else if (element instanceof IImager) {
+            return this.imager;
+        } else if (element instanceof IEyepiece) {
+            return this.eyepiece;
+        } else if (element instanceof ILens) {
+            return this.lens;
+        } else if (element instanceof IFilter) {
+            return this.filter;
+        } else if (element instanceof ISite) {
+            return this.site;
+        } else if (element instanceof ISession) {
+            return this.session;
+        } else if (element instanceof IObserver) {
+            return this.observer;
         }
 
-        // EyepiecePanel Node
-        elements = this.model.getEyepieces();
-        this.addSchemaElements(elements, this.eyepiece);
-        if (elements.length > 0) {
-            this.eyepiece.setUserObject(this.textManager.getString("eyepieces") + " (" + elements.length + ")");
-        } else {
-            this.eyepiece.setUserObject(this.textManager.getString("eyepieces"));
+        return null;
+    }
+
+    private SchemaElementMutableTreeNode createNode(ISchemaElement element) {
+
+        SchemaElementMutableTreeNode current = new SchemaElementMutableTreeNode(element);
+
+        // Only add observations for all non-IObservation elements
+        if (!(element instanceof IObservation)) {
+            this.addObservations(current);
         }
 
-        // FilterPanel Node
-        elements = this.model.getFilters();
-        this.addSchemaElements(elements, this.filter);
-        if (elements.length > 0) {
-            this.filter.setUserObject(this.textManager.getString("filters") + " (" + elements.length + ")");
-        } else {
-            this.filter.setUserObject(this.textManager.getString("filters"));
+        this.nodes.put(element.getID(), current); // For faster access
+
+        return current;
+    }
+
+    private void addObservations(SchemaElementMutableTreeNode current) {
+
+        ISchemaElement element = current.getSchemaElement();
+
+        // Get all observations for corresponding schema element
+        IObservation[] observations = this.model.getObservations(element);
+        if (observations != null) {
+            // If the element is an IObserver, we also need to access the observations where
+            // this observer
+            // is the coObserver
+            // Also we attach the coObserver Observations to the other observations, as the
+            // both will
+            // be listed under the observer node (in different font/color)
+            if (element instanceof IObserver) {
+                IObservation[] coObserver = this.model.getCoObserverObservations((IObserver) element);
+                if (coObserver != null) {
+
+                    // Add coObserver observations to other observations (and remove doublicates via
+                    // HashSet)
+                    List<IObservation> obs = new ArrayList<>(Arrays.asList(observations));
+                    int coObsLength = coObserver.length;
+                    for (IObservation iObservation : coObserver) {
+                        if (!obs.contains(iObservation)) { // New observation
+                            obs.add(iObservation);
+                        } else { // Doublicate
+                            coObsLength--; // One coObserver observation that won't be counted
+                        }
+                    }
+                    observations = (IObservation[]) obs.toArray(new IObservation[] {});
+
+                    current.setSize(observations.length - coObsLength, coObsLength);
+
+                } else {
+                    current.setSize(observations.length, -1);
+                }
+            } else {
+                current.setSize(observations.length, -1);
+            }
+
+            // Add all observations to the parent node
+            for (IObservation iObservation : observations) {
+                current.add(new SchemaElementMutableTreeNode(iObservation, -1));
+                this.observationParents
+                        .computeIfAbsent(iObservation, k -> new ArrayList<>())
+                        .add(current);
+            }
         }
+    }
 
-        // SitePanel Node
-        elements = this.model.getSites();
-        this.addSchemaElements(elements, this.site);
-        if (elements.length > 0) {
-            this.site.setUserObject(this.textManager.getString("sites") + " (" + elements.length + ")");
-        } else {
-            this.site.setUserObject(this.textManager.getString("sites"));
+    private SchemaElementMutableTreeNode findNode(ISchemaElement element) {
+
+        if (element == null) {
+            return null;
+        }
+
+        return this.nodes.get(element.getID());
+    }
+
+    private void elementAdded(ISchemaElement element) {
+
+        DefaultMutableTreeNode category = this.getCategory(element);
+        if ((category == null) || this.nodes.containsKey(element.getID())) {
+            return;
+        }
+
+        // Not part of the model if an element with the same ID was loaded already
+        int index = this.model.indexOf(element);
+        if (index < 0) {
+            return;
         }
 
-        // SessionPanel Node
-        elements = this.model.getSessions();
-        this.addSchemaElements(elements, this.session);
-        if (elements.length > 0) {
-            this.session.setUserObject(this.textManager.getString("sessions") + " (" + elements.length + ")");
+        SchemaElementMutableTreeNode node = this.createNode(element);
+        this.treeModel.insertNodeInto(node, category, Math.min(index, category.getChildCount()));
+        this.updateCategoryName(category);
+        this.treeModel.nodeChanged(category);
+
+        if (element instanceof IObservation) {
+            this.refreshParents((IObservation) element);
+        }
+    }
+
+    private void elementUpdated(ISchemaElement element, boolean referencesChanged) {
+
+        SchemaElementMutableTreeNode node = this.findNode(element);
+        if (node == null) {
+            return;
+        }
+
+        // The display name might have changed, and so the position of the node
+        node.updateName();
+        DefaultMutableTreeNode category = (DefaultMutableTreeNode) node.getParent();
+        int index = this.model.indexOf(element);
+        if ((index >= 0) && (index != category.getIndex(node))) {
+            TreePath path = new TreePath(node.getPath());
+            boolean selected = this.tree.isPathSelected(path);
+            this.treeModel.removeNodeFromParent(node);
+            this.treeModel.insertNodeInto(node, category, Math.min(index, category.getChildCount()));
+            if (selected) {
+                this.tree.setSelectionPath(path);
+            }
         } else {
-            this.session.setUserObject(this.textManager.getString("sessions"));
+            this.treeModel.nodeChanged(node);
         }
 
-        // ObserverPanel Node
-        elements = this.model.getObservers();
-        this.addSchemaElements(elements, this.observer);
-        if (elements.length > 0) {
-            this.observer.setUserObject(this.textManager.getString("observers") + " (" + elements.length + ")");
+        if (element instanceof IObservation) {
+            if (referencesChanged) {
+                this.refreshParents((IObservation) element);
+            } else {
+                this.updateObservationNodes((IObservation) element);
+            }
+        } else if (referencesChanged) {
+            this.refreshObservations(node);
+            if (element instanceof ISession) {
+                // The observations of a session are listed underneath its coObservers as well
+                for (int i = 0; i < this.observer.getChildCount(); i++) {
+                    this.refreshObservations((SchemaElementMutableTreeNode) this.observer.getChildAt(i));
+                }
+            }
         } else {
-            this.observer.setUserObject(this.textManager.getString("observers"));
+            // The observation names contain the target name
+            for (int i = 0; i < node.getChildCount(); i++) {
+                ISchemaElement child = ((SchemaElementMutableTreeNode) node.getChildAt(i)).getSchemaElement();
+                this.updateObservationNodes((IObservation) child);
+            }
+        }
+    }
+
+    private void elementRemoved(ISchemaElement element) {
+
+        SchemaElementMutableTreeNode node = this.nodes.remove(element.getID());
+        if (node == null) {
+            return;
         }
 
-        // LensPanel Node
-        elements = this.model.getLenses();
-        this.addSchemaElements(elements, this.lens);
-        if (elements.length > 0) {
-            this.lens.setUserObject(this.textManager.getString("lenses") + " (" + elements.length + ")");
+        DefaultMutableTreeNode category = (DefaultMutableTreeNode) node.getParent();
+        this.treeModel.removeNodeFromParent(node);
+        this.updateCategoryName(category);
+        this.treeModel.nodeChanged(category);
+
+        if (element instanceof IObservation) {
+            this.refreshParents((IObservation) element);
+            this.observationParents.remove(element);
         } else {
-            this.lens.setUserObject(this.textManager.getString("lenses"));
+            for (int i = 0; i < node.getChildCount(); i++) {
+                this.removeParent(((SchemaElementMutableTreeNode) node.getChildAt(i)).getSchemaElement(), node);
+            }
         }
     }
 
-    private void addSchemaElements(ISchemaElement[] elements, DefaultMutableTreeNode node) {
-
-        SchemaElementMutableTreeNode current = null;
-        for (ISchemaElement element : elements) {
-            current = new SchemaElementMutableTreeNode(element);
-
-            // Only add observations for all non-IObservation elements
-            if (!(element instanceof IObservation)) {
-                // Get all observations for corresponding schema element
-                IObservation[] observations = this.model.getObservations(element);
-                if (observations != null) {
-                    // If the element is an IObserver, we also need to access the observations where
-                    // this observer
-                    // is the coObserver
-                    // Also we attach the coObserver Observations to the other observations, as the
-                    // both will
-                    // be listed under the observer node (in different font/color)
-                    if (element instanceof IObserver) {
-                        IObservation[] coObserver = this.model.getCoObserverObservations((IObserver) element);
-                        if (coObserver != null) {
-
-                            // Add coObserver observations to other observations (and remove doublicates via
-                            // HashSet)
-                            List<IObservation> obs = new ArrayList<>(Arrays.asList(observations));
-                            int coObsLength = coObserver.length;
-                            for (IObservation iObservation : coObserver) {
-                                if (!obs.contains(iObservation)) { // New observation
-                                    obs.add(iObservation);
-                                } else { // Doublicate
-                                    coObsLength--; // One coObserver observation that won't be counted
-                                }
-                            }
-                            observations = (IObservation[]) obs.toArray(new IObservation[] {});
+    // Rebuilds all nodes the observation was or is listed underneath
+    private void refreshParents(IObservation observation) {
 
-                            current.setSize(observations.length - coObsLength, coObsLength);
+        Set<SchemaElementMutableTreeNode> parents = new LinkedHashSet<>();
+        List<SchemaElementMutableTreeNode> oldParents = this.observationParents.get(observation);
+        if (oldParents != null) {
+            parents.addAll(oldParents);
+        }
 
-                        } else {
-                            current.setSize(observations.length, -1);
-                        }
-                    } else {
-                        current.setSize(observations.length, -1);
-                    }
+        List<ISchemaElement> references = new ArrayList<>(Arrays.asList(
+                observation.getObserver(),
+                observation.getTarget(),
+                observation.getScope(),
+                observation.getEyepiece(),
+                observation.getImager(),
+                observation.getFilter(),
+                observation.getLens(),
+                observation.getSite(),
+                observation.getSession()));
+        if ((observation.getSession() != null) && (observation.getSession().getCoObservers() != null)) {
+            references.addAll(observation.getSession().getCoObservers());
+        }
+        for (ISchemaElement reference : references) {
+            SchemaElementMutableTreeNode parent = this.findNode(reference);
+            if (parent != null) {
+                parents.add(parent);
+            }
+        }
 
-                    // Add all observations to the parent node
-                    for (IObservation iObservation : observations) {
-                        current.add(new SchemaElementMutableTreeNode(iObservation, -1));
-                    }
-                }
+        for (SchemaElementMutableTreeNode parent : parents) {
+            this.refreshObservations(parent);
+        }
+    }
+
+    // Rebuilds the observations listed underneath the node
+    private void refreshObservations(SchemaElementMutableTreeNode node) {
+
+        for (int i = 0; i < node.getChildCount(); i++) {
+            this.removeParent(((SchemaElementMutableTreeNode) node.getChildAt(i)).getSchemaElement(), node);
+        }
+        node.removeAllChildren();
+        this.addObservations(node);
+        this.treeModel.nodeStructureChanged(node);
+    }
+
+    private void removeParent(ISchemaElement observation, SchemaElementMutableTreeNode parent) {
+
+        List<SchemaElementMutableTreeNode> parents = this.observationParents.get(observation);
+        if (parents != null) {
+            parents.remove(parent);
+            if (parents.isEmpty()) {
+                this.observationParents.remove(observation);
             }
+        }
+    }
+
+    private void updateObservationNodes(IObservation observation) {
 
-            this.nodes.put(element, current); // For faster access
-            node.add(current); // Add element to treenode
+        SchemaElementMutableTreeNode node = this.findNode(observation);
+        if (node != null) {
+            node.updateName();
+            this.treeModel.nodeChanged(node);
+        }
+
+        List<SchemaElementMutableTreeNode> parents = this.observationParents.get(observation);
+        if (parents == null) {
+            return;
+        }
+        for (SchemaElementMutableTreeNode parent : parents) {
+            for (int i = 0; i < parent.getChildCount(); i++) {
+                SchemaElementMutableTreeNode child = (SchemaElementMutableTreeNode) parent.getChildAt(i);
+                if (child.getSchemaElement() == observation) {
+                    child.updateName();
+                    this.treeModel.nodeChanged(child);
+                }
+            }
         }
     }
 }
@@ -541,6 +768,9 @@ class SchemaElementMutableTreeNode extends DefaultMutableTreeNode {
 
     private ISchemaElement element = null;
 
+    private int size = -1;
+    private int secondValue = -1;
+
     public SchemaElementMutableTreeNode(ISchemaElement element) {
 
         this(element, -1);
@@ -559,6 +789,8 @@ class SchemaElementMutableTreeNode extends DefaultMutableTreeNode {
 
     public void setSize(int size, int secondValue) {
 
+        this.size = size;
+        this.secondValue = secondValue;
         if (size >= 0) {
             if (secondValue > 0) {
                 this.setUserObject("<html>" + element.getDisplayName() + " (" + size + " / <font color=\"#afafaf\">"
@@ -570,6 +802,12 @@ class SchemaElementMutableTreeNode extends DefaultMutableTreeNode {
             this.setUserObject(element.getDisplayName());
         }
     }
+
+    // The display name of the element might have changed
+    public void updateName() {
+
+        this.setSize(this.size, this.secondValue);
+    }
 }
 
 class SchemaElementTreeCellRenderer extends DefaultTreeCellRenderer {
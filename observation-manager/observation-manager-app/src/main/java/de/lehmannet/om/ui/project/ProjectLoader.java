@@ -12,8 +12,9 @@ import de.lehmannet.om.ISchemaElement;
 import de.lehmannet.om.ITarget;
 import de.lehmannet.om.model.ObservationManagerModel;
 import de.lehmannet.om.ui.catalog.CatalogLoader;
+import de.lehmannet.om.ui.catalog.ICatalog;
+import de.lehmannet.om.ui.catalog.IListableCatalog;
 import de.lehmannet.om.ui.navigation.observation.utils.InstallDir;
-import de.lehmannet.om.ui.panel.AbstractSearchPanel;
 import de.lehmannet.om.ui.util.LocaleToolsFactory;
 import de.lehmannet.om.ui.util.UserInterfaceHelper;
 import java.io.BufferedReader;
@@ -123,7 +124,8 @@ public class ProjectLoader {
 
         List<ITarget> userTargets = new ArrayList<>();
 
-        ITarget[] targets = this.model.getTargets();
+        // Projects are loaded in the background, so don't read the live model
+        ITarget[] targets = this.model.getSnapshot().getTargets();
         for (ITarget target : targets) {
             if (target.getObserver() != null) {
                 userTargets.add(target);
@@ -237,21 +239,30 @@ class ProjectLoaderRunnable implements Runnable {
             return (ITarget) target;
         }
 
-        // Target cannot be accessed...try to search for it (in all catalogs)
-
-        // Get all catalog names
-        String[] catalogNames = catalogLoader.getCatalogNames();
-        for (String name : catalogNames) {
-            // Search via search panel as searching might be optimized
-            // and it'll include alias names
-            AbstractSearchPanel searchPanel = catalogLoader.getCatalog(name).getSearchPanel();
-            if (searchPanel != null) {
-                searchPanel.search(targetName);
-                target = searchPanel.getSearchResult();
+        // Target cannot be accessed...try to find it by name or alias name (in all indexed catalogs)
+        target = catalogLoader.findTarget(targetName);
+        if ((target == null)
+                && (catalogName != null)
+                && Character.isDigit(targetName.trim().charAt(0))) {
+            // Only the number was given, e.g. 31 for M31
+            ICatalog catalog = catalogLoader.getCatalog(catalogName);
+            if (catalog != null) {
+                target = catalogLoader.findTarget(catalog.getAbbreviation() + targetName);
             }
+        }
+
+        if (target != null) {
+            return (ITarget) target; // We found something!
+        }
 
-            if (target != null) {
-                return (ITarget) target; // We found something!
+        // Catalogs which cannot list their names (or accept other formats, e.g. numbers) are searched on their own
+        for (String name : catalogLoader.getCatalogNames()) {
+            ICatalog catalog = catalogLoader.getCatalog(name);
+            if (!(catalog instanceof IListableCatalog)) {
+                target = catalog.getTarget(targetName);
+                if (target != null) {
+                    return (ITarget) target;
+                }
             }
         }
 
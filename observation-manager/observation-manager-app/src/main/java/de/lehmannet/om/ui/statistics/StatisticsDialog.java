@@ -254,7 +254,8 @@ public class StatisticsDialog extends OMDialog implements ActionListener, Compon
 
         Iterator<ICatalog> iterator = this.selectedCatalogs.iterator();
         IListableCatalog current = null;
-        IObservation[] observations = this.model.getObservations();
+        // The checkers run while the user keeps editing, so they all work on the same snapshot
+        IObservation[] observations = this.model.getSnapshot().getObservations();
 
         // Get config
         boolean useCoObservers =
@@ -12,29 +12,35 @@ import de.lehmannet.om.ISession;
 import de.lehmannet.om.ISite;
 import de.lehmannet.om.ITarget;
 import de.lehmannet.om.ITargetContaining;
+import de.lehmannet.om.util.EditJournal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ListIterator;
-import java.util.Set;
+import java.util.Map;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
+// All maps are keyed by the ID of the schema element, so finding the cache entry
+// of an element doesn't depend on the number of elements.
+// Each element entry refers to the observations using the element, and each
+// observation entry refers to the elements used by the observation. So adding,
+// changing or removing an observation only touches the entries of its elements.
 class CacheEntry {
 
     private String xmlPath = null;
-    private Set<SchemaElementCacheEntry<IObservation>> observation = new HashSet<>();
-    private Set<SchemaElementCacheEntry<IEyepiece>> eyepiece = new HashSet<>();
-    private Set<SchemaElementCacheEntry<IImager>> imager = new HashSet<>();
-    private Set<SchemaElementCacheEntry<IFilter>> filter = new HashSet<>();
-    private Set<SchemaElementCacheEntry<IObserver>> coObserver = new HashSet<>();
-    private Set<SchemaElementCacheEntry<IObserver>> observer = new HashSet<>();
-    private Set<SchemaElementCacheEntry<IScope>> scope = new HashSet<>();
-    private Set<SchemaElementCacheEntry<ISession>> session = new HashSet<>();
-    private Set<SchemaElementCacheEntry<ISite>> site = new HashSet<>();
-    private Set<SchemaElementCacheEntry<ITarget>> target = new HashSet<>();
-    private Set<SchemaElementCacheEntry<ILens>> lens = new HashSet<>();
+    private final Map<String, SchemaElementCacheEntry<IObservation>> observation = new LinkedHashMap<>();
+    private final Map<String, SchemaElementCacheEntry<IEyepiece>> eyepiece = new LinkedHashMap<>();
+    private final Map<String, SchemaElementCacheEntry<IImager>> imager = new LinkedHashMap<>();
+    private final Map<String, SchemaElementCacheEntry<IFilter>> filter = new LinkedHashMap<>();
+    private final Map<String, SchemaElementCacheEntry<IObserver>> coObserver = new LinkedHashMap<>();
+    private final Map<String, SchemaElementCacheEntry<IObserver>> observer = new LinkedHashMap<>();
+    private final Map<String, SchemaElementCacheEntry<IScope>> scope = new LinkedHashMap<>();
+    private final Map<String, SchemaElementCacheEntry<ISession>> session = new LinkedHashMap<>();
+    private final Map<String, SchemaElementCacheEntry<ISite>> site = new LinkedHashMap<>();
+    private final Map<String, SchemaElementCacheEntry<ITarget>> target = new LinkedHashMap<>();
+    private final Map<String, SchemaElementCacheEntry<ILens>> lens = new LinkedHashMap<>();
     // Contains only ITargetContaining targets
     // The refered elements are the contained targets
     // We need this to update the contained targets observation references in case
@@ -45,7 +51,10 @@ class CacheEntry {
     // Esp. in case of removal of a contained star, we need to know the old list of
     // contained stars, so that we can remove the observation reference e.g. from
     // TargetStar C
-    private List<SchemaElementCacheEntry<ITarget>> targetContaining = new ArrayList<>();
+    private final Map<String, SchemaElementCacheEntry<ITarget>> targetContaining = new LinkedHashMap<>();
+    // Journal of the XML file (null if journaling is off or the file was not
+    // loaded/saved so far)
+    private EditJournal journal = null;
 
     public CacheEntry() {}
 
@@ -65,23 +74,23 @@ class CacheEntry {
         this.xmlPath = xmlPath;
 
         addObservationsToCache(observation);
-        addEyepiecesToCache(eyepiece);
-        addFiltersToCache(filter);
-        addImagerToCache(imager);
+        addToCache(this.eyepiece, eyepiece);
+        addToCache(this.filter, filter);
+        addToCache(this.imager, imager);
         addObserverToCache(observer);
-        addScopesToCache(scope);
-        addSessionsToCache(session);
-        addSitesToCache(site);
+        addToCache(this.scope, scope);
+        addToCache(this.session, session);
+        addToCache(this.site, site);
         addTargetsToCache(target);
-        addLensesToCache(lens);
+        addToCache(this.lens, lens);
         assignObservationsToCacheElements();
     }
 
     private void assignObservationsToCacheElements() {
         // Assign observations to SchemaElementCacheEntries
         // and vice versa (schemaElements to observation SchemaElementCacheEntry)
-        for (SchemaElementCacheEntry<IObservation> iObservation : this.observation) {
-            addAllObservationElements(iObservation);
+        for (SchemaElementCacheEntry<IObservation> iObservation : this.observation.values()) {
+            addAllObservationElements(iObservation, iObservation.getSchemaElement());
         }
     }
 
@@ -91,178 +100,162 @@ class CacheEntry {
         this.targetContaining.clear();
 
         for (int i = 0; i < target.length; i++) {
-            this.target.add(new SchemaElementCacheEntry<ITarget>(target[i]));
-            if (target[i] instanceof ITargetContaining) { // Fill targetContaining Array (via ArrayList)
+            addToCache(this.target, target[i]);
+            if (target[i] instanceof ITargetContaining) { // Fill targetContaining map
                 SchemaElementCacheEntry<ITarget> entry = addReferencedElements(target, target[i]);
-                this.targetContaining.add(entry);
+                this.targetContaining.put(target[i].getID(), entry);
             }
         }
     }
 
     private SchemaElementCacheEntry<ITarget> addReferencedElements(ITarget[] target, ITarget current) {
-        // We add the SchemaElementCacheEntry to the Array
+        // We add the SchemaElementCacheEntry to the map
         // with ITargetContaining as schemaElement and the component targets as
         // refered elements
 
         ITargetContaining iTargetContaining = (ITargetContaining) current;
         List<ITarget> componentTargets = iTargetContaining.getComponentTargets(target);
-        List<ISchemaElement> data = new ArrayList<>();
-        data.addAll(componentTargets);
 
         SchemaElementCacheEntry<ITarget> entry = new SchemaElementCacheEntry<ITarget>(current);
-        entry.addReferencedElements(data);
+        entry.addReferencedElements(componentTargets);
         return entry;
     }
 
-    private void addSitesToCache(ISite[] site) {
-        this.site.clear();
-        for (int i = 0; i < site.length; i++) {
-            this.site.add(new SchemaElementCacheEntry<ISite>(site[i]));
+    private void addObserverToCache(IObserver[] observer) {
+
+        this.observer.clear();
+        this.coObserver.clear();
+        for (int i = 0; i < observer.length; i++) {
+            addToCache(this.observer, observer[i]);
+            addToCache(this.coObserver, observer[i]);
         }
     }
 
-    private void addSessionsToCache(ISession[] session) {
-        this.session.clear();
-        for (int i = 0; i < session.length; i++) {
-            this.session.add(new SchemaElementCacheEntry<ISession>(session[i]));
+    private void addObservationsToCache(IObservation[] observation) {
+
+        this.observation.clear();
+        for (int i = 0; i < observation.length; i++) {
+            addToCache(this.observation, observation[i]);
         }
     }
 
-    private void addScopesToCache(IScope[] scope) {
-        this.scope.clear();
-        for (int i = 0; i < scope.length; i++) {
-            this.scope.add(new SchemaElementCacheEntry<IScope>(scope[i]));
+    private static <T extends ISchemaElement> void addToCache(
+            Map<String, SchemaElementCacheEntry<T>> cache, T[] elements) {
+
+        cache.clear();
+        for (int i = 0; i < elements.length; i++) {
+            addToCache(cache, elements[i]);
         }
     }
 
-    private void addObserverToCache(IObserver[] observer) {
+    // Returns the new cache entry, or null if the element is already cached
+    private static <T extends ISchemaElement> SchemaElementCacheEntry<T> addToCache(
+            Map<String, SchemaElementCacheEntry<T>> cache, T element) {
 
-        this.observer.clear();
-        this.coObserver.clear();
-        for (int i = 0; i < observer.length; i++) {
-            this.observer.add(new SchemaElementCacheEntry<IObserver>(observer[i]));
-            this.coObserver.add(new SchemaElementCacheEntry<IObserver>(observer[i]));
+        if ((element == null) || cache.containsKey(element.getID())) {
+            return null;
         }
+
+        SchemaElementCacheEntry<T> entry = new SchemaElementCacheEntry<T>(element);
+        cache.put(element.getID(), entry);
+        return entry;
     }
 
-    private void addImagerToCache(IImager[] imager) {
-        this.imager.clear();
-        for (int i = 0; i < imager.length; i++) {
-            this.imager.add(new SchemaElementCacheEntry<IImager>(imager[i]));
+    private static <T extends ISchemaElement> SchemaElementCacheEntry<T> getEntry(
+            Map<String, SchemaElementCacheEntry<T>> cache, ISchemaElement element) {
+
+        if (element == null) {
+            return null;
         }
+        return cache.get(element.getID());
     }
 
-    private void addFiltersToCache(IFilter[] filter) {
-        this.filter.clear();
-        for (int i = 0; i < filter.length; i++) {
-            this.filter.add(new SchemaElementCacheEntry<IFilter>(filter[i]));
-        }
+    private static <T extends ISchemaElement> T[] toArray(
+            Map<String, SchemaElementCacheEntry<T>> cache, IntFunction<T[]> generator) {
+
+        return cache.values().stream()
+                .map(SchemaElementCacheEntry::getSchemaElement)
+                .toArray(generator);
     }
 
-    private void addEyepiecesToCache(IEyepiece[] eyepiece) {
-        this.eyepiece.clear();
-        for (int i = 0; i < eyepiece.length; i++) {
-            this.eyepiece.add(new SchemaElementCacheEntry<IEyepiece>(eyepiece[i]));
-        }
+    public String getXmlPath() {
+
+        return this.xmlPath;
     }
 
-    private void addObservationsToCache(IObservation[] observation) {
+    public EditJournal getJournal() {
 
-        this.observation.clear();
-        for (int i = 0; i < observation.length; i++) {
-            this.observation.add(new SchemaElementCacheEntry<IObservation>(observation[i]));
+        return this.journal;
+    }
+
+    public void setJournal(EditJournal journal) {
+
+        this.journal = journal;
+    }
+
+    // True if an element with the ID of the given element is cached
+    public boolean contains(ISchemaElement element) {
+
+        return this.findEntry(element) != null;
+    }
+
+    public List<ISchemaElement> getReferedElements(ISchemaElement element) {
+
+        SchemaElementCacheEntry<?> entry = this.findEntry(element);
+        if (entry == null) {
+            return null;
         }
+
+        return entry.getReferencedElements();
     }
 
-    private void addLensesToCache(ILens[] lens) {
+    // Returns the sorted observations refering to the given element, or null if
+    // the element is not cached. The array is shared, don't modify it.
+    public IObservation[] getObservations(ISchemaElement element) {
 
-        this.lens.clear();
-        for (int i = 0; i < lens.length; i++) {
-            this.lens.add(new SchemaElementCacheEntry<ILens>(lens[i]));
+        SchemaElementCacheEntry<?> entry = this.findEntry(element);
+        if (entry == null) {
+            return null;
         }
+
+        return entry.getSortedObservations();
     }
 
-    public String getXmlPath() {
+    // Returns the sorted observations of the sessions the given observer is
+    // coObserver of, or null if the observer is not cached. The array is shared,
+    // don't modify it.
+    public IObservation[] getCoObserverObservations(IObserver coObserver) {
 
-        return this.xmlPath;
+        SchemaElementCacheEntry<IObserver> entry = getEntry(this.coObserver, coObserver);
+        if (entry == null) {
+            return null;
+        }
+
+        return entry.getSortedObservations();
     }
 
-    public List<ISchemaElement> getReferedElements(ISchemaElement element) {
+    private SchemaElementCacheEntry<?> findEntry(ISchemaElement element) {
 
         if (element instanceof IObservation) {
-            for (SchemaElementCacheEntry<IObservation> schemaElementCacheEntry : this.observation) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(element)) {
-                    return schemaElementCacheEntry.getReferencedElements();
-                }
-            }
+            return getEntry(this.observation, element);
         } else if (element instanceof IEyepiece) {
-            for (SchemaElementCacheEntry<IEyepiece> schemaElementCacheEntry : this.eyepiece) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(element)) {
-                    return schemaElementCacheEntry.getReferencedElements();
-                }
-            }
+            return getEntry(this.eyepiece, element);
         } else if (element instanceof IImager) {
-            for (SchemaElementCacheEntry<IImager> schemaElementCacheEntry : this.imager) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(element)) {
-                    return schemaElementCacheEntry.getReferencedElements();
-                }
-            }
+            return getEntry(this.imager, element);
         } else if (element instanceof IFilter) {
-            for (SchemaElementCacheEntry<IFilter> schemaElementCacheEntry : this.filter) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(element)) {
-                    return schemaElementCacheEntry.getReferencedElements();
-                }
-            }
+            return getEntry(this.filter, element);
         } else if (element instanceof IObserver) {
-            for (SchemaElementCacheEntry<IObserver> schemaElementCacheEntry : this.observer) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(element)) {
-                    return schemaElementCacheEntry.getReferencedElements();
-                }
-            }
+            return getEntry(this.observer, element);
         } else if (element instanceof IScope) {
-            for (SchemaElementCacheEntry<IScope> schemaElementCacheEntry : this.scope) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(element)) {
-                    return schemaElementCacheEntry.getReferencedElements();
-                }
-            }
+            return getEntry(this.scope, element);
         } else if (element instanceof ISession) {
-            for (SchemaElementCacheEntry<ISession> schemaElementCacheEntry : this.session) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(element)) {
-                    return schemaElementCacheEntry.getReferencedElements();
-                }
-            }
+            return getEntry(this.session, element);
         } else if (element instanceof ISite) {
-            for (SchemaElementCacheEntry<ISite> schemaElementCacheEntry : this.site) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(element)) {
-                    return schemaElementCacheEntry.getReferencedElements();
-                }
-            }
+            return getEntry(this.site, element);
         } else if (element instanceof ITarget) {
-            for (SchemaElementCacheEntry<ITarget> schemaElementCacheEntry : this.target) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(element)) {
-                    return schemaElementCacheEntry.getReferencedElements();
-                }
-            }
+            return getEntry(this.target, element);
         } else if (element instanceof ILens) {
-            for (SchemaElementCacheEntry<ILens> len : this.lens) {
-                if (len.getSchemaElement().equals(element)) {
-                    return len.getReferencedElements();
-                }
-            }
-        }
-
-        return null;
-    }
-
-    public List<ISchemaElement> getReferencedObservationsForCoObserver(IObserver coObserver) {
-
-        for (SchemaElementCacheEntry<IObserver> schemaElementCacheEntry : this.coObserver) {
-            if (schemaElementCacheEntry.getSchemaElement().equals(coObserver)) {
-                List<ISchemaElement> re =
-                        new ArrayList<ISchemaElement>(schemaElementCacheEntry.getReferencedElements());
-                re.removeIf(o -> o instanceof ISession);
-                return re;
-            }
+            return getEntry(this.lens, element);
         }
 
         return null;
@@ -270,167 +263,137 @@ class CacheEntry {
 
     public IObservation[] getObservations() {
 
-        List<IObservation> set =
-                this.observation.stream().map(entry -> entry.getSchemaElement()).collect(Collectors.toList());
-        return set.toArray(new IObservation[set.size()]);
+        return toArray(this.observation, IObservation[]::new);
     }
 
     public IEyepiece[] getEyepieces() {
-        List<IEyepiece> set =
-                this.eyepiece.stream().map(entry -> entry.getSchemaElement()).collect(Collectors.toList());
-        return set.toArray(new IEyepiece[set.size()]);
+
+        return toArray(this.eyepiece, IEyepiece[]::new);
     }
 
     public IImager[] getImagers() {
 
-        List<IImager> set =
-                this.imager.stream().map(entry -> entry.getSchemaElement()).collect(Collectors.toList());
-        return set.toArray(new IImager[set.size()]);
+        return toArray(this.imager, IImager[]::new);
     }
 
     public IFilter[] getFilters() {
 
-        List<IFilter> set =
-                this.filter.stream().map(entry -> entry.getSchemaElement()).collect(Collectors.toList());
-        return set.toArray(new IFilter[set.size()]);
+        return toArray(this.filter, IFilter[]::new);
     }
 
     public IObserver[] getObservers() {
 
-        List<IObserver> set =
-                this.observer.stream().map(entry -> entry.getSchemaElement()).collect(Collectors.toList());
-        return set.toArray(new IObserver[set.size()]);
+        return toArray(this.observer, IObserver[]::new);
     }
 
     public IObserver[] getCoObservers() {
 
-        List<IObserver> set =
-                this.coObserver.stream().map(entry -> entry.getSchemaElement()).collect(Collectors.toList());
-        return set.toArray(new IObserver[set.size()]);
+        return toArray(this.coObserver, IObserver[]::new);
     }
 
     public IScope[] getScopes() {
 
-        List<IScope> set =
-                this.scope.stream().map(entry -> entry.getSchemaElement()).collect(Collectors.toList());
-        return set.toArray(new IScope[set.size()]);
+        return toArray(this.scope, IScope[]::new);
     }
 
     public ISession[] getSessions() {
 
-        List<ISession> set =
-                this.session.stream().map(entry -> entry.getSchemaElement()).collect(Collectors.toList());
-        return set.toArray(new ISession[set.size()]);
+        return toArray(this.session, ISession[]::new);
     }
 
     public ISite[] getSites() {
 
-        List<ISite> set =
-                this.site.stream().map(entry -> entry.getSchemaElement()).collect(Collectors.toList());
-        return set.toArray(new ISite[set.size()]);
+        return toArray(this.site, ISite[]::new);
     }
 
     public ITarget[] getTargets() {
 
-        List<ITarget> set =
-                this.target.stream().map(entry -> entry.getSchemaElement()).collect(Collectors.toList());
-        return set.toArray(new ITarget[set.size()]);
+        return toArray(this.target, ITarget[]::new);
     }
 
     public ILens[] getLenses() {
 
-        List<ILens> set =
-                this.lens.stream().map(entry -> entry.getSchemaElement()).collect(Collectors.toList());
-        return set.toArray(new ILens[set.size()]);
+        return toArray(this.lens, ILens[]::new);
     }
 
-    public void addEyepiece(IEyepiece eyepiece) {
+    public boolean addEyepiece(IEyepiece eyepiece) {
 
-        SchemaElementCacheEntry<IEyepiece> entry = new SchemaElementCacheEntry<IEyepiece>(eyepiece);
-        this.eyepiece.add(entry);
+        return addToCache(this.eyepiece, eyepiece) != null;
     }
 
-    public void addImager(IImager imager) {
+    public boolean addImager(IImager imager) {
 
-        SchemaElementCacheEntry<IImager> entry = new SchemaElementCacheEntry<IImager>(imager);
-        this.imager.add(entry);
+        return addToCache(this.imager, imager) != null;
     }
 
-    public void addFilter(IFilter filter) {
+    public boolean addFilter(IFilter filter) {
 
-        SchemaElementCacheEntry<IFilter> entry = new SchemaElementCacheEntry<IFilter>(filter);
-        this.filter.add(entry);
+        return addToCache(this.filter, filter) != null;
     }
 
-    public void addObservation(IObservation observation) {
+    public boolean addObservation(IObservation observation) {
+
+        SchemaElementCacheEntry<IObservation> entry = addToCache(this.observation, observation);
+        if (entry == null) {
+            return false;
+        }
 
-        SchemaElementCacheEntry<IObservation> entry = new SchemaElementCacheEntry<IObservation>(observation);
-        this.observation.add(entry);
         // Add observation to other schemaElements
-        this.addAllObservationElements(entry);
+        this.addAllObservationElements(entry, observation);
+        return true;
     }
 
-    public void addObserver(IObserver observer) {
-
-        SchemaElementCacheEntry<IObserver> entry = new SchemaElementCacheEntry<IObserver>(observer);
-        this.observer.add(entry);
+    public boolean addObserver(IObserver observer) {
 
-        SchemaElementCacheEntry<IObserver> entry2 = new SchemaElementCacheEntry<IObserver>(observer);
-        this.coObserver.add(entry2);
+        addToCache(this.coObserver, observer);
+        return addToCache(this.observer, observer) != null;
     }
 
-    public void addScope(IScope scope) {
+    public boolean addScope(IScope scope) {
 
-        SchemaElementCacheEntry<IScope> entry = new SchemaElementCacheEntry<IScope>(scope);
-        this.scope.add(entry);
+        return addToCache(this.scope, scope) != null;
     }
 
-    public void addSession(ISession session) {
-        SchemaElementCacheEntry<ISession> entry = new SchemaElementCacheEntry<ISession>(session);
-        this.session.add(entry);
+    public boolean addSession(ISession session) {
+
+        return addToCache(this.session, session) != null;
     }
 
-    public void addSite(ISite site) {
+    public boolean addSite(ISite site) {
 
-        SchemaElementCacheEntry<ISite> entry = new SchemaElementCacheEntry<ISite>(site);
-        this.site.add(entry);
+        return addToCache(this.site, site) != null;
     }
 
-    public void addTarget(ITarget target) {
+    public boolean addTarget(ITarget target) {
 
-        SchemaElementCacheEntry<ITarget> entry = new SchemaElementCacheEntry<ITarget>(target);
-        boolean added = this.target.add(entry);
-
-        if (added) { // Add target to targetContaining
-            addToTargetContaining(target);
+        SchemaElementCacheEntry<ITarget> entry = addToCache(this.target, target);
+        if (entry == null) {
+            return false;
         }
+
+        // Add target to targetContaining
+        addToTargetContaining(target);
+        return true;
     }
 
     private void addToTargetContaining(ITarget target) {
         if (target instanceof ITargetContaining) {
             SchemaElementCacheEntry<ITarget> entry = addReferencedElements(this.getTargets(), target);
-            this.targetContaining.add(entry);
+            this.targetContaining.put(target.getID(), entry);
         }
     }
 
-    public void addLens(ILens lens) {
+    public boolean addLens(ILens lens) {
 
-        SchemaElementCacheEntry<ILens> entry = new SchemaElementCacheEntry<ILens>(lens);
-        this.lens.add(entry);
+        return addToCache(this.lens, lens) != null;
     }
 
     public void updateObservation(IObservation observation) {
 
         // First get SchemaElementCacheEntry for the given observation
-        SchemaElementCacheEntry<IObservation> cacheEntry = null;
-        for (SchemaElementCacheEntry<IObservation> entry : this.observation) {
-            // For the compare use the ID here, as the observation given and the observation
-            // in the cache might (most probably will) be different
-            if (observation.getID().equals(entry.getSchemaElement().getID())) {
-                cacheEntry = entry;
-                break;
-            }
-        }
+        // For the lookup the ID is used, as the observation given and the observation
+        // in the cache might (most probably will) be different
+        SchemaElementCacheEntry<IObservation> cacheEntry = getEntry(this.observation, observation);
 
         // This looks strange, but this might happen in case an observation is removed.
         // After the remove, an updateObservation is called, which cannot find the
@@ -439,446 +402,39 @@ class CacheEntry {
             return;
         }
 
-        // Iterate over each refered schemaElement from the cacheEntry
-        List<ISchemaElement> referedElements = cacheEntry.getReferencedElements();
-        ListIterator<ISchemaElement> iterator = referedElements.listIterator();
-        ISchemaElement current = null;
-
-        // Do remove and add via external lists when the while loop has finished.
-        // Otherwise we screw up the iterator
-        List<ISchemaElement> removeList = new ArrayList<>();
-        List<ISchemaElement> addList = new ArrayList<>();
-        while (iterator.hasNext()) {
-            current = (ISchemaElement) iterator.next();
-
-            // With the below remove and add approach, we don't check for changes
-            // we simply do always an update
-
-            // Remove old entry (always)
-            removeList.add(current);
-
-            // Check which type the current schemaElement has and add new entry
-            if (current instanceof IEyepiece) {
-                addList.add(observation.getEyepiece());
-
-                // Iterate of schemaElement array and update observation reference
-                for (SchemaElementCacheEntry<IEyepiece> schemaElementCacheEntry : this.eyepiece) {
-                    if (schemaElementCacheEntry.getSchemaElement().equals(current)) { // Remove old cache reference
-                        schemaElementCacheEntry.removeReferencedElement(observation);
-                    }
-                    if (schemaElementCacheEntry.getSchemaElement().equals(observation.getEyepiece())) { // Add new cache
-                        // reference
-                        schemaElementCacheEntry.addReferencedElement(observation);
-                    }
-                }
-
-            } else if (current instanceof IImager) {
-                addList.add(observation.getImager());
-
-                // Iterate of schemaElement array and update observation reference
-                for (SchemaElementCacheEntry<IImager> schemaElementCacheEntry : this.imager) {
-                    if (schemaElementCacheEntry.getSchemaElement().equals(current)) { // Remove old cache reference
-                        schemaElementCacheEntry.removeReferencedElement(observation);
-                    }
-                    if (schemaElementCacheEntry.getSchemaElement().equals(observation.getImager())) { // Add new cache
-                        // reference
-                        schemaElementCacheEntry.addReferencedElement(observation);
-                    }
-                }
-
-            } else if (current instanceof IFilter) {
-                addList.add(observation.getFilter());
-
-                // Iterate of schemaElement array and update observation reference
-                for (SchemaElementCacheEntry<IFilter> schemaElementCacheEntry : this.filter) {
-                    if (schemaElementCacheEntry.getSchemaElement().equals(current)) { // Remove old cache reference
-                        schemaElementCacheEntry.removeReferencedElement(observation);
-                    }
-                    if (schemaElementCacheEntry.getSchemaElement().equals(observation.getFilter())) { // Add new cache
-                        // reference
-                        schemaElementCacheEntry.addReferencedElement(observation);
-                    }
-                }
-
-            } else if (current instanceof IScope) {
-                addList.add(observation.getScope());
-
-                // Iterate of schemaElement array and update observation reference
-                for (SchemaElementCacheEntry<IScope> schemaElementCacheEntry : this.scope) {
-                    if (schemaElementCacheEntry.getSchemaElement().equals(current)) { // Remove old cache reference
-                        schemaElementCacheEntry.removeReferencedElement(observation);
-                    }
-                    if (schemaElementCacheEntry.getSchemaElement().equals(observation.getScope())) { // Add new cache
-                        // reference
-                        schemaElementCacheEntry.addReferencedElement(observation);
-                    }
-                }
-
-            } else if (current instanceof ISession) {
-                addList.add(observation.getSession());
-
-                // Iterate of schemaElement array and update observation reference
-                for (SchemaElementCacheEntry<ISession> elementCacheEntry : this.session) {
-                    if (elementCacheEntry.getSchemaElement().equals(current)) { // Remove old cache reference
-
-                        // Remove session reference
-                        elementCacheEntry.removeReferencedElement(observation);
-
-                        // Remove old coObserver references
-                        if ((((ISession) current).getCoObservers() != null)
-                                && !(((ISession) current).getCoObservers().isEmpty())) {
-                            List<IObserver> coObservers = ((ISession) current).getCoObservers();
-                            ListIterator<IObserver> listIterator = coObservers.listIterator();
-                            IObserver currentObserver = null;
-                            while (listIterator.hasNext()) { // Iterate over all coObservers
-                                currentObserver = listIterator.next();
-                                for (SchemaElementCacheEntry<IObserver> schemaElementCacheEntry :
-                                        this.coObserver) { // Iterate
-                                    // over all
-                                    // coObservers
-                                    if (schemaElementCacheEntry
-                                            .getSchemaElement()
-                                            .equals(currentObserver)) {
-                                        // Add Observation to coObservers refered elements
-                                        schemaElementCacheEntry.removeReferencedElement(observation);
-
-                                        break; // Break for loop
-                                    }
-                                }
-                            }
-                        }
-                    }
-                    if (elementCacheEntry.getSchemaElement().equals(observation.getSession())) { // Add new cache
-                        // reference
-
-                        // Add session reference
-                        elementCacheEntry.addReferencedElement(observation);
-
-                        // Add new coObserver references
-                        if ((observation.getSession().getCoObservers() != null)
-                                && !(observation.getSession().getCoObservers().isEmpty())) {
-                            List<IObserver> coObservers =
-                                    observation.getSession().getCoObservers();
-                            ListIterator<IObserver> listIterator = coObservers.listIterator();
-                            IObserver currentObserver = null;
-                            while (listIterator.hasNext()) { // Iterate over all coObservers
-                                currentObserver = listIterator.next();
-                                for (SchemaElementCacheEntry<IObserver> schemaElementCacheEntry :
-                                        this.coObserver) { // Iterate
-                                    // over all
-                                    // coObservers
-                                    if (schemaElementCacheEntry
-                                            .getSchemaElement()
-                                            .equals(currentObserver)) {
-                                        // Add Observation to coObservers refered elements
-                                        schemaElementCacheEntry.addReferencedElement(observation);
-                                        // Also include a reference to the session, as we need this in case
-                                        // the session will get updated to know, which coObserver was
-                                        // refering to that session in the past (for removing coObservers)
-                                        schemaElementCacheEntry.addReferencedElement(observation.getSession());
-
-                                        break; // Break for loop
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-
-            } else if (current instanceof IObserver) {
-                addList.add(observation.getObserver());
-
-                // Iterate of schemaElement array and update observation reference
-                for (SchemaElementCacheEntry<IObserver> schemaElementCacheEntry : this.observer) {
-                    if (schemaElementCacheEntry.getSchemaElement().equals(current)) { // Remove old cache reference
-                        schemaElementCacheEntry.removeReferencedElement(observation);
-                    }
-                    if (schemaElementCacheEntry.getSchemaElement().equals(observation.getObserver())) { // Add new cache
-                        // reference
-                        schemaElementCacheEntry.addReferencedElement(observation);
-                    }
-                }
-
-            } else if (current instanceof ISite) {
-                addList.add(observation.getSite());
-
-                // Iterate of schemaElement array and update observation reference
-                for (SchemaElementCacheEntry<ISite> schemaElementCacheEntry : this.site) {
-                    if (schemaElementCacheEntry.getSchemaElement().equals(current)) { // Remove old cache reference
-                        schemaElementCacheEntry.removeReferencedElement(observation);
-                    }
-                    if (schemaElementCacheEntry.getSchemaElement().equals(observation.getSite())) { // Add new cache
-                        // reference
-                        schemaElementCacheEntry.addReferencedElement(observation);
-                    }
-                }
-
-            } else if (current instanceof ITarget) {
-                addList.add(observation.getTarget());
-
-                // Iterate of schemaElement array and update observation reference
-                for (SchemaElementCacheEntry<ITarget> elementCacheEntry : this.target) {
-                    if (elementCacheEntry.getSchemaElement().equals(current)) { // Remove old cache reference
-                        elementCacheEntry.removeReferencedElement(observation);
-
-                        // If the current target is a TargetContaining target, we need to remove also
-                        // the observation references from the containing targets
-                        if (elementCacheEntry.getSchemaElement() instanceof ITargetContaining) {
-                            List<ITarget> containingTargets = ((ITargetContaining) elementCacheEntry.getSchemaElement())
-                                    .getComponentTargets(this.getTargets());
-                            ListIterator<ITarget> listIterator = containingTargets.listIterator();
-                            ITarget ct = null;
-                            while (listIterator.hasNext()) {
-                                ct = listIterator.next();
-                                for (SchemaElementCacheEntry<ITarget> schemaElementCacheEntry : this.target) {
-                                    if (schemaElementCacheEntry
-                                            .getSchemaElement()
-                                            .equals(ct)) { // Found a depending
-                                        // target
-                                        schemaElementCacheEntry.removeReferencedElement(observation);
-                                    }
-                                }
-                            }
-                        }
-                    }
-                    if (elementCacheEntry.getSchemaElement().equals(observation.getTarget())) { // Add new cache
-                        // reference
-                        elementCacheEntry.addReferencedElement(observation);
-
-                        // If the current target is a TargetContaining target, we need to add also
-                        // the observation references from the containing targets
-                        if (elementCacheEntry.getSchemaElement() instanceof ITargetContaining) {
-                            List<ITarget> containingTargets = ((ITargetContaining) elementCacheEntry.getSchemaElement())
-                                    .getComponentTargets(this.getTargets());
-                            ListIterator<ITarget> listIterator = containingTargets.listIterator();
-                            ITarget ct = null;
-                            while (listIterator.hasNext()) {
-                                ct = listIterator.next();
-                                for (SchemaElementCacheEntry<ITarget> schemaElementCacheEntry : this.target) {
-                                    if (schemaElementCacheEntry
-                                            .getSchemaElement()
-                                            .equals(ct)) { // Found a depending
-                                        // target
-                                        schemaElementCacheEntry.addReferencedElement(observation);
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-
-            } else if (current instanceof ILens) {
-                addList.add(observation.getLens());
-
-                // Iterate of schemaElement array and update observation reference
-                for (SchemaElementCacheEntry<ILens> len : this.lens) {
-                    if (len.getSchemaElement().equals(current)) { // Remove old cache reference
-                        len.removeReferencedElement(observation);
-                    }
-                    if (len.getSchemaElement().equals(observation.getLens())) { // Add new cache reference
-                        len.addReferencedElement(observation);
-                    }
-                }
-            }
-        }
-
-        // Now we can safely remove and add the elements from the cacheEntry
-        for (Object value : removeList) {
-            cacheEntry.removeReferencedElement((ISchemaElement) value);
+        // The cache entry still knows the elements the observation refered to before
+        // the change. With the below remove and add approach, we don't check for
+        // changes we simply do always an update
+        for (ISchemaElement current : cacheEntry.getReferencedElements()) {
+            removeObservationReference(current, observation);
         }
+        cacheEntry.clearAllReferences();
 
-        // Add must be after remove, otherwise not changed elements will be removed...
-        for (Object o : addList) {
-            cacheEntry.addReferencedElement((ISchemaElement) o);
-        }
-
-        // Now we have to make sure new selected elements are added as well
-        // E.g. an observation didn't have an filter, yet. But now it has one. This
-        // won't be covered
-        // above as we only work on the cache entry (who doesn't know anything about the
-        // "new" element reference...
-        // (Elements that existed before and are now removed from the observation, will
-        // be covered above!)
-        if (!addList.contains(observation.getEyepiece())) {
-            // Update observation cache entry to element
-            cacheEntry.addReferencedElement(observation.getEyepiece());
-
-            // Update element cache entry to observation
-            for (SchemaElementCacheEntry<IEyepiece> schemaElementCacheEntry : this.eyepiece) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(observation.getEyepiece())) { // Add new cache
-                    // reference
-                    schemaElementCacheEntry.addReferencedElement(observation);
-                }
-            }
-        }
-        if (!addList.contains(observation.getImager())) {
-            // Update observation cache entry to element
-            cacheEntry.addReferencedElement(observation.getImager());
-
-            // Update element cache entry to observation
-            for (SchemaElementCacheEntry<IImager> schemaElementCacheEntry : this.imager) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(observation.getImager())) { // Add new cache
-                    // reference
-                    schemaElementCacheEntry.addReferencedElement(observation);
-                }
-            }
-        }
-        if (!addList.contains(observation.getFilter())) {
-            // Update observation cache entry to element
-            cacheEntry.addReferencedElement(observation.getFilter());
-
-            // Update element cache entry to observation
-            for (SchemaElementCacheEntry<IFilter> schemaElementCacheEntry : this.filter) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(observation.getFilter())) { // Add new cache
-                    // reference
-                    schemaElementCacheEntry.addReferencedElement(observation);
-                }
-            }
-        }
-        if (!addList.contains(observation.getObserver())) {
-            // Update observation cache entry to element
-            cacheEntry.addReferencedElement(observation.getObserver());
-
-            // Update element cache entry to observation
-            for (SchemaElementCacheEntry<IObserver> schemaElementCacheEntry : this.observer) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(observation.getObserver())) { // Add new cache
-                    // reference
-                    schemaElementCacheEntry.addReferencedElement(observation);
-                }
-            }
-        }
-        if (!addList.contains(observation.getScope())) {
-            // Update observation cache entry to element
-            cacheEntry.addReferencedElement(observation.getScope());
-
-            // Update element cache entry to observation
-            for (SchemaElementCacheEntry<IScope> schemaElementCacheEntry : this.scope) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(observation.getScope())) { // Add new cache
-                    // reference
-                    schemaElementCacheEntry.addReferencedElement(observation);
-                }
-            }
-        }
-        if (!addList.contains(observation.getSession())) {
-            // Update observation cache entry to element
-            cacheEntry.addReferencedElement(observation.getSession());
-
-            // Update element cache entry to observation
-            for (SchemaElementCacheEntry<ISession> elementCacheEntry : this.session) {
-                if (elementCacheEntry.getSchemaElement().equals(observation.getSession())) { // Add new cache reference
-                    elementCacheEntry.addReferencedElement(observation);
-
-                    // Add new coObserver references
-                    if ((observation.getSession().getCoObservers() != null)
-                            && !(observation.getSession().getCoObservers().isEmpty())) {
-                        List<IObserver> coObservers = observation.getSession().getCoObservers();
-                        ListIterator<IObserver> listIterator = coObservers.listIterator();
-                        IObserver currentObserver = null;
-                        while (listIterator.hasNext()) { // Iterate over all coObservers
-                            currentObserver = listIterator.next();
-                            for (SchemaElementCacheEntry<IObserver> schemaElementCacheEntry :
-                                    this.coObserver) { // Iterate
-                                // over
-                                // all coObservers
-                                if (schemaElementCacheEntry.getSchemaElement().equals(currentObserver)) {
-                                    // Add Observation to coObservers refered elements
-                                    schemaElementCacheEntry.addReferencedElement(observation);
-
-                                    break; // Break for loop
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        if (!addList.contains(observation.getSite())) {
-            // Update observation cache entry to element
-            cacheEntry.addReferencedElement(observation.getSite());
-
-            // Update element cache entry to observation
-            for (SchemaElementCacheEntry<ISite> schemaElementCacheEntry : this.site) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(observation.getSite())) { // Add new cache
-                    // reference
-                    schemaElementCacheEntry.addReferencedElement(observation);
-                }
-            }
-        }
-        if (!addList.contains(observation.getTarget())) {
-            // Update observation cache entry to element
-            cacheEntry.addReferencedElement(observation.getTarget());
-
-            // Update element cache entry to observation
-            for (SchemaElementCacheEntry<ITarget> schemaElementCacheEntry : this.target) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(observation.getTarget())) { // Add new cache
-                    // reference
-                    schemaElementCacheEntry.addReferencedElement(observation);
-                }
-            }
-        }
-        if (!addList.contains(observation.getLens())) {
-            // Update observation cache entry to element
-            cacheEntry.addReferencedElement(observation.getLens());
-
-            // Update element cache entry to observation
-            for (SchemaElementCacheEntry<ILens> len : this.lens) {
-                if (len.getSchemaElement().equals(observation.getLens())) { // Add new cache reference
-                    len.addReferencedElement(observation);
-                }
-            }
-        }
+        // Now add the observation to the elements it refers to now
+        addAllObservationElements(cacheEntry, observation);
     }
 
     public void updateSession(IObservation[] observations, ISession session) {
 
-        List<ISchemaElement> oldReferedElements = null;
-        ListIterator<ISchemaElement> oldReferedElementsIterator = null;
-        ISchemaElement currentSE = null;
-        List<ISchemaElement> removeList = new ArrayList<>();
-        for (SchemaElementCacheEntry<IObserver> schemaElementCacheEntry : this.coObserver) { // Iterator over all
-            // coObservers
-
-            // -------- First remove old coObservers
-
-            oldReferedElements = schemaElementCacheEntry.getReferencedElements(); // Iterate over all referenced
-            // sessions
-            oldReferedElementsIterator = oldReferedElements.listIterator();
-            while (oldReferedElementsIterator.hasNext()) {
-                currentSE = oldReferedElementsIterator.next();
-                if (currentSE instanceof ISession) {
-                    if (session.getID().equals(currentSE.getID())) { // Is referenced session the searched session?
-                        if (!session.getCoObservers()
-                                .contains(schemaElementCacheEntry.getSchemaElement())) { // coObserver
-                            // no longer
-                            // part of
-                            // session
-                            // Remove reference to session
-                            removeList.add(session);
-
-                            // Remove reference to observations from session
-                            removeList.addAll(Arrays.asList(observations));
-                        }
-                    }
+        List<ISchemaElement> sessionObservations = Arrays.asList(observations);
+        for (SchemaElementCacheEntry<IObserver> schemaElementCacheEntry : this.coObserver.values()) { // Iterator
+            // over all coObservers
+
+            boolean partOfSession = session.getCoObservers().contains(schemaElementCacheEntry.getSchemaElement());
+            if (schemaElementCacheEntry.contains(session)) { // coObserver refered to the session so far
+                if (!partOfSession) { // coObserver no longer part of session
+                    // Remove reference to session
+                    schemaElementCacheEntry.removeReferencedElement(session);
+
+                    // Remove reference to observations from session
+                    schemaElementCacheEntry.removeReferencedElements(sessionObservations);
                 }
-            }
-            schemaElementCacheEntry.removeReferencedElements(removeList);
-            removeList.clear();
-
-            // -------- Now add new added coObservers
-
-            // Loop must take place here, as it could be that coObservers are added who
-            // didn't had any
-            // references yet. (Observer that was never a coObserver before)
-            if ((session.getCoObservers().contains(schemaElementCacheEntry.getSchemaElement())) // We're in the current
-                    // session's
-                    // list
-                    && !(schemaElementCacheEntry.getReferencedElements().contains(session)) // but we are not in the
-            // cached
-            // list of the
-            // observer
-            ) { // => we must be added
+            } else if (partOfSession) { // We're in the current session's list but not in the cached list of the
+                // observer => we must be added
+                // (Observer that was never a coObserver before)
+
                 // Add observations
-                schemaElementCacheEntry.addReferencedElements(Arrays.asList(observations));
+                schemaElementCacheEntry.addReferencedElements(sessionObservations);
 
                 // Add session
                 schemaElementCacheEntry.addReferencedElement(session);
@@ -895,287 +451,85 @@ class CacheEntry {
         // Check if component list has changed
         List<ITarget> newComponents = ((ITargetContaining) target).getComponentTargets(this.getTargets());
         List<ISchemaElement> oldComponents = new ArrayList<>();
-        for (SchemaElementCacheEntry<ITarget> elementCacheEntry : this.targetContaining) {
-            if (elementCacheEntry.getSchemaElement().equals(target)) {
-                oldComponents = new ArrayList<>(elementCacheEntry.getReferencedElements());
-
-                // Now we need to ensure that our cache stays up2date
-                // CAUTION! FROM NOW ON this.targetContaining[] shall be no longer accessed in
-                // this method
-                // Always use newComponents and oldComponents lists!!!
-
-                // Remove all old references (to component targets)
-                elementCacheEntry.clearAllReferences();
-                // Add new referenced (to component targets)
-                List<ISchemaElement> data = new ArrayList<>();
-                data.addAll(((ITargetContaining) target).getComponentTargets(this.getTargets()));
-                elementCacheEntry.addReferencedElements(data);
-
-                break;
+        SchemaElementCacheEntry<ITarget> elementCacheEntry = getEntry(this.targetContaining, target);
+        if (elementCacheEntry != null) {
+            oldComponents = elementCacheEntry.getReferencedElements();
+
+            // Now we need to ensure that our cache stays up2date
+            // Remove all old references (to component targets)
+            elementCacheEntry.clearAllReferences();
+            // Add new referenced (to component targets)
+            elementCacheEntry.addReferencedElements(newComponents);
+        }
+
+        // Collect the added and removed components by their IDs
+        Map<String, ITarget> addedComponent = new LinkedHashMap<>();
+        for (ITarget component : newComponents) {
+            addedComponent.put(component.getID(), component);
+        }
+        List<ISchemaElement> removedComponent = new ArrayList<>();
+        for (ISchemaElement component : oldComponents) {
+            // OldComponents knows this Target, so it's neither added nor removed
+            if (addedComponent.remove(component.getID()) == null) {
+                removedComponent.add(component);
             }
         }
 
-        if ((oldComponents.containsAll(newComponents)) && (newComponents.containsAll(oldComponents))) {
+        if (addedComponent.isEmpty() && removedComponent.isEmpty()) {
             return; // Nothing changed in regards to components
         }
 
-        // Something changed in the components lists...
-        List<ISchemaElement> removedComponent = new ArrayList<>(oldComponents);
-        List<ISchemaElement> addedComponent = new ArrayList<>();
-        ListIterator<ITarget> newIterator = newComponents.listIterator();
-        ITarget current = null;
-        while (newIterator.hasNext()) {
-            current = newIterator.next();
-            if (!removedComponent.contains(current)) { // Old list didn't know this Target, so this must be new
-                addedComponent.add(current);
-            } else {
-                // OldComponents knows this Target, so remove it from the removedList (which is
-                // a copy of the oldList)
-                // At the end of the while loop, this will leave only the removed Targets in the
-                // removedList
-                removedComponent.remove(current);
-            }
+        // Now we need to get all observations for this (ITargetContaining) target
+        // in order to add them also to the added components or to remove them from the
+        // removed components
+        List<ISchemaElement> observations = this.getReferedElements(target);
+        if (observations == null) {
+            return;
         }
 
         // Add references to added components
-        ListIterator<ISchemaElement> addedIterator = addedComponent.listIterator();
-        ITarget addedTarget = null;
-        while (addedIterator.hasNext()) {
-            addedTarget = (ITarget) addedIterator.next();
-            for (SchemaElementCacheEntry<ITarget> schemaElementCacheEntry : this.target) {
-                if (addedTarget.equals(schemaElementCacheEntry.getSchemaElement())) {
-                    // Now we need to get all observations for this (ITargetContaining) target
-                    // in order to add them also to the addedTarget
-                    List<ISchemaElement> observation = this.getReferedElements(target);
-                    schemaElementCacheEntry.addReferencedElements(observation);
-                    break; // Continue with while loop
-                }
+        for (ITarget addedTarget : addedComponent.values()) {
+            SchemaElementCacheEntry<ITarget> schemaElementCacheEntry = getEntry(this.target, addedTarget);
+            if (schemaElementCacheEntry != null) {
+                schemaElementCacheEntry.addReferencedElements(observations);
             }
         }
 
-        // Remove references from removed added components
-        ListIterator<ISchemaElement> removedterator = removedComponent.listIterator();
-        ITarget removedTarget = null;
-        while (removedterator.hasNext()) {
-            removedTarget = (ITarget) removedterator.next();
-            for (SchemaElementCacheEntry<ITarget> schemaElementCacheEntry : this.target) {
-                if (removedTarget.equals(schemaElementCacheEntry.getSchemaElement())) {
-                    // Now we need to get all observations for this (ITargetContaining) target
-                    // in order to remove them also from the removedTarget
-                    List<ISchemaElement> observation = this.getReferedElements(target);
-                    schemaElementCacheEntry.removeReferencedElements(observation);
-                    break; // Continue with while loop
-                }
+        // Remove references from removed components
+        for (ISchemaElement removedTarget : removedComponent) {
+            SchemaElementCacheEntry<ITarget> schemaElementCacheEntry = getEntry(this.target, removedTarget);
+            if (schemaElementCacheEntry != null) {
+                schemaElementCacheEntry.removeReferencedElements(observations);
             }
         }
     }
 
     public List<ISchemaElement> removeEyepiece(IEyepiece eyepiece) {
 
-        List<ISchemaElement> dependencies = this.observation.stream()
-                .filter(o -> {
-                    IEyepiece element = o.getSchemaElement().getEyepiece();
-                    return element != null && element.equals(eyepiece);
-                })
-                .map(a -> a.getSchemaElement())
-                .collect(Collectors.toList());
-
-        SchemaElementCacheEntry<IEyepiece> observationEntry = new SchemaElementCacheEntry<IEyepiece>(eyepiece);
-        boolean foundElement = this.eyepiece.remove(observationEntry);
-
-        if (!foundElement) { // Observation was not found, stop here and return empty list
-            return Collections.emptyList();
-        }
-
-        return dependencies;
+        return removeElement(this.eyepiece, eyepiece);
     }
 
     public List<ISchemaElement> removeImager(IImager imager) {
 
-        List<ISchemaElement> dependencies = this.observation.stream()
-                .filter(o -> {
-                    IImager element = o.getSchemaElement().getImager();
-                    return element != null && element.equals(imager);
-                })
-                .map(a -> a.getSchemaElement())
-                .collect(Collectors.toList());
-
-        SchemaElementCacheEntry<IImager> entry = new SchemaElementCacheEntry<IImager>(imager);
-        boolean foundElement = this.imager.remove(entry);
-
-        if (!foundElement) {
-            return Collections.emptyList();
-        }
-
-        return dependencies;
+        return removeElement(this.imager, imager);
     }
 
     public List<ISchemaElement> removeFilter(IFilter filter) {
 
-        List<ISchemaElement> dependencies = this.observation.stream()
-                .filter(o -> {
-                    IFilter element = o.getSchemaElement().getFilter();
-                    return element != null && element.equals(filter);
-                })
-                .map(a -> a.getSchemaElement())
-                .collect(Collectors.toList());
-
-        SchemaElementCacheEntry<IFilter> entry = new SchemaElementCacheEntry<IFilter>(filter);
-        boolean foundElement = this.filter.remove(entry);
-
-        if (!foundElement) {
-            return Collections.emptyList();
-        }
-
-        return dependencies;
+        return removeElement(this.filter, filter);
     }
 
     public List<ISchemaElement> removeObservation(IObservation observation) {
 
-        SchemaElementCacheEntry<IObservation> observationEntry = new SchemaElementCacheEntry<IObservation>(observation);
-        boolean foundElement = this.observation.remove(observationEntry);
+        SchemaElementCacheEntry<IObservation> observationEntry = this.observation.remove(observation.getID());
 
-        if (!foundElement) { // Observation was not found, stop here and return empty list
+        if (observationEntry == null) { // Observation was not found, stop here and return empty list
             return Collections.emptyList();
         }
 
-        // Remove observation from in all SchemaElement arrays
-
-        // --------------------------------------------------------------------
-        IEyepiece e = observation.getEyepiece();
-        if (e != null) {
-            for (SchemaElementCacheEntry<IEyepiece> schemaElementCacheEntry : this.eyepiece) {
-                if (e.equals(schemaElementCacheEntry.getSchemaElement())) {
-                    schemaElementCacheEntry.removeReferencedElement(observation);
-                    break;
-                }
-            }
-        }
-
-        // --------------------------------------------------------------------
-        IImager imager = observation.getImager();
-        if (imager != null) {
-            for (SchemaElementCacheEntry<IImager> schemaElementCacheEntry : this.imager) {
-                if (imager.equals(schemaElementCacheEntry.getSchemaElement())) {
-                    schemaElementCacheEntry.removeReferencedElement(observation);
-                    break;
-                }
-            }
-        }
-
-        // --------------------------------------------------------------------
-        IFilter filter = observation.getFilter();
-        if (filter != null) {
-            for (SchemaElementCacheEntry<IFilter> schemaElementCacheEntry : this.filter) {
-                if (filter.equals(schemaElementCacheEntry.getSchemaElement())) {
-                    schemaElementCacheEntry.removeReferencedElement(observation);
-                    break;
-                }
-            }
-        }
-
-        // --------------------------------------------------------------------
-        IObserver observer = observation.getObserver();
-        if (observer != null) {
-            for (SchemaElementCacheEntry<IObserver> schemaElementCacheEntry : this.observer) {
-                if (observer.equals(schemaElementCacheEntry.getSchemaElement())) {
-                    schemaElementCacheEntry.removeReferencedElement(observation);
-                    break;
-                }
-            }
-        }
-
-        // --------------------------------------------------------------------
-        IScope scope = observation.getScope();
-        if (scope != null) {
-            for (SchemaElementCacheEntry<IScope> schemaElementCacheEntry : this.scope) {
-                if (scope.equals(schemaElementCacheEntry.getSchemaElement())) {
-                    schemaElementCacheEntry.removeReferencedElement(observation);
-                    break;
-                }
-            }
-        }
-
-        // --------------------------------------------------------------------
-        ISession session = observation.getSession();
-        if (session != null) {
-            for (SchemaElementCacheEntry<ISession> entrySession : this.session) {
-                // Remove coObservers (if available)
-                if ((session.getCoObservers() != null)
-                        && !(session.getCoObservers().isEmpty())) {
-                    List<IObserver> coObservers = session.getCoObservers();
-                    ListIterator<IObserver> iterator = coObservers.listIterator();
-                    IObserver current = null;
-                    while (iterator.hasNext()) { // Iterate over all coObservers
-                        current = iterator.next();
-                        for (SchemaElementCacheEntry<IObserver> coobsever : this.coObserver) { // Iterate over all
-                            // coObservers
-                            if (coobsever.getSchemaElement().equals(current)) {
-                                // Remove Observation from coObservers refered elements
-                                coobsever.removeReferencedElement(observation);
-
-                                break; // Break for loop
-                            }
-                        }
-                    }
-                }
-
-                if (session.equals(entrySession.getSchemaElement())) {
-                    entrySession.removeReferencedElement(observation);
-                    break;
-                }
-            }
-        }
-
-        // --------------------------------------------------------------------
-        ISite site = observation.getSite();
-        if (site != null) {
-            for (SchemaElementCacheEntry<ISite> schemaElementCacheEntry : this.site) {
-                if (site.equals(schemaElementCacheEntry.getSchemaElement())) {
-                    schemaElementCacheEntry.removeReferencedElement(observation);
-                    break;
-                }
-            }
-        }
-
-        // --------------------------------------------------------------------
-        ITarget target = observation.getTarget();
-        if (target != null) {
-            for (SchemaElementCacheEntry<ITarget> elementCacheEntry : this.target) {
-                if (target.equals(elementCacheEntry.getSchemaElement())) {
-                    elementCacheEntry.removeReferencedElement(observation);
-
-                    // If the current target is a TargetContaining target, we need to remove also
-                    // the observation references from the containing targets
-                    if (elementCacheEntry.getSchemaElement() instanceof ITargetContaining) {
-                        List<ITarget> containingTargets = ((ITargetContaining) elementCacheEntry.getSchemaElement())
-                                .getComponentTargets(this.getTargets());
-                        ListIterator<ITarget> listIterator = containingTargets.listIterator();
-                        ITarget ct = null;
-                        while (listIterator.hasNext()) {
-                            ct = listIterator.next();
-                            for (SchemaElementCacheEntry<ITarget> schemaElementCacheEntry : this.target) {
-                                if (schemaElementCacheEntry.getSchemaElement().equals(ct)) { // Found a depending target
-                                    schemaElementCacheEntry.removeReferencedElement(observation);
-                                }
-                            }
-                        }
-                    }
-
-                    break;
-                }
-            }
-        }
-
-        // --------------------------------------------------------------------
-        ILens lens = observation.getLens();
-        if (lens != null) {
-            for (SchemaElementCacheEntry<ILens> len : this.lens) {
-                if (lens.equals(len.getSchemaElement())) {
-                    len.removeReferencedElement(observation);
-                    break;
-                }
-            }
+        // Remove observation from all elements it refers to
+        for (ISchemaElement current : observationEntry.getReferencedElements()) {
+            removeObservationReference(current, observation);
         }
 
         // An observation doesn't have any dependencies, so always return empty list
@@ -1184,153 +538,86 @@ class CacheEntry {
 
     public List<ISchemaElement> removeObserver(IObserver observer) {
 
-        List<IObservation> dependenciesObservation = this.observation.stream()
-                .filter(o -> {
-                    IObserver element = o.getSchemaElement().getObserver();
-                    return element != null && element.equals(observer);
-                })
-                .map(a -> a.getSchemaElement())
-                .collect(Collectors.toList());
+        SchemaElementCacheEntry<IObserver> entry = this.observer.remove(observer.getID());
+        SchemaElementCacheEntry<IObserver> coObserverEntry = this.coObserver.remove(observer.getID());
 
-        List<ISession> dependenciesSession = this.session.stream()
-                .filter(o -> {
-                    List<IObserver> element = o.getSchemaElement().getCoObservers();
-                    return element != null && element.contains(observer);
-                })
-                .map(a -> a.getSchemaElement())
-                .collect(Collectors.toList());
-
-        SchemaElementCacheEntry<IObserver> entry = new SchemaElementCacheEntry<IObserver>(observer);
-        boolean foundElement = this.observer.remove(entry) || this.coObserver.remove(entry);
-
-        if (!foundElement) {
+        if ((entry == null) && (coObserverEntry == null)) {
             return Collections.emptyList();
         }
 
         List<ISchemaElement> dependencies = new ArrayList<>();
-        dependencies.addAll(dependenciesObservation);
-        dependencies.addAll(dependenciesSession);
+        if (entry != null) {
+            dependencies.addAll(entry.getReferencedElements());
+        }
+        dependencies.addAll(this.session.values().stream()
+                .map(SchemaElementCacheEntry::getSchemaElement)
+                .filter(o -> {
+                    List<IObserver> element = o.getCoObservers();
+                    return element != null && element.contains(observer);
+                })
+                .collect(Collectors.toList()));
 
         return dependencies;
     }
 
     public List<ISchemaElement> removeScope(IScope scope) {
 
-        List<ISchemaElement> dependencies = this.observation.stream()
-                .filter(o -> {
-                    IScope element = o.getSchemaElement().getScope();
-                    return element != null && element.equals(scope);
-                })
-                .map(a -> a.getSchemaElement())
-                .collect(Collectors.toList());
-
-        SchemaElementCacheEntry<IScope> entry = new SchemaElementCacheEntry<IScope>(scope);
-        boolean foundElement = this.scope.remove(entry);
-
-        if (!foundElement) {
-            return Collections.emptyList();
-        }
-
-        return dependencies;
+        return removeElement(this.scope, scope);
     }
 
     public List<ISchemaElement> removeSession(ISession session) {
 
-        List<ISchemaElement> dependencies = this.observation.stream()
-                .filter(o -> {
-                    ISession element = o.getSchemaElement().getSession();
-                    return element != null && element.equals(session);
-                })
-                .map(a -> a.getSchemaElement())
-                .collect(Collectors.toList());
-
-        SchemaElementCacheEntry<ISession> entry = new SchemaElementCacheEntry<ISession>(session);
-        boolean foundElement = this.session.remove(entry);
-
-        if (!foundElement) {
-            return Collections.emptyList();
-        }
-
-        return dependencies;
+        return removeElement(this.session, session);
     }
 
     public List<ISchemaElement> removeSite(ISite site) {
 
-        List<IObservation> dependenciesObservation = this.observation.stream()
-                .filter(o -> {
-                    ISite element = o.getSchemaElement().getSite();
-                    return element != null && element.equals(site);
-                })
-                .map(a -> a.getSchemaElement())
-                .collect(Collectors.toList());
+        SchemaElementCacheEntry<ISite> entry = this.site.remove(site.getID());
 
-        List<ISession> dependenciesSession = this.session.stream()
-                .filter(o -> {
-                    ISite element = o.getSchemaElement().getSite();
-                    return element != null && element.equals(site);
-                })
-                .map(a -> a.getSchemaElement())
-                .collect(Collectors.toList());
-
-        SchemaElementCacheEntry<ISite> entry = new SchemaElementCacheEntry<ISite>(site);
-        boolean foundElement = this.site.remove(entry);
-
-        if (!foundElement) {
+        if (entry == null) {
             return Collections.emptyList();
         }
 
-        List<ISchemaElement> dependencies = new ArrayList<>();
-        dependencies.addAll(dependenciesObservation);
-        dependencies.addAll(dependenciesSession);
+        List<ISchemaElement> dependencies = new ArrayList<>(entry.getReferencedElements());
+        dependencies.addAll(this.session.values().stream()
+                .map(SchemaElementCacheEntry::getSchemaElement)
+                .filter(o -> {
+                    ISite element = o.getSite();
+                    return element != null && element.equals(site);
+                })
+                .collect(Collectors.toList()));
 
         return dependencies;
     }
 
     public List<ISchemaElement> removeTarget(ITarget target) {
 
-        List<ISchemaElement> dependenciesTarget = this.observation.stream()
-                .filter(o -> {
-                    ITarget element = o.getSchemaElement().getTarget();
-                    return element != null && element.equals(target);
-                })
-                .map(a -> a.getSchemaElement())
-                .collect(Collectors.toList());
+        SchemaElementCacheEntry<ITarget> entry = this.target.remove(target.getID());
+
+        if (entry == null) {
+            return Collections.emptyList();
+        }
 
-        List<ISchemaElement> dependenciesTargetContaining = this.observation.stream()
+        // The target entry refers also to the observations of ITargetContaining targets
+        // the target is a component of. Only observations of the target itself are
+        // dependencies.
+        List<ISchemaElement> dependencies = entry.getReferencedElements().stream()
                 .filter(o -> {
-                    ITarget element = o.getSchemaElement().getTarget();
-                    return element != null && !element.equals(target);
+                    ITarget element = ((IObservation) o).getTarget();
+                    return element != null && element.getID().equals(target.getID());
                 })
-                .map(a -> a.getSchemaElement())
-                .filter(a -> a instanceof ITargetContaining)
-                .filter(a -> ((ITargetContaining) a)
-                        .getComponentTargets(this.getTargets())
-                        .contains(target))
                 .collect(Collectors.toList());
 
-        SchemaElementCacheEntry<ITarget> entry = new SchemaElementCacheEntry<ITarget>(target);
-        boolean foundElement = this.target.remove(entry);
-
-        List<ISchemaElement> dependencies = new ArrayList<>();
-        dependencies.addAll(dependenciesTarget);
-        dependencies.addAll(dependenciesTargetContaining);
-
-        if (foundElement && dependencies.isEmpty()) { // Object has no dependencies
+        if (dependencies.isEmpty()) { // Object has no dependencies
 
-            // Delete entry in targetContained array
+            // Delete entry in targetContaining map
             // As the ITargetContaining target must have no more observation references
             // while deletion,
             // it's components must have lost its referenced observations as well. (handled
             // in updateObservation or
             // deleteObservation)
-            // So we only need to do some houseKeeping here and keep the cache Array clean
-
-            for (SchemaElementCacheEntry<ITarget> entryTarget : this.targetContaining) {
-                if (target.equals(entry.getSchemaElement())) {
-                    this.targetContaining.remove(entryTarget);
-                    break;
-                }
-            }
+            // So we only need to do some houseKeeping here and keep the cache clean
+            this.targetContaining.remove(target.getID());
         }
 
         return dependencies;
@@ -1338,22 +625,21 @@ class CacheEntry {
 
     public List<ISchemaElement> removeLens(ILens lens) {
 
-        List<ISchemaElement> dependencies = this.observation.stream()
-                .filter(o -> {
-                    ILens element = o.getSchemaElement().getLens();
-                    return element != null && element.equals(lens);
-                })
-                .map(a -> a.getSchemaElement())
-                .collect(Collectors.toList());
+        return removeElement(this.lens, lens);
+    }
+
+    // Removes an element which is only refered by observations. The observations are
+    // returned as dependencies.
+    private static <T extends ISchemaElement> List<ISchemaElement> removeElement(
+            Map<String, SchemaElementCacheEntry<T>> cache, T element) {
 
-        SchemaElementCacheEntry<ILens> entry = new SchemaElementCacheEntry<ILens>(lens);
-        boolean foundElement = this.lens.remove(entry);
+        SchemaElementCacheEntry<T> entry = cache.remove(element.getID());
 
-        if (!foundElement) {
+        if (entry == null) {
             return Collections.emptyList();
         }
 
-        return dependencies;
+        return entry.getReferencedElements();
     }
 
     public void setXMLPath(String path) {
@@ -1361,199 +647,145 @@ class CacheEntry {
         this.xmlPath = path;
     }
 
-    private void addAllObservationElements(SchemaElementCacheEntry<IObservation> observationCacheEntry) {
+    private void addAllObservationElements(
+            SchemaElementCacheEntry<IObservation> observationCacheEntry, IObservation observation) {
 
-        IObservation observation = observationCacheEntry.getSchemaElement();
         if (observation == null) {
             return;
         }
 
-        // --------------------------------------------------------------
-
-        IEyepiece e = observation.getEyepiece();
-        if (e != null) {
-            for (SchemaElementCacheEntry<IEyepiece> schemaElementCacheEntry : this.eyepiece) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(e)) {
-                    // Add Observation to schemaElements refered elements
-                    schemaElementCacheEntry.addReferencedElement(observation);
-                    // Add schemaElement to observationCache entry
-                    observationCacheEntry.addReferencedElement(e);
-                    break;
-                }
-            }
-        }
+        addObservationReference(observationCacheEntry, this.eyepiece, observation.getEyepiece(), observation);
+        addObservationReference(observationCacheEntry, this.filter, observation.getFilter(), observation);
+        addObservationReference(observationCacheEntry, this.imager, observation.getImager(), observation);
+        addObservationReference(observationCacheEntry, this.observer, observation.getObserver(), observation);
+        addObservationReference(observationCacheEntry, this.scope, observation.getScope(), observation);
+        addObservationReference(observationCacheEntry, this.site, observation.getSite(), observation);
+        addObservationReference(observationCacheEntry, this.lens, observation.getLens(), observation);
 
         // --------------------------------------------------------------
 
-        IFilter f = observation.getFilter();
-        if (f != null) {
-            for (SchemaElementCacheEntry<IFilter> schemaElementCacheEntry : this.filter) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(f)) {
-                    // Add Observation to schemaElements refered elements
-                    schemaElementCacheEntry.addReferencedElement(observation);
-                    // Add schemaElement to observationCache entry
-                    observationCacheEntry.addReferencedElement(f);
-                    break;
+        ISession s = observation.getSession();
+        if (s != null) {
+            SchemaElementCacheEntry<ISession> elementCacheEntry = getEntry(this.session, s);
+            if (elementCacheEntry != null) {
+                // Add coObservers (if available)
+                if (s.getCoObservers() != null) {
+                    for (IObserver current : s.getCoObservers()) {
+                        SchemaElementCacheEntry<IObserver> schemaElementCacheEntry = getEntry(this.coObserver, current);
+                        if (schemaElementCacheEntry != null) {
+                            // Add Observation to coObservers refered elements
+                            schemaElementCacheEntry.addReferencedElement(observation);
+                            // Also include a reference to the session, as we need this in case
+                            // the session will get updated to know, which coObserver was
+                            // refering to that session in the past (for removing coObservers)
+                            // Session might be referenced already from another observation
+                            // belonging to the same session, but references are only kept once
+                            schemaElementCacheEntry.addReferencedElement(s);
+
+                            // Do not add the coObserver to the observationCacheEntry
+                            // So the observations will have not direct dependency on the coObserver
+                        }
+                    }
                 }
-            }
-        }
-
-        // --------------------------------------------------------------
 
-        IImager im = observation.getImager();
-        if (im != null) {
-            for (SchemaElementCacheEntry<IImager> schemaElementCacheEntry : this.imager) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(im)) {
-                    // Add Observation to schemaElements refered elements
-                    schemaElementCacheEntry.addReferencedElement(observation);
-                    // Add schemaElement to observationCache entry
-                    observationCacheEntry.addReferencedElement(im);
-                    break;
-                }
+                // Add Observation to schemaElements refered elements
+                elementCacheEntry.addReferencedElement(observation);
             }
+            // Add schemaElement to observationCache entry
+            observationCacheEntry.addReferencedElement(s);
         }
 
         // --------------------------------------------------------------
 
-        IObserver o = observation.getObserver();
-        if (o != null) {
-            for (SchemaElementCacheEntry<IObserver> schemaElementCacheEntry : this.observer) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(o)) {
-                    // Add Observation to schemaElements refered elements
-                    schemaElementCacheEntry.addReferencedElement(observation);
-                    // Add schemaElement to observationCache entry
-                    observationCacheEntry.addReferencedElement(o);
-                    break;
+        ITarget t = observation.getTarget();
+        if (t != null) {
+            SchemaElementCacheEntry<ITarget> elementCacheEntry = getEntry(this.target, t);
+            if (elementCacheEntry != null) {
+                // Add Observation to schemaElements refered elements
+                elementCacheEntry.addReferencedElement(observation);
+
+                if (t instanceof ITargetContaining) { // This Target refers to additional other targets
+                    // Go over all dependent targets and add a reference to this observation
+                    // ! The observation itself won't get a reference to the additional Target !
+                    for (ITarget ct : ((ITargetContaining) t).getComponentTargets(this.getTargets())) {
+                        SchemaElementCacheEntry<ITarget> schemaElementCacheEntry = getEntry(this.target, ct);
+                        if (schemaElementCacheEntry != null) {
+                            schemaElementCacheEntry.addReferencedElement(observation);
+                        }
+                    }
                 }
             }
+            // Add schemaElement to observationCache entry
+            observationCacheEntry.addReferencedElement(t);
         }
+    }
 
-        // --------------------------------------------------------------
+    private static <T extends ISchemaElement> void addObservationReference(
+            SchemaElementCacheEntry<IObservation> observationCacheEntry,
+            Map<String, SchemaElementCacheEntry<T>> cache,
+            T element,
+            IObservation observation) {
 
-        IScope sc = observation.getScope();
-        if (sc != null) {
-            for (SchemaElementCacheEntry<IScope> schemaElementCacheEntry : this.scope) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(sc)) {
-                    // Add Observation to schemaElements refered elements
-                    schemaElementCacheEntry.addReferencedElement(observation);
-                    // Add schemaElement to observationCache entry
-                    observationCacheEntry.addReferencedElement(sc);
-                    break;
-                }
-            }
+        if (element == null) {
+            return;
         }
 
-        // --------------------------------------------------------------
-
-        ISession s = observation.getSession();
-        if (s != null) {
-            for (SchemaElementCacheEntry<ISession> elementCacheEntry : this.session) {
-
-                if (elementCacheEntry.getSchemaElement().equals(s)) {
-
-                    // Add coObservers (if available)
-                    if ((s.getCoObservers() != null) && !(s.getCoObservers().isEmpty())) {
-                        List<IObserver> coObservers = s.getCoObservers();
-                        ListIterator<IObserver> iterator = coObservers.listIterator();
-                        IObserver current = null;
-                        while (iterator.hasNext()) { // Iterate over all coObservers
-                            current = iterator.next();
-                            for (SchemaElementCacheEntry<IObserver> schemaElementCacheEntry :
-                                    this.coObserver) { // Iterate
-                                // over
-                                // all coObservers
-                                if (schemaElementCacheEntry.getSchemaElement().equals(current)) {
-                                    // Add Observation to coObservers refered elements
-                                    schemaElementCacheEntry.addReferencedElement(observation);
-
-                                    // Session might be referenced already from another observation
-                                    // belonging to the same session
-                                    // TODO: BUG uncomment this entry if
-                                    /*
-                                     * if (!schemaElementCacheEntry.contains(observation.getSession())) { // Also
-                                     * include a reference to the session, as we need this in case // the session will
-                                     * get updated to know, which coObserver was // refering to that session in the past
-                                     * (for removing coObservers)
-                                     * schemaElementCacheEntry.addReferencedElement(observation.getSession()); }
-                                     */
-
-                                    // Do not add the coObserver to the observationCacheEntry
-                                    // So the observations will have not direct dependency on the coObserver
-                                    break; // Break for loop
-                                }
-                            }
-                        }
-                    }
-
-                    // Add Observation to schemaElements refered elements
-                    elementCacheEntry.addReferencedElement(observation);
-                    // Add schemaElement to observationCache entry
-                    observationCacheEntry.addReferencedElement(s);
-                    break;
-                }
-            }
+        SchemaElementCacheEntry<T> schemaElementCacheEntry = getEntry(cache, element);
+        if (schemaElementCacheEntry != null) {
+            // Add Observation to schemaElements refered elements
+            schemaElementCacheEntry.addReferencedElement(observation);
         }
+        // Add schemaElement to observationCache entry
+        observationCacheEntry.addReferencedElement(element);
+    }
 
-        // --------------------------------------------------------------
+    // Removes the observation from the cache entry of an element, the observation
+    // refered to
+    private void removeObservationReference(ISchemaElement element, IObservation observation) {
 
-        ISite si = observation.getSite();
-        if (si != null) {
-            for (SchemaElementCacheEntry<ISite> schemaElementCacheEntry : this.site) {
-                if (schemaElementCacheEntry.getSchemaElement().equals(si)) {
-                    // Add Observation to schemaElements refered elements
-                    schemaElementCacheEntry.addReferencedElement(observation);
-                    // Add schemaElement to observationCache entry
-                    observationCacheEntry.addReferencedElement(si);
-                    break;
+        if (element instanceof IEyepiece) {
+            removeReference(this.eyepiece, element, observation);
+        } else if (element instanceof IImager) {
+            removeReference(this.imager, element, observation);
+        } else if (element instanceof IFilter) {
+            removeReference(this.filter, element, observation);
+        } else if (element instanceof IScope) {
+            removeReference(this.scope, element, observation);
+        } else if (element instanceof IObserver) {
+            removeReference(this.observer, element, observation);
+        } else if (element instanceof ISite) {
+            removeReference(this.site, element, observation);
+        } else if (element instanceof ILens) {
+            removeReference(this.lens, element, observation);
+        } else if (element instanceof ISession) {
+            removeReference(this.session, element, observation);
+
+            // Remove old coObserver references
+            List<IObserver> coObservers = ((ISession) element).getCoObservers();
+            if (coObservers != null) {
+                for (IObserver current : coObservers) {
+                    removeReference(this.coObserver, current, observation);
                 }
             }
-        }
-
-        // --------------------------------------------------------------
-
-        ITarget t = observation.getTarget();
-        if (t != null) {
-            for (SchemaElementCacheEntry<ITarget> elementCacheEntry : this.target) {
-                if (elementCacheEntry.getSchemaElement().equals(t)) {
-                    // Add Observation to schemaElements refered elements
-                    elementCacheEntry.addReferencedElement(observation);
-
-                    if (t instanceof ITargetContaining) { // This Target refers to additional other targets
-                        List<ITarget> containedTargets = ((ITargetContaining) t).getComponentTargets(this.getTargets());
-                        ListIterator<ITarget> iterator = containedTargets.listIterator();
-                        ITarget ct = null;
-                        // Go over all dependent targets and add a reference to this observation
-                        // ! The observation itself won't get a reference to the additional Target !
-                        while (iterator.hasNext()) {
-                            ct = iterator.next();
-                            for (SchemaElementCacheEntry<ITarget> schemaElementCacheEntry : this.target) {
-                                if (schemaElementCacheEntry.getSchemaElement().equals(ct)) {
-                                    schemaElementCacheEntry.addReferencedElement(observation);
-                                }
-                            }
-                        }
-                    }
+        } else if (element instanceof ITarget) {
+            removeReference(this.target, element, observation);
 
-                    // Add schemaElement to observationCache entry
-                    observationCacheEntry.addReferencedElement(t);
-                    break;
+            // If the target is a TargetContaining target, we need to remove also
+            // the observation references from the containing targets
+            if (element instanceof ITargetContaining) {
+                for (ITarget ct : ((ITargetContaining) element).getComponentTargets(this.getTargets())) {
+                    removeReference(this.target, ct, observation);
                 }
             }
         }
+    }
 
-        // --------------------------------------------------------------
+    private static <T extends ISchemaElement> void removeReference(
+            Map<String, SchemaElementCacheEntry<T>> cache, ISchemaElement element, IObservation observation) {
 
-        ILens l = observation.getLens();
-        if (l != null) {
-            for (SchemaElementCacheEntry<ILens> len : this.lens) {
-                if (len.getSchemaElement().equals(l)) {
-                    // Add Observation to schemaElements refered elements
-                    len.addReferencedElement(observation);
-                    // Add schemaElement to observationCache entry
-                    observationCacheEntry.addReferencedElement(l);
-                    break;
-                }
-            }
+        SchemaElementCacheEntry<T> schemaElementCacheEntry = getEntry(cache, element);
+        if (schemaElementCacheEntry != null) {
+            schemaElementCacheEntry.removeReferencedElement(observation);
         }
     }
 }
@@ -1,9 +1,15 @@
 package de.lehmannet.om.ui.util;
 
+import de.lehmannet.om.IObservation;
 import de.lehmannet.om.ISchemaElement;
+import de.lehmannet.om.ui.comparator.ObservationComparator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 // One cache entry per file
 // Stores an ISchemaElement and list of refering elements
@@ -17,10 +23,18 @@ import java.util.List;
 // the passed IObservation is already changed. Therefore we keep the last know
 // references of an
 // IObservation here. Think of it like a double linked list.
+// The references are kept by type and ID, so adding, removing and checking a
+// reference doesn't depend on the number of references and an element is
+// referenced only once.
+// The refering observations are additionally kept as sorted array, which is
+// built on first access and dropped on every change of the references.
 class SchemaElementCacheEntry<T extends ISchemaElement> {
 
     private T element = null;
-    private final List<ISchemaElement> referenceList = new ArrayList<>();
+    private final Map<Key, ISchemaElement> references = new LinkedHashMap<>();
+    private IObservation[] sortedObservations = null;
+
+    private static final Comparator<IObservation> OBSERVATION_COMPARATOR = new ObservationComparator();
 
     public SchemaElementCacheEntry(T element) {
 
@@ -29,15 +43,22 @@ class SchemaElementCacheEntry<T extends ISchemaElement> {
 
     public List<ISchemaElement> getReferencedElements() {
 
-        /*
-         * ISchemaElement[] result = (ISchemaElement[])this.referenceList.toArray(new ISchemaElement[] {});
-         * Arrays.sort(result, new ObservationComparator());
-         *
-         * return result;
-         */
-        // this.referenceList.
+        return new ArrayList<>(this.references.values());
+    }
+
+    // Returns the refered observations (other refered elements are skipped) in the
+    // order of the ObservationComparator. The array is shared, don't modify it.
+    public IObservation[] getSortedObservations() {
+
+        if (this.sortedObservations == null) {
+            IObservation[] observations = this.references.values().stream()
+                    .filter(se -> se instanceof IObservation)
+                    .toArray(IObservation[]::new);
+            Arrays.sort(observations, OBSERVATION_COMPARATOR);
+            this.sortedObservations = observations;
+        }
 
-        return this.referenceList;
+        return this.sortedObservations;
     }
 
     public T getSchemaElement() {
@@ -51,41 +72,53 @@ class SchemaElementCacheEntry<T extends ISchemaElement> {
             return;
         }
 
-        this.referenceList.add(se);
+        this.references.put(Key.of(se), se);
+        this.sortedObservations = null;
     }
 
-    public void addReferencedElements(Collection<ISchemaElement> collection) {
+    public void addReferencedElements(Collection<? extends ISchemaElement> collection) {
 
         if (collection == null) {
             return;
         }
 
-        this.referenceList.addAll(collection);
+        for (ISchemaElement se : collection) {
+            this.addReferencedElement(se);
+        }
     }
 
     public void removeReferencedElement(ISchemaElement se) {
 
-        this.referenceList.remove(se);
+        if (se == null) {
+            return;
+        }
+
+        if (this.references.remove(Key.of(se)) != null) {
+            this.sortedObservations = null;
+        }
     }
 
-    public void removeReferencedElements(Collection<ISchemaElement> collection) {
+    public void removeReferencedElements(Collection<? extends ISchemaElement> collection) {
 
-        this.referenceList.removeAll(collection);
+        for (ISchemaElement se : collection) {
+            this.removeReferencedElement(se);
+        }
     }
 
     public int getNumberOfReferences() {
 
-        return this.referenceList.size();
+        return this.references.size();
     }
 
-    public boolean contains(T se) {
+    public boolean contains(ISchemaElement se) {
 
-        return this.referenceList.contains(se);
+        return (se != null) && this.references.containsKey(Key.of(se));
     }
 
     public void clearAllReferences() {
 
-        this.referenceList.clear();
+        this.references.clear();
+        this.sortedObservations = null;
     }
 
     @Override
@@ -117,4 +150,13 @@ class SchemaElementCacheEntry<T extends ISchemaElement> {
         }
         return true;
     }
+
+    // The ID alone is not enough, as e.g. a coObserver refers to observations and
+    // sessions, whose IDs might be the same
+    private record Key(Class<?> type, String id) {
+
+        static Key of(ISchemaElement se) {
+            return new Key(se.getClass(), se.getID());
+        }
+    }
 }
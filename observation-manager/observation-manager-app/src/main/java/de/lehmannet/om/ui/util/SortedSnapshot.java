@@ -0,0 +1,90 @@
+package de.lehmannet.om.ui.util;
+
+import de.lehmannet.om.ISchemaElement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+// Sorted array of all elements of one type over all cache entries.
+// The array is built on the first access after a change of the cache (signaled
+// by a new version) and shared by all following accesses until the next change.
+// So the array returned must not be modified by the caller.
+// The array and its version are published together, so a thread building the
+// model snapshot never gets the array of another version.
+final class SortedSnapshot<T extends ISchemaElement> {
+
+    private final Function<CacheEntry, T[]> elements;
+    private final Comparator<? super T> comparator;
+    private final IntFunction<T[]> generator;
+
+    private volatile Sorted<T> sorted;
+
+    SortedSnapshot(Function<CacheEntry, T[]> elements, Comparator<? super T> comparator, IntFunction<T[]> generator) {
+
+        this.elements = elements;
+        this.comparator = comparator;
+        this.generator = generator;
+    }
+
+    T[] get(List<CacheEntry> cache, long cacheVersion) {
+
+        Sorted<T> result = this.sorted;
+        if ((result == null) || (result.version() != cacheVersion)) {
+            result = new Sorted<>(this.build(cache), cacheVersion);
+            this.sorted = result;
+        }
+
+        return result.elements();
+    }
+
+    // Position of the element in the array of the given version, found by binary
+    // search. As the comparator might see several elements as equal, the element
+    // itself is looked up among those. Returns -1 if the element is not part of it.
+    int indexOf(T element, List<CacheEntry> cache, long cacheVersion) {
+
+        T[] result = this.get(cache, cacheVersion);
+
+        // First element not less than the element
+        int low = 0;
+        int high = result.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.comparator.compare(result[middle], element) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        for (int i = low; (i < result.length) && (this.comparator.compare(result[i], element) == 0); i++) {
+            if (result[i] == element) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private T[] build(List<CacheEntry> cache) {
+
+        T[] result;
+        if (cache.size() == 1) { // Only one file open
+            result = this.elements.apply(cache.get(0));
+        } else {
+            List<T> all = new ArrayList<>();
+            for (CacheEntry entry : cache) {
+                all.addAll(Arrays.asList(this.elements.apply(entry)));
+            }
+            result = all.toArray(this.generator.apply(all.size()));
+        }
+
+        Arrays.sort(result, this.comparator);
+
+        return result;
+    }
+
+    private record Sorted<T>(T[] elements, long version) {}
+}
@@ -21,6 +21,7 @@ import de.lehmannet.om.ITarget;
 import de.lehmannet.om.ITargetContaining;
 import de.lehmannet.om.OALException;
 import de.lehmannet.om.RootElement;
+import de.lehmannet.om.model.ModelSnapshot;
 import de.lehmannet.om.ui.comparator.EyepieceComparator;
 import de.lehmannet.om.ui.comparator.FilterComparator;
 import de.lehmannet.om.ui.comparator.ImagerComparator;
@@ -31,31 +32,101 @@ import de.lehmannet.om.ui.comparator.ScopeComparator;
 import de.lehmannet.om.ui.comparator.SessionComparator;
 import de.lehmannet.om.ui.comparator.SiteComparator;
 import de.lehmannet.om.ui.comparator.TargetComparator;
+import de.lehmannet.om.util.DocumentSnapshot;
+import de.lehmannet.om.util.EditJournal;
+import de.lehmannet.om.util.InternPool;
 import de.lehmannet.om.util.SchemaException;
 import de.lehmannet.om.util.SchemaLoader;
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
 
-// All get{SchemaElement} are extremly slow. Implement faster caching!
 public class XMLFileLoaderImpl implements XMLFileLoader {
 
-    // Maps, used to store File - XML Object relations
-    // - Key = Path to XML File
-    // - Value = Schema objects of xmlFile
+    // One entry per opened XML file, in the order the files were opened.
+    // New elements are added to the first file.
     private final List<CacheEntry> cache = new ArrayList<>();
 
+    // Incremented on every change of the cache, so the sorted element arrays are
+    // built again on their next access
+    private volatile long version = 0;
+
+    // Snapshot of the sorted elements for readers on other threads. Changes of the
+    // cache and the build of a new snapshot are synchronized on this loader, so a
+    // snapshot never sees a half done change.
+    private volatile ModelSnapshot modelSnapshot;
+
+    // Sorted elements of all cache entries, returned by the get{SchemaElement} methods
+    private final SortedSnapshot<IObserver> observers =
+            new SortedSnapshot<>(CacheEntry::getObservers, new ObserverComparator(), IObserver[]::new);
+    private final SortedSnapshot<IEyepiece> eyepieces =
+            new SortedSnapshot<>(CacheEntry::getEyepieces, new EyepieceComparator(), IEyepiece[]::new);
+    private final SortedSnapshot<IImager> imagers =
+            new SortedSnapshot<>(CacheEntry::getImagers, new ImagerComparator(), IImager[]::new);
+    private final SortedSnapshot<IFilter> filters =
+            new SortedSnapshot<>(CacheEntry::getFilters, new FilterComparator(), IFilter[]::new);
+    private final SortedSnapshot<IObservation> observations =
+            new SortedSnapshot<>(CacheEntry::getObservations, OBSERVATION_COMPARATOR, IObservation[]::new);
+    private final SortedSnapshot<IScope> scopes =
+            new SortedSnapshot<>(CacheEntry::getScopes, new ScopeComparator(), IScope[]::new);
+    private final SortedSnapshot<ISession> sessions =
+            new SortedSnapshot<>(CacheEntry::getSessions, new SessionComparator(), ISession[]::new);
+    private final SortedSnapshot<ISite> sites =
+            new SortedSnapshot<>(CacheEntry::getSites, new SiteComparator(), ISite[]::new);
+    private final SortedSnapshot<ITarget> targets =
+            new SortedSnapshot<>(CacheEntry::getTargets, new TargetComparator(), ITarget[]::new);
+    private final SortedSnapshot<ILens> lenses =
+            new SortedSnapshot<>(CacheEntry::getLenses, new LensComparator(), ILens[]::new);
+
     // Path to XML Schemas used to validate XML files
     private File schemaPath;
 
     // The schemaLoader to use
     private final SchemaLoader loader = new SchemaLoader();
+
+    // Repeated values of all loaded files, shared by the schema loaders and the catalogs
+    private final InternPool internPool = InternPool.getShared();
+
+    // Read/write binary snapshots next to the XML files
+    private boolean snapshots = false;
+
+    // Journal changes next to the XML file
+    private boolean journaling = false;
+
+    // Maximum number of files loaded at the same time
+    private static final int MAX_LOAD_THREADS = Runtime.getRuntime().availableProcessors();
+
+    // Snapshots are written in the background, one after the other, so the last written one wins
+    private static final ExecutorService SNAPSHOT_WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Snapshot writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Comparator<IObservation> OBSERVATION_COMPARATOR = new ObservationComparator();
     private static final Logger LOGGER = LoggerFactory.getLogger(XMLFileLoaderImpl.class);
 
     public static final XMLFileLoader newInstance(String pathFile) {
@@ -72,18 +143,19 @@ public class XMLFileLoaderImpl implements XMLFileLoader {
     private XMLFileLoaderImpl(File file) {
 
         this.schemaPath = file;
+        this.loader.setInternPool(this.internPool);
     }
 
-    public void clear() {
+    public synchronized void clear() {
 
+        this.closeJournals();
         this.cache.clear();
+        this.version++;
     }
 
     public boolean isEmpty() {
 
-        RootElement root = this.getRootElement();
-
-        return root == null;
+        return this.cache.isEmpty();
     }
 
     public boolean save(String path) {
@@ -91,20 +163,37 @@ public class XMLFileLoaderImpl implements XMLFileLoader {
         return this.saveAs(null, path);
     }
 
-    public boolean saveAs(String oldPath, String newPath) {
+    public synchronized boolean saveAs(String oldPath, String newPath) {
+
+        CacheEntry entry = this.getFileEntry(oldPath != null ? oldPath : newPath);
+        if (entry == null) { // Nothing to save
+            return false;
+        }
+
+        // The commit keeps the saved changes in the journal, in case the XML file cannot be written
+        this.commitJournal(entry, new File(newPath));
+
+        return this.writeFile(entry, newPath);
+    }
+
+    private boolean writeFile(CacheEntry entry, String newPath) {
 
-        RootElement root = this.getRootElement();
+        RootElement root = this.getRootElement(List.of(entry));
+        this.addReferencedToRoot(entry, root);
 
         Backup backup = Backup.create(newPath);
 
         try {
             File xmlFile = new File(newPath);
-            Objects.requireNonNull(root).serializeAsXmlFormatted(xmlFile);
+            DocumentSnapshot.Encoder snapshot = this.snapshots ? new DocumentSnapshot.Encoder() : null;
+            Objects.requireNonNull(root).serializeAsXmlFormatted(xmlFile, snapshot);
+            this.writeSnapshot(snapshot);
+            this.resetJournal(entry, xmlFile);
             // this.loadObservations(newPath); // Fill cache .... Not good! Strange
             // behaviour. After save, first try to do
             // chnaged (e.g. stellar etc) is not taken. Second try works...) Better solution
             // below!
-            ((CacheEntry) this.cache.iterator().next()).setXMLPath(newPath); // Works only with one XML!!!
+            entry.setXMLPath(newPath);
             backup.delete();
         } catch (SchemaException se) {
             LOGGER.error(
@@ -120,7 +209,7 @@ public class XMLFileLoaderImpl implements XMLFileLoader {
 
     public Document getDocument() {
 
-        RootElement root = this.getRootElement();
+        RootElement root = this.getRootElement(this.cache);
 
         try {
             if (root != null) {
@@ -137,14 +226,12 @@ public class XMLFileLoaderImpl implements XMLFileLoader {
 
     public String getXMLFileForSchemaElement(ISchemaElement schemaElement) {
 
-        // @todo This only works for ONE file opened...
         if (this.cache.isEmpty()) {
             // Nothing to save
             return null;
         }
 
-        // @todo This only works for ONE file opened...
-        return this.cache.listIterator().next().getXmlPath();
+        return this.getOwningEntry(schemaElement).getXmlPath();
     }
 
     public String getXMLPathForSchemaElement(ISchemaElement schemaElement) {
@@ -154,8 +241,6 @@ public class XMLFileLoaderImpl implements XMLFileLoader {
 
     public Document getDocumentForSchemaElement(ISchemaElement schemaElement) {
 
-        // @todo This only works for ONE file opened...
-
         if (schemaElement == null) {
             // Nothing to save
             return null;
@@ -186,58 +271,168 @@ public class XMLFileLoaderImpl implements XMLFileLoader {
         return null;
     }
 
-    public void addSchemaElement(ISchemaElement element) {
+    @Override
+    public Document getDocumentForObservations(List<IObservation> observations) {
+
+        RootElement root = new RootElement();
+        this.addObservationsAndDependentToRoot(observations, root);
+
+        try {
+            return root.getDocument();
+        } catch (SchemaException se) {
+            LOGGER.error("Unable to retrieve DOM Document for {} observations.", observations.size(), se);
+        }
+
+        return null;
+    }
+
+    public synchronized void addSchemaElement(ISchemaElement element) {
 
         if (element == null) { // Nothing to add
             return;
         }
 
+        CacheEntry entry = this.getOwningEntry(element);
+        this.journalPut(entry, element);
+        this.version++;
+
+        this.addToCache(entry, element);
+    }
+
+    public synchronized void addSchemaElements(Collection<? extends ISchemaElement> elements) {
+
+        // Observations last, as only adding observations sets the references to
+        // the other elements, which therefore must be known to the cache already
+        List<ISchemaElement> batch = new ArrayList<>(elements.size());
+        List<ISchemaElement> observations = new ArrayList<>();
+        for (ISchemaElement element : elements) {
+            if (element instanceof IObservation) {
+                observations.add(element);
+            } else if (element != null) {
+                batch.add(element);
+            }
+        }
+        batch.addAll(observations);
+
+        if (batch.isEmpty()) { // Nothing to add
+            return;
+        }
+
+        // Only journal the added elements, as the cache keeps the known ones.
+        // Elements of the other opened files are known as well.
+        List<ISchemaElement> added = new ArrayList<>(batch.size());
+        CacheEntry entry = this.getCacheEntry();
+        for (ISchemaElement element : batch) {
+            if (!this.isCachedByOtherEntry(entry, element) && this.addToCache(entry, element)) {
+                added.add(element);
+            }
+        }
+
+        this.journalPutAll(entry, added);
+        this.version++;
+    }
+
+    // Returns the entry of the first file, which gets the new elements
+    private CacheEntry getCacheEntry() {
+
         CacheEntry entry = null;
         if (this.cache.isEmpty()) {
             entry = new CacheEntry();
             this.cache.add(entry);
-        } else { // @todo This only works for ONE file opened...
-            entry = (CacheEntry) this.cache.iterator().next();
+        } else {
+            entry = this.cache.get(0);
+        }
+        return entry;
+    }
+
+    // Returns the entry of the file the element belongs to, or the entry of the
+    // first file for new elements
+    private CacheEntry getOwningEntry(ISchemaElement element) {
+
+        if ((this.cache.size() > 1) && (element != null)) {
+            for (CacheEntry entry : this.cache) {
+                if (entry.contains(element)) {
+                    return entry;
+                }
+            }
+        }
+
+        return this.getCacheEntry();
+    }
+
+    private boolean isCachedByOtherEntry(CacheEntry entry, ISchemaElement element) {
+
+        for (CacheEntry other : this.cache) {
+            if ((other != entry) && other.contains(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Returns the entry of the given file, or the entry of the first file if the
+    // file is not opened (e.g. on the first save of a new document)
+    private CacheEntry getFileEntry(String xmlPath) {
+
+        if (this.cache.isEmpty()) {
+            return null;
         }
 
+        File xmlFile = new File(xmlPath).getAbsoluteFile();
+        for (CacheEntry entry : this.cache) {
+            if ((entry.getXmlPath() != null)
+                    && new File(entry.getXmlPath()).getAbsoluteFile().equals(xmlFile)) {
+                return entry;
+            }
+        }
+
+        return this.cache.get(0);
+    }
+
+    // Returns false if the element is unknown or already cached
+    private boolean addToCache(CacheEntry entry, ISchemaElement element) {
+
         if (element instanceof IObserver) {
-            entry.addObserver((IObserver) element);
+            return entry.addObserver((IObserver) element);
         } else if (element instanceof IEyepiece) {
-            entry.addEyepiece((IEyepiece) element);
+            return entry.addEyepiece((IEyepiece) element);
         } else if (element instanceof IImager) {
-            entry.addImager((IImager) element);
+            return entry.addImager((IImager) element);
         } else if (element instanceof IFilter) {
-            entry.addFilter((IFilter) element);
+            return entry.addFilter((IFilter) element);
         } else if (element instanceof IObservation) {
-            entry.addObservation((IObservation) element);
+            return entry.addObservation((IObservation) element);
         } else if (element instanceof IScope) {
-            entry.addScope((IScope) element);
+            return entry.addScope((IScope) element);
         } else if (element instanceof ISite) {
-            entry.addSite((ISite) element);
+            return entry.addSite((ISite) element);
         } else if (element instanceof ISession) {
-            entry.addSession((ISession) element);
+            return entry.addSession((ISession) element);
         } else if (element instanceof ITarget) {
-            entry.addTarget((ITarget) element);
+            return entry.addTarget((ITarget) element);
         } else if (element instanceof ILens) {
-            entry.addLens((ILens) element);
-        } else {
-            LOGGER.warn("Unknown element: {} ", element);
+            return entry.addLens((ILens) element);
         }
+
+        LOGGER.warn("Unknown element: {} ", element);
+        return false;
     }
 
-    public void addSchemaElement(ISchemaElement element, boolean dependend) {
+    public synchronized void addSchemaElement(ISchemaElement element, boolean dependend) {
 
         if (element == null) { // Nothing to add
             return;
         }
 
-        CacheEntry entry = null;
-        if (cache.isEmpty()) {
-            entry = new CacheEntry();
-            cache.add(entry);
-        } else { // @todo This only works for ONE file opened...
-            entry = (CacheEntry) cache.iterator().next();
+        CacheEntry entry = this.getOwningEntry(element);
+
+        this.journalPut(entry, element);
+        if (element instanceof IObservation) {
+            this.journalDependent(entry, (IObservation) element);
+        } else if (element instanceof ISession) {
+            this.journalDependent(entry, (ISession) element);
         }
+        this.version++;
 
         if (element instanceof IObserver) {
             entry.addObserver((IObserver) element);
@@ -314,16 +509,14 @@ public class XMLFileLoaderImpl implements XMLFileLoader {
         }
     }
 
-    public List<ISchemaElement> removeSchemaElement(ISchemaElement element) {
+    public synchronized List<ISchemaElement> removeSchemaElement(ISchemaElement element) {
 
         List<ISchemaElement> resultList = new ArrayList<>();
 
-        CacheEntry entry = null;
         if (this.cache.isEmpty()) {
             return resultList;
-        } else { // @todo This only works for ONE file opened...
-            entry = (CacheEntry) this.cache.iterator().next();
         }
+        CacheEntry entry = this.getOwningEntry(element);
 
         if (element instanceof IObserver) {
             resultList = entry.removeObserver((IObserver) element);
@@ -350,21 +543,25 @@ public class XMLFileLoaderImpl implements XMLFileLoader {
             return null; // Return null to indicate error
         }
 
+        this.journalRemove(entry, element);
+        this.version++;
+
         return resultList;
     }
 
-    public void updateSchemaElement(ISchemaElement element) {
+    public synchronized void updateSchemaElement(ISchemaElement element) {
+
+        if (this.cache.isEmpty()) {
+            return;
+        }
+        CacheEntry entry = this.getOwningEntry(element);
+
+        this.journalPut(entry, element);
+        this.version++;
 
         if (element instanceof IObservation) {
             IObservation observation = (IObservation) element;
 
-            CacheEntry entry = null;
-            if (this.cache.isEmpty()) {
-                return;
-            } else { // @todo This only works for ONE file opened...
-                entry = (CacheEntry) this.cache.iterator().next();
-            }
-
             entry.updateObservation(observation);
 
         } else if (element instanceof ISession) {
@@ -372,14 +569,7 @@ public class XMLFileLoaderImpl implements XMLFileLoader {
             // observation cache (coObserver) entries
             ISession session = (ISession) element;
 
-            CacheEntry entry = null;
-            if (this.cache.isEmpty()) {
-                return;
-            } else { // @todo This only works for ONE file opened...
-                entry = (CacheEntry) this.cache.iterator().next();
-            }
-
-            IObservation[] observations = this.getObservations(element);
+            IObservation[] observations = entry.getObservations(element);
             if ((observations != null) // If there are no observations for this session no need for an update
                     && (observations.length > 0)) {
                 entry.updateSession(observations, session);
@@ -389,13 +579,6 @@ public class XMLFileLoaderImpl implements XMLFileLoader {
             // Refered targets might have changed
             ITarget target = (ITarget) element;
 
-            CacheEntry entry = null;
-            if (this.cache.isEmpty()) {
-                return;
-            } else { // @todo This only works for ONE file opened...
-                entry = (CacheEntry) this.cache.iterator().next();
-            }
-
             entry.updateTarget(target);
         }
     }
@@ -423,553 +606,603 @@ public class XMLFileLoaderImpl implements XMLFileLoader {
 
     public IObserver[] getObservers() {
 
-        IObserver[] result = null;
-        if (this.cache.size() == 1) { // Only one file open
-            result = this.cache.get(0).getObservers();
-        } else {
-            ListIterator<CacheEntry> iterator = this.cache.listIterator();
-            CacheEntry current = null;
-            IObserver[] currentArray = null;
-            IObserver[][] o = new IObserver[this.cache.size()][];
-            int i = 0;
-            int resultSize = 0;
-            while (iterator.hasNext()) {
-                current = iterator.next();
-                currentArray = current.getObservers();
-                if ((currentArray != null) && (currentArray.length > 0)) {
-                    o[i++] = currentArray;
-                    resultSize = resultSize + currentArray.length;
-                }
-            }
+        return this.observers.get(this.cache, this.version);
+    }
 
-            result = new IObserver[resultSize];
-            if (resultSize == 0) {
-                return result;
-            }
+    public IEyepiece[] getEyepieces() {
 
-            int j = 0;
-            for (IObserver[] iObservers : o) {
-                currentArray = iObservers;
-                for (IObserver iObserver : currentArray) {
-                    result[j++] = iObserver;
-                }
-            }
-        }
+        return this.eyepieces.get(this.cache, this.version);
+    }
 
-        Arrays.sort(result, new ObserverComparator());
+    public IImager[] getImagers() {
 
-        return result;
+        return this.imagers.get(this.cache, this.version);
     }
 
-    public IEyepiece[] getEyepieces() {
+    public IFilter[] getFilters() {
 
-        IEyepiece[] result = null;
-        if (this.cache.size() == 1) { // Only one file open
-            result = this.cache.get(0).getEyepieces();
-        } else {
-            ListIterator<CacheEntry> iterator = this.cache.listIterator();
-            CacheEntry current = null;
-            IEyepiece[] currentArray = null;
-            IEyepiece[][] o = new IEyepiece[this.cache.size()][];
-            int i = 0;
-            int resultSize = 0;
-            while (iterator.hasNext()) {
-                current = iterator.next();
-                currentArray = current.getEyepieces();
-                if ((currentArray != null) && (currentArray.length > 0)) {
-                    o[i++] = currentArray;
-                    resultSize = resultSize + currentArray.length;
-                }
-            }
+        return this.filters.get(this.cache, this.version);
+    }
 
-            result = new IEyepiece[resultSize];
-            if (resultSize == 0) {
-                return result;
-            }
+    public IObservation[] getObservations() {
 
-            int j = 0;
-            for (IEyepiece[] iEyepieces : o) {
-                currentArray = iEyepieces;
-                for (IEyepiece iEyepiece : currentArray) {
-                    result[j++] = iEyepiece;
-                }
-            }
+        return this.observations.get(this.cache, this.version);
+    }
+
+    public IObservation[] getObservations(ISchemaElement element) {
+
+        if (element == null) { // No element given
+            return null;
+        } else if (element instanceof IObservation) { // Return all observations
+            return this.getObservations();
         }
 
-        Arrays.sort(result, new EyepieceComparator());
+        return this.getObservations(entry -> entry.getObservations(element));
+    }
 
-        return result;
+    public IObservation[] getCoObserverObservations(IObserver observer) {
+
+        if (observer == null) { // No element given
+            return null;
+        }
+
+        return this.getObservations(entry -> entry.getCoObserverObservations(observer));
     }
 
-    public IImager[] getImagers() {
+    // The cache entries keep the observations of each element sorted, so with only
+    // one file open their array is returned as is
+    private IObservation[] getObservations(Function<CacheEntry, IObservation[]> observations) {
 
-        IImager[] result = null;
         if (this.cache.size() == 1) { // Only one file open
-            result = this.cache.get(0).getImagers();
-        } else {
-            ListIterator<CacheEntry> iterator = this.cache.listIterator();
-            CacheEntry current = null;
-            IImager[] currentArray = null;
-            IImager[][] o = new IImager[this.cache.size()][];
-            int i = 0;
-            int resultSize = 0;
-            while (iterator.hasNext()) {
-                current = iterator.next();
-                currentArray = current.getImagers();
-                if ((currentArray != null) && (currentArray.length > 0)) {
-                    o[i++] = currentArray;
-                    resultSize = resultSize + currentArray.length;
-                }
-            }
-
-            result = new IImager[resultSize];
-            if (resultSize == 0) {
-                return result;
-            }
+            return observations.apply(this.cache.get(0));
+        }
 
-            int j = 0;
-            for (IImager[] iImagers : o) {
-                currentArray = iImagers;
-                for (IImager iImager : currentArray) {
-                    result[j++] = iImager;
-                }
+        // Several files open, the element might be cached by some of them only
+        List<IObservation> result = new ArrayList<>();
+        boolean cached = false;
+        for (CacheEntry current : this.cache) {
+            IObservation[] currentArray = observations.apply(current);
+            if (currentArray != null) {
+                result.addAll(Arrays.asList(currentArray));
+                cached = true;
             }
         }
+        if (!cached) {
+            return null;
+        }
 
-        Arrays.sort(result, new ImagerComparator());
+        // Sort observations
+        result.sort(OBSERVATION_COMPARATOR);
 
-        return result;
+        return result.toArray(new IObservation[result.size()]);
     }
 
-    public IFilter[] getFilters() {
+    public IScope[] getScopes() {
 
-        IFilter[] result = null;
-        if (this.cache.size() == 1) { // Only one file open
-            result = this.cache.get(0).getFilters();
-        } else {
-            ListIterator<CacheEntry> iterator = this.cache.listIterator();
-            CacheEntry current = null;
-            IFilter[] currentArray = null;
-            IFilter[][] o = new IFilter[this.cache.size()][];
-            int i = 0;
-            int resultSize = 0;
-            while (iterator.hasNext()) {
-                current = iterator.next();
-                currentArray = current.getFilters();
-                if ((currentArray != null) && (currentArray.length > 0)) {
-                    o[i++] = currentArray;
-                    resultSize = resultSize + currentArray.length;
-                }
-            }
+        return this.scopes.get(this.cache, this.version);
+    }
 
-            result = new IFilter[resultSize];
-            if (resultSize == 0) {
-                return result;
-            }
+    public ISession[] getSessions() {
 
-            int j = 0;
-            for (IFilter[] iFilters : o) {
-                currentArray = iFilters;
-                for (IFilter iFilter : currentArray) {
-                    result[j++] = iFilter;
-                }
-            }
-        }
+        return this.sessions.get(this.cache, this.version);
+    }
 
-        Arrays.sort(result, new FilterComparator());
+    public ISite[] getSites() {
 
-        return result;
+        return this.sites.get(this.cache, this.version);
     }
 
-    public IObservation[] getObservations() {
+    public ITarget[] getTargets() {
 
-        IObservation[] result = null;
-        if (this.cache.size() == 1) { // Only one file open
-            result = this.cache.get(0).getObservations();
-        } else { // Several files open
-            ListIterator<CacheEntry> iterator = this.cache.listIterator();
-            CacheEntry current = null;
-            IObservation[] currentArray = null;
-            IObservation[][] o = new IObservation[this.cache.size()][];
-            int i = 0;
-            int resultSize = 0;
-            while (iterator.hasNext()) {
-                current = iterator.next();
-                currentArray = current.getObservations();
-                if ((currentArray != null) && (currentArray.length > 0)) {
-                    o[i++] = currentArray;
-                    resultSize = resultSize + currentArray.length;
-                }
-            }
+        return this.targets.get(this.cache, this.version);
+    }
 
-            result = new IObservation[resultSize];
-            if (resultSize == 0) {
-                return result;
-            }
+    public ILens[] getLenses() {
 
-            int j = 0;
-            for (IObservation[] iObservations : o) {
-                currentArray = iObservations;
-                for (IObservation iObservation : currentArray) {
-                    result[j++] = iObservation;
-                }
-            }
+        return this.lenses.get(this.cache, this.version);
+    }
+
+    public int indexOf(ISchemaElement element) {
+
+        if (element instanceof IObservation) {
+            return this.observations.indexOf((IObservation) element, this.cache, this.version);
+        } else if (element instanceof ITarget) {
+            return this.targets.indexOf((ITarget) element, this.cache, this.version);
+        } else if (element instanceof IScope) {
+            return this.scopes.indexOf((IScope) element, this.cache, this.version);
+        } else if (element instanceof IImager) {
+            return this.imagers.indexOf((IImager) element, this.cache, this.version);
+        } else if (element instanceof IEyepiece) {
+            return this.eyepieces.indexOf((IEyepiece) element, this.cache, this.version);
+        } else if (element instanceof ILens) {
+            return this.lenses.indexOf((ILens) element, this.cache, this.version);
+        } else if (element instanceof IFilter) {
+            return this.filters.indexOf((IFilter) element, this.cache, this.version);
+        } else if (element instanceof ISite) {
+            return this.sites.indexOf((ISite) element, this.cache, this.version);
+        } else if (element instanceof ISession) {
+            return this.sessions.indexOf((ISession) element, this.cache, this.version);
+        } else if (element instanceof IObserver) {
+            return this.observers.indexOf((IObserver) element, this.cache, this.version);
         }
 
-        Arrays.sort(result, new ObservationComparator());
+        return -1;
+    }
+
+    public synchronized ModelSnapshot getSnapshot() {
+
+        ModelSnapshot result = this.modelSnapshot;
+        if ((result == null) || (result.getVersion() != this.version)) {
+            result = new ModelSnapshot(
+                    this.version,
+                    this.getObservers(),
+                    this.getEyepieces(),
+                    this.getImagers(),
+                    this.getFilters(),
+                    this.getObservations(),
+                    this.getScopes(),
+                    this.getSessions(),
+                    this.getSites(),
+                    this.getTargets(),
+                    this.getLenses());
+            this.modelSnapshot = result;
+        }
 
         return result;
     }
 
-    public IObservation[] getObservations(ISchemaElement element) {
+    public void setLoadEngine(SchemaLoader.Engine engine) {
 
-        if (element == null) { // No element given
-            return null;
-        } else if (element instanceof IObservation) { // Return all observations
-            return this.getObservations();
-        }
+        this.loader.setEngine(engine);
+    }
 
-        IObservation[] result = null;
-        if (this.cache.size() == 1) { // Only one file open
-            List<ISchemaElement> list = this.cache.get(0).getReferedElements(element);
-            if (list == null) {
-                return null;
-            }
-            result = (IObservation[]) (list.toArray(new IObservation[] {}));
-        } else { // Several files open
-            ListIterator<CacheEntry> iterator = this.cache.listIterator();
-            CacheEntry current = null;
-            IObservation[] currentArray = null;
-            IObservation[][] o = new IObservation[this.cache.size()][];
-            int i = 0;
-            int resultSize = 0;
-            while (iterator.hasNext()) {
-                current = iterator.next();
-                List<ISchemaElement> list = current.getReferedElements(element);
-                if (list == null) {
-                    return null;
-                }
-                currentArray = (IObservation[]) list.toArray(new IObservation[] {});
-                if (currentArray.length > 0) {
-                    o[i++] = currentArray;
-                    resultSize = resultSize + currentArray.length;
-                }
-            }
+    public void setParallelLoad(boolean parallel) {
 
-            result = new IObservation[resultSize];
-            if (resultSize == 0) {
-                return result;
-            }
+        this.loader.setParallel(parallel);
+    }
 
-            int j = 0;
-            for (IObservation[] iObservations : o) {
-                currentArray = iObservations;
-                for (IObservation iObservation : currentArray) {
-                    result[j++] = iObservation;
-                }
-            }
+    /**
+     * Enables binary snapshots of the loaded/saved XML files (see {@link DocumentSnapshot}). A file with an up to date
+     * snapshot is loaded from the snapshot, without parsing and validating the XML again. The snapshot is recorded
+     * while a file is written or read and written in the background. Disabled by default.
+     */
+    public void setSnapshots(boolean snapshots) {
+
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Enables the edit journal (see {@link EditJournal}). The journal of a file is opened on load or after the file
+     * was written. Disabling the journal discards changes that were not saved so far from the journal.
+     */
+    public synchronized void setJournal(boolean journal) {
+
+        this.journaling = journal;
+        if (!journal) {
+            this.closeJournals();
         }
+    }
 
-        // Sort observations
-        Arrays.sort(result, new ObservationComparator());
+    public synchronized boolean compact() {
+
+        boolean result = true;
+        for (CacheEntry entry : this.cache) {
+            result &= this.compact(entry);
+        }
 
         return result;
     }
 
-    public IObservation[] getCoObserverObservations(IObserver observer) {
+    private boolean compact(CacheEntry entry) {
 
-        if (observer == null) { // No element given
-            return null;
+        EditJournal journal = entry.getJournal();
+        if (journal == null) {
+            return true;
         }
 
-        IObservation[] result = null;
-        if (this.cache.size() == 1) { // Only one file open
-            List<ISchemaElement> list = this.cache.get(0).getReferencedObservationsForCoObserver(observer);
-            if (list == null) {
-                return null;
-            }
-            result = (IObservation[]) (list.toArray(new IObservation[] {}));
-        } else { // Several files open
-            ListIterator<CacheEntry> iterator = this.cache.listIterator();
-            CacheEntry current = null;
-            IObservation[] currentArray = null;
-            IObservation[][] o = new IObservation[this.cache.size()][];
-            int i = 0;
-            int resultSize = 0;
-            while (iterator.hasNext()) {
-                current = iterator.next();
-                List<ISchemaElement> list = current.getReferencedObservationsForCoObserver(observer);
-                if (list == null) {
-                    return null;
-                }
-                currentArray = (IObservation[]) (list.toArray(new IObservation[] {}));
-                if (currentArray.length > 0) {
-                    o[i++] = currentArray;
-                    resultSize = resultSize + currentArray.length;
-                }
-            }
+        boolean result = true;
+        try {
+            boolean unsaved = journal.hasUncommittedRecords();
+            journal.rollback();
+            if (journal.hasRecords()) {
+                // Saved changes which are not part of the XML file yet. If the cache holds unsaved changes as
+                // well, it cannot be written.
+                result = unsaved
+                        ? this.writeSavedChanges(entry)
+                        : this.writeFile(entry, journal.getXmlFile().getPath());
+            }
+        } catch (IOException ioe) {
+            LOGGER.error("Unable to discard unsaved changes of {}", journal.getXmlFile(), ioe);
+            result = false;
+        }
 
-            result = new IObservation[resultSize];
-            if (resultSize == 0) {
-                return result;
-            }
+        this.closeJournal(entry);
+        return result;
+    }
 
-            int j = 0;
-            for (IObservation[] iObservations : o) {
-                currentArray = iObservations;
-                for (IObservation iObservation : currentArray) {
-                    result[j++] = iObservation;
-                }
-            }
-        }
+    // Loads the XML file with the saved changes of its journal again, and writes them into the XML file
+    private boolean writeSavedChanges(CacheEntry entry) {
 
-        // Sort observations
-        Arrays.sort(result, new ObservationComparator());
+        String xmlPath = entry.getJournal().getXmlFile().getPath();
+        this.closeJournal(entry);
+
+        CacheEntry saved = this.loadFile(xmlPath, false, this.newFileLoader());
+        if (saved == null) {
+            return false;
+        }
 
+        boolean result = this.writeFile(saved, xmlPath);
+        this.closeJournal(saved);
         return result;
     }
 
-    public IScope[] getScopes() {
+    public boolean loadObservations(String xmlPath, boolean fixErrors) {
 
-        IScope[] result = null;
-        if (this.cache.size() == 1) { // Only one file open
-            result = this.cache.get(0).getScopes();
+        return this.loadObservations(List.of(xmlPath), fixErrors);
+    }
+
+    public synchronized boolean loadObservations(List<String> xmlPaths, boolean fixErrors) {
+
+        this.closeJournals();
+
+        List<CacheEntry> entries = new ArrayList<>(xmlPaths.size());
+        if (xmlPaths.size() == 1) {
+            entries.add(this.loadFile(xmlPaths.get(0), fixErrors, this.loader));
         } else {
-            ListIterator<CacheEntry> iterator = this.cache.listIterator();
-            CacheEntry current = null;
-            IScope[] currentArray = null;
-            IScope[][] o = new IScope[this.cache.size()][];
-            int i = 0;
-            int resultSize = 0;
-            while (iterator.hasNext()) {
-                current = iterator.next();
-                currentArray = current.getScopes();
-                if ((currentArray != null) && (currentArray.length > 0)) {
-                    o[i++] = currentArray;
-                    resultSize = resultSize + currentArray.length;
-                }
-            }
+            entries.addAll(this.loadFiles(xmlPaths, fixErrors));
+        }
 
-            result = new IScope[resultSize];
-            if (resultSize == 0) {
-                return result;
-            }
+        List<CacheEntry> loaded = entries.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        if (loaded.isEmpty()) {
+            return false;
+        }
 
-            int j = 0;
-            for (IScope[] iScopes : o) {
-                currentArray = iScopes;
-                for (IScope iScope : currentArray) {
-                    result[j++] = iScope;
-                }
+        // Delete all old stuff
+        this.cache.clear();
+
+        this.cache.addAll(loaded);
+        this.version++;
+
+        return loaded.size() == xmlPaths.size();
+    }
+
+    // Loads the files concurrently. Each file gets its own schema loader, as a
+    // loader keeps the elements of the file it loaded last. The entries are
+    // returned in the order of the paths, null for files that could not be loaded.
+    private List<CacheEntry> loadFiles(List<String> xmlPaths, boolean fixErrors) {
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(xmlPaths.size(), MAX_LOAD_THREADS));
+        List<Future<CacheEntry>> tasks = new ArrayList<>(xmlPaths.size());
+        for (String xmlPath : xmlPaths) {
+            SchemaLoader fileLoader = this.newFileLoader();
+            tasks.add(executor.submit(() -> this.loadFile(xmlPath, fixErrors, fileLoader)));
+        }
+        executor.shutdown();
+
+        List<CacheEntry> entries = new ArrayList<>(xmlPaths.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                entries.add(tasks.get(i).get());
+            } catch (ExecutionException ee) {
+                LOGGER.error("Cannot load: {} ", xmlPaths.get(i), ee.getCause());
+                entries.add(null);
+            } catch (InterruptedException ie) {
+                LOGGER.warn("Interrupted while loading: {} ", xmlPaths.get(i));
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                break;
             }
         }
 
-        Arrays.sort(result, new ScopeComparator());
+        return entries;
+    }
+
+    private SchemaLoader newFileLoader() {
 
-        return result;
+        SchemaLoader fileLoader = new SchemaLoader();
+        fileLoader.setEngine(this.loader.getEngine());
+        fileLoader.setParallel(this.loader.isParallel());
+        fileLoader.setInternPool(this.internPool);
+        return fileLoader;
     }
 
-    public ISession[] getSessions() {
+    // Returns null if the file cannot be loaded
+    private CacheEntry loadFile(String xmlPath, boolean fixErrors, SchemaLoader loader) {
 
-        ISession[] result = null;
-        if (this.cache.size() == 1) { // Only one file open
-            result = this.cache.get(0).getSessions();
-        } else {
-            ListIterator<CacheEntry> iterator = this.cache.listIterator();
-            CacheEntry current = null;
-            ISession[] currentArray = null;
-            ISession[][] o = new ISession[this.cache.size()][];
-            int i = 0;
-            int resultSize = 0;
-            while (iterator.hasNext()) {
-                current = iterator.next();
-                currentArray = current.getSessions();
-                if ((currentArray != null) && (currentArray.length > 0)) {
-                    o[i++] = currentArray;
-                    resultSize = resultSize + currentArray.length;
+        File xmlFile = new File(xmlPath);
+        EditJournal edits = this.journaling ? this.openJournal(xmlFile) : null;
+        try {
+            if ((edits != null) && edits.hasRecords()) {
+                Document document = this.snapshots ? DocumentSnapshot.readDocument(xmlFile) : null;
+                if (document == null) {
+                    document = this.parse(xmlFile);
                 }
+                int count = edits.replay(document);
+                LOGGER.info("Replayed {} changes from journal of {}", count, xmlPath);
+                loader.load(document, fixErrors);
+            } else if (!this.loadSnapshot(xmlFile, fixErrors, loader)) {
+                // The snapshot is recorded from the parsed file, so it matches the XML file
+                DocumentSnapshot.Encoder snapshot = this.snapshots ? new DocumentSnapshot.Encoder() : null;
+                loader.load(xmlFile, this.schemaPath, fixErrors, snapshot);
+                this.finishSnapshot(snapshot, xmlFile);
             }
 
-            result = new ISession[resultSize];
-            if (resultSize == 0) {
-                return result;
-            }
+            IObservation[] obs = loader.getObservations();
+            IEyepiece[] eye = loader.getEyepieces();
+            IFilter[] fil = loader.getFilters();
+            IImager[] imager = loader.getImagers();
+            IObserver[] observers = loader.getObservers();
+            IScope[] scopes = loader.getScopes();
+            ISession[] sessions = loader.getSessions();
+            ISite[] sites = loader.getSites();
+            ITarget[] targets = loader.getTargets();
+            ILens[] lenses = loader.getLenses();
+
+            CacheEntry entry =
+                    new CacheEntry(xmlPath, obs, eye, fil, imager, observers, scopes, sessions, sites, targets, lenses);
+            entry.setJournal(edits);
 
-            int j = 0;
-            for (ISession[] iSessions : o) {
-                currentArray = iSessions;
-                for (ISession iSession : currentArray) {
-                    result[j++] = iSession;
+            return entry;
+
+        } catch (OALException oal) {
+            LOGGER.error("Cannot load: {} ", xmlPath, oal);
+            if (edits != null) {
+                try {
+                    edits.close();
+                } catch (IOException ioe) {
+                    LOGGER.debug("Unable to close journal of {}", xmlPath, ioe);
                 }
             }
+            return null;
         }
+    }
 
-        Arrays.sort(result, new SessionComparator());
+    // Returns false if there is no up to date snapshot or it cannot be loaded
+    private boolean loadSnapshot(File xmlFile, boolean fixErrors, SchemaLoader loader) {
 
-        return result;
+        XMLStreamReader snapshot = this.snapshots ? DocumentSnapshot.read(xmlFile) : null;
+        if (snapshot == null) {
+            return false;
+        }
+
+        try {
+            loader.load(snapshot, fixErrors);
+            LOGGER.info("Loaded {} from snapshot", xmlFile);
+            return true;
+        } catch (OALException | RuntimeException e) {
+            // Corrupt snapshot, the XML file is loaded instead
+            LOGGER.warn("Unable to load snapshot of {}. Loading XML file instead. ", xmlFile, e);
+            return false;
+        }
     }
 
-    public ISite[] getSites() {
+    // Writes the snapshot recorded while the file was loaded
+    private void finishSnapshot(DocumentSnapshot.Encoder snapshot, File xmlFile) {
 
-        ISite[] result = null;
-        if (this.cache.size() == 1) { // Only one file open
-            result = this.cache.get(0).getSites();
-        } else {
-            ListIterator<CacheEntry> iterator = this.cache.listIterator();
-            CacheEntry current = null;
-            ISite[] currentArray = null;
-            ISite[][] o = new ISite[this.cache.size()][];
-            int i = 0;
-            int resultSize = 0;
-            while (iterator.hasNext()) {
-                current = iterator.next();
-                currentArray = current.getSites();
-                if ((currentArray != null) && (currentArray.length > 0)) {
-                    o[i++] = currentArray;
-                    resultSize = resultSize + currentArray.length;
-                }
-            }
+        if (snapshot == null) {
+            return;
+        }
 
-            result = new ISite[resultSize];
-            if (resultSize == 0) {
-                return result;
-            }
+        try {
+            snapshot.finish(xmlFile);
+            this.writeSnapshot(snapshot);
+        } catch (IOException ioe) {
+            // Not critical, file will be loaded from XML next time
+            LOGGER.warn("Unable to record snapshot of {}", xmlFile, ioe);
+        }
+    }
 
-            int j = 0;
-            for (ISite[] iSites : o) {
-                currentArray = iSites;
-                for (ISite iSite : currentArray) {
-                    result[j++] = iSite;
-                }
-            }
+    // Writes the recorded snapshot in the background
+    private void writeSnapshot(DocumentSnapshot.Encoder snapshot) {
+
+        if (snapshot == null) {
+            return;
         }
 
-        Arrays.sort(result, new SiteComparator());
+        SNAPSHOT_WRITER.execute(() -> {
+            try {
+                snapshot.write();
+            } catch (IOException ioe) {
+                // Not critical, file will be loaded from XML next time
+                LOGGER.warn("Unable to write snapshot", ioe);
+            }
+        });
+    }
 
-        return result;
+    // Waits until the snapshots handed to the writer so far are written
+    static void awaitSnapshots() throws InterruptedException, ExecutionException {
+
+        SNAPSHOT_WRITER.submit(() -> {}).get();
     }
 
-    public ITarget[] getTargets() {
+    private Document parse(File xmlFile) throws SchemaException {
 
-        ITarget[] result = null;
-        if (this.cache.size() == 1) { // Only one file open
-            result = this.cache.get(0).getTargets();
-        } else {
-            ListIterator<CacheEntry> iterator = this.cache.listIterator();
-            CacheEntry current = null;
-            ITarget[] currentArray = null;
-            ITarget[][] o = new ITarget[this.cache.size()][];
-            int i = 0;
-            int resultSize = 0;
-            while (iterator.hasNext()) {
-                current = iterator.next();
-                currentArray = current.getTargets();
-                if ((currentArray != null) && (currentArray.length > 0)) {
-                    o[i++] = currentArray;
-                    resultSize = resultSize + currentArray.length;
-                }
-            }
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            return factory.newDocumentBuilder().parse(xmlFile);
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            throw new SchemaException("Unable to parse " + xmlFile, e);
+        }
+    }
 
-            result = new ITarget[resultSize];
-            if (resultSize == 0) {
-                return result;
-            }
+    // -------
+    // Journal -----------------------------------------------------------
+    // -------
 
-            int j = 0;
-            for (ITarget[] iTargets : o) {
-                currentArray = iTargets;
-                for (ITarget iTarget : currentArray) {
-                    result[j++] = iTarget;
-                }
-            }
+    private EditJournal openJournal(File xmlFile) {
+
+        try {
+            return EditJournal.open(xmlFile);
+        } catch (IOException ioe) {
+            LOGGER.warn("Unable to open journal of {}. Changes are saved by writing the whole file. ", xmlFile, ioe);
+            return null;
         }
+    }
 
-        Arrays.sort(result, new TargetComparator());
+    private void closeJournals() {
 
-        return result;
+        for (CacheEntry entry : this.cache) {
+            this.closeJournal(entry);
+        }
     }
 
-    public ILens[] getLenses() {
+    // Closes the journal, unsaved changes are discarded from it
+    private void closeJournal(CacheEntry entry) {
 
-        ILens[] result = null;
-        if (this.cache.size() == 1) { // Only one file open
-            result = this.cache.get(0).getLenses();
-        } else {
-            ListIterator<CacheEntry> iterator = this.cache.listIterator();
-            CacheEntry current = null;
-            ILens[] currentArray = null;
-            ILens[][] o = new ILens[this.cache.size()][];
-            int i = 0;
-            int resultSize = 0;
-            while (iterator.hasNext()) {
-                current = iterator.next();
-                currentArray = current.getLenses();
-                if ((currentArray != null) && (currentArray.length > 0)) {
-                    o[i++] = currentArray;
-                    resultSize = resultSize + currentArray.length;
-                }
-            }
+        EditJournal journal = entry.getJournal();
+        if (journal == null) {
+            return;
+        }
 
-            result = new ILens[resultSize];
-            if (resultSize == 0) {
-                return result;
-            }
+        try {
+            journal.rollback();
+            journal.close();
+        } catch (IOException ioe) {
+            LOGGER.warn("Unable to close journal of {}", journal.getXmlFile(), ioe);
+        }
+        entry.setJournal(null);
+    }
 
-            int j = 0;
-            for (ILens[] lens : o) {
-                currentArray = lens;
-                for (ILens iLens : currentArray) {
-                    result[j++] = iLens;
-                }
+    // Marks the journaled changes as saved, if the journal belongs to the file
+    private void commitJournal(CacheEntry entry, File xmlFile) {
+
+        EditJournal journal = entry.getJournal();
+        if ((journal == null) || !journal.getXmlFile().getAbsoluteFile().equals(xmlFile.getAbsoluteFile())) {
+            return;
+        }
+
+        try {
+            journal.commit();
+        } catch (IOException ioe) {
+            this.dropJournal(entry, ioe);
+        }
+    }
+
+    // Starts an empty journal for the just written file
+    private void resetJournal(CacheEntry entry, File xmlFile) {
+
+        if (!this.journaling) {
+            return;
+        }
+
+        try {
+            EditJournal journal = entry.getJournal();
+            if ((journal != null) && journal.getXmlFile().getAbsoluteFile().equals(xmlFile.getAbsoluteFile())) {
+                journal.reset();
+                return;
             }
+            this.closeJournal(entry);
+            EditJournal.delete(xmlFile);
+            entry.setJournal(EditJournal.open(xmlFile));
+        } catch (IOException ioe) {
+            this.dropJournal(entry, ioe);
         }
+    }
 
-        Arrays.sort(result, new LensComparator());
+    private void journalPut(CacheEntry entry, ISchemaElement element) {
 
-        return result;
+        if (entry.getJournal() == null) {
+            return;
+        }
+
+        try {
+            entry.getJournal().put(element);
+        } catch (IOException ioe) {
+            this.dropJournal(entry, ioe);
+        }
     }
 
-    public boolean loadObservations(String xmlPath, boolean fixErrors) {
+    private void journalPutAll(CacheEntry entry, List<ISchemaElement> elements) {
+
+        if (entry.getJournal() == null) {
+            return;
+        }
 
         try {
-            loader.load(new File(xmlPath), this.schemaPath, fixErrors);
+            entry.getJournal().putAll(elements);
+        } catch (IOException ioe) {
+            this.dropJournal(entry, ioe);
+        }
+    }
 
-            IObservation[] obs = loader.getObservations();
-            IEyepiece[] eye = loader.getEyepieces();
-            IFilter[] fil = loader.getFilters();
-            IImager[] imager = loader.getImagers();
-            IObserver[] observers = loader.getObservers();
-            IScope[] scopes = loader.getScopes();
-            ISession[] sessions = loader.getSessions();
-            ISite[] sites = loader.getSites();
-            ITarget[] targets = loader.getTargets();
-            ILens[] lenses = loader.getLenses();
+    private void journalRemove(CacheEntry entry, ISchemaElement element) {
 
-            // Delete all old stuff
-            this.cache.clear();
+        if (entry.getJournal() == null) {
+            return;
+        }
 
-            this.cache.add(new CacheEntry(
-                    xmlPath, obs, eye, fil, imager, observers, scopes, sessions, sites, targets, lenses));
+        try {
+            entry.getJournal().remove(element);
+        } catch (IOException ioe) {
+            this.dropJournal(entry, ioe);
+        }
+    }
 
-        } catch (OALException oal) {
-            LOGGER.error("Cannot load: {} ", xmlPath, oal);
-            return false;
+    private void journalDependent(CacheEntry entry, IObservation observation) {
+
+        ISchemaElement[] dependent = {
+            observation.getObserver(),
+            observation.getEyepiece(),
+            observation.getImager(),
+            observation.getFilter(),
+            observation.getScope(),
+            observation.getSite(),
+            observation.getTarget(),
+            observation.getLens()
+        };
+        for (ISchemaElement element : dependent) {
+            if (element != null) {
+                this.journalPut(entry, element);
+            }
         }
 
-        return true;
+        if (observation.getSession() != null) {
+            this.journalPut(entry, observation.getSession());
+            this.journalDependent(entry, observation.getSession());
+        }
     }
 
-    private RootElement getRootElement() {
+    private void journalDependent(CacheEntry entry, ISession session) {
 
-        RootElement root = new RootElement();
+        if (session.getCoObservers() != null) {
+            for (IObserver coObserver : session.getCoObservers()) {
+                this.journalPut(entry, coObserver);
+            }
+        }
+        if (session.getSite() != null) {
+            this.journalPut(entry, session.getSite());
+        }
+    }
 
-        // @todo This only works for ONE file opened...
-        if (this.cache.isEmpty()) {
+    // The journal cannot be written, so the next save has to write the whole file. The journal file is kept, as it
+    // might hold saved changes which are not part of the XML file so far.
+    private void dropJournal(CacheEntry entry, IOException ioe) {
+
+        LOGGER.warn(
+                "Unable to write journal of {}. Changes are saved by writing the whole file. ",
+                entry.getJournal().getXmlFile(),
+                ioe);
+        this.closeJournal(entry);
+    }
+
+    // Root element of all elements of the given cache entries
+    private RootElement getRootElement(List<CacheEntry> entries) {
+
+        if (entries.isEmpty()) {
             // Nothing to save
             return null;
         }
 
-        CacheEntry entry = (CacheEntry) this.cache.listIterator().next();
+        RootElement root = new RootElement();
+        for (CacheEntry entry : entries) {
+            this.addToRoot(entry, root);
+        }
+
+        return root;
+    }
+
+    private void addToRoot(CacheEntry entry, RootElement root) {
 
         try {
             IScope[] sa = entry.getScopes();
@@ -1024,8 +1257,94 @@ public class XMLFileLoaderImpl implements XMLFileLoader {
         } catch (SchemaException se) {
             LOGGER.error("Unable to add elements", se);
         }
+    }
 
-        return root;
+    // Adds the elements of the other files the elements of the given entry refer
+    // to (e.g. the observer of a new observation, which is added to the first
+    // file), so the file has no dangling references and loads on its own
+    private void addReferencedToRoot(CacheEntry entry, RootElement root) {
+
+        if (this.cache.size() < 2) { // All references are within the file
+            return;
+        }
+
+        ITarget[] targets = this.getTargets();
+        Set<ISchemaElement> added = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<ISchemaElement> pending = new ArrayDeque<>();
+        pending.addAll(Arrays.asList(entry.getObservations()));
+        pending.addAll(Arrays.asList(entry.getSessions()));
+        pending.addAll(Arrays.asList(entry.getTargets()));
+        while (!pending.isEmpty()) {
+            for (ISchemaElement referenced : getReferences(pending.poll(), targets)) {
+                if ((referenced != null) && !entry.contains(referenced) && added.add(referenced)) {
+                    this.addToRoot(referenced, root);
+                    pending.add(referenced); // Its references must be saved as well
+                }
+            }
+        }
+
+        if (!added.isEmpty()) {
+            LOGGER.info("Saving {} elements of other files with {}", added.size(), entry.getXmlPath());
+        }
+    }
+
+    // Returns the elements the given element refers to by ID, might contain null
+    private static List<? extends ISchemaElement> getReferences(ISchemaElement element, ITarget[] targets) {
+
+        if (element instanceof IObservation) {
+            IObservation observation = (IObservation) element;
+            return Arrays.asList(
+                    observation.getObserver(),
+                    observation.getSite(),
+                    observation.getSession(),
+                    observation.getTarget(),
+                    observation.getScope(),
+                    observation.getEyepiece(),
+                    observation.getFilter(),
+                    observation.getImager(),
+                    observation.getLens());
+        } else if (element instanceof ISession) {
+            ISession session = (ISession) element;
+            List<ISchemaElement> references = new ArrayList<>(session.getCoObservers());
+            references.add(session.getSite());
+            return references;
+        } else if (element instanceof ITarget) {
+            List<ISchemaElement> references = new ArrayList<>();
+            references.add(((ITarget) element).getObserver());
+            if (element instanceof ITargetContaining) {
+                references.addAll(((ITargetContaining) element).getComponentTargets(targets));
+            }
+            return references;
+        }
+
+        return List.of();
+    }
+
+    private void addToRoot(ISchemaElement element, RootElement root) {
+
+        try {
+            if (element instanceof IObserver) {
+                root.addObserver((IObserver) element);
+            } else if (element instanceof IEyepiece) {
+                root.addEyepiece((IEyepiece) element);
+            } else if (element instanceof IImager) {
+                root.addImager((IImager) element);
+            } else if (element instanceof IFilter) {
+                root.addFilter((IFilter) element);
+            } else if (element instanceof IScope) {
+                root.addScope((IScope) element);
+            } else if (element instanceof ISite) {
+                root.addSite((ISite) element);
+            } else if (element instanceof ISession) {
+                root.addSession((ISession) element);
+            } else if (element instanceof ITarget) {
+                root.addTarget((ITarget) element);
+            } else if (element instanceof ILens) {
+                root.addLens((ILens) element);
+            }
+        } catch (SchemaException se) {
+            LOGGER.error("Unable to add element", se);
+        }
     }
 
     private void addObservationsAndDependentToRoot(List<IObservation> observations, RootElement root) {
@@ -0,0 +1,269 @@
+package de.lehmannet.om.ui.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import de.lehmannet.om.ITarget;
+import de.lehmannet.om.ui.extension.IExtension;
+import de.lehmannet.om.ui.navigation.ObservationManager;
+import de.lehmannet.om.ui.navigation.observation.utils.InstallDir;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CatalogLoaderTest {
+
+    @TempDir
+    Path installPath;
+
+    private ObservationManager observationManager;
+
+    @BeforeEach
+    void setUp() {
+        InstallDir installDir = mock(InstallDir.class);
+        when(installDir.getPathForFolder("catalog"))
+                .thenReturn(this.installPath.resolve("catalog").toString());
+        this.observationManager = mock(ObservationManager.class);
+        when(this.observationManager.getInstallDir()).thenReturn(installDir);
+    }
+
+    @Test
+    void catalogsAreAvailableBeforeAllCatalogsAreLoaded() throws Exception {
+
+        ICatalog fast = this.catalog("Fast", "F");
+        ICatalog slow = this.catalog("Slow", "S");
+        CountDownLatch slowLoading = new CountDownLatch(1);
+
+        IExtension extension = this.extension("Test");
+        when(extension.getCatalogLoaders(catalogDir())).thenReturn(List.of(() -> fast, () -> {
+            try {
+                slowLoading.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return slow;
+        }));
+
+        CatalogLoader loader = new CatalogLoader(this.observationManager, List.of(extension));
+
+        assertSame(fast, loader.getCatalogAsync("Fast").get(5, TimeUnit.SECONDS));
+        assertSame(fast, loader.getCatalog("Fast"));
+        CompletableFuture<ICatalog> slowFuture = loader.getCatalogAsync("Slow");
+        CompletableFuture<ICatalog> byAbbreviation = loader.getCatalogAsync("S");
+        assertFalse(slowFuture.isDone());
+        assertFalse(loader.whenLoaded().isDone());
+
+        slowLoading.countDown();
+
+        assertSame(slow, slowFuture.get(5, TimeUnit.SECONDS));
+        assertSame(slow, byAbbreviation.get(5, TimeUnit.SECONDS));
+        loader.whenLoaded().get(5, TimeUnit.SECONDS);
+        String[] names = loader.getCatalogNames();
+        Arrays.sort(names);
+        assertArrayEquals(new String[] {"Fast", "Slow"}, names);
+    }
+
+    @Test
+    void extensionsWithoutCatalogLoadersAreLoadedTogether() throws Exception {
+
+        ICatalog first = this.catalog("First", "1");
+        ICatalog second = this.catalog("Second", "2");
+        IExtension extension = this.extension("Test");
+        when(extension.getCatalogLoaders(catalogDir())).thenReturn(null);
+        when(extension.getCatalogs(catalogDir())).thenReturn(new ICatalog[] {first, second});
+        IExtension withoutCatalogs = this.extension("Empty");
+
+        CatalogLoader loader = new CatalogLoader(this.observationManager, List.of(extension, withoutCatalogs));
+
+        assertSame(first, loader.getCatalog("First"));
+        assertSame(second, loader.getCatalog("2"));
+        assertNull(loader.getCatalog("Unknown"));
+        assertNull(loader.getCatalogAsync("Unknown").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failingCatalogsDoNotBlockOthers() throws Exception {
+
+        ICatalog catalog = this.catalog("Working", "W");
+        IExtension extension = this.extension("Test");
+        when(extension.getCatalogLoaders(catalogDir()))
+                .thenReturn(List.of(
+                        () -> {
+                            throw new IllegalStateException("Broken catalog");
+                        },
+                        () -> catalog));
+
+        CatalogLoader loader = new CatalogLoader(this.observationManager, List.of(extension));
+
+        loader.whenLoaded().get(5, TimeUnit.SECONDS);
+        assertTrue(loader.whenLoaded().isDone());
+        assertArrayEquals(new String[] {"Working"}, loader.getCatalogNames());
+    }
+
+    @Test
+    void targetsAreFoundByNormalizedNamesAndAliasNames() throws Exception {
+
+        ITarget andromeda = mock(ITarget.class);
+        ITarget m31 = mock(ITarget.class);
+        IListableCatalog ngc = this.listableCatalog(
+                "NGC", Map.of("NGC224", andromeda), Map.of("NGC224", new String[] {"PGC 2557", "UGC 454", "M 31"}));
+        IListableCatalog messier =
+                this.listableCatalog("Messier", Map.of("M31", m31), Map.of("M31", new String[] {"NGC224"}));
+        IExtension extension = this.extension("Test");
+        when(extension.getCatalogLoaders(this.catalogDir())).thenReturn(List.of(() -> ngc, () -> messier));
+
+        CatalogLoader loader = new CatalogLoader(this.observationManager, List.of(extension));
+
+        assertSame(andromeda, loader.findTarget("NGC 224"));
+        assertSame(andromeda, loader.findTarget("pgc2557"));
+        assertSame(andromeda, loader.findTarget(" UGC  454 "));
+        // Target names come before alias names
+        assertSame(m31, loader.findTarget("M31"));
+        assertNull(loader.findTarget("NGC 225"));
+        assertNull(loader.findTarget(null));
+
+        CatalogNameIndex index = loader.getNameIndex().get(5, TimeUnit.SECONDS);
+        assertEquals(2, index.getEntries("m 31").size());
+        assertTrue(index.getEntries("M31").get(1).isAlias());
+        assertEquals("NGC224", index.getEntries("M31").get(1).getObjectName());
+
+        assertTrue(loader.isFromCatalog("NGC224"));
+        assertFalse(loader.isFromCatalog("NGC 224"));
+        assertFalse(loader.isFromCatalog("PGC 2557"));
+        // Listable catalogs are not scanned for alias names
+        verify(ngc, never()).getTargets();
+        verify(ngc, never()).getTarget("NGC225");
+    }
+
+    @Test
+    void targetsOfListableCatalogsAreFromCatalog() throws Exception {
+
+        ITarget andromeda = mock(ITarget.class);
+        IListableCatalog ngc = this.listableCatalog("NGC", Map.of("NGC224", andromeda), Map.of());
+        ICatalog variableStars = this.catalog("GCVS", "GCVS");
+        when(variableStars.getTargetNames()).thenReturn(new String[] {"R And"});
+        when(variableStars.getTarget("R And")).thenReturn(mock(ITarget.class));
+
+        // Indexing waits until the test releases it
+        CountDownLatch indexing = new CountDownLatch(1);
+        when(ngc.getCatalogIndex()).thenAnswer(invocation -> {
+            indexing.await(5, TimeUnit.SECONDS);
+            return new String[] {"NGC224"};
+        });
+        IExtension extension = this.extension("Test");
+        when(extension.getCatalogLoaders(this.catalogDir())).thenReturn(List.of(() -> ngc, () -> variableStars));
+
+        CatalogLoader loader = new CatalogLoader(this.observationManager, List.of(extension));
+        loader.whenLoaded().get(5, TimeUnit.SECONDS);
+
+        // The catalogs are asked until they are indexed
+        assertFalse(loader.getNameIndex().isDone());
+        assertTrue(loader.isFromCatalog("NGC224"));
+        assertFalse(loader.isFromCatalog("R And"));
+        verify(ngc).getTarget("NGC224");
+
+        indexing.countDown();
+        loader.getNameIndex().get(5, TimeUnit.SECONDS);
+        assertSame(andromeda, loader.findTarget("NGC 224"));
+        assertTrue(loader.isFromCatalog("NGC224"));
+        // Indexed, but not listable
+        assertNotNull(loader.findTarget("R And"));
+        assertFalse(loader.isFromCatalog("R And"));
+    }
+
+    @Test
+    void suggestionsAreRankedByPrefixSubstringAndMisspelling() throws Exception {
+
+        ITarget ngc224 = mock(ITarget.class);
+        ITarget ngc2240 = mock(ITarget.class);
+        IListableCatalog ngc = this.listableCatalog(
+                "NGC",
+                Map.of("NGC224", ngc224, "NGC2240", ngc2240),
+                Map.of("NGC224", new String[] {"PGC 2557", "UGC 454"}));
+        ICatalog gcvs = this.catalog("GCVS", "GCVS");
+        when(gcvs.getTargetNames()).thenReturn(new String[] {"R And", "RR Lyr"});
+        ITarget rAnd = mock(ITarget.class);
+        when(gcvs.getTarget("R And")).thenReturn(rAnd);
+        IExtension extension = this.extension("Test");
+        when(extension.getCatalogLoaders(this.catalogDir())).thenReturn(List.of(() -> ngc, () -> gcvs));
+
+        CatalogLoader loader = new CatalogLoader(this.observationManager, List.of(extension));
+        CatalogNameSuggestions suggestions = loader.getSuggestions().get(5, TimeUnit.SECONDS);
+
+        // Shorter names first
+        assertEquals(List.of("NGC224", "NGC2240"), this.objectNames(suggestions.suggest("ngc 22", 10)));
+        // Misspelled
+        assertEquals("NGC224", suggestions.suggest("NCG224", 10).get(0).getObjectName());
+        // Contained in an alias name
+        CatalogNameIndex.Entry pgc = suggestions.suggest("2557", 10).get(0);
+        assertEquals("PGC 2557", pgc.getName());
+        assertSame(ngc224, pgc.getTarget());
+        // Each target only once, though NGC 224 is found by three names
+        assertEquals(List.of("NGC224", "NGC2240"), this.objectNames(suggestions.suggest("GC", 10)));
+        assertEquals(List.of("NGC224"), this.objectNames(suggestions.suggest("GC", 1)));
+        // Catalogs which are not listable, but can list their target names
+        CatalogNameIndex.Entry star = suggestions.suggest("r and", 10).get(0);
+        assertSame(gcvs, star.getCatalog());
+        assertSame(rAnd, star.getTarget());
+        assertSame(rAnd, loader.findTarget("RAND"));
+        assertTrue(suggestions.suggest(" ", 10).isEmpty());
+        assertTrue(suggestions.suggest("M 31", 10).isEmpty());
+    }
+
+    private List<String> objectNames(List<CatalogNameIndex.Entry> entries) {
+
+        return entries.stream().map(CatalogNameIndex.Entry::getObjectName).collect(Collectors.toList());
+    }
+
+    private IListableCatalog listableCatalog(String name, Map<String, ITarget> targets, Map<String, String[]> aliases) {
+
+        IListableCatalog catalog = mock(IListableCatalog.class);
+        when(catalog.getName()).thenReturn(name);
+        when(catalog.getAbbreviation()).thenReturn(name);
+        when(catalog.getCatalogIndex()).thenReturn(targets.keySet().toArray(new String[] {}));
+        for (Map.Entry<String, ITarget> target : targets.entrySet()) {
+            when(catalog.getTarget(target.getKey())).thenReturn(target.getValue());
+            when(catalog.getAliasNames(target.getKey())).thenReturn(aliases.get(target.getKey()));
+        }
+        return catalog;
+    }
+
+    private File catalogDir() {
+
+        return this.installPath.resolve("catalog").toFile();
+    }
+
+    private IExtension extension(String name) {
+
+        IExtension extension = mock(IExtension.class);
+        when(extension.getName()).thenReturn(name);
+        when(extension.getVersion()).thenReturn("1.0.0");
+        return extension;
+    }
+
+    private ICatalog catalog(String name, String abbreviation) {
+
+        ICatalog catalog = mock(ICatalog.class);
+        when(catalog.getName()).thenReturn(name);
+        when(catalog.getAbbreviation()).thenReturn(abbreviation);
+        return catalog;
+    }
+}
@@ -0,0 +1,57 @@
+package de.lehmannet.om.ui.extension.deepSky;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import de.lehmannet.om.ITarget;
+import de.lehmannet.om.SchemaOalTypeInfo;
+import de.lehmannet.om.extension.deepSky.DeepSkyTargetGX;
+import de.lehmannet.om.util.ConfigLoader;
+import de.lehmannet.om.util.SchemaLoader;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+public class DeepSkyExtensionTest {
+
+    private static final String DOCUMENT = "<oal:observations"
+            + " xmlns:oal=\"http://groups.google.com/group/openastronomylog\""
+            + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" version=\"2.0\">"
+            + "<observers/><sites/><sessions/>"
+            + "<targets><target id=\"t1\" xsi:type=\"oal:deepSkyGX\">"
+            + "<datasource>Test</datasource><name>M 31</name></target></targets>"
+            + "<scopes/><eyepieces/><lenses/><filters/><imagers/>"
+            + "</oal:observations>";
+
+    @Test
+    public void extensionFactoriesTest() throws Exception {
+        final DeepSkyExtension extension = new DeepSkyExtension(null);
+        extension.getExtensionTypes().forEach(ConfigLoader::loadInternalExtension);
+
+        for (final SchemaOalTypeInfo type : extension.getExtensionTypes()) {
+            assertSame(
+                    type.getTargetFactory(),
+                    ConfigLoader.getTargetFactory(type.getTargetType()),
+                    "Target factory of " + type.getTargetType());
+            assertEquals(
+                    type.getFindingFactory() == null,
+                    ConfigLoader.getFindingFactory(type.getFindingType()) == null,
+                    "Finding factory of " + type.getFindingType());
+        }
+
+        // Targets of the extension are created by its factories when a document is loaded
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        final Document document =
+                factory.newDocumentBuilder().parse(new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8)));
+        final SchemaLoader loader = new SchemaLoader();
+        loader.load(document, false);
+        final ITarget[] targets = loader.getTargets();
+        assertEquals(1, targets.length, "Loaded targets");
+        assertInstanceOf(DeepSkyTargetGX.class, targets[0], "Created by the extension");
+        assertEquals("M 31", targets[0].getName(), "Name");
+    }
+}
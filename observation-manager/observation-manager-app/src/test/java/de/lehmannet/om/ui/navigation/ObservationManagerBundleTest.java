@@ -0,0 +1,61 @@
+package de.lehmannet.om.ui.navigation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class ObservationManagerBundleTest {
+
+    private static final String BUNDLE = "ObservationManager";
+
+    @Test
+    public void allKeysInAllLocalesTest() throws Exception {
+
+        // There is no base bundle to fall back to, so every locale needs every key
+        final Path english = Path.of(ObservationManagerBundleTest.class
+                .getResource("/" + BUNDLE + "_en.properties")
+                .toURI());
+        final Set<String> expected = loadKeys(english);
+
+        final List<Path> locales;
+        try (Stream<Path> files = Files.list(english.getParent())) {
+            locales = files.filter(file -> file.getFileName().toString().matches(BUNDLE + "_\\w+\\.properties"))
+                    .sorted()
+                    .toList();
+        }
+        assertTrue(locales.size() > 1, "Locales");
+
+        final List<String> differences = new ArrayList<>();
+        for (final Path locale : locales) {
+            final Set<String> keys = loadKeys(locale);
+            final Set<String> missing = new TreeSet<>(expected);
+            missing.removeAll(keys);
+            final Set<String> unknown = new TreeSet<>(keys);
+            unknown.removeAll(expected);
+            if (!missing.isEmpty() || !unknown.isEmpty()) {
+                differences.add(locale.getFileName() + " missing " + missing + " unknown " + unknown);
+            }
+        }
+        assertEquals(List.of(), differences, "Keys of the locales");
+    }
+
+    private static Set<String> loadKeys(Path file) throws IOException {
+
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return new TreeSet<>(properties.stringPropertyNames());
+    }
+}
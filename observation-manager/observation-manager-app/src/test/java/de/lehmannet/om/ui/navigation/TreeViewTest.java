@@ -0,0 +1,236 @@
+package de.lehmannet.om.ui.navigation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import de.lehmannet.om.Eyepiece;
+import de.lehmannet.om.GenericFinding;
+import de.lehmannet.om.GenericTarget;
+import de.lehmannet.om.IEyepiece;
+import de.lehmannet.om.IObservation;
+import de.lehmannet.om.IObserver;
+import de.lehmannet.om.ISchemaElement;
+import de.lehmannet.om.ITarget;
+import de.lehmannet.om.Observation;
+import de.lehmannet.om.Observer;
+import de.lehmannet.om.model.ObservationManagerModel;
+import de.lehmannet.om.model.ObservationManagerModelImpl;
+import de.lehmannet.om.ui.i18n.TextManager;
+import de.lehmannet.om.ui.image.ImageResolver;
+import de.lehmannet.om.ui.util.XMLFileLoaderImpl;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.JScrollPane;
+import javax.swing.JTree;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TreeViewTest {
+
+    private ObservationManagerModel model;
+
+    private TreeView view;
+
+    @BeforeEach
+    public void initTest() throws Exception {
+        final String emptyFile = this.getClass()
+                .getClassLoader()
+                .getResource("testfiles/empty.xml")
+                .getPath();
+        this.model = new ObservationManagerModelImpl(XMLFileLoaderImpl.newInstance(emptyFile), null, null);
+
+        final TextManager textManager = mock(TextManager.class);
+        when(textManager.getString(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // The model changes are applied on the event dispatch thread
+        final ObservationManager observationManager = mock(ObservationManager.class);
+        final ImageResolver imageResolver = mock(ImageResolver.class);
+        when(imageResolver.getImageURL(anyString()))
+                .thenAnswer(invocation ->
+                        Optional.of(Path.of("src/main/static-resources/images", invocation.<String>getArgument(0))
+                                .toUri()
+                                .toURL()));
+        SwingUtilities.invokeAndWait(
+                () -> this.view = new TreeView(observationManager, this.model, textManager, imageResolver, null));
+    }
+
+    @Test
+    public void elementAddedTest() throws Exception {
+        final IObserver observer = new Observer("Carl", "Sagan");
+        final IEyepiece wide = new Eyepiece("Wide", 25.0f);
+        final IEyepiece narrow = new Eyepiece("Narrow", 10.0f);
+        final IEyepiece medium = new Eyepiece("Medium", 18.0f);
+        final IEyepiece sameFocalLength = new Eyepiece("Other medium", 18.0f);
+        SwingUtilities.invokeAndWait(() -> {
+            this.model.add(observer);
+            this.model.add(wide);
+            this.model.add(narrow);
+            this.model.add(medium);
+            this.model.add(sameFocalLength);
+        });
+
+        assertEquals(Arrays.asList(this.model.getEyepieces()), elements(this.view.eyepiece), "Sorted eyepieces");
+        assertEquals(narrow, elements(this.view.eyepiece).get(0), "Shortest focal length first");
+        assertEquals("eyepieces (4)", this.view.eyepiece.getUserObject(), "Category name");
+
+        final ITarget target = new GenericTarget("M 31", observer);
+        final IObservation observation = newObservation(target, observer);
+        SwingUtilities.invokeAndWait(() -> {
+            this.model.add(target);
+            this.model.add(observation);
+        });
+
+        assertEquals(List.of(observation), elements(this.view.observation), "Observations");
+        assertEquals(List.of(observation), elements(node(this.view.target, target)), "Observations of target");
+        assertEquals(List.of(observation), elements(node(this.view.observer, observer)), "Observations of observer");
+    }
+
+    @Test
+    public void elementUpdatedTest() throws Exception {
+        final IEyepiece narrow = new Eyepiece("Narrow", 10.0f);
+        final IEyepiece medium = new Eyepiece("Medium", 18.0f);
+        final IEyepiece wide = new Eyepiece("Wide", 25.0f);
+        SwingUtilities.invokeAndWait(() -> {
+            this.model.add(narrow);
+            this.model.add(medium);
+            this.model.add(wide);
+        });
+        final DefaultMutableTreeNode node = node(this.view.eyepiece, narrow);
+
+        narrow.setFocalLength(30.0f);
+        SwingUtilities.invokeAndWait(() -> this.model.update(narrow));
+
+        assertEquals(List.of(medium, wide, narrow), elements(this.view.eyepiece), "Moved to new position");
+        assertSame(node, node(this.view.eyepiece, narrow), "Node moved, not rebuilt");
+
+        final IObserver observer = new Observer("Carl", "Sagan");
+        final ITarget target = new GenericTarget("M 31", observer);
+        final ITarget otherTarget = new GenericTarget("M 33", observer);
+        final IObservation observation = newObservation(target, observer);
+        SwingUtilities.invokeAndWait(() -> {
+            this.model.add(observer);
+            this.model.add(target);
+            this.model.add(otherTarget);
+            this.model.add(observation);
+        });
+
+        observation.setTarget(otherTarget);
+        SwingUtilities.invokeAndWait(() -> this.model.update(observation));
+
+        assertEquals(List.of(), elements(node(this.view.target, target)), "Observations of old target");
+        assertEquals(List.of(observation), elements(node(this.view.target, otherTarget)), "Observations of target");
+    }
+
+    @Test
+    public void elementRemovedTest() throws Exception {
+        final IObserver observer = new Observer("Carl", "Sagan");
+        final ITarget target = new GenericTarget("M 31", observer);
+        final IObservation observation = newObservation(target, observer);
+        SwingUtilities.invokeAndWait(() -> {
+            this.model.add(observer);
+            this.model.add(target);
+            this.model.add(observation);
+        });
+
+        SwingUtilities.invokeAndWait(() -> this.model.remove(observation));
+
+        assertEquals(List.of(), elements(this.view.observation), "Observations");
+        assertEquals("tree.observations", this.view.observation.getUserObject(), "Category name");
+        assertEquals(List.of(), elements(node(this.view.target, target)), "Observations of target");
+        assertEquals(List.of(), elements(node(this.view.observer, observer)), "Observations of observer");
+
+        SwingUtilities.invokeAndWait(() -> this.model.remove(target));
+
+        assertEquals(List.of(), elements(this.view.target), "Targets");
+        assertEquals(List.of(observer), elements(this.view.observer), "Observers");
+    }
+
+    @Test
+    public void rebuildOnManyChangesTest() throws Exception {
+        final AtomicInteger inserted = new AtomicInteger();
+        final JTree tree =
+                (JTree) ((JScrollPane) this.view.getComponent(0)).getViewport().getView();
+        tree.getModel().addTreeModelListener(new TreeModelListener() {
+
+            @Override
+            public void treeNodesInserted(TreeModelEvent e) {
+                inserted.addAndGet(e.getChildren().length);
+            }
+
+            @Override
+            public void treeNodesChanged(TreeModelEvent e) {}
+
+            @Override
+            public void treeNodesRemoved(TreeModelEvent e) {}
+
+            @Override
+            public void treeStructureChanged(TreeModelEvent e) {}
+        });
+
+        // Up to 100 elements are inserted node by node
+        SwingUtilities.invokeAndWait(() -> this.model.addAll(newEyepieces(100, 0)));
+        assertEquals(100, inserted.get(), "Inserted nodes");
+        assertEquals(100, this.view.eyepiece.getChildCount(), "Eyepieces");
+
+        // More elements rebuild the tree
+        final DefaultMutableTreeNode before = (DefaultMutableTreeNode) this.view.eyepiece.getChildAt(0);
+        SwingUtilities.invokeAndWait(() -> this.model.addAll(newEyepieces(101, 100)));
+        assertEquals(100, inserted.get(), "No nodes inserted");
+        assertEquals(201, this.view.eyepiece.getChildCount(), "Eyepieces");
+        assertEquals(Arrays.asList(this.model.getEyepieces()), elements(this.view.eyepiece), "Sorted eyepieces");
+        assertNotSame(before, this.view.eyepiece.getChildAt(0), "Nodes rebuilt");
+    }
+
+    private static List<IEyepiece> newEyepieces(int count, int first) {
+
+        final List<IEyepiece> eyepieces = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            eyepieces.add(new Eyepiece("Eyepiece " + i, i + 1));
+        }
+        return eyepieces;
+    }
+
+    private static IObservation newObservation(ITarget target, IObserver observer) {
+
+        return new Observation(
+                ZonedDateTime.of(2024, 2, 10, 21, 30, 0, 0, ZoneOffset.UTC),
+                target,
+                observer,
+                new GenericFinding("Nice"));
+    }
+
+    private static List<ISchemaElement> elements(DefaultMutableTreeNode parent) {
+
+        final List<ISchemaElement> elements = new ArrayList<>();
+        for (int i = 0; i < parent.getChildCount(); i++) {
+            elements.add(((SchemaElementMutableTreeNode) parent.getChildAt(i)).getSchemaElement());
+        }
+        return elements;
+    }
+
+    private static DefaultMutableTreeNode node(DefaultMutableTreeNode category, ISchemaElement element) {
+
+        for (int i = 0; i < category.getChildCount(); i++) {
+            final SchemaElementMutableTreeNode node = (SchemaElementMutableTreeNode) category.getChildAt(i);
+            if (node.getSchemaElement() == element) {
+                return node;
+            }
+        }
+        return fail("No node of " + element);
+    }
+}
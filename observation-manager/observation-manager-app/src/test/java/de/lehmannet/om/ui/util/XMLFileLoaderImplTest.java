@@ -3,32 +3,64 @@ package de.lehmannet.om.ui.util;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import de.lehmannet.om.Angle;
 import de.lehmannet.om.Eyepiece;
 import de.lehmannet.om.Filter;
+import de.lehmannet.om.GenericFinding;
 import de.lehmannet.om.GenericTarget;
 import de.lehmannet.om.IEyepiece;
 import de.lehmannet.om.IFilter;
+import de.lehmannet.om.IObservation;
 import de.lehmannet.om.IObserver;
 import de.lehmannet.om.ISchemaElement;
 import de.lehmannet.om.IScope;
 import de.lehmannet.om.ISession;
 import de.lehmannet.om.ISite;
 import de.lehmannet.om.ITarget;
+import de.lehmannet.om.Observation;
 import de.lehmannet.om.Observer;
 import de.lehmannet.om.Scope;
 import de.lehmannet.om.Session;
 import de.lehmannet.om.Site;
+import de.lehmannet.om.model.ModelSnapshot;
 import de.lehmannet.om.util.DateManagerImpl;
+import de.lehmannet.om.util.DocumentSnapshot;
+import de.lehmannet.om.util.EditJournal;
+import de.lehmannet.om.util.SchemaLoader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import net.sf.saxon.TransformerFactoryImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class XMLFileLoaderImplTest {
 
+    private static final String[] SAVE_TEST_FILES = {
+        "testfiles/ObservingLogsOAL(2).xml", "testfiles/sessions(1).xml", "testfiles/test-sol.xml"
+    };
+
     private XMLFileLoader emptyNewFile;
 
     @BeforeEach
@@ -92,6 +124,74 @@ public class XMLFileLoaderImplTest {
         assertFalse(emptyNewFile.isEmpty(), "No empty document");
     }
 
+    @Test
+    public void sortedElementsSharedUntilChangeTest() {
+        emptyNewFile.addSchemaElement(new Scope(150.0f, 0, "Orion XT6 Plus"));
+        final IScope[] scopes = emptyNewFile.getScopes();
+        assertSame(scopes, emptyNewFile.getScopes(), "Unchanged elements shared");
+
+        emptyNewFile.addSchemaElement(new Scope(200.0f, 0, "Orion XT8 Plus"));
+        assertNotSame(scopes, emptyNewFile.getScopes(), "Sorted again after change");
+        assertEquals(2, emptyNewFile.getScopes().length, "Added scope");
+    }
+
+    @Test
+    public void indexOfSortedElementTest() {
+        final XMLFileLoader loader = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(loader.loadObservations(getTestFilePath("testfiles/ObservingLogsOAL(2).xml"), false), "Load");
+        // Same focal length as others, so equal for the comparator
+        loader.addSchemaElement(new Eyepiece("Orion", 25.0f));
+        loader.addSchemaElement(new Eyepiece("Orion", 25.0f));
+
+        final ITarget[] targets = loader.getTargets();
+        for (int i = 0; i < targets.length; i++) {
+            assertEquals(i, loader.indexOf(targets[i]), "Target position");
+        }
+        final IEyepiece[] eyepieces = loader.getEyepieces();
+        for (int i = 0; i < eyepieces.length; i++) {
+            assertEquals(i, loader.indexOf(eyepieces[i]), "Eyepiece position");
+        }
+        assertEquals(-1, loader.indexOf(new Eyepiece("Orion", 25.0f)), "Not loaded");
+    }
+
+    @Test
+    public void snapshotUnchangedByEditsTest() {
+        final XMLFileLoader loader = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(loader.loadObservations(getTestFilePath("testfiles/ObservingLogsOAL(2).xml"), false), "Load");
+
+        final ModelSnapshot snapshot = loader.getSnapshot();
+        assertSame(snapshot, loader.getSnapshot(), "Snapshot shared until change");
+        final int scopes = snapshot.getScopes().length;
+        final IScope[] snapshotScopes = snapshot.getScopes();
+
+        loader.addSchemaElement(new Scope(150.0f, 0, "Snapshot scope"));
+        loader.removeSchemaElement(loader.getObservations()[0]);
+
+        final ModelSnapshot next = loader.getSnapshot();
+        assertTrue(next.getVersion() > snapshot.getVersion(), "New version");
+        assertEquals(scopes + 1, next.getScopes().length, "Added scope");
+        assertEquals(snapshot.getObservations().length - 1, next.getObservations().length, "Removed observation");
+        assertSame(snapshotScopes, snapshot.getScopes(), "Old snapshot unchanged");
+        assertEquals(scopes, snapshot.getScopes().length, "Old snapshot unchanged");
+    }
+
+    @Test
+    public void internedDatasourcesTest() {
+        final XMLFileLoader loader = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(loader.loadObservations(getTestFilePath("testfiles/ObservingLogsOAL(2).xml"), false), "Load");
+
+        // Equal datasources of the loaded targets are one instance
+        final Map<String, String> datasources = new HashMap<>();
+        for (ITarget target : loader.getTargets()) {
+            if (target.getDatasource() != null) {
+                String first = datasources.putIfAbsent(target.getDatasource(), target.getDatasource());
+                if (first != null) {
+                    assertSame(first, target.getDatasource(), "Datasource interned");
+                }
+            }
+        }
+    }
+
     @Test
     public void addSchemaElementObserver() {
         final ISchemaElement element = new Observer("Carl", "Sagan");
@@ -196,4 +296,398 @@ public class XMLFileLoaderImplTest {
         emptyNewFile.addSchemaElement(null);
         assertTrue(emptyNewFile.isEmpty());
     }
+
+    @Test
+    public void loadObservationsStreamingEngineTest() {
+        for (String file :
+                new String[] {"testfiles/ObservingLogsOAL(2).xml", "testfiles/sessions(1).xml", "testfiles/test-sol.xml"
+                }) {
+            assertSameLoadResult(file, loader -> loader.setLoadEngine(SchemaLoader.Engine.STAX));
+        }
+    }
+
+    @Test
+    public void loadObservationsParallelTest() {
+        for (String file : new String[] {"testfiles/ObservingLogsOAL(2).xml", "testfiles/sessions(1).xml"}) {
+            assertSameLoadResult(file, loader -> loader.setParallelLoad(true));
+            assertSameLoadResult(file, loader -> {
+                loader.setLoadEngine(SchemaLoader.Engine.STAX);
+                loader.setParallelLoad(true);
+            });
+        }
+    }
+
+    @Test
+    public void loadObservationsFromSnapshotTest(@TempDir Path dir) throws Exception {
+        for (String file : SAVE_TEST_FILES) {
+            // The snapshot is written next to the file, so keep it away from the shared test files
+            final String xmlPath = copyTestFile(file, dir);
+            final File xmlFile = new File(xmlPath);
+
+            // First load records the snapshot, second one reads it
+            assertSameLoadResult(xmlPath, xmlPath, loader -> loader.setSnapshots(true));
+            XMLFileLoaderImpl.awaitSnapshots();
+            assertTrue(DocumentSnapshot.getSnapshotFile(xmlFile).exists(), "Snapshot written");
+            assertNotNull(DocumentSnapshot.read(xmlFile), "Snapshot up to date");
+            assertSameLoadResult(xmlPath, xmlPath, loader -> loader.setSnapshots(true));
+
+            // The loader falls back to the XML file, so check the snapshot loads on its own
+            final XMLFileLoader loaded = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+            assertTrue(loaded.loadObservations(xmlPath, false), "Loaded");
+            final SchemaLoader snapshotLoader = new SchemaLoader();
+            snapshotLoader.load(DocumentSnapshot.read(xmlFile), false);
+            assertEquals(loaded.getObservations().length, snapshotLoader.getObservations().length, "Observations");
+            assertEquals(loaded.getTargets().length, snapshotLoader.getTargets().length, "Targets");
+        }
+    }
+
+    @Test
+    public void saveSnapshotTest(@TempDir Path dir) throws Exception {
+        final String xmlPath = copyTestFile("testfiles/ObservingLogsOAL(2).xml", dir);
+        final File xmlFile = new File(xmlPath);
+
+        final XMLFileLoader loader = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        loader.setSnapshots(true);
+        assertTrue(loader.loadObservations(xmlPath, false), "Loaded");
+        XMLFileLoaderImpl.awaitSnapshots();
+        loader.addSchemaElement(new Scope(150.0f, 0, "Snapshot scope"));
+        assertTrue(loader.save(xmlPath), "Saved");
+        XMLFileLoaderImpl.awaitSnapshots();
+
+        // The snapshot of the saved file replaced the one of the loaded file
+        assertNotNull(DocumentSnapshot.read(xmlFile), "Snapshot up to date");
+        assertSameLoadResult(xmlPath, xmlPath, configuration -> configuration.setSnapshots(true));
+
+        final XMLFileLoader reloaded = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        reloaded.setSnapshots(true);
+        assertTrue(reloaded.loadObservations(xmlPath, false), "Reloaded");
+        assertEquals(loader.getScopes().length, reloaded.getScopes().length, "Saved scope");
+    }
+
+    @Test
+    public void noSnapshotByDefaultTest(@TempDir Path dir) throws Exception {
+        final String xmlPath = copyTestFile("testfiles/ObservingLogsOAL(2).xml", dir);
+
+        final XMLFileLoader loader = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(loader.loadObservations(xmlPath, false), "Loaded");
+        assertTrue(loader.save(xmlPath), "Saved");
+        XMLFileLoaderImpl.awaitSnapshots();
+
+        assertFalse(DocumentSnapshot.getSnapshotFile(new File(xmlPath)).exists(), "No snapshot");
+    }
+
+    @Test
+    public void saveAndReloadTest(@TempDir Path dir) throws IOException {
+        for (String file : SAVE_TEST_FILES) {
+            final String xmlPath = copyTestFile(file, dir);
+            final XMLFileLoader loader = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+            assertTrue(loader.loadObservations(xmlPath, false), "Loaded");
+            assertTrue(loader.save(xmlPath), "Saved");
+
+            final XMLFileLoader reloaded = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+            assertTrue(reloaded.loadObservations(xmlPath, false), "Reloaded");
+            assertEquals(loader.getObservations().length, reloaded.getObservations().length, "Observations");
+            assertEquals(loader.getTargets().length, reloaded.getTargets().length, "Targets");
+            assertEquals(loader.getSessions().length, reloaded.getSessions().length, "Sessions");
+            assertEquals(loader.getObservers().length, reloaded.getObservers().length, "Observers");
+            assertEquals(loader.getSites().length, reloaded.getSites().length, "Sites");
+            assertEquals(loader.getScopes().length, reloaded.getScopes().length, "Scopes");
+            assertEquals(loader.getEyepieces().length, reloaded.getEyepieces().length, "Eyepieces");
+
+            // An observation without result is written with an empty one, as the schema needs one. From then on
+            // the file is read and written unchanged.
+            final String savedAgain = dir.resolve("saved-again.xml").toString();
+            assertTrue(reloaded.saveAs(xmlPath, savedAgain), "Saved again");
+            assertEquals(Files.readString(Path.of(xmlPath)), Files.readString(Path.of(savedAgain)), file);
+            assertSameLoadResult(xmlPath, savedAgain, configuration -> {});
+        }
+    }
+
+    @Test
+    public void saveFormatTest(@TempDir Path dir) throws Exception {
+        for (String file : SAVE_TEST_FILES) {
+            final String xmlPath = copyTestFile(file, dir);
+            final XMLFileLoader loader = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+            assertTrue(loader.loadObservations(xmlPath, false), "Loaded");
+
+            // The file as written by the former XSLT based pretty printer, run by Saxon of the application class path
+            final Transformer prettyPrint = new TransformerFactoryImpl()
+                    .newTransformer(new StreamSource(
+                            getClass().getResource("/prettyprint.xsl").toString()));
+            final StringWriter expected = new StringWriter();
+            prettyPrint.transform(new DOMSource(loader.getDocument()), new StreamResult(expected));
+
+            assertTrue(loader.save(xmlPath), "Saved");
+            assertEquals(expected.toString(), Files.readString(Path.of(xmlPath)), file);
+        }
+    }
+
+    @Test
+    public void addSchemaElementsTest() {
+        final XMLFileLoader source = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(source.loadObservations(getTestFilePath("testfiles/ObservingLogsOAL(2).xml"), false), "Loaded");
+
+        // Observations first, the loader must add them last anyway
+        final List<ISchemaElement> elements = new ArrayList<>(Arrays.asList(source.getObservations()));
+        elements.addAll(Arrays.asList(source.getScopes()));
+        elements.addAll(Arrays.asList(source.getSites()));
+        elements.addAll(Arrays.asList(source.getTargets()));
+        elements.addAll(Arrays.asList(source.getObservers()));
+        elements.addAll(Arrays.asList(source.getSessions()));
+        emptyNewFile.addSchemaElements(elements);
+        emptyNewFile.addSchemaElements(elements);
+
+        assertEquals(source.getObservations().length, emptyNewFile.getObservations().length, "Added once");
+        assertEquals(source.getScopes().length, emptyNewFile.getScopes().length, "Added once");
+        for (IScope scope : source.getScopes()) {
+            assertEquals(
+                    source.getObservations(scope).length, emptyNewFile.getObservations(scope).length, "References set");
+        }
+    }
+
+    @Test
+    public void updateAndRemoveObservationReferencesTest() {
+        final XMLFileLoader loader = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(loader.loadObservations(getTestFilePath("testfiles/ObservingLogsOAL(2).xml"), false), "Loaded");
+
+        final IObservation observation = Arrays.stream(loader.getObservations())
+                .filter(o -> o.getScope() != null)
+                .findFirst()
+                .orElseThrow();
+        final IScope oldScope = observation.getScope();
+        final IScope newScope = new Scope(150.0f, 0, "Reference scope");
+        loader.addSchemaElement(newScope);
+
+        observation.setScope(newScope);
+        loader.updateSchemaElement(observation);
+        assertFalse(Arrays.asList(loader.getObservations(oldScope)).contains(observation), "Old scope unlinked");
+        assertEquals(1, loader.getObservations(newScope).length, "New scope linked");
+        assertSame(loader.getObservations(newScope), loader.getObservations(newScope), "Sorted observations kept");
+
+        loader.removeSchemaElement(observation);
+        assertEquals(0, loader.getObservations(newScope).length, "Removed observation unlinked");
+        assertTrue(loader.removeSchemaElement(newScope).isEmpty(), "No dependencies left");
+    }
+
+    @Test
+    public void saveToJournalTest(@TempDir Path dir) throws IOException {
+        final String xmlPath = copyTestFile("testfiles/ObservingLogsOAL(2).xml", dir);
+
+        final XMLFileLoader edited = newJournalLoader(xmlPath);
+        final int observations = edited.getObservations().length;
+        final int scopes = edited.getScopes().length;
+        edited.addSchemaElement(new Scope(150.0f, 0, "Journal scope"));
+        edited.removeSchemaElement(edited.getObservations()[0]);
+
+        // The save writes the XML file and empties the journal
+        assertTrue(edited.save(xmlPath), "Saved");
+        final XMLFileLoader plain = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(plain.loadObservations(xmlPath, false), "Load without journal");
+        assertEquals(scopes + 1, plain.getScopes().length, "Added scope");
+        assertEquals(observations - 1, plain.getObservations().length, "Removed observation");
+
+        final XMLFileLoader reloaded = newJournalLoader(xmlPath);
+        assertEquals(scopes + 1, reloaded.getScopes().length, "Nothing replayed");
+        assertEquals(observations - 1, reloaded.getObservations().length, "Nothing replayed");
+        assertTrue(reloaded.compact(), "Compacted");
+    }
+
+    @Test
+    public void compactSavedJournalTest(@TempDir Path dir) throws IOException {
+        final String xmlPath = copyTestFile("testfiles/ObservingLogsOAL(2).xml", dir);
+
+        // A saved change which is not part of the XML file, as it could not be written
+        try (EditJournal journal = EditJournal.open(new File(xmlPath))) {
+            journal.put(new Scope(150.0f, 0, "Saved scope"));
+            journal.commit();
+        }
+
+        final XMLFileLoader edited = newJournalLoader(xmlPath);
+        final int scopes = edited.getScopes().length;
+        final int filters = edited.getFilters().length;
+        assertTrue(
+                Arrays.stream(edited.getScopes()).anyMatch(s -> "Saved scope".equals(s.getModel())), "Replayed scope");
+        edited.addSchemaElement(new Filter("Unsaved filter", "other"));
+        assertTrue(edited.compact(), "Compacted");
+
+        // The saved change is written into the XML file, the unsaved one is discarded
+        final XMLFileLoader plain = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(plain.loadObservations(xmlPath, false), "Load without journal");
+        assertEquals(scopes, plain.getScopes().length, "Saved scope");
+        assertTrue(Arrays.stream(plain.getScopes()).anyMatch(s -> "Saved scope".equals(s.getModel())), "Saved scope");
+        assertEquals(filters, plain.getFilters().length, "Unsaved filter");
+        assertEquals(filters, newJournalLoader(xmlPath).getFilters().length, "Unsaved filter");
+    }
+
+    @Test
+    public void restoreUnsavedJournalTest(@TempDir Path dir) throws IOException {
+        final String xmlPath = copyTestFile("testfiles/ObservingLogsOAL(2).xml", dir);
+
+        final XMLFileLoader crashed = newJournalLoader(xmlPath);
+        final int filters = crashed.getFilters().length;
+        crashed.addSchemaElement(new Filter("Journal filter", "other"));
+
+        // Not saved and not closed: the change is restored on the next load...
+        final XMLFileLoader restored = newJournalLoader(xmlPath);
+        assertEquals(filters + 1, restored.getFilters().length, "Restored filter");
+
+        // ...and discarded if the file is closed without saving
+        restored.clear();
+        assertTrue(EditJournal.getJournalFile(new File(xmlPath)).exists(), "Journal kept");
+        assertEquals(filters, newJournalLoader(xmlPath).getFilters().length, "Discarded filter");
+    }
+
+    @Test
+    public void loadMultipleFilesTest(@TempDir Path dir) throws IOException {
+        final String first = copyTestFile("testfiles/ObservingLogsOAL(2).xml", dir);
+        final String second = copyTestFile("testfiles/sessions(1).xml", dir);
+
+        final XMLFileLoader secondOnly = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(secondOnly.loadObservations(second, false), "Load second file");
+        final int secondObservations = secondOnly.getObservations().length;
+        final XMLFileLoader firstOnly = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(firstOnly.loadObservations(first, false), "Load first file");
+        final int firstObservations = firstOnly.getObservations().length;
+
+        final XMLFileLoader loader = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(loader.loadObservations(List.of(first, second), false), "Load both files");
+        assertEquals(2, loader.getAllOpenedFiles().length, "Opened files");
+        assertEquals(firstObservations + secondObservations, loader.getObservations().length, "Observations");
+
+        // Changes are saved to the file of the changed element only
+        final IObservation removed = secondOnly.getObservations()[0];
+        final IObservation observation = Arrays.stream(loader.getObservations())
+                .filter(o -> o.getID().equals(removed.getID()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(second, loader.getXMLFileForSchemaElement(observation), "Owning file");
+        loader.removeSchemaElement(observation);
+        loader.addSchemaElement(new Scope(150.0f, 0, "First file scope"));
+        assertTrue(loader.save(second), "Saved second file");
+
+        final XMLFileLoader reloaded = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(reloaded.loadObservations(second, false), "Reload second file");
+        assertEquals(secondObservations - 1, reloaded.getObservations().length, "Removed observation");
+        assertEquals(secondOnly.getScopes().length, reloaded.getScopes().length, "Scope added to first file");
+
+        assertFalse(
+                loader.loadObservations(
+                        List.of(first, dir.resolve("missing.xml").toString()), false),
+                "Missing file");
+        assertEquals(1, loader.getAllOpenedFiles().length, "Loaded file kept");
+    }
+
+    @Test
+    public void saveReferencesToOtherFileTest(@TempDir Path dir) throws IOException {
+        final String first = copyTestFile("testfiles/ObservingLogsOAL(2).xml", dir);
+        final String second = copyTestFile("testfiles/sessions(1).xml", dir);
+        final XMLFileLoader loader = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(loader.loadObservations(List.of(first, second), false), "Load both files");
+
+        // New elements go to the first file, their observer belongs to the second one
+        final IObserver observer = Arrays.stream(loader.getObservers())
+                .filter(o -> second.equals(loader.getXMLFileForSchemaElement(o)))
+                .findFirst()
+                .orElseThrow();
+        final ITarget target = new GenericTarget("M 31", observer);
+        final IObservation observation = new Observation(
+                ZonedDateTime.of(2024, 2, 10, 21, 30, 0, 0, ZoneOffset.UTC),
+                target,
+                observer,
+                new GenericFinding("Nice"));
+        loader.addSchemaElement(target);
+        loader.addSchemaElement(observation);
+        assertEquals(first, loader.getXMLFileForSchemaElement(observation), "Owning file");
+        assertTrue(loader.save(first), "Saved first file");
+
+        final XMLFileLoader reloaded = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(reloaded.loadObservations(first, false), "First file loads on its own");
+        final IObservation saved = Arrays.stream(reloaded.getObservations())
+                .filter(o -> o.getID().equals(observation.getID()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(observer.getID(), saved.getObserver().getID(), "Observer saved with the observation");
+        assertEquals(observer.getID(), saved.getTarget().getObserver().getID(), "Observer of target");
+    }
+
+    @Test
+    public void addSchemaElementsOfOtherFileTest(@TempDir Path dir) throws IOException {
+        final String first = copyTestFile("testfiles/ObservingLogsOAL(2).xml", dir);
+        final String second = copyTestFile("testfiles/sessions(1).xml", dir);
+        final XMLFileLoader loader = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(loader.loadObservations(List.of(first, second), false), "Load both files");
+        final int observations = loader.getObservations().length;
+        final int observers = loader.getObservers().length;
+
+        // Importing the second file again adds nothing, as its elements are known already
+        final XMLFileLoader secondOnly = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(secondOnly.loadObservations(second, false), "Load second file");
+        final List<ISchemaElement> elements = new ArrayList<>(Arrays.asList(secondOnly.getObservations()));
+        elements.addAll(Arrays.asList(secondOnly.getObservers()));
+        loader.addSchemaElements(elements);
+
+        assertEquals(observations, loader.getObservations().length, "No duplicate observations");
+        assertEquals(observers, loader.getObservers().length, "No duplicate observers");
+    }
+
+    private XMLFileLoader newJournalLoader(String xmlPath) {
+
+        final XMLFileLoader loader = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        loader.setJournal(true);
+        assertTrue(loader.loadObservations(xmlPath, false), "Load with journal");
+        return loader;
+    }
+
+    private String copyTestFile(String file, Path dir) throws IOException {
+
+        final Path copy = dir.resolve(new File(file).getName());
+        Files.copy(new File(getTestFilePath(file)).toPath(), copy);
+        return copy.toString();
+    }
+
+    private void assertSameLoadResult(String file, Consumer<XMLFileLoader> configuration) {
+
+        assertSameLoadResult(getTestFilePath(file), getTestFilePath(file), configuration);
+    }
+
+    private void assertSameLoadResult(String domPath, String path, Consumer<XMLFileLoader> configuration) {
+
+        final XMLFileLoader dom = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        assertTrue(dom.loadObservations(domPath, false), "DOM load");
+
+        final XMLFileLoader stax = XMLFileLoaderImpl.newInstance(getTestFilePath("testfiles/empty.xml"));
+        configuration.accept(stax);
+        assertTrue(stax.loadObservations(path, false), "Configured load");
+
+        assertEquals(dom.getObservers().length, stax.getObservers().length, "Observers");
+        assertEquals(dom.getSites().length, stax.getSites().length, "Sites");
+        assertEquals(dom.getSessions().length, stax.getSessions().length, "Sessions");
+        assertEquals(dom.getTargets().length, stax.getTargets().length, "Targets");
+        assertEquals(dom.getScopes().length, stax.getScopes().length, "Scopes");
+        assertEquals(dom.getEyepieces().length, stax.getEyepieces().length, "Eyepieces");
+        assertEquals(dom.getLenses().length, stax.getLenses().length, "Lenses");
+        assertEquals(dom.getFilters().length, stax.getFilters().length, "Filters");
+        assertEquals(dom.getImagers().length, stax.getImagers().length, "Imagers");
+
+        final IObservation[] domObservations = dom.getObservations();
+        final IObservation[] staxObservations = stax.getObservations();
+        assertTrue(domObservations.length > 0, "Observations loaded");
+        assertEquals(domObservations.length, staxObservations.length, "Observations");
+        for (int i = 0; i < domObservations.length; i++) {
+            assertEquals(domObservations[i].getID(), staxObservations[i].getID(), "Observation order");
+            assertEquals(domObservations[i].getBegin(), staxObservations[i].getBegin(), "Begin");
+            assertEquals(
+                    domObservations[i].getTarget().getName(),
+                    staxObservations[i].getTarget().getName(),
+                    "Target");
+            assertEquals(
+                    domObservations[i].getObserver().getDisplayName(),
+                    staxObservations[i].getObserver().getDisplayName(),
+                    "Observer");
+            assertEquals(
+                    Arrays.toString(domObservations[i].getResults().toArray()),
+                    Arrays.toString(staxObservations[i].getResults().toArray()),
+                    "Results");
+        }
+    }
 }
@@ -12,9 +12,7 @@ import de.lehmannet.om.util.SchemaException;
 import org.w3c.dom.Comment;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * Eyepiece implements the class de.lehmannet.om.IEyepiece. An Eyepiece describes a optical eyepiece. The model name and
@@ -244,29 +242,15 @@ public class Eyepiece extends SchemaElement implements IEyepiece {
         Document ownerDoc = element.getOwnerDocument();
 
         // Check if this element doesn't exist so far
-        NodeList nodeList = element.getElementsByTagName(IEyepiece.XML_ELEMENT_EYEPIECE);
-        if (nodeList.getLength() > 0) {
-            Node currentNode = null;
-            NamedNodeMap attributes = null;
-            for (int i = 0; i < nodeList.getLength(); i++) { // iterate over all found nodes
-                currentNode = nodeList.item(i);
-                attributes = currentNode.getAttributes();
-                Node idAttribute = attributes.getNamedItem(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID);
-                if ((idAttribute != null) // if ID attribute is set and equals this objects ID, return existing element
-                        && (idAttribute
-                                .getNodeValue()
-                                .trim()
-                                .equals(this.getID().trim()))) {
-                    return;
-                }
-            }
+        if (!SerializationContext.isNewElement(element, IEyepiece.XML_ELEMENT_EYEPIECE, this.getID())) {
+            return;
         }
 
         // Create the new eyepiece element
         Element e_Eyepiece = ownerDoc.createElement(XML_ELEMENT_EYEPIECE);
         e_Eyepiece.setAttribute(XML_ELEMENT_ATTRIBUTE_ID, this.getID());
 
-        element.appendChild(e_Eyepiece);
+        SerializationContext.appendElement(element, e_Eyepiece);
 
         // ----- Set Comments (do this at the very beginning to possibly increase speed
         // during read)
@@ -351,13 +335,10 @@ public class Eyepiece extends SchemaElement implements IEyepiece {
 
         if (addElementToContainer) {
             // Get or create the container element
-            Element e_Eyepieces = null;
-            NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_EYEPIECE_CONTAINER);
-            if (nodeList.getLength() == 0) { // we're the first element. Create container element
+            Element e_Eyepieces = SerializationContext.getContainer(ownerDoc, RootElement.XML_EYEPIECE_CONTAINER);
+            if (e_Eyepieces == null) { // we're the first element. Create container element
                 e_Eyepieces = ownerDoc.createElement(RootElement.XML_EYEPIECE_CONTAINER);
                 ownerDoc.getDocumentElement().appendChild(e_Eyepieces);
-            } else {
-                e_Eyepieces = (Element) nodeList.item(0); // there should be only one container element
             }
 
             this.addToXmlElement(e_Eyepieces);
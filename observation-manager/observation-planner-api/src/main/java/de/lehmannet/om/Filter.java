@@ -12,9 +12,7 @@ import de.lehmannet.om.util.SchemaException;
 import org.w3c.dom.Comment;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * Filter implements the class de.lehmannet.om.IFilter. A Filter describes a optical filter used during the
@@ -250,29 +248,15 @@ public class Filter extends SchemaElement implements IFilter {
         Document ownerDoc = element.getOwnerDocument();
 
         // Check if this element doesn't exist so far
-        NodeList nodeList = element.getElementsByTagName(IFilter.XML_ELEMENT_FILTER);
-        if (nodeList.getLength() > 0) {
-            Node currentNode = null;
-            NamedNodeMap attributes = null;
-            for (int i = 0; i < nodeList.getLength(); i++) { // iterate over all found nodes
-                currentNode = nodeList.item(i);
-                attributes = currentNode.getAttributes();
-                Node idAttribute = attributes.getNamedItem(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID);
-                if ((idAttribute != null) // if ID attribute is set and equals this objects ID, return existing element
-                        && (idAttribute
-                                .getNodeValue()
-                                .trim()
-                                .equals(this.getID().trim()))) {
-                    return;
-                }
-            }
+        if (!SerializationContext.isNewElement(element, IFilter.XML_ELEMENT_FILTER, this.getID())) {
+            return;
         }
 
         // Create the new filter element
         Element eFilter = ownerDoc.createElement(IFilter.XML_ELEMENT_FILTER);
         eFilter.setAttribute(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID, this.getID());
 
-        element.appendChild(eFilter);
+        SerializationContext.appendElement(element, eFilter);
 
         // ----- Set Comments (do this at the very beginning to possibly increase speed
         // during read)
@@ -364,13 +348,10 @@ public class Filter extends SchemaElement implements IFilter {
 
         if (addElementToContainer) {
             // Get or create the container element
-            Element e_Filters = null;
-            NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_FILTER_CONTAINER);
-            if (nodeList.getLength() == 0) { // we're the first element. Create container element
+            Element e_Filters = SerializationContext.getContainer(ownerDoc, RootElement.XML_FILTER_CONTAINER);
+            if (e_Filters == null) { // we're the first element. Create container element
                 e_Filters = ownerDoc.createElement(RootElement.XML_FILTER_CONTAINER);
                 ownerDoc.getDocumentElement().appendChild(e_Filters);
-            } else {
-                e_Filters = (Element) nodeList.item(0); // there should be only one container element
             }
 
             this.addToXmlElement(e_Filters);
@@ -0,0 +1,14 @@
+package de.lehmannet.om;
+
+import de.lehmannet.om.util.SchemaException;
+import org.w3c.dom.Node;
+
+/**
+ * Creates a finding from its XML element, e.g. <code>DeepSkyFinding::new</code>.<br>
+ * Extensions register factories through {@link SchemaOalTypeInfo}, so findings can be loaded without reflection.
+ */
+@FunctionalInterface
+public interface FindingFactory {
+
+    IFinding create(Node findingElement) throws SchemaException;
+}
@@ -11,9 +11,7 @@ import de.lehmannet.om.util.SchemaException;
 import java.util.Locale;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 public class GenericTarget extends Target {
 
@@ -142,41 +140,21 @@ public class GenericTarget extends Target {
         Document ownerDoc = element.getOwnerDocument();
 
         // Get or create the container element
-        Element e_Targets = null;
+        Element e_Targets = SerializationContext.getContainer(ownerDoc, RootElement.XML_TARGET_CONTAINER);
         boolean created = false;
-        NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_TARGET_CONTAINER);
-        if (nodeList.getLength() == 0) { // we're the first element. Create container element
+        if (e_Targets == null) { // we're the first element. Create container element
             e_Targets = ownerDoc.createElement(RootElement.XML_TARGET_CONTAINER);
             created = true;
-        } else {
-            e_Targets = (Element) nodeList.item(0); // there should be only one container element
         }
 
         // Check if this element doesn't exist so far
-        nodeList = e_Targets.getElementsByTagName(ITarget.XML_ELEMENT_TARGET);
-        if (nodeList.getLength() > 0) {
-            Node currentNode = null;
-            NamedNodeMap attributes = null;
-            for (int i = 0; i < nodeList.getLength(); i++) { // iterate over all found nodes
-                currentNode = nodeList.item(i);
-                attributes = currentNode.getAttributes();
-                Node idAttribute = attributes.getNamedItem(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID);
-                if ((idAttribute != null) // if ID attribute is set and equals this objects ID, return existing element
-                        && (idAttribute
-                                .getNodeValue()
-                                .trim()
-                                .equals(this.getID().trim()))) {
-                    // Not sure if this is good!? Maybe we should return currentNode and make
-                    // doublicity check in caller
-                    // class!?
-                    return;
-                }
-            }
+        if (!SerializationContext.isNewElement(e_Targets, ITarget.XML_ELEMENT_TARGET, this.getID())) {
+            return;
         }
 
         // Create the new target element
         Element e_Target = this.createXmlTargetElement(e_Targets);
-        e_Targets.appendChild(e_Target);
+        SerializationContext.appendElement(e_Targets, e_Target);
 
         // Set XSI:Type
         e_Target.setAttribute(ITarget.XML_XSI_TYPE, this.getXSIType());
@@ -12,9 +12,7 @@ import de.lehmannet.om.util.SchemaException;
 import org.w3c.dom.Comment;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * An Imager describes a camera. This class is an abstract implementation of de.lehmannet.om.IImager.<br>
@@ -222,13 +220,10 @@ public abstract class Imager extends SchemaElement implements IImager {
 
         if (addElementToContainer) {
             // Get or create the container element
-            Element e_Imagers = null;
-            NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_IMAGER_CONTAINER);
-            if (nodeList.getLength() == 0) { // we're the first element. Create container element
+            Element e_Imagers = SerializationContext.getContainer(ownerDoc, RootElement.XML_IMAGER_CONTAINER);
+            if (e_Imagers == null) { // we're the first element. Create container element
                 e_Imagers = ownerDoc.createElement(RootElement.XML_IMAGER_CONTAINER);
                 ownerDoc.getDocumentElement().appendChild(e_Imagers);
-            } else {
-                e_Imagers = (Element) nodeList.item(0); // there should be only one container element
             }
 
             this.addToXmlElement(e_Imagers);
@@ -391,29 +386,15 @@ public abstract class Imager extends SchemaElement implements IImager {
         Document ownerDoc = parent.getOwnerDocument();
 
         // Check if this element doesn't exist so far
-        NodeList nodeList = parent.getElementsByTagName(IImager.XML_ELEMENT_IMAGER);
-        if (nodeList.getLength() > 0) {
-            Node currentNode = null;
-            NamedNodeMap attributes = null;
-            for (int i = 0; i < nodeList.getLength(); i++) { // iterate over all found nodes
-                currentNode = nodeList.item(i);
-                attributes = currentNode.getAttributes();
-                Node idAttribute = attributes.getNamedItem(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID);
-                if ((idAttribute != null) // if ID attribute is set and equals this objects ID, return existing element
-                        && (idAttribute
-                                .getNodeValue()
-                                .trim()
-                                .equals(this.getID().trim()))) {
-                    return parent;
-                }
-            }
+        if (!SerializationContext.isNewElement(parent, IImager.XML_ELEMENT_IMAGER, this.getID())) {
+            return parent;
         }
 
         // Create the new imager element
         Element e_Imager = ownerDoc.createElement(IImager.XML_ELEMENT_IMAGER);
         e_Imager.setAttribute(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID, this.getID());
 
-        parent.appendChild(e_Imager);
+        SerializationContext.appendElement(parent, e_Imager);
 
         // ----- Set Comments (do this at the very beginning to possibly increase speed
         // during read)
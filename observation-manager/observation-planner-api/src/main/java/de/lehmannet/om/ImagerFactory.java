@@ -0,0 +1,14 @@
+package de.lehmannet.om;
+
+import de.lehmannet.om.util.SchemaException;
+import org.w3c.dom.Node;
+
+/**
+ * Creates an imager from its XML element, e.g. <code>CCDImager::new</code>.<br>
+ * Extensions register factories through {@link SchemaOalTypeInfo}, so imagers can be loaded without reflection.
+ */
+@FunctionalInterface
+public interface ImagerFactory {
+
+    IImager create(Node imagerElement) throws SchemaException;
+}
@@ -12,9 +12,7 @@ import de.lehmannet.om.util.SchemaException;
 import org.w3c.dom.Comment;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * A Lens describes a lens used to extend or reduce a focal length. Implementations of Lens can be Barlow lenses or
@@ -206,29 +204,15 @@ public class Lens extends SchemaElement implements ILens {
         Document ownerDoc = element.getOwnerDocument();
 
         // Check if this element doesn't exist so far
-        NodeList nodeList = element.getElementsByTagName(ILens.XML_ELEMENT_LENS);
-        if (nodeList.getLength() > 0) {
-            Node currentNode = null;
-            NamedNodeMap attributes = null;
-            for (int i = 0; i < nodeList.getLength(); i++) { // iterate over all found nodes
-                currentNode = nodeList.item(i);
-                attributes = currentNode.getAttributes();
-                Node idAttribute = attributes.getNamedItem(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID);
-                if ((idAttribute != null) // if ID attribute is set and equals this objects ID, return existing element
-                        && (idAttribute
-                                .getNodeValue()
-                                .trim()
-                                .equals(this.getID().trim()))) {
-                    return;
-                }
-            }
+        if (!SerializationContext.isNewElement(element, ILens.XML_ELEMENT_LENS, this.getID())) {
+            return;
         }
 
         // Create the new lens element
         Element e_Lens = ownerDoc.createElement(XML_ELEMENT_LENS);
         e_Lens.setAttribute(XML_ELEMENT_ATTRIBUTE_ID, this.getID());
 
-        element.appendChild(e_Lens);
+        SerializationContext.appendElement(element, e_Lens);
 
         // ----- Set Comments (do this at the very beginning to possibly increase speed
         // during read)
@@ -299,13 +283,10 @@ public class Lens extends SchemaElement implements ILens {
 
         if (addElementToContainer) {
             // Get or create the container element
-            Element e_Lenses = null;
-            NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_LENS_CONTAINER);
-            if (nodeList.getLength() == 0) { // we're the first element. Create container element
+            Element e_Lenses = SerializationContext.getContainer(ownerDoc, RootElement.XML_LENS_CONTAINER);
+            if (e_Lenses == null) { // we're the first element. Create container element
                 e_Lenses = ownerDoc.createElement(RootElement.XML_LENS_CONTAINER);
                 ownerDoc.getDocumentElement().appendChild(e_Lenses);
-            } else {
-                e_Lenses = (Element) nodeList.item(0); // there should be only one container element
             }
 
             this.addToXmlElement(e_Lenses);
@@ -8,6 +8,7 @@
 package de.lehmannet.om;
 
 import de.lehmannet.om.mapper.ObservationMapper;
+import de.lehmannet.om.mapper.ReferenceContext;
 import de.lehmannet.om.util.ConstellationCalculator;
 import de.lehmannet.om.util.DateManager;
 import de.lehmannet.om.util.DateManagerImpl;
@@ -160,6 +161,32 @@ public class Observation extends SchemaElement implements IObservation, Cloneabl
             ILens... lenses)
             throws SchemaException, IllegalArgumentException {
 
+        this(
+                observation,
+                fixNodeErrors,
+                new ReferenceContext(targets, observers, sites, scopes, sessions, eyepieces, filters, imagers, lenses));
+    }
+
+    /**
+     * Constructs a new Observation instance from a given XML Schema Node. The links to other schema elements are
+     * resolved with the given reference context, which should be created once and shared by all observations of a
+     * document.
+     *
+     * @param observation
+     *            The XML Schema element that represents this observation
+     * @param fixNodeErrors
+     *            if true try to solve issues on loading.
+     * @param references
+     *            Indexes of all elements that might be linked from this observation
+     * @throws IllegalArgumentException
+     *             if parameter observation is <code>null</code> or Observation Node has subelements of which no
+     *             according element was passed.
+     * @throws SchemaException
+     *             if the given Node does not match the XML Schema specifications
+     */
+    public Observation(Node observation, boolean fixNodeErrors, ReferenceContext references)
+            throws SchemaException, IllegalArgumentException {
+
         if (observation == null) {
             LOGGER.error("Parameter observation node cannot be NULL.");
             throw new IllegalArgumentException("Parameter observation node cannot be NULL. ");
@@ -175,17 +202,17 @@ public class Observation extends SchemaElement implements IObservation, Cloneabl
 
         this.setID(ObservationMapper.getMandatoryID(observationElement));
         this.setBegin(ObservationMapper.getMandatoryBeginDate(observationElement));
-        this.setTarget(ObservationMapper.getMandatoryTarget(targets, observationElement));
+        this.setTarget(ObservationMapper.getMandatoryTarget(references, observationElement));
 
         if (fixNodeErrors) {
             this.fixConstellation(this.target);
         }
 
-        this.setObserver(ObservationMapper.getMandatoryObserver(observers, observationElement));
+        this.setObserver(ObservationMapper.getMandatoryObserver(references, observationElement));
         this.setResults(ObservationMapper.getOptionalResults(this.getTarget(), observationElement));
         this.setEnd(ObservationMapper.getOptionalEndDate(observationElement));
-        this.setSite(ObservationMapper.getOptionalSite(sites, observationElement));
-        this.setScope(ObservationMapper.getOptionalScope(scopes, observationElement));
+        this.setSite(ObservationMapper.getOptionalSite(references, observationElement));
+        this.setScope(ObservationMapper.getOptionalScope(references, observationElement));
 
         this.setImages(ObservationMapper.getOptionalImages(observationElement));
 
@@ -197,17 +224,17 @@ public class Observation extends SchemaElement implements IObservation, Cloneabl
         this.setMagnification(ObservationMapper.getOptionalMagnification(observationElement));
         this.setAccessories(ObservationMapper.getOptionalAccesories(observationElement));
         this.setSeeing(ObservationMapper.getOptionalSeeing(observationElement));
-        var sessionLoaded = ObservationMapper.getOptionalSession(sessions, observationElement);
+        var sessionLoaded = ObservationMapper.getOptionalSession(references, observationElement);
         if (fixNodeErrors) {
             fixSessionDatesOnLoad(sessionLoaded);
         }
 
         this.setSession(sessionLoaded);
-        this.setEyepiece(ObservationMapper.getOptionalEyepiece(eyepieces, observationElement));
-        this.setLens(ObservationMapper.getOptionalLens(observationElement, lenses));
-        this.setFilter(ObservationMapper.getOptionalFilter(filters, observationElement));
+        this.setEyepiece(ObservationMapper.getOptionalEyepiece(references, observationElement));
+        this.setLens(ObservationMapper.getOptionalLens(references, observationElement));
+        this.setFilter(ObservationMapper.getOptionalFilter(references, observationElement));
 
-        this.setImager(ObservationMapper.getOptionalImager(imagers, observationElement));
+        this.setImager(ObservationMapper.getOptionalImager(references, observationElement));
     }
 
     /**
@@ -1420,6 +1447,14 @@ public class Observation extends SchemaElement implements IObservation, Cloneabl
 
     private void fixSessionDatesOnLoad(ISession session) {
 
+        // Sessions are shared by observations which might be loaded in parallel
+        synchronized (session) {
+            this.fixSessionDates(session);
+        }
+    }
+
+    private void fixSessionDates(ISession session) {
+
         OffsetDateTime sessionStart = session.getBegin();
         OffsetDateTime sessionEnd = session.getEnd();
 
@@ -1510,11 +1545,14 @@ public class Observation extends SchemaElement implements IObservation, Cloneabl
 
     private void fixConstellation(ITarget target) {
 
-        if (target.getPosition() != null && target.getConstellation() == null) {
+        // Targets are shared by observations which might be loaded in parallel
+        synchronized (target) {
+            if (target.getPosition() != null && target.getConstellation() == null) {
 
-            var constellationCalculator = ConstellationCalculator.getInstance();
-            var constellation = constellationCalculator.getConstellation(target.getPosition(), 2000);
-            target.setConstellation(constellation);
+                var constellationCalculator = ConstellationCalculator.getInstance();
+                var constellation = constellationCalculator.getConstellation(target.getPosition(), 2000);
+                target.setConstellation(constellation);
+            }
         }
     }
 
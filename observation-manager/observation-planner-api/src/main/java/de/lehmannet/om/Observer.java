@@ -22,9 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * An Observer describes person, who does astronomical observations.<br>
@@ -225,28 +223,14 @@ public class Observer extends SchemaElement implements IObserver {
         Document ownerDoc = element.getOwnerDocument();
 
         // Check if this element doesn't exist so far
-        NodeList nodeList = element.getElementsByTagName(IObserver.XML_ELEMENT_OBSERVER);
-        if (nodeList.getLength() > 0) {
-            Node currentNode = null;
-            NamedNodeMap attributes = null;
-            for (int i = 0; i < nodeList.getLength(); i++) { // iterate over all found nodes
-                currentNode = nodeList.item(i);
-                attributes = currentNode.getAttributes();
-                Node idAttribute = attributes.getNamedItem(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID);
-                if ((idAttribute != null) // if ID attribute is set and equals this objects ID, return existing element
-                        && (idAttribute
-                                .getNodeValue()
-                                .trim()
-                                .equals(this.getID().trim()))) {
-                    return;
-                }
-            }
+        if (!SerializationContext.isNewElement(element, IObserver.XML_ELEMENT_OBSERVER, this.getID())) {
+            return;
         }
 
         Element e_Observer = ownerDoc.createElement(XML_ELEMENT_OBSERVER);
         e_Observer.setAttribute(XML_ELEMENT_ATTRIBUTE_ID, this.getID());
 
-        element.appendChild(e_Observer);
+        SerializationContext.appendElement(element, e_Observer);
 
         Element e_Name = ownerDoc.createElement(XML_ELEMENT_NAME);
         Node n_NameText = ownerDoc.createCDATASection(this.name);
@@ -347,13 +331,10 @@ public class Observer extends SchemaElement implements IObserver {
 
         if (addElementToContainer) {
             // Get or create the container element
-            Element e_Observers = null;
-            NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_OBSERVER_CONTAINER);
-            if (nodeList.getLength() == 0) { // we're the first element. Create container element
+            Element e_Observers = SerializationContext.getContainer(ownerDoc, RootElement.XML_OBSERVER_CONTAINER);
+            if (e_Observers == null) { // we're the first element. Create container element
                 e_Observers = ownerDoc.createElement(RootElement.XML_OBSERVER_CONTAINER);
                 ownerDoc.getDocumentElement().appendChild(e_Observers);
-            } else {
-                e_Observers = (Element) nodeList.item(0); // there should be only one container element
             }
 
             this.addToXmlElement(e_Observers);
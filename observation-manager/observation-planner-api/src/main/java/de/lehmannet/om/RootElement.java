@@ -7,32 +7,23 @@
 
 package de.lehmannet.om;
 
+import de.lehmannet.om.util.DocumentSnapshot;
 import de.lehmannet.om.util.SchemaException;
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
 import org.w3c.dom.bootstrap.DOMImplementationRegistry;
 import org.w3c.dom.ls.DOMImplementationLS;
 import org.w3c.dom.ls.LSSerializer;
@@ -426,61 +417,52 @@ public class RootElement {
         }
     }
 
+    /**
+     * Writes this RootElement as formatted XML file. The elements are streamed to the file one by one, without
+     * building the DOM of the whole document first (see {@link #getDocument()}).
+     *
+     * @param xmlFile
+     *            The file to write
+     * @throws SchemaException
+     *             if the file cannot be written
+     */
     public void serializeAsXmlFormatted(File xmlFile) throws SchemaException {
 
+        this.serializeAsXmlFormatted(xmlFile, null);
+    }
+
+    /**
+     * Writes this RootElement as formatted XML file and records the snapshot of the file at the same time (see
+     * {@link DocumentSnapshot}). The snapshot is finished, but not written.
+     *
+     * @param xmlFile
+     *            The file to write
+     * @param snapshot
+     *            Records the snapshot of the file, might be <code>null</code>
+     * @throws SchemaException
+     *             if the file cannot be written
+     */
+    public void serializeAsXmlFormatted(File xmlFile, DocumentSnapshot.Encoder snapshot) throws SchemaException {
+
         if (xmlFile == null) {
             throw new SchemaException("File cannot be null. ");
         }
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
 
-        DOMSource source = new DOMSource(this.getDocument());
-
-        try {
-            FileWriter writer = new FileWriter(xmlFile);
-            StreamResult result = new StreamResult(writer);
-            Transformer transformer = createTransformer(transformerFactory);
-            transformer.transform(source, result);
-        } catch (TransformerConfigurationException e) {
-            LOG.error("Cannot configure xml format", e);
-
-        } catch (TransformerException e) {
-            LOG.error("Error transorming to xml file", e);
-            throw new SchemaException(e.getLocalizedMessage(), e);
+        try (Writer writer = Files.newBufferedWriter(xmlFile.toPath(), StandardCharsets.UTF_8)) {
+            new RootElementWriter(writer, snapshot).write(this);
         } catch (IOException e) {
 
-            LOG.error("Error writing to xml file", e);
-            throw new RuntimeException(e);
-        } catch (Throwable e) {
-
             LOG.error("Error writing to xml file", e);
             throw new RuntimeException(e);
         }
-    }
 
-    private Transformer createTransformer(TransformerFactory transformerFactory)
-            throws TransformerConfigurationException, IOException {
-        Transformer transformer =
-                transformerFactory.newTransformer(new StreamSource(new StringReader(readPrettyPrintXslt())));
-        // Transformer transformer = transformerFactory.newTransformer();
-        // transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-        // transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
-        return transformer;
-    }
-
-    private static String readPrettyPrintXslt() throws IOException {
-        InputStream inputStream = RootElement.class.getResourceAsStream("/prettyprint.xsl");
-        return readFromInputStream(inputStream);
-    }
-
-    private static String readFromInputStream(InputStream inputStream) throws IOException {
-        StringBuilder resultStringBuilder = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(inputStream))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                resultStringBuilder.append(line).append("\n");
+        if (snapshot != null) {
+            try {
+                snapshot.finish(xmlFile);
+            } catch (IOException e) {
+                throw new SchemaException("Unable to record snapshot of " + xmlFile, e);
             }
         }
-        return resultStringBuilder.toString();
     }
 
     public Document getDocument() throws SchemaException {
@@ -493,14 +475,12 @@ public class RootElement {
             throw new SchemaException("Unable to create new XML document. ", pce);
         }
 
-        Element root = newSchema.createElement(RootElement.XML_OBSERVATION_CONTAINER);
-        root.setAttribute(XML_NS_KEY, XML_NS);
-        root.setAttribute(XML_SI_KEY, XML_SI);
-        root.setAttribute(XML_SCHEMA_LOCATION_KEY, XML_SCHEMA_LOCATION);
-        root.setAttribute(XML_SCHEMA_VERSION_KEY, XML_SCHEMA_VERSION);
+        Element root = createRootElement(newSchema);
 
         newSchema.appendChild(root);
 
+        SerializationContext context = SerializationContext.attach(newSchema);
+
         // Add not linked elements
         // Don't change this as otherwise E&T cannot load the schema :-)
         root = this.addObserverToXmlElement(root);
@@ -522,9 +502,22 @@ public class RootElement {
             current.addToXmlElement(root);
         }
 
+        context.detach();
+
         return newSchema;
     }
 
+    // Creates the (not yet appended) root element with namespaces and schema version
+    static Element createRootElement(Document ownerDoc) {
+
+        Element root = ownerDoc.createElement(RootElement.XML_OBSERVATION_CONTAINER);
+        root.setAttribute(XML_NS_KEY, XML_NS);
+        root.setAttribute(XML_SI_KEY, XML_SI);
+        root.setAttribute(XML_SCHEMA_LOCATION_KEY, XML_SCHEMA_LOCATION);
+        root.setAttribute(XML_SCHEMA_VERSION_KEY, XML_SCHEMA_VERSION);
+        return root;
+    }
+
     private Element addEyepieceToXmlElement(Element root) {
 
         if (root == null) {
@@ -534,13 +527,10 @@ public class RootElement {
         Document ownerDoc = root.getOwnerDocument();
 
         // Get or create the container element
-        Element e_Eyepiece = null;
-        NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_EYEPIECE_CONTAINER);
-        if (nodeList.getLength() == 0) { // we're the first element. Create container element
+        Element e_Eyepiece = SerializationContext.getContainer(ownerDoc, RootElement.XML_EYEPIECE_CONTAINER);
+        if (e_Eyepiece == null) { // we're the first element. Create container element
             e_Eyepiece = ownerDoc.createElement(RootElement.XML_EYEPIECE_CONTAINER);
             ownerDoc.getDocumentElement().appendChild(e_Eyepiece);
-        } else {
-            e_Eyepiece = (Element) nodeList.item(0); // there should be only one container element
         }
 
         Iterator<IEyepiece> iterator = this.eyepieceList.iterator();
@@ -562,13 +552,10 @@ public class RootElement {
         Document ownerDoc = root.getOwnerDocument();
 
         // Get or create the container element
-        Element e_Imager = null;
-        NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_IMAGER_CONTAINER);
-        if (nodeList.getLength() == 0) { // we're the first element. Create container element
+        Element e_Imager = SerializationContext.getContainer(ownerDoc, RootElement.XML_IMAGER_CONTAINER);
+        if (e_Imager == null) { // we're the first element. Create container element
             e_Imager = ownerDoc.createElement(RootElement.XML_IMAGER_CONTAINER);
             ownerDoc.getDocumentElement().appendChild(e_Imager);
-        } else {
-            e_Imager = (Element) nodeList.item(0); // there should be only one container element
         }
 
         Iterator<IImager> iterator = this.imagerList.iterator();
@@ -590,13 +577,10 @@ public class RootElement {
         Document ownerDoc = root.getOwnerDocument();
 
         // Get or create the container element
-        Element e_Site = null;
-        NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_SITE_CONTAINER);
-        if (nodeList.getLength() == 0) { // we're the first element. Create container element
+        Element e_Site = SerializationContext.getContainer(ownerDoc, RootElement.XML_SITE_CONTAINER);
+        if (e_Site == null) { // we're the first element. Create container element
             e_Site = ownerDoc.createElement(RootElement.XML_SITE_CONTAINER);
             ownerDoc.getDocumentElement().appendChild(e_Site);
-        } else {
-            e_Site = (Element) nodeList.item(0); // there should be only one container element
         }
 
         Iterator<ISite> iterator = this.siteList.iterator();
@@ -618,13 +602,10 @@ public class RootElement {
         Document ownerDoc = root.getOwnerDocument();
 
         // Get or create the container element
-        Element e_Observer = null;
-        NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_OBSERVER_CONTAINER);
-        if (nodeList.getLength() == 0) { // we're the first element. Create container element
+        Element e_Observer = SerializationContext.getContainer(ownerDoc, RootElement.XML_OBSERVER_CONTAINER);
+        if (e_Observer == null) { // we're the first element. Create container element
             e_Observer = ownerDoc.createElement(RootElement.XML_OBSERVER_CONTAINER);
             ownerDoc.getDocumentElement().appendChild(e_Observer);
-        } else {
-            e_Observer = (Element) nodeList.item(0); // there should be only one container element
         }
 
         Iterator<IObserver> iterator = this.observerList.iterator();
@@ -646,13 +627,10 @@ public class RootElement {
         Document ownerDoc = root.getOwnerDocument();
 
         // Get or create the container element
-        Element e_Target = null;
-        NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_TARGET_CONTAINER);
-        if (nodeList.getLength() == 0) { // we're the first element. Create container element
+        Element e_Target = SerializationContext.getContainer(ownerDoc, RootElement.XML_TARGET_CONTAINER);
+        if (e_Target == null) { // we're the first element. Create container element
             e_Target = ownerDoc.createElement(RootElement.XML_TARGET_CONTAINER);
             ownerDoc.getDocumentElement().appendChild(e_Target);
-        } else {
-            e_Target = (Element) nodeList.item(0); // there should be only one container element
         }
 
         Iterator<ITarget> iterator = this.targetList.iterator();
@@ -674,13 +652,10 @@ public class RootElement {
         Document ownerDoc = root.getOwnerDocument();
 
         // Get or create the container element
-        Element e_Filter = null;
-        NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_FILTER_CONTAINER);
-        if (nodeList.getLength() == 0) { // we're the first element. Create container element
+        Element e_Filter = SerializationContext.getContainer(ownerDoc, RootElement.XML_FILTER_CONTAINER);
+        if (e_Filter == null) { // we're the first element. Create container element
             e_Filter = ownerDoc.createElement(RootElement.XML_FILTER_CONTAINER);
             ownerDoc.getDocumentElement().appendChild(e_Filter);
-        } else {
-            e_Filter = (Element) nodeList.item(0); // there should be only one container element
         }
 
         Iterator<IFilter> iterator = this.filterList.iterator();
@@ -702,13 +677,10 @@ public class RootElement {
         Document ownerDoc = root.getOwnerDocument();
 
         // Get or create the container element
-        Element e_Lens = null;
-        NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_LENS_CONTAINER);
-        if (nodeList.getLength() == 0) { // we're the first element. Create container element
+        Element e_Lens = SerializationContext.getContainer(ownerDoc, RootElement.XML_LENS_CONTAINER);
+        if (e_Lens == null) { // we're the first element. Create container element
             e_Lens = ownerDoc.createElement(RootElement.XML_LENS_CONTAINER);
             ownerDoc.getDocumentElement().appendChild(e_Lens);
-        } else {
-            e_Lens = (Element) nodeList.item(0); // there should be only one container element
         }
 
         Iterator<ILens> iterator = this.lensList.iterator();
@@ -730,13 +702,10 @@ public class RootElement {
         Document ownerDoc = root.getOwnerDocument();
 
         // Get or create the container element
-        Element e_Session = null;
-        NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_SESSION_CONTAINER);
-        if (nodeList.getLength() == 0) { // we're the first element. Create container element
+        Element e_Session = SerializationContext.getContainer(ownerDoc, RootElement.XML_SESSION_CONTAINER);
+        if (e_Session == null) { // we're the first element. Create container element
             e_Session = ownerDoc.createElement(RootElement.XML_SESSION_CONTAINER);
             ownerDoc.getDocumentElement().appendChild(e_Session);
-        } else {
-            e_Session = (Element) nodeList.item(0); // there should be only one container element
         }
 
         Iterator<ISession> iterator = this.sessionList.iterator();
@@ -758,13 +727,10 @@ public class RootElement {
         Document ownerDoc = root.getOwnerDocument();
 
         // Get or create the container element
-        Element e_Scope = null;
-        NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_SCOPE_CONTAINER);
-        if (nodeList.getLength() == 0) { // we're the first element. Create container element
+        Element e_Scope = SerializationContext.getContainer(ownerDoc, RootElement.XML_SCOPE_CONTAINER);
+        if (e_Scope == null) { // we're the first element. Create container element
             e_Scope = ownerDoc.createElement(RootElement.XML_SCOPE_CONTAINER);
             ownerDoc.getDocumentElement().appendChild(e_Scope);
-        } else {
-            e_Scope = (Element) nodeList.item(0); // there should be only one container element
         }
 
         Iterator<IScope> iterator = this.scopeList.iterator();
@@ -0,0 +1,456 @@
+package de.lehmannet.om;
+
+import de.lehmannet.om.util.DocumentSnapshot;
+import de.lehmannet.om.util.SchemaException;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Writes a RootElement as formatted XML to a stream, without building the DOM of the whole document.<br>
+ * Every schema element still creates its XML via <code>addToXmlElement()</code>, but into a small scratch document.
+ * The created element is written to the stream and removed from the scratch document again, so only one schema
+ * element is held as DOM at a time.<br>
+ * The output is the same as the one of the former XSLT based pretty printer (prettyprint.xsl run by Saxon):
+ * containers in the sequence E&amp;T needs, whitespace only text stripped, elements indented by three spaces, one
+ * attribute per line for long start tags, namespace declarations before the attributes and the text of the listed
+ * elements written as CDATA section.<br>
+ * Optionally the written elements are recorded as {@link DocumentSnapshot} at the same time.
+ */
+final class RootElementWriter {
+
+    private static final int INDENT = 3;
+
+    // Start tags whose attributes are longer than this get one attribute per line
+    private static final int LINE_LENGTH = 80;
+
+    private static final String NEW_LINE = "\n";
+
+    private static final String XMLNS = "xmlns";
+
+    // Elements whose text is written as CDATA section (cdata-section-elements of prettyprint.xsl)
+    private static final Set<String> CDATA_ELEMENTS = Set.of(
+            "alias",
+            "comments",
+            "constellation",
+            "contact",
+            "datasource",
+            "description",
+            "equipment",
+            "model",
+            "name",
+            "notes",
+            "remarks",
+            "surname",
+            "type",
+            "weather");
+
+    private final Writer writer;
+
+    // Records the snapshot of the written file, null if no snapshot is recorded
+    private final DocumentSnapshot.Encoder snapshot;
+
+    private final Document scratch;
+
+    private final Element scratchRoot;
+
+    private final SerializationContext context;
+
+    // Namespaces declared by the open elements, redundant declarations are not written again
+    private final Map<String, String> namespaces = new HashMap<>();
+
+    // Indentation state, the same as the one of the Saxon XML indenter
+    private int level = 0;
+
+    private boolean afterStartTag = false;
+
+    private boolean afterEndTag = false;
+
+    private boolean sameLine = false;
+
+    // Lines and column of the text written since the last tag
+    private int line = 0;
+
+    private int column = 0;
+
+    private boolean openStartTag = false;
+
+    RootElementWriter(Writer out) throws SchemaException {
+
+        this(out, null);
+    }
+
+    RootElementWriter(Writer out, DocumentSnapshot.Encoder snapshot) throws SchemaException {
+
+        this.writer = out;
+        this.snapshot = snapshot;
+        try {
+            this.scratch =
+                    DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        } catch (ParserConfigurationException e) {
+            throw new SchemaException("Unable to create XML writer. ", e);
+        }
+        this.scratchRoot = RootElement.createRootElement(this.scratch);
+        this.scratch.appendChild(this.scratchRoot);
+        this.context = SerializationContext.attach(this.scratch);
+    }
+
+    void write(RootElement root) throws IOException {
+
+        this.writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        this.writer.write(NEW_LINE);
+
+        Map<String, String> declared = this.startElement(this.scratchRoot);
+
+        // Don't change this as otherwise E&T cannot load the schema :-)
+        this.writeContainer(RootElement.XML_OBSERVER_CONTAINER, root.getObserverList(), IObserver::addToXmlElement);
+        this.writeContainer(RootElement.XML_SITE_CONTAINER, root.getSiteList(), ISite::addToXmlElement);
+        this.writeContainer(RootElement.XML_SESSION_CONTAINER, root.getSessionList(), ISession::addToXmlElement);
+        this.writeContainer(RootElement.XML_TARGET_CONTAINER, root.getTargetList(), ITarget::addToXmlElement);
+        this.writeContainer(RootElement.XML_SCOPE_CONTAINER, root.getScopeList(), IScope::addToXmlElement);
+        this.writeContainer(RootElement.XML_EYEPIECE_CONTAINER, root.getEyepieceList(), IEyepiece::addToXmlElement);
+        this.writeContainer(RootElement.XML_LENS_CONTAINER, root.getLensList(), ILens::addToXmlElement);
+        this.writeContainer(RootElement.XML_FILTER_CONTAINER, root.getFilterList(), IFilter::addToXmlElement);
+        this.writeContainer(RootElement.XML_IMAGER_CONTAINER, root.getImagerList(), IImager::addToXmlElement);
+
+        for (IObservation observation : root.getObservations()) {
+            observation.addToXmlElement(this.scratchRoot);
+            this.flush(this.scratchRoot);
+        }
+
+        this.endElement(this.scratchRoot.getTagName(), declared);
+        this.writer.write(NEW_LINE);
+        this.writer.flush();
+
+        this.context.detach();
+    }
+
+    private <T extends ISchemaElement> void writeContainer(
+            String name, Collection<T> elements, ContainerAppender<T> appender) throws IOException {
+
+        Element container = this.scratch.createElement(name);
+        this.scratchRoot.appendChild(container);
+        this.context.registerContainer(container);
+
+        Map<String, String> declared = this.startElement(container);
+        // The context remembers the IDs of flushed elements, so an element added several times is written once
+        for (T element : elements) {
+            appender.append(element, container);
+            this.flush(container);
+        }
+        this.endElement(name, declared);
+
+        this.scratchRoot.removeChild(container);
+    }
+
+    // Writes and removes all child elements of the given scratch element
+    private void flush(Element parent) throws IOException {
+
+        Node child;
+        while ((child = parent.getFirstChild()) != null) {
+            if (child instanceof Element) {
+                this.writeElement((Element) child);
+            }
+            parent.removeChild(child);
+        }
+    }
+
+    private void writeElement(Element element) throws IOException {
+
+        Map<String, String> declared = this.startElement(element);
+
+        StringBuilder cdata = CDATA_ELEMENTS.contains(element.getTagName()) ? new StringBuilder() : null;
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            switch (child.getNodeType()) {
+                case Node.ELEMENT_NODE:
+                    this.writeElement((Element) child);
+                    break;
+                case Node.TEXT_NODE:
+                case Node.CDATA_SECTION_NODE:
+                    if (isWhitespace(child)) {
+                        break;
+                    }
+                    if (cdata != null) {
+                        cdata.append(child.getNodeValue());
+                    } else {
+                        this.characters(child.getNodeValue(), false);
+                    }
+                    break;
+                case Node.COMMENT_NODE:
+                    this.comment(child.getNodeValue());
+                    break;
+                default:
+                    break;
+            }
+        }
+        if ((cdata != null) && (cdata.length() > 0)) {
+            this.characters(cdata.toString(), true);
+        }
+
+        this.endElement(element.getTagName(), declared);
+    }
+
+    // Returns the namespaces declared by the element, with the declarations they hide
+    private Map<String, String> startElement(Element element) throws IOException {
+
+        if (this.afterStartTag || this.afterEndTag) {
+            this.indent();
+        }
+        this.level++;
+        this.sameLine = true;
+        this.afterStartTag = true;
+        this.afterEndTag = false;
+        this.line = 0;
+
+        // Namespace declarations first, then the other attributes
+        List<Node> attributes = new ArrayList<>();
+        Map<String, String> declared = new HashMap<>();
+        int length = 0;
+        NamedNodeMap map = element.getAttributes();
+        for (int i = 0; i < map.getLength(); i++) {
+            Node attribute = map.item(i);
+            String name = attribute.getNodeName();
+            if (!isNamespaceDeclaration(name)) {
+                continue;
+            }
+            String prefix = XMLNS.equals(name) ? "" : name.substring(XMLNS.length() + 1);
+            String uri = attribute.getNodeValue();
+            if (uri.equals(this.namespaces.get(prefix))) {
+                continue;
+            }
+            declared.put(prefix, this.namespaces.put(prefix, uri));
+            attributes.add(attribute);
+            length += prefix.isEmpty() ? 9 + uri.length() : prefix.length() + 10 + uri.length();
+        }
+        for (int i = 0; i < map.getLength(); i++) {
+            Node attribute = map.item(i);
+            String name = attribute.getNodeName();
+            if (isNamespaceDeclaration(name)) {
+                continue;
+            }
+            attributes.add(attribute);
+            int separator = name.indexOf(':');
+            length += name.length() - (separator + 1) + attribute.getNodeValue().length() + 4;
+            length += (separator < 0) ? 4 : separator + 5;
+        }
+
+        int attributeIndent = -1;
+        if (length > LINE_LENGTH) {
+            attributeIndent =
+                    (this.level - 1) * INDENT + 2 + element.getTagName().length();
+        }
+
+        this.writer.write('<');
+        this.writer.write(element.getTagName());
+        boolean first = true;
+        for (Node attribute : attributes) {
+            if (first || (attributeIndent < 0)) {
+                this.writer.write(' ');
+            } else {
+                this.writer.write(NEW_LINE);
+                this.writer.write(" ".repeat(attributeIndent));
+            }
+            first = false;
+            this.writer.write(attribute.getNodeName());
+            this.writer.write("=\"");
+            this.writeEscaped(attribute.getNodeValue(), true);
+            this.writer.write('"');
+        }
+        this.openStartTag = true;
+
+        if (this.snapshot != null) {
+            this.snapshot.startElement(element);
+        }
+
+        return declared;
+    }
+
+    private void endElement(String tagName, Map<String, String> declared) throws IOException {
+
+        this.level--;
+        if (this.afterEndTag && !this.sameLine) {
+            this.indent();
+        }
+
+        if (this.openStartTag) {
+            this.writer.write("/>");
+            this.openStartTag = false;
+        } else {
+            this.writer.write("</");
+            this.writer.write(tagName);
+            this.writer.write('>');
+        }
+
+        this.sameLine = false;
+        this.afterEndTag = true;
+        this.afterStartTag = false;
+        this.line = 0;
+
+        if (this.snapshot != null) {
+            this.snapshot.endElement();
+        }
+
+        for (Map.Entry<String, String> entry : declared.entrySet()) {
+            if (entry.getValue() == null) {
+                this.namespaces.remove(entry.getKey());
+            } else {
+                this.namespaces.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void characters(String text, boolean asCData) throws IOException {
+
+        this.closeStartTag();
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                this.sameLine = false;
+                this.line++;
+                this.column = 0;
+            }
+            this.column++;
+        }
+
+        if (asCData) {
+            // "]]>" cannot be part of a CDATA section, so split the section there
+            int start = 0;
+            int end;
+            while ((end = text.indexOf("]]>", start)) != -1) {
+                this.writeCData(text.substring(start, end + 2));
+                start = end + 2;
+            }
+            this.writeCData(text.substring(start));
+        } else {
+            this.writeEscaped(text, false);
+            if (this.snapshot != null) {
+                this.snapshot.characters(text);
+            }
+        }
+
+        this.afterStartTag = false;
+        this.afterEndTag = false;
+    }
+
+    private void comment(String text) throws IOException {
+
+        if (this.afterEndTag) {
+            this.indent();
+        }
+        this.closeStartTag();
+        this.writer.write("<!--");
+        this.writer.write(text);
+        this.writer.write("-->");
+        if (this.snapshot != null) {
+            this.snapshot.comment(text);
+        }
+    }
+
+    private void indent() throws IOException {
+
+        int spaces = this.level * INDENT;
+        if (this.line > 0) {
+            // The text ended with a line of its own, so the indentation is only filled up
+            spaces -= this.column;
+            if (spaces <= 0) {
+                return;
+            }
+        }
+
+        this.closeStartTag();
+        if (this.line == 0) {
+            this.writer.write(NEW_LINE);
+        }
+        this.writer.write(" ".repeat(spaces));
+        this.sameLine = false;
+    }
+
+    private void closeStartTag() throws IOException {
+
+        if (this.openStartTag) {
+            this.writer.write('>');
+            this.openStartTag = false;
+        }
+    }
+
+    private void writeCData(String text) throws IOException {
+
+        this.writer.write("<![CDATA[");
+        this.writer.write(text);
+        this.writer.write("]]>");
+        if (this.snapshot != null) {
+            this.snapshot.cdata(text);
+        }
+    }
+
+    private void writeEscaped(String text, boolean inAttribute) throws IOException {
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    this.writer.write("&amp;");
+                    break;
+                case '<':
+                    this.writer.write("&lt;");
+                    break;
+                case '>':
+                    this.writer.write("&gt;");
+                    break;
+                case '"':
+                    this.writer.write(inAttribute ? "&#34;" : "\"");
+                    break;
+                case '\n':
+                case '\t':
+                    if (inAttribute) {
+                        this.writeCharacterReference(c);
+                    } else {
+                        this.writer.write(c);
+                    }
+                    break;
+                default:
+                    if ((c < 0x20) || ((c >= 0x7F) && (c <= 0x9F)) || (c == 0x2028)) {
+                        this.writeCharacterReference(c);
+                    } else {
+                        this.writer.write(c);
+                    }
+                    break;
+            }
+        }
+    }
+
+    private void writeCharacterReference(char c) throws IOException {
+
+        this.writer.write("&#x");
+        this.writer.write(Integer.toHexString(c).toUpperCase(Locale.ROOT));
+        this.writer.write(';');
+    }
+
+    private static boolean isNamespaceDeclaration(String attributeName) {
+
+        return XMLNS.equals(attributeName) || attributeName.startsWith(XMLNS + ":");
+    }
+
+    private static boolean isWhitespace(Node node) {
+
+        String value = node.getNodeValue();
+        return (value == null) || value.isBlank();
+    }
+
+    @FunctionalInterface
+    private interface ContainerAppender<T> {
+
+        void append(T element, Element container);
+    }
+}
@@ -6,12 +6,18 @@ public class SchemaOalTypeInfo {
     private final String targetType;
     private final String findingClassName;
     private final String findingType;
+    private final TargetFactory targetFactory;
+    private final FindingFactory findingFactory;
+    private final ImagerFactory imagerFactory;
 
     private SchemaOalTypeInfo(Builder builder) {
         this.targetClassName = builder.targetClassName;
         this.targetType = builder.targetType;
         this.findingClassName = builder.findingClassName;
         this.findingType = builder.findingType;
+        this.targetFactory = builder.targetFactory;
+        this.findingFactory = builder.findingFactory;
+        this.imagerFactory = builder.imagerFactory;
     }
 
     public String getFindingType() {
@@ -30,12 +36,27 @@ public class SchemaOalTypeInfo {
         return targetClassName;
     }
 
+    public TargetFactory getTargetFactory() {
+        return targetFactory;
+    }
+
+    public FindingFactory getFindingFactory() {
+        return findingFactory;
+    }
+
+    public ImagerFactory getImagerFactory() {
+        return imagerFactory;
+    }
+
     public static class Builder {
 
         private String targetClassName;
         private String targetType;
         private String findingClassName;
         private String findingType;
+        private TargetFactory targetFactory;
+        private FindingFactory findingFactory;
+        private ImagerFactory imagerFactory;
 
         public Builder targetClassName(String value) {
             this.targetClassName = value;
@@ -57,6 +78,32 @@ public class SchemaOalTypeInfo {
             return this;
         }
 
+        /**
+         * Factory for the target type. Types without factory are loaded via reflection, using the target class name.
+         */
+        public Builder targetFactory(TargetFactory value) {
+            this.targetFactory = value;
+            return this;
+        }
+
+        /**
+         * Factory for the finding type. Types without factory are loaded via reflection, using the finding class
+         * name.
+         */
+        public Builder findingFactory(FindingFactory value) {
+            this.findingFactory = value;
+            return this;
+        }
+
+        /**
+         * Factory for imager types, which are registered as target type. Types without factory are loaded via
+         * reflection, using the target class name.
+         */
+        public Builder imagerFactory(ImagerFactory value) {
+            this.imagerFactory = value;
+            return this;
+        }
+
         public SchemaOalTypeInfo build() {
             return new SchemaOalTypeInfo(this);
         }
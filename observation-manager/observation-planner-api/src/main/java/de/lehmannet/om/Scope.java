@@ -15,9 +15,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.w3c.dom.Comment;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * A Scope describes an optical instrument which can be used for astronomical observations.<br>
@@ -369,8 +367,7 @@ public class Scope extends SchemaElement implements IScope {
         Document ownerDoc = element.getOwnerDocument();
 
         // Check if this element doesn't exist so far
-        boolean existsElement = this.existsNodeElement(element);
-        if (!existsElement) {
+        if (!SerializationContext.isNewElement(element, IScope.XML_ELEMENT_SCOPE, this.getID())) {
             return;
         }
 
@@ -378,7 +375,7 @@ public class Scope extends SchemaElement implements IScope {
         Element e_Scope = ownerDoc.createElement(XML_ELEMENT_SCOPE);
         e_Scope.setAttribute(XML_ELEMENT_ATTRIBUTE_ID, this.getID());
 
-        element.appendChild(e_Scope);
+        SerializationContext.appendElement(element, e_Scope);
 
         // ----- Set Comments (do this at the very beginning to possibly increase speed
         // during read)
@@ -413,29 +410,6 @@ public class Scope extends SchemaElement implements IScope {
         e_Scope.setAttribute("xmlns:xsi", "http://www.w3.org/2001/XMLSchema-instance");
     }
 
-    private boolean existsNodeElement(Element element) {
-        boolean existsElement = true;
-        NodeList nodeList = element.getElementsByTagName(IScope.XML_ELEMENT_SCOPE);
-        if (nodeList.getLength() > 0) {
-            Node currentNode = null;
-            NamedNodeMap attributes = null;
-            for (int i = 0; i < nodeList.getLength(); i++) { // iterate over all found nodes
-                currentNode = nodeList.item(i);
-                attributes = currentNode.getAttributes();
-                Node idAttribute = attributes.getNamedItem(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID);
-                if ((idAttribute != null) // if ID attribute is set and equals this objects ID, return existing element
-                        && (idAttribute
-                                .getNodeValue()
-                                .trim()
-                                .equals(this.getID().trim()))) {
-                    existsElement = false;
-                    ;
-                }
-            }
-        }
-        return existsElement;
-    }
-
     private void addTypeNode(Document ownerDoc, Element e_Scope) {
         Element e_Type = ownerDoc.createElement(XML_ELEMENT_TYPE);
         Node n_TypeText = ownerDoc.createCDATASection(this.type);
@@ -544,13 +518,10 @@ public class Scope extends SchemaElement implements IScope {
 
         if (addElementToContainer) {
             // Get or create the container element
-            Element e_Scopes = null;
-            NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_SCOPE_CONTAINER);
-            if (nodeList.getLength() == 0) { // we're the first element. Create container element
+            Element e_Scopes = SerializationContext.getContainer(ownerDoc, RootElement.XML_SCOPE_CONTAINER);
+            if (e_Scopes == null) { // we're the first element. Create container element
                 e_Scopes = ownerDoc.createElement(RootElement.XML_SCOPE_CONTAINER);
                 ownerDoc.getDocumentElement().appendChild(e_Scopes);
-            } else {
-                e_Scopes = (Element) nodeList.item(0); // there should be only one container element
             }
 
             this.addToXmlElement(e_Scopes);
@@ -0,0 +1,193 @@
+package de.lehmannet.om;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * State of one serialization of schema elements into a DOM document.<br>
+ * While building a document, every <code>addToXmlElement()</code> call used to search the whole document for its
+ * container element and all elements of the container for its own ID, which made saving quadratic in the number of
+ * elements. The context is attached to the document (see {@link #attach(Document)}), so it reaches all
+ * <code>addToXmlElement()</code> and <code>addAsLinkToXmlElement()</code> implementations through the owner document
+ * of the passed element. It caches the container elements and the IDs already added to each container.<br>
+ * If no context is attached to a document, the static helpers fall back to searching the DOM, as before.
+ */
+public final class SerializationContext {
+
+    private static final String USER_DATA_KEY = SerializationContext.class.getName();
+
+    private final Document document;
+
+    // Container elements by name
+    private final Map<String, Element> containers = new HashMap<>();
+
+    // IDs per container and element name, e.g. <targets> -> target -> {id1, id2}
+    private final Map<Element, Map<String, Set<String>>> addedIDs = new IdentityHashMap<>();
+
+    private SerializationContext(Document document) {
+
+        this.document = document;
+    }
+
+    /**
+     * Attaches a new context to the given document. All elements added to the document afterwards use the context,
+     * until it is detached again.
+     *
+     * @param document
+     *            The document to serialize into
+     * @return The new context
+     */
+    public static SerializationContext attach(Document document) {
+
+        SerializationContext context = new SerializationContext(document);
+        document.setUserData(USER_DATA_KEY, context, null);
+        return context;
+    }
+
+    /**
+     * Removes this context from its document. Must be called when the serialization is done, as the context does not
+     * notice changes made to the document by other code.
+     */
+    public void detach() {
+
+        this.document.setUserData(USER_DATA_KEY, null, null);
+    }
+
+    /**
+     * Registers a container element created outside of the schema elements, so that following lookups return it.
+     *
+     * @param container
+     *            The container element (e.g. &lt;targets&gt;)
+     */
+    public void registerContainer(Element container) {
+
+        this.containers.put(container.getTagName(), container);
+    }
+
+    /**
+     * Returns the container element with the given name of the document, or <code>NULL</code> if the document has
+     * no such container so far.
+     *
+     * @param ownerDoc
+     *            The document
+     * @param containerName
+     *            The name of the container element, e.g. <code>RootElement.XML_TARGET_CONTAINER</code>
+     * @return The container element or <code>NULL</code>
+     */
+    public static Element getContainer(Document ownerDoc, String containerName) {
+
+        SerializationContext context = get(ownerDoc);
+        if (context == null) {
+            return findContainer(ownerDoc, containerName);
+        }
+
+        Element container = context.containers.get(containerName);
+        if ((container == null) || (container.getParentNode() == null)) {
+            container = findContainer(ownerDoc, containerName);
+            if (container != null) {
+                context.containers.put(containerName, container);
+            }
+        }
+        return container;
+    }
+
+    /**
+     * Checks whether an element with the given name and ID was not yet added below the given container.<br>
+     * New elements must be added with {@link #appendElement(Element, Element)}, so that the context knows them.
+     *
+     * @param container
+     *            The container element
+     * @param elementName
+     *            The name of the element, e.g. <code>ITarget.XML_ELEMENT_TARGET</code>
+     * @param id
+     *            The ID of the element
+     * @return <code>true</code> if no element with the ID exists in the container so far
+     */
+    public static boolean isNewElement(Element container, String elementName, String id) {
+
+        SerializationContext context = get(container.getOwnerDocument());
+        if (context == null) {
+            return !containsID(container, elementName, id);
+        }
+
+        return !context.getIDs(container, elementName).contains(id.trim());
+    }
+
+    /**
+     * Appends a new element to its container. If a context is attached, the ID of the element is remembered as
+     * added.
+     *
+     * @param container
+     *            The container element
+     * @param element
+     *            The new element, with its ID attribute set
+     */
+    public static void appendElement(Element container, Element element) {
+
+        container.appendChild(element);
+
+        SerializationContext context = get(container.getOwnerDocument());
+        if (context != null) {
+            context.getIDs(container, element.getTagName())
+                    .add(element.getAttribute(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID)
+                            .trim());
+        }
+    }
+
+    private Set<String> getIDs(Element container, String elementName) {
+
+        return this.addedIDs
+                .computeIfAbsent(container, c -> new HashMap<>())
+                .computeIfAbsent(elementName, name -> collectIDs(container, name));
+    }
+
+    private static SerializationContext get(Document ownerDoc) {
+
+        if (ownerDoc == null) {
+            return null;
+        }
+        return (SerializationContext) ownerDoc.getUserData(USER_DATA_KEY);
+    }
+
+    private static Element findContainer(Document ownerDoc, String containerName) {
+
+        NodeList nodeList = ownerDoc.getElementsByTagName(containerName);
+        if (nodeList.getLength() == 0) {
+            return null;
+        }
+        return (Element) nodeList.item(0); // there should be only one container element
+    }
+
+    private static boolean containsID(Element container, String elementName, String id) {
+
+        NodeList nodeList = container.getElementsByTagName(elementName);
+        for (int i = 0; i < nodeList.getLength(); i++) {
+            Node idAttribute = nodeList.item(i).getAttributes().getNamedItem(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID);
+            if ((idAttribute != null) && idAttribute.getNodeValue().trim().equals(id.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Elements added before the context was used for this container
+    private static Set<String> collectIDs(Element container, String elementName) {
+
+        Set<String> ids = new HashSet<>();
+        NodeList nodeList = container.getElementsByTagName(elementName);
+        for (int i = 0; i < nodeList.getLength(); i++) {
+            Node idAttribute = nodeList.item(i).getAttributes().getNamedItem(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID);
+            if (idAttribute != null) {
+                ids.add(idAttribute.getNodeValue().trim());
+            }
+        }
+        return ids;
+    }
+}
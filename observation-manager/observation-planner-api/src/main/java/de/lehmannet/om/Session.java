@@ -20,7 +20,6 @@ import java.util.ListIterator;
 import org.apache.commons.lang3.StringUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
@@ -485,29 +484,15 @@ public class Session extends SchemaElement implements ISession {
         Document ownerDoc = element.getOwnerDocument();
 
         // Check if this element doesn't exist so far
-        NodeList nodeList = element.getElementsByTagName(ISession.XML_ELEMENT_SESSION);
-        if (nodeList.getLength() > 0) {
-            Node currentNode = null;
-            NamedNodeMap attributes = null;
-            for (int i = 0; i < nodeList.getLength(); i++) { // iterate over all found nodes
-                currentNode = nodeList.item(i);
-                attributes = currentNode.getAttributes();
-                Node idAttribute = attributes.getNamedItem(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID);
-                if ((idAttribute != null) // if ID attribute is set and equals this objects ID, return existing element
-                        && (idAttribute
-                                .getNodeValue()
-                                .trim()
-                                .equals(this.getID().trim()))) {
-                    return element;
-                }
-            }
+        if (!SerializationContext.isNewElement(element, ISession.XML_ELEMENT_SESSION, this.getID())) {
+            return element;
         }
 
         // Create the new session element
         Element e_Session = ownerDoc.createElement(XML_ELEMENT_SESSION);
         e_Session.setAttribute(XML_ELEMENT_ATTRIBUTE_ID, this.getID());
 
-        element.appendChild(e_Session);
+        SerializationContext.appendElement(element, e_Session);
 
         Element e_Begin = ownerDoc.createElement(XML_ELEMENT_BEGIN);
 
@@ -625,14 +610,11 @@ public class Session extends SchemaElement implements ISession {
 
         if (addElementToContainer) {
             // Get or create the container element
-            Element e_Sessions = null;
-            NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_SESSION_CONTAINER);
+            Element e_Sessions = SerializationContext.getContainer(ownerDoc, RootElement.XML_SESSION_CONTAINER);
             boolean created = false;
-            if (nodeList.getLength() == 0) { // we're the first element. Create container element
+            if (e_Sessions == null) { // we're the first element. Create container element
                 e_Sessions = ownerDoc.createElement(RootElement.XML_SESSION_CONTAINER);
                 created = true;
-            } else {
-                e_Sessions = (Element) nodeList.item(0); // there should be only one container element
             }
 
             e_Sessions = this.addToXmlElement(e_Sessions);
@@ -11,9 +11,7 @@ import de.lehmannet.om.mapper.SiteMapper;
 import de.lehmannet.om.util.SchemaException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * An Site describes an observation site where an observation took place.<br>
@@ -203,29 +201,15 @@ public class Site extends SchemaElement implements ISite {
         Document ownerDoc = element.getOwnerDocument();
 
         // Check if this element doesn't exist so far
-        NodeList nodeList = element.getElementsByTagName(ISite.XML_ELEMENT_SITE);
-        if (nodeList.getLength() > 0) {
-            Node currentNode = null;
-            NamedNodeMap attributes = null;
-            for (int i = 0; i < nodeList.getLength(); i++) { // iterate over all found nodes
-                currentNode = nodeList.item(i);
-                attributes = currentNode.getAttributes();
-                Node idAttribute = attributes.getNamedItem(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID);
-                if ((idAttribute != null) // if ID attribute is set and equals this objects ID, return existing element
-                        && (idAttribute
-                                .getNodeValue()
-                                .trim()
-                                .equals(this.getID().trim()))) {
-                    return;
-                }
-            }
+        if (!SerializationContext.isNewElement(element, ISite.XML_ELEMENT_SITE, this.getID())) {
+            return;
         }
 
         // Create the new site element
         Element e_Site = ownerDoc.createElement(XML_ELEMENT_SITE);
         e_Site.setAttribute(XML_ELEMENT_ATTRIBUTE_ID, this.getID());
 
-        element.appendChild(e_Site);
+        SerializationContext.appendElement(element, e_Site);
 
         Element e_Name = ownerDoc.createElement(XML_ELEMENT_NAME);
         Node n_NameText = ownerDoc.createCDATASection(this.name);
@@ -302,13 +286,10 @@ public class Site extends SchemaElement implements ISite {
 
         if (addElementToContainer) {
             // Get or create the container element
-            Element e_Sites = null;
-            NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_SITE_CONTAINER);
-            if (nodeList.getLength() == 0) { // we're the first element. Create container element
+            Element e_Sites = SerializationContext.getContainer(ownerDoc, RootElement.XML_SITE_CONTAINER);
+            if (e_Sites == null) { // we're the first element. Create container element
                 e_Sites = ownerDoc.createElement(RootElement.XML_SITE_CONTAINER);
                 ownerDoc.getDocumentElement().appendChild(e_Sites);
-            } else {
-                e_Sites = (Element) nodeList.item(0); // there should be only one container element
             }
 
             this.addToXmlElement(e_Sites);
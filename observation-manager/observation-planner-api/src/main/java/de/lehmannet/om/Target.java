@@ -18,7 +18,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * The abstract class Target provides some common features that may be used by the subclasses of an
@@ -332,12 +331,9 @@ public abstract class Target extends SchemaElement implements ITarget {
 
         if (addElementToContainer) {
             // Get container element
-            Element container = null;
-            NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_TARGET_CONTAINER);
-            if (nodeList.getLength() == 0) { // we're the first element. Create container element
+            Element container = SerializationContext.getContainer(ownerDoc, RootElement.XML_TARGET_CONTAINER);
+            if (container == null) { // we're the first element. Create container element
                 container = ownerDoc.createElement(RootElement.XML_TARGET_CONTAINER);
-            } else {
-                container = (Element) nodeList.item(0); // there should be only one container element
             }
 
             this.addToXmlElement(container);
@@ -685,7 +681,7 @@ public abstract class Target extends SchemaElement implements ITarget {
         Element e_Target = ownerDoc.createElement(XML_ELEMENT_TARGET);
         e_Target.setAttribute(XML_ELEMENT_ATTRIBUTE_ID, this.getID());
 
-        parent.appendChild(e_Target);
+        SerializationContext.appendElement(parent, e_Target);
 
         if (this.dataSource != null) {
             Element e_DataSource = ownerDoc.createElement(ITarget.XML_ELEMENT_DATASOURCE);
@@ -0,0 +1,14 @@
+package de.lehmannet.om;
+
+import de.lehmannet.om.util.SchemaException;
+import org.w3c.dom.Node;
+
+/**
+ * Creates a target from its XML element, e.g. <code>DeepSkyTargetGX::new</code>.<br>
+ * Extensions register factories through {@link SchemaOalTypeInfo}, so targets can be loaded without reflection.
+ */
+@FunctionalInterface
+public interface TargetFactory {
+
+    ITarget create(Node targetElement, IObserver... observers) throws SchemaException;
+}
@@ -36,7 +36,8 @@ public class ObservationMapper {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ObservationMapper.class);
 
-    public static IImager getOptionalImager(IImager[] imagers, Element observationElement) throws SchemaException {
+    public static IImager getOptionalImager(ReferenceContext references, Element observationElement)
+            throws SchemaException {
 
         // Get optional imager link
 
@@ -46,11 +47,10 @@ public class ObservationMapper {
             if (child != null) {
                 String imagerID = child.getFirstChild().getNodeValue();
 
-                if ((imagers != null) && (imagers.length > 0)) {
-                    for (IImager iImager : imagers) {
-                        if (iImager.getID().equals(imagerID)) {
-                            return iImager;
-                        }
+                if (references.hasImagers()) {
+                    IImager imager = references.getImager(imagerID);
+                    if (imager != null) {
+                        return imager;
                     }
 
                     throw new SchemaException("Observation imager links to not existing imager element. ");
@@ -68,7 +68,8 @@ public class ObservationMapper {
         return null;
     }
 
-    public static IFilter getOptionalFilter(IFilter[] filters, Element observationElement) throws SchemaException {
+    public static IFilter getOptionalFilter(ReferenceContext references, Element observationElement)
+            throws SchemaException {
 
         // Get optional filter link
 
@@ -78,11 +79,10 @@ public class ObservationMapper {
             if (child != null) {
                 String filterID = child.getFirstChild().getNodeValue();
 
-                if ((filters != null) && (filters.length > 0)) {
-                    for (IFilter iFilter : filters) {
-                        if (iFilter.getID().equals(filterID)) {
-                            return iFilter;
-                        }
+                if (references.hasFilters()) {
+                    IFilter filter = references.getFilter(filterID);
+                    if (filter != null) {
+                        return filter;
                     }
 
                     throw new SchemaException("Observation filter links to not existing filter element. ");
@@ -99,7 +99,8 @@ public class ObservationMapper {
         return null;
     }
 
-    public static ILens getOptionalLens(Element observationElement, ILens... lenses) throws SchemaException {
+    public static ILens getOptionalLens(ReferenceContext references, Element observationElement)
+            throws SchemaException {
 
         // Get optional lens link
 
@@ -109,11 +110,10 @@ public class ObservationMapper {
             if (child != null) {
                 String lensID = child.getFirstChild().getNodeValue();
 
-                if ((lenses != null) && (lenses.length > 0)) {
-                    for (ILens iLens : lenses) {
-                        if (iLens.getID().equals(lensID)) {
-                            return iLens;
-                        }
+                if (references.hasLenses()) {
+                    ILens lens = references.getLens(lensID);
+                    if (lens != null) {
+                        return lens;
                     }
                     throw new SchemaException("Observation lens links to not existing lens element. ");
 
@@ -129,7 +129,7 @@ public class ObservationMapper {
         return null;
     }
 
-    public static IEyepiece getOptionalEyepiece(IEyepiece[] eyepieces, Element observationElement)
+    public static IEyepiece getOptionalEyepiece(ReferenceContext references, Element observationElement)
             throws SchemaException {
 
         // Get optional eyepiece link
@@ -140,11 +140,10 @@ public class ObservationMapper {
             if (child != null) {
                 String eyepieceID = child.getFirstChild().getNodeValue();
 
-                if ((eyepieces != null) && (eyepieces.length > 0)) {
-                    for (IEyepiece iEyepiece : eyepieces) {
-                        if (iEyepiece.getID().equals(eyepieceID)) {
-                            return iEyepiece;
-                        }
+                if (references.hasEyepieces()) {
+                    IEyepiece eyepiece = references.getEyepiece(eyepieceID);
+                    if (eyepiece != null) {
+                        return eyepiece;
                     }
                     throw new SchemaException("Observation eyepiece links to not existing eyepiece element. ");
 
@@ -160,7 +159,8 @@ public class ObservationMapper {
         return null;
     }
 
-    public static ISession getOptionalSession(ISession[] sessions, Element observationElement) throws SchemaException {
+    public static ISession getOptionalSession(ReferenceContext references, Element observationElement)
+            throws SchemaException {
 
         // Get optional session link
 
@@ -170,12 +170,10 @@ public class ObservationMapper {
             if (child != null) {
                 String sessionID = child.getFirstChild().getNodeValue();
 
-                if ((sessions != null) && (sessions.length > 0)) {
-                    // Check if session exists
-                    for (ISession iSession : sessions) {
-                        if (iSession.getID().equals(sessionID)) {
-                            return iSession;
-                        }
+                if (references.hasSessions()) {
+                    ISession session = references.getSession(sessionID);
+                    if (session != null) {
+                        return session;
                     }
 
                 } else {
@@ -347,7 +345,8 @@ public class ObservationMapper {
         return images;
     }
 
-    public static IScope getOptionalScope(IScope[] scopes, Element observationElement) throws SchemaException {
+    public static IScope getOptionalScope(ReferenceContext references, Element observationElement)
+            throws SchemaException {
 
         // Get optional scope link
 
@@ -357,12 +356,13 @@ public class ObservationMapper {
             if (child != null) {
                 String scopeID = child.getFirstChild().getNodeValue();
 
-                if ((scopes != null) && (scopes.length > 0)) {
+                if (references.hasScopes()) {
+
+                    IScope scope = references.getScope(scopeID);
 
-                    for (IScope iScope : scopes) {
-                        if (iScope.getID().equals(scopeID)) {
-                            return iScope;
-                        }
+                    if (scope != null) {
+
+                        return scope;
                     }
                     throw new SchemaException("Observation scope links to not existing scope element. ");
                 } else {
@@ -377,7 +377,8 @@ public class ObservationMapper {
         return null;
     }
 
-    public static ISite getOptionalSite(ISite[] sites, Element observationElement) throws SchemaException {
+    public static ISite getOptionalSite(ReferenceContext references, Element observationElement)
+            throws SchemaException {
 
         // Get optional site link
 
@@ -387,11 +388,10 @@ public class ObservationMapper {
             if (child != null) {
                 String siteID = child.getFirstChild().getNodeValue();
 
-                if ((sites != null) && (sites.length > 0)) {
-                    for (ISite iSite : sites) {
-                        if (iSite.getID().equals(siteID)) {
-                            return iSite;
-                        }
+                if (references.hasSites()) {
+                    ISite site = references.getSite(siteID);
+                    if (site != null) {
+                        return site;
                     }
 
                 } else {
@@ -446,7 +446,7 @@ public class ObservationMapper {
         return find;
     }
 
-    public static IObserver getMandatoryObserver(IObserver[] observers, Element observationElement)
+    public static IObserver getMandatoryObserver(ReferenceContext references, Element observationElement)
             throws SchemaException {
 
         // Get mandatory observer link
@@ -461,12 +461,10 @@ public class ObservationMapper {
         } else {
             String observerID = child.getFirstChild().getNodeValue();
 
-            if ((observers != null) && (observers.length > 0)) {
-                // Check if observer exists
-                for (IObserver iObserver : observers) {
-                    if (iObserver.getID().equals(observerID)) {
-                        return iObserver;
-                    }
+            if (references.hasObservers()) {
+                IObserver observer = references.getObserver(observerID);
+                if (observer != null) {
+                    return observer;
                 }
 
                 throw new SchemaException("Observation observer links to not existing observer element. ");
@@ -477,7 +475,8 @@ public class ObservationMapper {
         }
     }
 
-    public static ITarget getMandatoryTarget(ITarget[] targets, Element observationElement) throws SchemaException {
+    public static ITarget getMandatoryTarget(ReferenceContext references, Element observationElement)
+            throws SchemaException {
 
         // Get mandatory target link
 
@@ -491,11 +490,10 @@ public class ObservationMapper {
         } else {
             String targetID = child.getFirstChild().getNodeValue();
 
-            if ((targets != null) && (targets.length > 0)) {
-                for (ITarget iTarget : targets) {
-                    if (iTarget.getID().equals(targetID)) {
-                        return iTarget;
-                    }
+            if (references.hasTargets()) {
+                ITarget target = references.getTarget(targetID);
+                if (target != null) {
+                    return target;
                 }
 
                 LOGGER.error("Cannot find links for target {}", targetID);
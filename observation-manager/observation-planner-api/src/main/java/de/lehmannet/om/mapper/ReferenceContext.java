@@ -0,0 +1,144 @@
+package de.lehmannet.om.mapper;
+
+import de.lehmannet.om.IEyepiece;
+import de.lehmannet.om.IFilter;
+import de.lehmannet.om.IImager;
+import de.lehmannet.om.ILens;
+import de.lehmannet.om.IObserver;
+import de.lehmannet.om.ISchemaElement;
+import de.lehmannet.om.IScope;
+import de.lehmannet.om.ISession;
+import de.lehmannet.om.ISite;
+import de.lehmannet.om.ITarget;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves the ID links of an observation element (&lt;target&gt;, &lt;observer&gt;, &lt;site&gt;...) to the already
+ * loaded schema elements.<br>
+ * The ID indexes are built once per load, so resolving a link is a hash lookup instead of a scan over all elements of
+ * that type. If several elements share an ID, the first one wins (as with the former linear search).
+ */
+public final class ReferenceContext {
+
+    private final Map<String, ITarget> targets;
+    private final Map<String, IObserver> observers;
+    private final Map<String, ISite> sites;
+    private final Map<String, IScope> scopes;
+    private final Map<String, ISession> sessions;
+    private final Map<String, IEyepiece> eyepieces;
+    private final Map<String, IFilter> filters;
+    private final Map<String, IImager> imagers;
+    private final Map<String, ILens> lenses;
+
+    /**
+     * Creates the indexes of the given elements. All arrays can be <code>NULL</code> or empty.
+     */
+    public ReferenceContext(
+            ITarget[] targets,
+            IObserver[] observers,
+            ISite[] sites,
+            IScope[] scopes,
+            ISession[] sessions,
+            IEyepiece[] eyepieces,
+            IFilter[] filters,
+            IImager[] imagers,
+            ILens... lenses) {
+
+        this.targets = index(targets);
+        this.observers = index(observers);
+        this.sites = index(sites);
+        this.scopes = index(scopes);
+        this.sessions = index(sessions);
+        this.eyepieces = index(eyepieces);
+        this.filters = index(filters);
+        this.imagers = index(imagers);
+        this.lenses = index(lenses);
+    }
+
+    public boolean hasTargets() {
+        return !this.targets.isEmpty();
+    }
+
+    public ITarget getTarget(String id) {
+        return this.targets.get(id);
+    }
+
+    public boolean hasObservers() {
+        return !this.observers.isEmpty();
+    }
+
+    public IObserver getObserver(String id) {
+        return this.observers.get(id);
+    }
+
+    public boolean hasSites() {
+        return !this.sites.isEmpty();
+    }
+
+    public ISite getSite(String id) {
+        return this.sites.get(id);
+    }
+
+    public boolean hasScopes() {
+        return !this.scopes.isEmpty();
+    }
+
+    public IScope getScope(String id) {
+        return this.scopes.get(id);
+    }
+
+    public boolean hasSessions() {
+        return !this.sessions.isEmpty();
+    }
+
+    public ISession getSession(String id) {
+        return this.sessions.get(id);
+    }
+
+    public boolean hasEyepieces() {
+        return !this.eyepieces.isEmpty();
+    }
+
+    public IEyepiece getEyepiece(String id) {
+        return this.eyepieces.get(id);
+    }
+
+    public boolean hasFilters() {
+        return !this.filters.isEmpty();
+    }
+
+    public IFilter getFilter(String id) {
+        return this.filters.get(id);
+    }
+
+    public boolean hasImagers() {
+        return !this.imagers.isEmpty();
+    }
+
+    public IImager getImager(String id) {
+        return this.imagers.get(id);
+    }
+
+    public boolean hasLenses() {
+        return !this.lenses.isEmpty();
+    }
+
+    public ILens getLens(String id) {
+        return this.lenses.get(id);
+    }
+
+    private static <T extends ISchemaElement> Map<String, T> index(T[] elements) {
+
+        if ((elements == null) || (elements.length == 0)) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, T> index = new HashMap<>(elements.length * 4 / 3 + 1);
+        for (T element : elements) {
+            index.putIfAbsent(element.getID(), element);
+        }
+        return index;
+    }
+}
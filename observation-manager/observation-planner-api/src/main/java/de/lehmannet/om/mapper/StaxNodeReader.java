@@ -0,0 +1,204 @@
+package de.lehmannet.om.mapper;
+
+import java.io.InputStream;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Event based counterpart of the DOM mappers.<br>
+ * Reads single schema elements (e.g. one &lt;observation&gt;) from a StAX stream and returns them as small detached
+ * DOM fragments, so the existing Node based constructors and mappers can be used without building a DOM of the
+ * whole document. The fragments keep the node structure a DOM parser would produce (text, CDATA sections and
+ * comments as separate nodes), so <code>getFirstChild().getNodeValue()</code> returns the same values as before.
+ */
+public final class StaxNodeReader {
+
+    private static final String PROPERTY_REPORT_CDATA = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+
+    private StaxNodeReader() {}
+
+    /**
+     * Creates a new XMLStreamReader which reports CDATA sections as own events.
+     *
+     * @param in
+     *            The stream to read from
+     * @param systemId
+     *            The system ID of the stream (used in error locations)
+     * @return A new XMLStreamReader
+     * @throws XMLStreamException
+     *             if the reader cannot be created
+     */
+    public static XMLStreamReader createReader(InputStream in, String systemId) throws XMLStreamException {
+
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        if (factory.isPropertySupported(PROPERTY_REPORT_CDATA)) {
+            factory.setProperty(PROPERTY_REPORT_CDATA, Boolean.TRUE);
+        }
+        return factory.createXMLStreamReader(systemId, in);
+    }
+
+    /**
+     * Moves the reader to the next child element of the element the reader is currently positioned in.
+     *
+     * @param reader
+     *            The reader
+     * @return <code>true</code> if the reader is positioned on the START_ELEMENT of the next child element,
+     *         <code>false</code> if the END_ELEMENT of the current element (or the end of the document) was reached
+     * @throws XMLStreamException
+     *             if the stream cannot be read
+     */
+    public static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Skips the element the reader is positioned on, including all of its children.
+     *
+     * @param reader
+     *            The reader, positioned on a START_ELEMENT
+     * @throws XMLStreamException
+     *             if the stream cannot be read
+     */
+    public static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Returns the qualified name (prefix:localName) of the element the reader is positioned on, as a DOM would
+     * return it from <code>getTagName()</code>.
+     *
+     * @param reader
+     *            The reader, positioned on a START_ELEMENT or END_ELEMENT
+     * @return The qualified element name
+     */
+    public static String getQualifiedName(XMLStreamReader reader) {
+
+        return qualify(reader.getPrefix(), reader.getLocalName());
+    }
+
+    /**
+     * Reads the element the reader is positioned on (including all children) into a detached DOM element.<br>
+     * After the call the reader is positioned on the END_ELEMENT of the read element.
+     *
+     * @param reader
+     *            The reader, positioned on a START_ELEMENT
+     * @param owner
+     *            Document used to create the nodes. The returned element is not appended to the document.
+     * @return The element as DOM fragment
+     * @throws XMLStreamException
+     *             if the stream cannot be read
+     */
+    public static Element readElement(XMLStreamReader reader, Document owner) throws XMLStreamException {
+
+        Element root = createElement(reader, owner);
+        Node current = root;
+        StringBuilder text = new StringBuilder();
+
+        while (current != null && reader.hasNext()) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    flushText(text, current, owner);
+                    Element child = createElement(reader, owner);
+                    current.appendChild(child);
+                    current = child;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    flushText(text, current, owner);
+                    current = current == root ? null : current.getParentNode();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    // Parsers may split text around entity references, the DOM holds it in one node
+                    text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    break;
+                case XMLStreamConstants.CDATA:
+                    flushText(text, current, owner);
+                    current.appendChild(owner.createCDATASection(reader.getText()));
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    flushText(text, current, owner);
+                    current.appendChild(owner.createComment(reader.getText()));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return root;
+    }
+
+    private static Element createElement(XMLStreamReader reader, Document owner) {
+
+        Element element = owner.createElementNS(
+                emptyToNull(reader.getNamespaceURI()), qualify(reader.getPrefix(), reader.getLocalName()));
+
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            String name = (prefix == null || prefix.isEmpty())
+                    ? XMLConstants.XMLNS_ATTRIBUTE
+                    : qualify(XMLConstants.XMLNS_ATTRIBUTE, prefix);
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, name, reader.getNamespaceURI(i));
+        }
+
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttributeNS(
+                    emptyToNull(reader.getAttributeNamespace(i)),
+                    qualify(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i));
+        }
+
+        return element;
+    }
+
+    private static void flushText(StringBuilder text, Node parent, Document owner) {
+
+        if (text.length() > 0) {
+            parent.appendChild(owner.createTextNode(text.toString()));
+            text.setLength(0);
+        }
+    }
+
+    private static String qualify(String prefix, String localName) {
+
+        if (prefix == null || prefix.isEmpty()) {
+            return localName;
+        }
+        return prefix + ":" + localName;
+    }
+
+    private static String emptyToNull(String value) {
+
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,183 @@
+package de.lehmannet.om.util;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Binary file derived from a source file (e.g. a compiled catalog or the snapshot of a XML file), stored as hidden
+ * file next to the source file.<br>
+ * The cache file starts with a header of magic number, format version, size and modification time of the source
+ * file and a key of the values the content depends on besides the source file (e.g. the charset the source file was
+ * read with). If one of them does not match anymore, the cache file is stale and has to be created again. The cache
+ * file is written to a temporary file first and moved over the old cache file afterwards, so readers never see a
+ * partially written cache file.
+ */
+public final class CacheFile {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheFile.class);
+
+    /**
+     * Writes the content of a cache file, which follows the header.
+     */
+    public interface Content {
+
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+
+    private final File file;
+    private final File source;
+    private final int magic;
+    private final int version;
+    private final String key;
+
+    /**
+     * @param source
+     *            The source file
+     * @param suffix
+     *            Suffix of the cache file, added to the name of the source file
+     * @param magic
+     *            Identifies the kind of the cache file
+     * @param version
+     *            Format version of the content
+     * @param key
+     *            Values the content depends on besides the source file, empty if there are none
+     */
+    public CacheFile(File source, String suffix, int magic, int version, String key) {
+
+        this.source = source;
+        this.file = new File(source.getAbsoluteFile().getParentFile(), "." + source.getName() + suffix);
+        this.magic = magic;
+        this.version = version;
+        this.key = key;
+    }
+
+    /**
+     * @return The cache file, which might not exist
+     */
+    public File getFile() {
+
+        return this.file;
+    }
+
+    /**
+     * Memory maps the content of the cache file. The mapping stays valid until the buffer is garbage collected, and
+     * on Windows the cache file cannot be replaced until then. Use {@link #read()} for cache files which are
+     * replaced while the application runs.
+     *
+     * @return The content after the header, or <code>null</code> if the cache file does not exist, is stale or
+     *         cannot be read
+     */
+    public ByteBuffer map() {
+
+        if (!this.file.isFile()) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return this.checkHeader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            // Truncated headers show up as buffer underflows
+            LOGGER.warn("Unable to read {}", this.file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the content of the cache file into memory, so the cache file can be replaced right away.
+     *
+     * @return The content after the header, or <code>null</code> if the cache file does not exist, is stale or
+     *         cannot be read
+     */
+    public ByteBuffer read() {
+
+        if (!this.file.isFile()) {
+            return null;
+        }
+
+        try {
+            return this.checkHeader(ByteBuffer.wrap(Files.readAllBytes(this.file.toPath())));
+        } catch (IOException | RuntimeException e) {
+            // Truncated headers show up as buffer underflows
+            LOGGER.warn("Unable to read {}", this.file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the cache file.
+     *
+     * @param sourceSize
+     *            Size of the source file the content was created from
+     * @param sourceLastModified
+     *            Modification time of the source file the content was created from
+     * @param content
+     *            Writes the content
+     * @throws IOException
+     *             if the cache file cannot be written
+     */
+    public void write(long sourceSize, long sourceLastModified, Content content) throws IOException {
+
+        Path tempFile = Files.createTempFile(this.file.getParentFile().toPath(), this.file.getName(), ".tmp");
+        try {
+            try (OutputStream stream = Files.newOutputStream(tempFile);
+                    DataOutputStream out = new DataOutputStream(stream)) {
+                out.writeInt(this.magic);
+                out.writeInt(this.version);
+                out.writeLong(sourceSize);
+                out.writeLong(sourceLastModified);
+                byte[] key = this.key.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(key.length);
+                out.write(key);
+                content.writeTo(out);
+            }
+            Files.move(tempFile, this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Deletes the cache file (if there is one).
+     *
+     * @throws IOException
+     *             if the cache file cannot be deleted
+     */
+    public void delete() throws IOException {
+
+        Files.deleteIfExists(this.file.toPath());
+    }
+
+    // Returns the content after the header, null if the header does not match
+    private ByteBuffer checkHeader(ByteBuffer buffer) {
+
+        if ((buffer.getInt() != this.magic) || (buffer.getInt() != this.version)) {
+            LOGGER.debug("{} has unknown format", this.file);
+            return null;
+        }
+        if ((buffer.getLong() != this.source.length()) || (buffer.getLong() != this.source.lastModified())) {
+            LOGGER.debug("{} is stale", this.file);
+            return null;
+        }
+
+        byte[] key = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(key);
+        if (!this.key.equals(new String(key, StandardCharsets.UTF_8))) {
+            LOGGER.debug("{} was created for {}", this.file, new String(key, StandardCharsets.UTF_8));
+            return null;
+        }
+
+        return buffer.slice();
+    }
+}
@@ -7,7 +7,13 @@
 
 package de.lehmannet.om.util;
 
+import de.lehmannet.om.FindingFactory;
+import de.lehmannet.om.GenericFinding;
+import de.lehmannet.om.GenericTarget;
+import de.lehmannet.om.ImagerFactory;
 import de.lehmannet.om.SchemaOalTypeInfo;
+import de.lehmannet.om.TargetFactory;
+import de.lehmannet.om.TargetStar;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -36,6 +42,12 @@ public class ConfigLoader {
     private static final Map<String, String> findings = new ConcurrentHashMap<>();
     // All target xsi:types as key and finding xsi:types as value
     private static final Map<String, String> target_findings = new ConcurrentHashMap<>();
+    // All target xsi:types as key and the factory creating the target as value
+    private static final Map<String, TargetFactory> targetFactories = new ConcurrentHashMap<>();
+    // All finding xsi:types as key and the factory creating the finding as value
+    private static final Map<String, FindingFactory> findingFactories = new ConcurrentHashMap<>();
+    // All imager xsi:types as key and the factory creating the imager as value
+    private static final Map<String, ImagerFactory> imagerFactories = new ConcurrentHashMap<>();
 
     private static final Object LOCK = new Object();
 
@@ -63,33 +75,7 @@ public class ConfigLoader {
      */
     public static String getTargetClassnameFromType(String ptype) throws ConfigException {
 
-        checkValidPtype(ptype);
-
-        LOGGER.debug("Searching class for type: {}", ptype);
-        synchronized (LOCK) {
-            if (targets.isEmpty()) {
-                LOGGER.debug("NO targets configured. Loading config");
-                loadConfig();
-            }
-        }
-
-        String type = ConfigLoader.checkAncestorTypes(ptype);
-        LOGGER.debug("Real type to search: {}", type);
-
-        if (!targets.containsKey(type)) { // Given type is finding type...try to get target type
-            LOGGER.debug("Type  not in targets. Searching in findings");
-            Iterator<Entry<String, String>> iterator =
-                    target_findings.entrySet().iterator();
-            while (iterator.hasNext()) {
-                Entry<String, String> entry = iterator.next();
-                String currentKey = entry.getKey();
-                String currentValue = entry.getValue();
-                if (type.equals(currentValue)) {
-                    type = currentKey;
-                    break;
-                }
-            }
-        }
+        String type = resolveTargetType(ptype);
         String classname = targets.get(type);
         checkValidClassname(type, classname);
 
@@ -130,6 +116,92 @@ public class ConfigLoader {
      *             if problems occured during load of config
      */
     public static String getFindingClassnameFromType(String ptype) throws ConfigException {
+        String type = resolveFindingType(ptype);
+        final String classname = findings.get(type);
+        checkValidClassname(type, classname);
+
+        LOGGER.debug("Found {} for {}", classname, type);
+        return classname;
+    }
+
+    /**
+     * Returns the factory for a target that matches the given xsi:type attribute. The type is resolved like in
+     * {@link #getTargetClassnameFromType(String)}.
+     *
+     * @param ptype
+     *            The xsi:type value (can be a finding xsi:type or an target xsi_type)
+     * @return The factory registered for the resolved target type, or <code>null</code> if the type is unknown or was
+     *         registered without factory. In that case the target has to be created via its classname.
+     */
+    public static TargetFactory getTargetFactory(String ptype) {
+
+        return targetFactories.get(resolveTargetType(ptype));
+    }
+
+    /**
+     * Returns the factory for an imager that matches the given xsi:type attribute.
+     *
+     * @param ptype
+     *            The xsi:type value of the imager
+     * @return The factory registered for the type, or <code>null</code> if the type is unknown or was registered
+     *         without factory. In that case the imager has to be created via its classname.
+     */
+    public static ImagerFactory getImagerFactory(String ptype) {
+
+        return imagerFactories.get(resolveTargetType(ptype));
+    }
+
+    /**
+     * Returns the factory for a finding that matches the given xsi:type attribute. The type is resolved like in
+     * {@link #getFindingClassnameFromType(String)}.
+     *
+     * @param ptype
+     *            The xsi:type value (can be a finding xsi:type or an target xsi_type)
+     * @return The factory registered for the resolved finding type, or <code>null</code> if the type is unknown or was
+     *         registered without factory. In that case the finding has to be created via its classname.
+     */
+    public static FindingFactory getFindingFactory(String ptype) {
+
+        return findingFactories.get(resolveFindingType(ptype));
+    }
+
+    // ---------------
+    // Private methods ---------------------------------------------------
+    // ---------------
+    private static String resolveTargetType(String ptype) {
+
+        checkValidPtype(ptype);
+
+        LOGGER.debug("Searching class for type: {}", ptype);
+        synchronized (LOCK) {
+            if (targets.isEmpty()) {
+                LOGGER.debug("NO targets configured. Loading config");
+                loadConfig();
+            }
+        }
+
+        String type = ConfigLoader.checkAncestorTypes(ptype);
+        LOGGER.debug("Real type to search: {}", type);
+
+        if (!targets.containsKey(type)) { // Given type is finding type...try to get target type
+            LOGGER.debug("Type  not in targets. Searching in findings");
+            Iterator<Entry<String, String>> iterator =
+                    target_findings.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry<String, String> entry = iterator.next();
+                String currentKey = entry.getKey();
+                String currentValue = entry.getValue();
+                if (type.equals(currentValue)) {
+                    type = currentKey;
+                    break;
+                }
+            }
+        }
+        return type;
+    }
+
+    private static String resolveFindingType(String ptype) {
+
         checkValidPtype(ptype);
         synchronized (LOCK) {
             if (findings.isEmpty()) {
@@ -151,18 +223,10 @@ public class ConfigLoader {
                 }
             }
         }
-
-        final String classname = findings.get(type);
-        checkValidClassname(type, classname);
-
-        LOGGER.debug("Found {} for {}", classname, type);
-        return classname;
+        return type;
     }
 
-    // ---------------
-    // Private methods ---------------------------------------------------
-    // ---------------
-    private static void loadConfig() throws ConfigException {
+    private static void loadConfig() {
         // Add fixed generic elements (no extenstion package required)
         ConfigLoader.addGenericElements();
     }
@@ -180,6 +244,8 @@ public class ConfigLoader {
             targets.put(target_type, target_classname);
             findings.put(finding_type, finding_classname);
             target_findings.put(target_type, finding_type);
+            targetFactories.put(target_type, GenericTarget::new);
+            findingFactories.put(finding_type, GenericFinding::new);
         }
 
         // This is a simple star
@@ -193,6 +259,8 @@ public class ConfigLoader {
             targets.put(starTarget_type, starTarget_classname);
             findings.put(starTarget_finding_type, starTarget_finding_classname);
             target_findings.put(starTarget_type, starTarget_finding_type);
+            targetFactories.put(starTarget_type, TargetStar::new);
+            findingFactories.put(starTarget_finding_type, GenericFinding::new);
         }
     }
 
@@ -210,11 +278,17 @@ public class ConfigLoader {
 
         synchronized (LOCK) {
             if (hasTargetDefined(schemaOalTypeInfo)) {
-                targets.put(schemaOalTypeInfo.getTargetType(), schemaOalTypeInfo.getTargetClassName());
+                String targetType = schemaOalTypeInfo.getTargetType();
+                targets.put(targetType, schemaOalTypeInfo.getTargetClassName());
+                // A type registered again without factory must not be created by the factory of the old class
+                putOrRemove(targetFactories, targetType, schemaOalTypeInfo.getTargetFactory());
+                putOrRemove(imagerFactories, targetType, schemaOalTypeInfo.getImagerFactory());
             }
 
             if (hasFindingDefined(schemaOalTypeInfo)) {
-                findings.put(schemaOalTypeInfo.getFindingType(), schemaOalTypeInfo.getFindingClassName());
+                String findingType = schemaOalTypeInfo.getFindingType();
+                findings.put(findingType, schemaOalTypeInfo.getFindingClassName());
+                putOrRemove(findingFactories, findingType, schemaOalTypeInfo.getFindingFactory());
             }
 
             if (hasTypesDefined(schemaOalTypeInfo)) {
@@ -223,6 +297,14 @@ public class ConfigLoader {
         }
     }
 
+    private static <T> void putOrRemove(Map<String, T> factories, String type, T factory) {
+        if (factory == null) {
+            factories.remove(type);
+        } else {
+            factories.put(type, factory);
+        }
+    }
+
     private static boolean hasTypesDefined(SchemaOalTypeInfo schemaOalTypeInfo) {
         return StringUtils.isNotBlank(schemaOalTypeInfo.getTargetType())
                 && StringUtils.isNotBlank(schemaOalTypeInfo.getFindingType());
@@ -0,0 +1,1094 @@
+package de.lehmannet.om.util;
+
+import de.lehmannet.om.mapper.StaxNodeReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32C;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Binary snapshot of a XML file, stored next to the file (see {@link CacheFile}).<br>
+ * The snapshot holds the already tokenized XML (element and attribute names in a name table, text as UTF-8). It is
+ * recorded by an {@link Encoder} while the XML file is written or read, so the XML file is not parsed again, and read
+ * back as a stream of StAX events, so the elements can be created by the streaming engine of the
+ * {@link SchemaLoader} without parsing, validating or building the DOM of the whole document. The snapshot is keyed
+ * by size, modification time and CRC32C checksum of the XML file. If one of them does not match anymore, the
+ * snapshot is stale and {@link #read(File)} returns <code>null</code>, so the caller has to load the XML file.<br>
+ * The events are the ones of a parser reading the XML file, the whitespace only text between the elements might be
+ * left out.
+ */
+public final class DocumentSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentSnapshot.class);
+
+    // "OMSN"
+    private static final int MAGIC = 0x4F4D534E;
+
+    private static final int VERSION = 3;
+
+    private static final String SUFFIX = ".snapshot";
+
+    // Record types
+    private static final byte RECORD_END_OF_DOCUMENT = 0;
+    private static final byte RECORD_START_ELEMENT = 1;
+    private static final byte RECORD_END_ELEMENT = 2;
+    private static final byte RECORD_TEXT = 3;
+    private static final byte RECORD_CDATA = 4;
+    private static final byte RECORD_COMMENT = 5;
+
+    // Name references. Names are written once and referenced by their index + NAME_OFFSET afterwards
+    private static final int NAME_NULL = 0;
+    private static final int NAME_NEW = 1;
+    private static final int NAME_OFFSET = 2;
+
+    private static final int CHECKSUM_BUFFER_SIZE = 64 * 1024;
+
+    private DocumentSnapshot() {}
+
+    /**
+     * Returns the snapshot file of the given XML file (a hidden file in the same directory).
+     *
+     * @param xmlFile
+     *            The XML file
+     * @return The snapshot file, which might not exist
+     */
+    public static File getSnapshotFile(File xmlFile) {
+
+        return cacheFile(xmlFile).getFile();
+    }
+
+    /**
+     * Reads the snapshot of the given XML file.<br>
+     * The snapshot is read into memory and not memory mapped, so it can be replaced right away (a mapped file cannot
+     * be replaced on Windows until the mapping is garbage collected).
+     *
+     * @param xmlFile
+     *            The XML file
+     * @return The events of the XML file, or <code>null</code> if there is no snapshot, the snapshot is stale or it
+     *         cannot be read. A corrupt snapshot might still fail while the events are read.
+     */
+    public static XMLStreamReader read(File xmlFile) {
+
+        if (!xmlFile.isFile()) {
+            return null;
+        }
+
+        CacheFile snapshotFile = cacheFile(xmlFile);
+        ByteBuffer buffer = snapshotFile.read();
+        if (buffer == null) {
+            return null;
+        }
+
+        try {
+            if (buffer.getInt() != checksum(xmlFile.toPath())) {
+                LOGGER.debug("Snapshot {} is stale", snapshotFile.getFile());
+                return null;
+            }
+
+            return new SnapshotReader(buffer);
+        } catch (IOException | RuntimeException e) {
+            // Corrupt snapshots (e.g. truncated) show up as buffer underflows
+            LOGGER.warn("Unable to read snapshot {}. Loading XML file instead. ", snapshotFile.getFile(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Reads the snapshot of the given XML file into a DOM Document, e.g. to apply changes to it.
+     *
+     * @param xmlFile
+     *            The XML file
+     * @return The Document of the XML file, or <code>null</code> if there is no snapshot, the snapshot is stale or it
+     *         cannot be read
+     */
+    public static Document readDocument(File xmlFile) {
+
+        XMLStreamReader reader = read(xmlFile);
+        if (reader == null) {
+            return null;
+        }
+
+        try {
+            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+            dbf.setNamespaceAware(true);
+            Document document = dbf.newDocumentBuilder().newDocument();
+            if (StaxNodeReader.nextChildElement(reader)) {
+                document.appendChild(StaxNodeReader.readElement(reader, document));
+            }
+            return document;
+        } catch (XMLStreamException | RuntimeException e) {
+            LOGGER.warn("Unable to read snapshot of {}. Loading XML file instead. ", xmlFile, e);
+        } catch (ParserConfigurationException pce) {
+            LOGGER.error("Unable to create document for snapshot of {}", xmlFile, pce);
+        }
+        return null;
+    }
+
+    /**
+     * Deletes the snapshot of the given XML file (if there is one).
+     *
+     * @param xmlFile
+     *            The XML file
+     */
+    public static void delete(File xmlFile) {
+
+        try {
+            cacheFile(xmlFile).delete();
+        } catch (IOException ioe) {
+            LOGGER.warn("Unable to delete snapshot of {}", xmlFile, ioe);
+        }
+    }
+
+    // Keyed by size and modification time of the XML file, the checksum is part of the content
+    private static CacheFile cacheFile(File xmlFile) {
+
+        return new CacheFile(xmlFile, SUFFIX, MAGIC, VERSION, "");
+    }
+
+    // The file is read and not mapped, as a mapped XML file cannot be overwritten on Windows
+    private static int checksum(Path file) throws IOException {
+
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHECKSUM_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Records the snapshot of a XML file while the file is written or loaded.<br>
+     * The encoder gets the elements, text and comments of the XML file in document order, either as DOM nodes (see
+     * {@link #startElement(Element)} and {@link #encode(Node)}) or as StAX events (see
+     * {@link #record(XMLStreamReader)}). DOM elements might be created without namespace support (as the schema
+     * elements do), the namespaces of their names are resolved from the <code>xmlns</code> attributes of the started
+     * elements. The records are kept in memory until {@link #write()} is called, which might happen on another
+     * thread.
+     */
+    public static final class Encoder {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private final DataOutputStream out = new DataOutputStream(this.bytes);
+
+        private final Map<String, Integer> names = new HashMap<>();
+
+        private final StringBuilder text = new StringBuilder();
+
+        // Namespaces declared by the started elements (prefix -> URI, "" for the default namespace)
+        private final Deque<Map<String, String>> namespaces = new ArrayDeque<>();
+
+        private File xmlFile = null;
+
+        private long size = 0;
+
+        private long lastModified = 0;
+
+        /**
+         * Returns a reader which records all events read from the given reader.
+         *
+         * @param reader
+         *            The reader of the XML file
+         * @return The recording reader
+         */
+        public XMLStreamReader record(XMLStreamReader reader) {
+
+            return new StreamReaderDelegate(reader) {
+
+                @Override
+                public int next() throws XMLStreamException {
+
+                    int event = super.next();
+                    try {
+                        Encoder.this.record(event, this);
+                    } catch (IOException ioe) {
+                        throw new XMLStreamException("Unable to record snapshot. ", ioe);
+                    }
+                    return event;
+                }
+            };
+        }
+
+        /**
+         * Records the given node with all its children, e.g. the Document of a parsed XML file.
+         *
+         * @param node
+         *            The node to record
+         * @throws IOException
+         *             if the node cannot be recorded
+         */
+        public void encode(Node node) throws IOException {
+
+            switch (node.getNodeType()) {
+                case Node.DOCUMENT_NODE:
+                    this.encodeChildren(node);
+                    break;
+                case Node.ELEMENT_NODE:
+                    this.startElement((Element) node);
+                    this.encodeChildren(node);
+                    this.endElement();
+                    break;
+                case Node.TEXT_NODE:
+                    this.characters(node.getNodeValue());
+                    break;
+                case Node.CDATA_SECTION_NODE:
+                    this.cdata(node.getNodeValue());
+                    break;
+                case Node.COMMENT_NODE:
+                    this.comment(node.getNodeValue());
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        public void startElement(Element element) throws IOException {
+
+            Map<String, String> declared = new LinkedHashMap<>();
+            List<Attr> attributes = new ArrayList<>();
+            NamedNodeMap map = element.getAttributes();
+            for (int i = 0; i < map.getLength(); i++) {
+                Attr attribute = (Attr) map.item(i);
+                String name = attribute.getName();
+                if (XMLConstants.XMLNS_ATTRIBUTE.equals(name)) {
+                    declared.put("", attribute.getValue());
+                } else if (name.startsWith(XMLConstants.XMLNS_ATTRIBUTE + ":")) {
+                    declared.put(name.substring(XMLConstants.XMLNS_ATTRIBUTE.length() + 1), attribute.getValue());
+                } else {
+                    attributes.add(attribute);
+                }
+            }
+
+            String prefix = getPrefix(element.getTagName());
+            this.writeStartElement(prefix, getLocalName(element.getTagName()), declared);
+
+            this.writeInt(attributes.size());
+            for (Attr attribute : attributes) {
+                // Attributes without prefix have no namespace
+                String attributePrefix = getPrefix(attribute.getName());
+                this.writeName(attributePrefix == null ? null : this.getNamespaceURI(attributePrefix));
+                this.writeName(attributePrefix);
+                this.writeName(getLocalName(attribute.getName()));
+                this.writeString(attribute.getValue());
+            }
+        }
+
+        public void endElement() throws IOException {
+
+            this.flushText();
+            this.out.writeByte(RECORD_END_ELEMENT);
+            this.namespaces.pop();
+        }
+
+        public void characters(String value) {
+
+            // A parser reports adjacent text as one text node
+            this.text.append(value);
+        }
+
+        public void cdata(String value) throws IOException {
+
+            this.flushText();
+            this.out.writeByte(RECORD_CDATA);
+            this.writeString(value);
+        }
+
+        public void comment(String value) throws IOException {
+
+            this.flushText();
+            this.out.writeByte(RECORD_COMMENT);
+            this.writeString(value);
+        }
+
+        /**
+         * Ends the recording. The snapshot is keyed to the given XML file as it is right now, so call this right
+         * after the XML file was written or loaded.
+         *
+         * @param file
+         *            The XML file the recorded elements were written to or loaded from
+         * @throws IOException
+         *             if the records cannot be ended
+         */
+        public void finish(File file) throws IOException {
+
+            this.flushText();
+            this.out.writeByte(RECORD_END_OF_DOCUMENT);
+            this.out.flush();
+
+            this.xmlFile = file;
+            this.size = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        /**
+         * Writes the snapshot next to the XML file given on {@link #finish(File)}. The snapshot is written to a
+         * temporary file first and moved over the old snapshot afterwards, so readers never see a partially written
+         * snapshot. If the XML file was changed after it was recorded, no snapshot is written.
+         *
+         * @throws IOException
+         *             if the XML file cannot be read or the snapshot cannot be written
+         */
+        public void write() throws IOException {
+
+            if (this.xmlFile == null) {
+                throw new IllegalStateException("Snapshot is not finished. ");
+            }
+
+            int checksum = checksum(this.xmlFile.toPath());
+            // The XML file was changed after it was recorded
+            if (this.size != this.xmlFile.length() || this.lastModified != this.xmlFile.lastModified()) {
+                return;
+            }
+
+            cacheFile(this.xmlFile).write(this.size, this.lastModified, out -> {
+                out.writeInt(checksum);
+                this.bytes.writeTo(out);
+            });
+        }
+
+        private void record(int event, XMLStreamReader reader) throws IOException {
+
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    Map<String, String> declared = new LinkedHashMap<>();
+                    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                        String prefix = reader.getNamespacePrefix(i);
+                        declared.put(prefix == null ? "" : prefix, reader.getNamespaceURI(i));
+                    }
+                    this.writeStartElement(emptyToNull(reader.getPrefix()), reader.getLocalName(), declared);
+
+                    this.writeInt(reader.getAttributeCount());
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        this.writeName(emptyToNull(reader.getAttributeNamespace(i)));
+                        this.writeName(emptyToNull(reader.getAttributePrefix(i)));
+                        this.writeName(reader.getAttributeLocalName(i));
+                        this.writeString(reader.getAttributeValue(i));
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    this.endElement();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    this.characters(reader.getText());
+                    break;
+                case XMLStreamConstants.CDATA:
+                    this.cdata(reader.getText());
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    this.comment(reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void encodeChildren(Node node) throws IOException {
+
+            for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+                this.encode(child);
+            }
+        }
+
+        // Writes the record up to the attributes, which follow
+        private void writeStartElement(String prefix, String localName, Map<String, String> declared)
+                throws IOException {
+
+            this.flushText();
+            this.namespaces.push(declared);
+
+            this.out.writeByte(RECORD_START_ELEMENT);
+            this.writeName(this.getNamespaceURI(prefix == null ? "" : prefix));
+            this.writeName(prefix);
+            this.writeName(localName);
+
+            this.writeInt(declared.size());
+            for (Map.Entry<String, String> namespace : declared.entrySet()) {
+                this.writeName(namespace.getKey().isEmpty() ? null : namespace.getKey());
+                this.writeString(namespace.getValue());
+            }
+        }
+
+        private String getNamespaceURI(String prefix) {
+
+            if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+                return XMLConstants.XML_NS_URI;
+            }
+            for (Map<String, String> declared : this.namespaces) {
+                String uri = declared.get(prefix);
+                if (uri != null) {
+                    return uri.isEmpty() ? null : uri;
+                }
+            }
+            return null;
+        }
+
+        private void flushText() throws IOException {
+
+            // Text outside of the root element is not part of the document
+            if (this.text.length() > 0 && !this.namespaces.isEmpty()) {
+                this.out.writeByte(RECORD_TEXT);
+                this.writeString(this.text.toString());
+            }
+            this.text.setLength(0);
+        }
+
+        private void writeName(String name) throws IOException {
+
+            if (name == null) {
+                this.writeInt(NAME_NULL);
+                return;
+            }
+
+            Integer index = this.names.get(name);
+            if (index != null) {
+                this.writeInt(index + NAME_OFFSET);
+            } else {
+                this.names.put(name, this.names.size());
+                this.writeInt(NAME_NEW);
+                this.writeString(name);
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            this.writeInt(utf8.length);
+            this.out.write(utf8);
+        }
+
+        // Variable length encoding, most values (name indexes, short texts) fit into one byte
+        private void writeInt(int value) throws IOException {
+
+            int v = value;
+            while ((v & ~0x7F) != 0) {
+                this.out.writeByte((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            this.out.writeByte(v);
+        }
+    }
+
+    /**
+     * Reports the snapshot records as StAX events. Only the parts of XMLStreamReader used to read elements are
+     * supported (names, namespaces, attributes and text), there are no locations, DTDs or processing instructions.
+     */
+    private static final class SnapshotReader implements XMLStreamReader, NamespaceContext {
+
+        private final ByteBuffer buffer;
+
+        private final List<String> names = new ArrayList<>();
+
+        private byte[] bytes = new byte[256];
+
+        private int eventType = XMLStreamConstants.START_DOCUMENT;
+
+        // Name of the current element, for START_ELEMENT and END_ELEMENT
+        private String namespaceURI;
+        private String prefix;
+        private String localName;
+
+        // Prefixes and URIs of the namespaces declared by the current element
+        private final List<String> namespacePrefixes = new ArrayList<>();
+        private final List<String> namespaceURIs = new ArrayList<>();
+
+        // Namespace URIs, prefixes, local names and values of the attributes of the current element
+        private final List<String> attributes = new ArrayList<>();
+
+        private String text;
+
+        // Open elements, innermost first
+        private final Deque<OpenElement> elements = new ArrayDeque<>();
+
+        SnapshotReader(ByteBuffer buffer) {
+
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int next() throws XMLStreamException {
+
+            if (this.eventType == XMLStreamConstants.END_DOCUMENT) {
+                throw new NoSuchElementException("End of snapshot reached. ");
+            }
+            if (this.eventType == XMLStreamConstants.END_ELEMENT) {
+                this.elements.pop();
+            }
+
+            byte type = this.buffer.get();
+            switch (type) {
+                case RECORD_START_ELEMENT:
+                    this.readStartElement();
+                    this.eventType = XMLStreamConstants.START_ELEMENT;
+                    break;
+                case RECORD_END_ELEMENT:
+                    this.readEndElement();
+                    this.eventType = XMLStreamConstants.END_ELEMENT;
+                    break;
+                case RECORD_TEXT:
+                    this.text = this.readString();
+                    this.eventType = XMLStreamConstants.CHARACTERS;
+                    break;
+                case RECORD_CDATA:
+                    this.text = this.readString();
+                    this.eventType = XMLStreamConstants.CDATA;
+                    break;
+                case RECORD_COMMENT:
+                    this.text = this.readString();
+                    this.eventType = XMLStreamConstants.COMMENT;
+                    break;
+                case RECORD_END_OF_DOCUMENT:
+                    if (!this.elements.isEmpty()) {
+                        throw new XMLStreamException("Snapshot ends inside of element " + this.localName);
+                    }
+                    this.eventType = XMLStreamConstants.END_DOCUMENT;
+                    break;
+                default:
+                    throw new XMLStreamException("Unknown snapshot record: " + type);
+            }
+            return this.eventType;
+        }
+
+        private void readStartElement() {
+
+            this.namespaceURI = this.readName();
+            this.prefix = this.readName();
+            this.localName = this.readName();
+
+            this.namespacePrefixes.clear();
+            this.namespaceURIs.clear();
+            int namespaces = this.readInt();
+            for (int i = 0; i < namespaces; i++) {
+                this.namespacePrefixes.add(this.readName());
+                this.namespaceURIs.add(this.readString());
+            }
+
+            this.attributes.clear();
+            int count = this.readInt();
+            for (int i = 0; i < count; i++) {
+                this.attributes.add(this.readName());
+                this.attributes.add(this.readName());
+                this.attributes.add(this.readName());
+                this.attributes.add(this.readString());
+            }
+
+            this.elements.push(new OpenElement(
+                    this.namespaceURI,
+                    this.prefix,
+                    this.localName,
+                    List.copyOf(this.namespacePrefixes),
+                    List.copyOf(this.namespaceURIs)));
+        }
+
+        private void readEndElement() throws XMLStreamException {
+
+            OpenElement element = this.elements.peek();
+            if (element == null) {
+                throw new XMLStreamException("Snapshot ends an element which was not started. ");
+            }
+            this.namespaceURI = element.namespaceURI();
+            this.prefix = element.prefix();
+            this.localName = element.localName();
+            this.namespacePrefixes.clear();
+            this.namespacePrefixes.addAll(element.namespacePrefixes());
+            this.namespaceURIs.clear();
+            this.namespaceURIs.addAll(element.namespaceURIs());
+            this.attributes.clear();
+        }
+
+        private String readName() {
+
+            int reference = this.readInt();
+            if (reference == NAME_NULL) {
+                return null;
+            } else if (reference == NAME_NEW) {
+                String name = this.readString();
+                this.names.add(name);
+                return name;
+            }
+            return this.names.get(reference - NAME_OFFSET);
+        }
+
+        private String readString() {
+
+            int length = this.readInt();
+            if (this.bytes.length < length) {
+                this.bytes = new byte[Math.max(length, this.bytes.length * 2)];
+            }
+            this.buffer.get(this.bytes, 0, length);
+            return new String(this.bytes, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private int readInt() {
+
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = this.buffer.get();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private void requireElement() {
+
+            if (!this.isStartElement() && !this.isEndElement()) {
+                throw new IllegalStateException("Not positioned on an element. ");
+            }
+        }
+
+        private void requireStartElement() {
+
+            if (!this.isStartElement()) {
+                throw new IllegalStateException("Not positioned on a start element. ");
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+
+            return this.eventType != XMLStreamConstants.END_DOCUMENT;
+        }
+
+        @Override
+        public int nextTag() throws XMLStreamException {
+
+            int event = this.next();
+            while ((event == XMLStreamConstants.CHARACTERS && this.isWhiteSpace())
+                    || event == XMLStreamConstants.COMMENT) {
+                event = this.next();
+            }
+            if (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT) {
+                throw new XMLStreamException("Expected start or end tag. ");
+            }
+            return event;
+        }
+
+        @Override
+        public String getElementText() throws XMLStreamException {
+
+            this.requireStartElement();
+            StringBuilder content = new StringBuilder();
+            int event = this.next();
+            while (event != XMLStreamConstants.END_ELEMENT) {
+                if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                    content.append(this.text);
+                } else if (event != XMLStreamConstants.COMMENT) {
+                    throw new XMLStreamException("Element text contains an element. ");
+                }
+                event = this.next();
+            }
+            return content.toString();
+        }
+
+        @Override
+        public void require(int type, String namespace, String name) throws XMLStreamException {
+
+            if (type != this.eventType
+                    || (namespace != null && !namespace.equals(this.getNamespaceURI()))
+                    || (name != null && !name.equals(this.getLocalName()))) {
+                throw new XMLStreamException("Snapshot is not positioned on the required event. ");
+            }
+        }
+
+        @Override
+        public void close() {
+
+            // Nothing to release, the snapshot is held in memory
+        }
+
+        @Override
+        public Object getProperty(String name) {
+
+            return null;
+        }
+
+        @Override
+        public int getEventType() {
+
+            return this.eventType;
+        }
+
+        @Override
+        public boolean isStartElement() {
+
+            return this.eventType == XMLStreamConstants.START_ELEMENT;
+        }
+
+        @Override
+        public boolean isEndElement() {
+
+            return this.eventType == XMLStreamConstants.END_ELEMENT;
+        }
+
+        @Override
+        public boolean isCharacters() {
+
+            return this.eventType == XMLStreamConstants.CHARACTERS;
+        }
+
+        @Override
+        public boolean isWhiteSpace() {
+
+            return this.hasText() && this.text.isBlank();
+        }
+
+        @Override
+        public QName getName() {
+
+            this.requireElement();
+            return new QName(
+                    this.namespaceURI == null ? XMLConstants.NULL_NS_URI : this.namespaceURI,
+                    this.localName,
+                    this.prefix == null ? XMLConstants.DEFAULT_NS_PREFIX : this.prefix);
+        }
+
+        @Override
+        public String getLocalName() {
+
+            this.requireElement();
+            return this.localName;
+        }
+
+        @Override
+        public boolean hasName() {
+
+            return this.isStartElement() || this.isEndElement();
+        }
+
+        @Override
+        public String getNamespaceURI() {
+
+            this.requireElement();
+            return this.namespaceURI;
+        }
+
+        @Override
+        public String getPrefix() {
+
+            this.requireElement();
+            return this.prefix;
+        }
+
+        @Override
+        public int getAttributeCount() {
+
+            this.requireStartElement();
+            return this.attributes.size() / 4;
+        }
+
+        @Override
+        public QName getAttributeName(int index) {
+
+            String attributePrefix = this.getAttributePrefix(index);
+            String namespace = this.getAttributeNamespace(index);
+            return new QName(
+                    namespace == null ? XMLConstants.NULL_NS_URI : namespace,
+                    this.getAttributeLocalName(index),
+                    attributePrefix == null ? XMLConstants.DEFAULT_NS_PREFIX : attributePrefix);
+        }
+
+        @Override
+        public String getAttributeNamespace(int index) {
+
+            this.requireStartElement();
+            return this.attributes.get(index * 4);
+        }
+
+        @Override
+        public String getAttributePrefix(int index) {
+
+            this.requireStartElement();
+            return this.attributes.get(index * 4 + 1);
+        }
+
+        @Override
+        public String getAttributeLocalName(int index) {
+
+            this.requireStartElement();
+            return this.attributes.get(index * 4 + 2);
+        }
+
+        @Override
+        public String getAttributeValue(int index) {
+
+            this.requireStartElement();
+            return this.attributes.get(index * 4 + 3);
+        }
+
+        @Override
+        public String getAttributeValue(String namespace, String name) {
+
+            this.requireStartElement();
+            for (int i = 0; i < this.getAttributeCount(); i++) {
+                String attributeNamespace = this.getAttributeNamespace(i);
+                if (name.equals(this.getAttributeLocalName(i))
+                        && (namespace == null
+                                || namespace.equals(attributeNamespace == null ? "" : attributeNamespace))) {
+                    return this.getAttributeValue(i);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String getAttributeType(int index) {
+
+            return "CDATA";
+        }
+
+        @Override
+        public boolean isAttributeSpecified(int index) {
+
+            return true;
+        }
+
+        @Override
+        public int getNamespaceCount() {
+
+            this.requireElement();
+            return this.namespacePrefixes.size();
+        }
+
+        @Override
+        public String getNamespacePrefix(int index) {
+
+            this.requireElement();
+            return this.namespacePrefixes.get(index);
+        }
+
+        @Override
+        public String getNamespaceURI(int index) {
+
+            this.requireElement();
+            return this.namespaceURIs.get(index);
+        }
+
+        @Override
+        public String getNamespaceURI(String namespacePrefix) {
+
+            String wanted = namespacePrefix.isEmpty() ? null : namespacePrefix;
+            if (XMLConstants.XML_NS_PREFIX.equals(wanted)) {
+                return XMLConstants.XML_NS_URI;
+            }
+            for (OpenElement element : this.elements) {
+                int index = element.namespacePrefixes().indexOf(wanted);
+                if (index >= 0) {
+                    return element.namespaceURIs().get(index);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public NamespaceContext getNamespaceContext() {
+
+            return this;
+        }
+
+        @Override
+        public String getPrefix(String uri) {
+
+            for (OpenElement element : this.elements) {
+                int index = element.namespaceURIs().indexOf(uri);
+                if (index >= 0) {
+                    String found = element.namespacePrefixes().get(index);
+                    return found == null ? XMLConstants.DEFAULT_NS_PREFIX : found;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Iterator<String> getPrefixes(String uri) {
+
+            String found = this.getPrefix(uri);
+            return found == null
+                    ? Collections.emptyIterator()
+                    : Collections.singletonList(found).iterator();
+        }
+
+        @Override
+        public boolean hasText() {
+
+            return this.eventType == XMLStreamConstants.CHARACTERS
+                    || this.eventType == XMLStreamConstants.CDATA
+                    || this.eventType == XMLStreamConstants.COMMENT;
+        }
+
+        @Override
+        public String getText() {
+
+            if (!this.hasText()) {
+                throw new IllegalStateException("No text at the current event. ");
+            }
+            return this.text;
+        }
+
+        @Override
+        public char[] getTextCharacters() {
+
+            return this.getText().toCharArray();
+        }
+
+        @Override
+        public int getTextCharacters(int sourceStart, char[] target, int targetStart, int length) {
+
+            String value = this.getText();
+            int count = Math.max(0, Math.min(length, value.length() - sourceStart));
+            value.getChars(sourceStart, sourceStart + count, target, targetStart);
+            return count;
+        }
+
+        @Override
+        public int getTextStart() {
+
+            return 0;
+        }
+
+        @Override
+        public int getTextLength() {
+
+            return this.getText().length();
+        }
+
+        @Override
+        public String getEncoding() {
+
+            return null;
+        }
+
+        @Override
+        public Location getLocation() {
+
+            return new Location() {
+
+                @Override
+                public int getLineNumber() {
+                    return -1;
+                }
+
+                @Override
+                public int getColumnNumber() {
+                    return -1;
+                }
+
+                @Override
+                public int getCharacterOffset() {
+                    return SnapshotReader.this.buffer.position();
+                }
+
+                @Override
+                public String getPublicId() {
+                    return null;
+                }
+
+                @Override
+                public String getSystemId() {
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public String getVersion() {
+
+            return "1.0";
+        }
+
+        @Override
+        public boolean isStandalone() {
+
+            return false;
+        }
+
+        @Override
+        public boolean standaloneSet() {
+
+            return false;
+        }
+
+        @Override
+        public String getCharacterEncodingScheme() {
+
+            return null;
+        }
+
+        @Override
+        public String getPITarget() {
+
+            return null;
+        }
+
+        @Override
+        public String getPIData() {
+
+            return null;
+        }
+    }
+
+    private record OpenElement(
+            String namespaceURI,
+            String prefix,
+            String localName,
+            List<String> namespacePrefixes,
+            List<String> namespaceURIs) {}
+
+    private static String getPrefix(String qualifiedName) {
+
+        int separator = qualifiedName.indexOf(':');
+        return separator < 0 ? null : qualifiedName.substring(0, separator);
+    }
+
+    private static String getLocalName(String qualifiedName) {
+
+        return qualifiedName.substring(qualifiedName.indexOf(':') + 1);
+    }
+
+    private static String emptyToNull(String value) {
+
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return value;
+    }
+}
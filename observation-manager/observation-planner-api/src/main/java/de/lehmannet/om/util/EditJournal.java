@@ -0,0 +1,630 @@
+package de.lehmannet.om.util;
+
+import de.lehmannet.om.IEyepiece;
+import de.lehmannet.om.IFilter;
+import de.lehmannet.om.IImager;
+import de.lehmannet.om.ILens;
+import de.lehmannet.om.IObservation;
+import de.lehmannet.om.IObserver;
+import de.lehmannet.om.ISchemaElement;
+import de.lehmannet.om.IScope;
+import de.lehmannet.om.ISession;
+import de.lehmannet.om.ISite;
+import de.lehmannet.om.ITarget;
+import de.lehmannet.om.RootElement;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32C;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Append only journal of the changes made to a XML file, stored next to the file.<br>
+ * Every added, changed or removed schema element is appended as record (the element serialized as XML, or its ID)
+ * and forced to disk, so no change is lost if the application crashes. A save appends a commit record, writes the
+ * XML file and empties the journal. Committed records are only left if the XML file could not be written, they are
+ * written into it when the file is closed.<br>
+ * When the XML file is loaded again, the records are replayed on its Document (see {@link #replay(Document)}).
+ * Records after the last commit are changes that were not saved: they are kept if the application crashed, and
+ * discarded by {@link #rollback()} if the user closed the file without saving.<br>
+ * The journal is keyed by size and modification time of the XML file. If the XML file was changed by someone else,
+ * the journal is stale and is started again.
+ */
+public final class EditJournal implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EditJournal.class);
+
+    // "OMJL"
+    private static final int MAGIC = 0x4F4D4A4C;
+
+    private static final int VERSION = 1;
+
+    private static final String SUFFIX = ".journal";
+
+    // magic, version, size and modification time of the XML file
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8;
+
+    // type, payload length, (payload), checksum
+    private static final int RECORD_OVERHEAD = 1 + 4 + 4;
+
+    // Record types
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte COMMIT = 3;
+
+    // Container name of observations, which are direct children of the document element
+    private static final String ROOT_CONTAINER = "";
+
+    private static final String XSI_NAMESPACE = "http://www.w3.org/2001/XMLSchema-instance";
+
+    private final File xmlFile;
+
+    private final FileChannel channel;
+
+    // End of the last complete record
+    private long position;
+
+    // End of the last commit record
+    private long committedPosition;
+
+    // Records read on open, until they were replayed
+    private List<Record> records;
+
+    private Transformer transformer;
+
+    private EditJournal(File xmlFile, FileChannel channel) {
+
+        this.xmlFile = xmlFile;
+        this.channel = channel;
+    }
+
+    /**
+     * Returns the journal file of the given XML file (a hidden file in the same directory).
+     *
+     * @param xmlFile
+     *            The XML file
+     * @return The journal file, which might not exist
+     */
+    public static File getJournalFile(File xmlFile) {
+
+        return new File(xmlFile.getAbsoluteFile().getParentFile(), "." + xmlFile.getName() + SUFFIX);
+    }
+
+    /**
+     * Opens the journal of the given XML file. If there is no journal, or the journal does not belong to the current
+     * content of the XML file, an empty journal is started.<br>
+     * A record that was only written partially (e.g. because of a crash) is cut off.
+     *
+     * @param xmlFile
+     *            The XML file
+     * @return The journal, which must be closed
+     * @throws IOException
+     *             if the journal cannot be read or created
+     */
+    public static EditJournal open(File xmlFile) throws IOException {
+
+        File journalFile = getJournalFile(xmlFile);
+        FileChannel channel = FileChannel.open(
+                journalFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        EditJournal journal = new EditJournal(xmlFile, channel);
+        try {
+            if (!journal.readRecords()) {
+                journal.reset();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * Deletes the journal of the given XML file (if there is one).
+     *
+     * @param xmlFile
+     *            The XML file
+     */
+    public static void delete(File xmlFile) {
+
+        try {
+            Files.deleteIfExists(getJournalFile(xmlFile).toPath());
+        } catch (IOException ioe) {
+            LOGGER.warn("Unable to delete journal of {}", xmlFile, ioe);
+        }
+    }
+
+    /**
+     * @return The XML file this journal belongs to
+     */
+    public File getXmlFile() {
+
+        return this.xmlFile;
+    }
+
+    /**
+     * @return The size of the journal in bytes
+     */
+    public long size() {
+
+        return this.position;
+    }
+
+    /**
+     * @return <code>true</code> if the journal holds changes which are not part of the XML file
+     */
+    public boolean hasRecords() {
+
+        return this.position > HEADER_SIZE;
+    }
+
+    /**
+     * @return <code>true</code> if the journal holds changes after the last commit
+     */
+    public boolean hasUncommittedRecords() {
+
+        return this.position > this.committedPosition;
+    }
+
+    /**
+     * Applies the records read on {@link #open(File)} to the given Document of the XML file. Can be called once.
+     *
+     * @param document
+     *            The Document of the XML file
+     * @return The number of applied records
+     * @throws SchemaException
+     *             if a record cannot be applied
+     */
+    public int replay(Document document) throws SchemaException {
+
+        if (this.records == null) {
+            return 0;
+        }
+
+        int count = 0;
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+
+            for (Record record : this.records) {
+                if (record.type == COMMIT) {
+                    continue;
+                }
+                String payload = new String(record.payload, StandardCharsets.UTF_8);
+                int separator = payload.indexOf('\n');
+                Element container = getContainer(document, payload.substring(0, separator));
+                if (record.type == PUT) {
+                    this.applyPut(builder, document, container, payload.substring(separator + 1));
+                } else {
+                    int idSeparator = payload.indexOf('\n', separator + 1);
+                    Element existing = findElement(
+                            container,
+                            payload.substring(separator + 1, idSeparator),
+                            payload.substring(idSeparator + 1));
+                    if (existing != null) {
+                        container.removeChild(existing);
+                    }
+                }
+                count++;
+            }
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            throw new SchemaException("Unable to replay journal of " + this.xmlFile, e);
+        } finally {
+            this.records = null;
+        }
+        return count;
+    }
+
+    /**
+     * Appends an added or changed schema element.
+     *
+     * @param element
+     *            The schema element
+     * @throws IOException
+     *             if the record cannot be written
+     */
+    public void put(ISchemaElement element) throws IOException {
+
+        String container = getContainerName(element);
+        if (container == null) {
+            LOGGER.warn("Unknown element for journal: {}", element);
+            return;
+        }
+        this.append(PUT, container + '\n' + this.serialize(element, container));
+    }
+
+    /**
+     * Appends several added or changed schema elements. The records are forced to disk once, after all of them were
+     * written.
+     *
+     * @param elements
+     *            The schema elements
+     * @throws IOException
+     *             if a record cannot be written
+     */
+    public void putAll(Collection<? extends ISchemaElement> elements) throws IOException {
+
+        for (ISchemaElement element : elements) {
+            String container = getContainerName(element);
+            if (container == null) {
+                LOGGER.warn("Unknown element for journal: {}", element);
+                continue;
+            }
+            this.write(PUT, container + '\n' + this.serialize(element, container));
+        }
+        this.channel.force(false);
+    }
+
+    /**
+     * Appends a removed schema element.
+     *
+     * @param element
+     *            The schema element
+     * @throws IOException
+     *             if the record cannot be written
+     */
+    public void remove(ISchemaElement element) throws IOException {
+
+        String container = getContainerName(element);
+        if (container == null) {
+            LOGGER.warn("Unknown element for journal: {}", element);
+            return;
+        }
+        this.append(REMOVE, container + '\n' + getElementName(element) + '\n' + element.getID());
+    }
+
+    /**
+     * Marks all records written so far as saved.
+     *
+     * @throws IOException
+     *             if the record cannot be written
+     */
+    public void commit() throws IOException {
+
+        if (this.hasUncommittedRecords()) {
+            this.append(COMMIT, "");
+            this.committedPosition = this.position;
+        }
+    }
+
+    /**
+     * Discards all records after the last commit.
+     *
+     * @throws IOException
+     *             if the journal cannot be truncated
+     */
+    public void rollback() throws IOException {
+
+        if (this.hasUncommittedRecords()) {
+            this.channel.truncate(this.committedPosition);
+            this.channel.force(true);
+            this.position = this.committedPosition;
+        }
+    }
+
+    /**
+     * Empties the journal, after all its records were written to the XML file.
+     *
+     * @throws IOException
+     *             if the journal cannot be written
+     */
+    public void reset() throws IOException {
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putLong(this.xmlFile.length());
+        header.putLong(this.xmlFile.lastModified());
+        header.flip();
+
+        this.channel.truncate(0);
+        this.channel.write(header, 0);
+        this.channel.force(true);
+        this.position = HEADER_SIZE;
+        this.committedPosition = HEADER_SIZE;
+        this.records = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        this.channel.close();
+    }
+
+    // Reads all complete records. Returns false if the journal is new, has an unknown format or is stale
+    private boolean readRecords() throws IOException {
+
+        long size = this.channel.size();
+        if (size < HEADER_SIZE) {
+            return false;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        this.channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            LOGGER.warn("Journal of {} has unknown format. Starting new journal. ", this.xmlFile);
+            return false;
+        }
+        if (header.getLong() != this.xmlFile.length() || header.getLong() != this.xmlFile.lastModified()) {
+            LOGGER.warn("Journal of {} does not belong to the current file. Starting new journal. ", this.xmlFile);
+            return false;
+        }
+
+        this.records = new ArrayList<>();
+        this.position = HEADER_SIZE;
+        this.committedPosition = HEADER_SIZE;
+
+        ByteBuffer recordHeader = ByteBuffer.allocate(1 + 4);
+        while (this.position + RECORD_OVERHEAD <= size) {
+            recordHeader.clear();
+            this.channel.read(recordHeader, this.position);
+            recordHeader.flip();
+            byte type = recordHeader.get();
+            int length = recordHeader.getInt();
+            if (type < PUT || type > COMMIT || length < 0 || this.position + RECORD_OVERHEAD + length > size) {
+                break;
+            }
+
+            ByteBuffer body = ByteBuffer.allocate(length + 4);
+            this.channel.read(body, this.position + 1 + 4);
+            body.flip();
+            byte[] payload = new byte[length];
+            body.get(payload);
+            if (body.getInt() != checksum(type, payload)) {
+                break;
+            }
+
+            this.records.add(new Record(type, payload));
+            this.position += RECORD_OVERHEAD + length;
+            if (type == COMMIT) {
+                this.committedPosition = this.position;
+            }
+        }
+
+        if (this.position < size) {
+            LOGGER.warn("Journal of {} ends with an incomplete record, which is dropped", this.xmlFile);
+            this.channel.truncate(this.position);
+        }
+        if (this.hasUncommittedRecords()) {
+            LOGGER.warn("Journal of {} holds changes that were not saved. They are restored. ", this.xmlFile);
+        }
+        return true;
+    }
+
+    private void append(byte type, String payload) throws IOException {
+
+        this.write(type, payload);
+        this.channel.force(false);
+    }
+
+    private void write(byte type, String payload) throws IOException {
+
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(RECORD_OVERHEAD + bytes.length);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeByte(type);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.writeInt(checksum(type, bytes));
+
+        ByteBuffer record = ByteBuffer.wrap(buffer.toByteArray());
+        long writePosition = this.position;
+        while (record.hasRemaining()) {
+            writePosition += this.channel.write(record, writePosition);
+        }
+        this.position = writePosition;
+    }
+
+    private String serialize(ISchemaElement element, String containerName) throws IOException {
+
+        try {
+            Document document =
+                    DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+            Element container =
+                    document.createElement(ROOT_CONTAINER.equals(containerName) ? "observations" : containerName);
+            document.appendChild(container);
+
+            if (element instanceof IObservation) {
+                ((IObservation) element).addToXmlElement(container);
+            } else if (element instanceof IObserver) {
+                ((IObserver) element).addToXmlElement(container);
+            } else if (element instanceof ISite) {
+                ((ISite) element).addToXmlElement(container);
+            } else if (element instanceof ISession) {
+                ((ISession) element).addToXmlElement(container);
+            } else if (element instanceof ITarget) {
+                ((ITarget) element).addToXmlElement(container);
+            } else if (element instanceof IScope) {
+                ((IScope) element).addToXmlElement(container);
+            } else if (element instanceof IEyepiece) {
+                ((IEyepiece) element).addToXmlElement(container);
+            } else if (element instanceof ILens) {
+                ((ILens) element).addToXmlElement(container);
+            } else if (element instanceof IFilter) {
+                ((IFilter) element).addToXmlElement(container);
+            } else if (element instanceof IImager) {
+                ((IImager) element).addToXmlElement(container);
+            }
+
+            if (this.transformer == null) {
+                this.transformer = TransformerFactory.newInstance().newTransformer();
+                this.transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            }
+            Element serialized = findElement(container, getElementName(element), element.getID());
+            if (serialized == null) {
+                throw new IOException("Unable to serialize " + element + ": no element written");
+            }
+            StringWriter writer = new StringWriter();
+            this.transformer.transform(new DOMSource(serialized), new StreamResult(writer));
+            return writer.toString();
+        } catch (ParserConfigurationException | TransformerException e) {
+            throw new IOException("Unable to serialize " + element, e);
+        }
+    }
+
+    private void applyPut(DocumentBuilder builder, Document document, Element container, String xml)
+            throws SAXException, IOException {
+
+        // The element might use the xsi prefix without declaring it, as it's declared at the document element
+        Document fragment = builder.parse(new InputSource(
+                new StringReader("<journal xmlns:xsi=\"" + XSI_NAMESPACE + "\">" + xml + "</journal>")));
+        Element element =
+                (Element) document.importNode(fragment.getDocumentElement().getFirstChild(), true);
+
+        Element existing = findElement(
+                container, element.getTagName(), element.getAttribute(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID));
+        if (existing != null) {
+            container.replaceChild(element, existing);
+        } else {
+            container.appendChild(element);
+        }
+    }
+
+    private static Element getContainer(Document document, String containerName) {
+
+        Element root = document.getDocumentElement();
+        if (ROOT_CONTAINER.equals(containerName)) {
+            return root;
+        }
+
+        for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element && containerName.equals(((Element) child).getTagName())) {
+                return (Element) child;
+            }
+        }
+
+        // Containers are written even if empty, so this is a file from somewhere else. Keep E&T order roughly.
+        Element container = document.createElement(containerName);
+        root.insertBefore(container, root.getFirstChild());
+        return container;
+    }
+
+    private static Element findElement(Element container, String elementName, String id) {
+
+        for (Node child = container.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element
+                    && isElementName(elementName, ((Element) child).getTagName())
+                    && id.equals(((Element) child).getAttribute(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID))) {
+                return (Element) child;
+            }
+        }
+        return null;
+    }
+
+    // Imagers are written as imager elements, but files of SkySafari use ccdCameraType elements. An imager does not
+    // know which one it was read from, so both names stand for the same imager.
+    private static boolean isElementName(String elementName, String tagName) {
+
+        if (elementName.equals(tagName)) {
+            return true;
+        }
+        return isImagerElementName(elementName) && isImagerElementName(tagName);
+    }
+
+    private static boolean isImagerElementName(String elementName) {
+
+        return IImager.XML_ELEMENT_IMAGER.equals(elementName)
+                || IImager.XML_ELEMENT_IMAGER_SKY_SAFARI.equals(elementName);
+    }
+
+    private static String getContainerName(ISchemaElement element) {
+
+        if (element instanceof IObservation) {
+            return ROOT_CONTAINER;
+        } else if (element instanceof IObserver) {
+            return RootElement.XML_OBSERVER_CONTAINER;
+        } else if (element instanceof ISite) {
+            return RootElement.XML_SITE_CONTAINER;
+        } else if (element instanceof ISession) {
+            return RootElement.XML_SESSION_CONTAINER;
+        } else if (element instanceof ITarget) {
+            return RootElement.XML_TARGET_CONTAINER;
+        } else if (element instanceof IScope) {
+            return RootElement.XML_SCOPE_CONTAINER;
+        } else if (element instanceof IEyepiece) {
+            return RootElement.XML_EYEPIECE_CONTAINER;
+        } else if (element instanceof ILens) {
+            return RootElement.XML_LENS_CONTAINER;
+        } else if (element instanceof IFilter) {
+            return RootElement.XML_FILTER_CONTAINER;
+        } else if (element instanceof IImager) {
+            return RootElement.XML_IMAGER_CONTAINER;
+        }
+        return null;
+    }
+
+    private static String getElementName(ISchemaElement element) {
+
+        if (element instanceof IObservation) {
+            return IObservation.XML_ELEMENT_OBSERVATION;
+        } else if (element instanceof IObserver) {
+            return IObserver.XML_ELEMENT_OBSERVER;
+        } else if (element instanceof ISite) {
+            return ISite.XML_ELEMENT_SITE;
+        } else if (element instanceof ISession) {
+            return ISession.XML_ELEMENT_SESSION;
+        } else if (element instanceof ITarget) {
+            return ITarget.XML_ELEMENT_TARGET;
+        } else if (element instanceof IScope) {
+            return IScope.XML_ELEMENT_SCOPE;
+        } else if (element instanceof IEyepiece) {
+            return IEyepiece.XML_ELEMENT_EYEPIECE;
+        } else if (element instanceof ILens) {
+            return ILens.XML_ELEMENT_LENS;
+        } else if (element instanceof IFilter) {
+            return IFilter.XML_ELEMENT_FILTER;
+        }
+        return IImager.XML_ELEMENT_IMAGER;
+    }
+
+    private static int checksum(byte type, byte[] payload) {
+
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static final class Record {
+
+        private final byte type;
+
+        private final byte[] payload;
+
+        Record(byte type, byte[] payload) {
+
+            this.type = type;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package de.lehmannet.om.util;
+
+import de.lehmannet.om.Angle;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Pool of canonical instances for values which repeat across many schema elements, e.g. datasources, alias names or
+ * the diameters of catalog targets. Equal values are replaced by one shared instance, so a large document or catalog
+ * keeps each distinct value only once.<br>
+ * Only immutable values may be interned, as the instances are shared between elements. The pool holds its values
+ * weakly, so values no longer used by any element are garbage collected. It is bounded: once it holds the maximum
+ * number of values, new values are returned as they are. Instances are thread safe.
+ */
+public final class InternPool {
+
+    public static final int DEFAULT_MAX_SIZE = 64 * 1024;
+
+    private static final InternPool SHARED = new InternPool();
+
+    // Key and value are the same instance, the key is weak and the value must be
+    // weak too, otherwise the value would keep its own key alive
+    private final Map<Object, WeakReference<Object>> values = new WeakHashMap<>();
+
+    // Angle.equals(Object) compares in degrees but Angle.hashCode() uses value
+    // and unit, so angles are keyed by unit and value
+    private final Map<String, AngleReference> angles = new HashMap<>();
+    private final ReferenceQueue<Angle> collectedAngles = new ReferenceQueue<>();
+
+    private final int maxSize;
+
+    /**
+     * @return the pool shared by all documents and catalogs of the application, so a value repeated across them (e.g.
+     *         a datasource of a catalog which is also used by the observations) is kept only once
+     */
+    public static InternPool getShared() {
+
+        return InternPool.SHARED;
+    }
+
+    public InternPool() {
+
+        this(InternPool.DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize
+     *            Maximum number of values held by the pool
+     */
+    public InternPool(int maxSize) {
+
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be greater than 0. ");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the canonical instance of the given value. Values of different classes are never mixed up.
+     *
+     * @param value
+     *            An immutable value with equals(Object) and hashCode() based on its content, e.g. a String
+     * @return the pooled instance equal to the value, or the value itself if there was none (or the pool is full).
+     *         <code>null</code> if the value was <code>null</code>.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T intern(T value) {
+
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Angle) {
+            return (T) this.intern((Angle) value);
+        }
+
+        WeakReference<Object> reference = this.values.get(value);
+        Object pooled = (reference == null) ? null : reference.get();
+        if ((pooled != null) && (pooled.getClass() == value.getClass())) {
+            return (T) pooled;
+        }
+
+        if (this.size() < this.maxSize) {
+            this.values.put(value, new WeakReference<>(value));
+        }
+        return value;
+    }
+
+    /**
+     * Returns the canonical instance of the given angle. Angles are only shared if they have the same unit and value.
+     *
+     * @param angle
+     *            The angle
+     * @return the pooled angle with the same unit and value, or the angle itself if there was none (or the pool is
+     *         full). <code>null</code> if the angle was <code>null</code>.
+     */
+    public synchronized Angle intern(Angle angle) {
+
+        if (angle == null) {
+            return null;
+        }
+
+        this.expungeAngles();
+
+        String key = angle.getUnit() + ':' + angle.getValue();
+        AngleReference reference = this.angles.get(key);
+        Angle pooled = (reference == null) ? null : reference.get();
+        if (pooled != null) {
+            return pooled;
+        }
+
+        if (this.size() < this.maxSize) {
+            this.angles.put(key, new AngleReference(key, angle, this.collectedAngles));
+        }
+        return angle;
+    }
+
+    /**
+     * Interns all strings of the given array, in place.
+     *
+     * @param values
+     *            The strings, might be <code>null</code>
+     * @return the given array
+     */
+    public String[] intern(String[] values) {
+
+        if (values != null) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.intern(values[i]);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return number of values in the pool, including values which are not collected yet
+     */
+    public synchronized int size() {
+
+        this.expungeAngles();
+        return this.values.size() + this.angles.size();
+    }
+
+    /**
+     * Removes all values from the pool. Already interned instances stay valid.
+     */
+    public synchronized void clear() {
+
+        this.values.clear();
+        this.angles.clear();
+        while (this.collectedAngles.poll() != null) {
+            // Nothing to do, entries are gone already
+        }
+    }
+
+    // Removes the keys of collected angles
+    private void expungeAngles() {
+
+        AngleReference reference;
+        while ((reference = (AngleReference) this.collectedAngles.poll()) != null) {
+            this.angles.remove(reference.key, reference);
+        }
+    }
+
+    private static final class AngleReference extends WeakReference<Angle> {
+
+        private final String key;
+
+        AngleReference(String key, Angle angle, ReferenceQueue<Angle> queue) {
+
+            super(angle, queue);
+            this.key = key;
+        }
+    }
+}
@@ -9,6 +9,7 @@ package de.lehmannet.om.util;
 
 import de.lehmannet.om.Eyepiece;
 import de.lehmannet.om.Filter;
+import de.lehmannet.om.FindingFactory;
 import de.lehmannet.om.GenericTarget;
 import de.lehmannet.om.IEyepiece;
 import de.lehmannet.om.IFilter;
@@ -21,6 +22,7 @@ import de.lehmannet.om.IScope;
 import de.lehmannet.om.ISession;
 import de.lehmannet.om.ISite;
 import de.lehmannet.om.ITarget;
+import de.lehmannet.om.ImagerFactory;
 import de.lehmannet.om.Lens;
 import de.lehmannet.om.OALException;
 import de.lehmannet.om.Observation;
@@ -29,32 +31,46 @@ import de.lehmannet.om.RootElement;
 import de.lehmannet.om.Scope;
 import de.lehmannet.om.Session;
 import de.lehmannet.om.Site;
+import de.lehmannet.om.TargetFactory;
+import de.lehmannet.om.mapper.ReferenceContext;
+import de.lehmannet.om.mapper.StaxNodeReader;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Source;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
+import javax.xml.validation.ValidatorHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
@@ -63,8 +79,10 @@ import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
 
 /**
  * The SchemaLoader provides loading facilities to load (parse) a XML Schema file.<br>
@@ -80,10 +98,50 @@ public class SchemaLoader {
     private static final String[] VERSIONS =
             new String[] {"comast14.xsd", "comast15.xsd", "comast16.xsd", "comast17.xsd", "oal20.xsd", "oal21.xsd"};
 
+    /**
+     * Engines available to read a XML file.
+     */
+    public enum Engine {
+        /** Parses the whole file into a DOM first and walks it afterwards. */
+        DOM,
+        /** Reads the file in one pass with StAX, without building a DOM of the whole document. */
+        STAX
+    }
+
+    // Containers that must appear exactly once in a document
+    // (in the sequence the DOM engine checks them)
+    private static final List<String> MANDATORY_CONTAINERS = List.of(
+            RootElement.XML_OBSERVER_CONTAINER,
+            RootElement.XML_TARGET_CONTAINER,
+            RootElement.XML_SITE_CONTAINER,
+            RootElement.XML_SCOPE_CONTAINER,
+            RootElement.XML_EYEPIECE_CONTAINER,
+            RootElement.XML_SESSION_CONTAINER);
+
+    // Containers that were added in later schema versions and therefore might be missing
+    private static final List<String> OPTIONAL_CONTAINERS =
+            List.of(RootElement.XML_LENS_CONTAINER, RootElement.XML_FILTER_CONTAINER, RootElement.XML_IMAGER_CONTAINER);
+
+    // Compiled XML Schemas. Key is the schema path in the resources
+    private static final Map<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+
+    // Maximum amount of observations created by one fork/join task. DOM documents
+    // with less observations are always loaded sequentially
+    private static final int OBSERVATIONS_PER_TASK = 16;
+
     // ------------------
     // Instance Variables ------------------------------------------------
     // ------------------
 
+    // Engine used to read XML files
+    private Engine engine = Engine.DOM;
+
+    // Create observations in parallel
+    private boolean parallel = false;
+
+    // Pool for repeated values of the loaded elements, null for none
+    private InternPool internPool = null;
+
     // Array of all obervations that have been found in the XML Document
     private IObservation[] observations = null;
 
@@ -115,9 +173,12 @@ public class SchemaLoader {
     private ILens[] lenses = null;
 
     // Add doublicate catalog targets in here
-    // Key is the doublicate target entry, value is the "new" target which
+    // Key is the ID of the doublicate target entry, value is the "new" target which
     // will be used to replace the doublicate target in the corsp. observations
-    private final Map<ITarget, ITarget> doublicateTargets = new HashMap<>();
+    private final Map<String, ITarget> doublicateTargets = new LinkedHashMap<>();
+
+    // Amount of doublicate targets folded into their first occurrence during the last load
+    private int doublicateTargetCount = 0;
 
     // List of additional classLoader which can be used to find classes using
     // reflection
@@ -134,7 +195,9 @@ public class SchemaLoader {
     }
 
     /**
-     * Gets a ITarget object (e.g. DeepSkyTarget) from a given xsiType.
+     * Gets a ITarget object (e.g. DeepSkyTarget) from a given xsiType.<br>
+     * The target is created by the factory registered for the type. Types registered without factory are created
+     * via reflection.
      *
      * @param xsiType
      *            The unique xsi:Type that identifies the object/element
@@ -149,6 +212,15 @@ public class SchemaLoader {
     private static ITarget getTargetFromXSIType(String xsiType, Node currentNode, IObserver... observers)
             throws SchemaException {
 
+        TargetFactory factory = ConfigLoader.getTargetFactory(xsiType);
+        if (factory != null) {
+            try {
+                return factory.create(currentNode, observers);
+            } catch (RuntimeException re) {
+                throw new SchemaException("Unable to create target of type: " + xsiType + "\n" + re.getMessage(), re);
+            }
+        }
+
         return (ITarget)
                 SchemaLoader.getObjectFromXSIType(xsiType, currentNode, observers, SchemaElementConstants.TARGET);
     }
@@ -166,6 +238,15 @@ public class SchemaLoader {
      */
     public static IFinding getFindingFromXSIType(String xsiType, Node currentNode) throws SchemaException {
 
+        FindingFactory factory = ConfigLoader.getFindingFactory(xsiType);
+        if (factory != null) {
+            try {
+                return factory.create(currentNode);
+            } catch (RuntimeException re) {
+                throw new SchemaException("Unable to create finding of type: " + xsiType + "\n" + re.getMessage(), re);
+            }
+        }
+
         return (IFinding) SchemaLoader.getObjectFromXSIType(xsiType, currentNode, null, SchemaElementConstants.FINDING);
     }
 
@@ -182,6 +263,15 @@ public class SchemaLoader {
      */
     private static IImager getImagerFromXSIType(String xsiType, Node currentNode) throws SchemaException {
 
+        ImagerFactory factory = ConfigLoader.getImagerFactory(xsiType);
+        if (factory != null) {
+            try {
+                return factory.create(currentNode);
+            } catch (RuntimeException re) {
+                throw new SchemaException("Unable to create imager of type: " + xsiType + "\n" + re.getMessage(), re);
+            }
+        }
+
         return (IImager) SchemaLoader.getObjectFromXSIType(xsiType, currentNode, null, SchemaElementConstants.IMAGER);
     }
 
@@ -189,6 +279,62 @@ public class SchemaLoader {
     // Public Methods ----------------------------------------------------
     // --------------
 
+    public Engine getEngine() {
+
+        return this.engine;
+    }
+
+    /**
+     * Sets the engine used to read XML files. Default is {@link Engine#DOM}.
+     *
+     * @param engine
+     *            The engine to use for the next loads
+     */
+    public void setEngine(Engine engine) {
+
+        if (engine == null) {
+            throw new IllegalArgumentException("Engine cannot be NULL. ");
+        }
+        this.engine = engine;
+    }
+
+    public boolean isParallel() {
+
+        return this.parallel;
+    }
+
+    /**
+     * Enables the parallel creation of observations. Once all other elements are loaded the observations are
+     * independent of each other, so they are split across the common fork/join pool. The observations keep the
+     * document order and errors are logged the same way (and in the same order) as on sequential loading. Default is
+     * <code>false</code>.
+     *
+     * @param parallel
+     *            <code>true</code> to create observations in parallel on the next loads
+     */
+    public void setParallel(boolean parallel) {
+
+        this.parallel = parallel;
+    }
+
+    public InternPool getInternPool() {
+
+        return this.internPool;
+    }
+
+    /**
+     * Sets the pool repeated values (datasources, alias names, accessories, languages...) of the loaded elements are
+     * interned in, right after each element was created. Loaders should use {@link InternPool#getShared()}, so the
+     * values are shared across documents and catalogs. Default is <code>null</code>, values are not interned.
+     *
+     * @param internPool
+     *            The pool to use for the next loads, or <code>null</code>
+     */
+    public void setInternPool(InternPool internPool) {
+
+        this.internPool = internPool;
+    }
+
     public IObservation[] getObservations() {
 
         return this.observations.clone();
@@ -239,6 +385,18 @@ public class SchemaLoader {
         return this.imagers.clone();
     }
 
+    /**
+     * Returns the amount of doublicate targets found in the last loaded document. Doublicate targets (same name,
+     * xsi:type and datasource/observer) are replaced by their first occurrence, so they are not part of
+     * {@link #getTargets()}.
+     *
+     * @return The amount of folded doublicate targets
+     */
+    public int getDoublicateTargetCount() {
+
+        return this.doublicateTargetCount;
+    }
+
     /**
      * Loads/parses a XML File
      *
@@ -255,6 +413,29 @@ public class SchemaLoader {
      */
     public RootElement load(File xmlFile, File schemaPath, boolean fixLoadErrors) throws OALException, SchemaException {
 
+        return this.load(xmlFile, schemaPath, fixLoadErrors, null);
+    }
+
+    /**
+     * Loads/parses a XML File and records its snapshot while the file is read. The snapshot is not finished, call
+     * {@link DocumentSnapshot.Encoder#finish(File)} after a successful load.
+     *
+     * @param xmlFile
+     *            file to parse
+     * @param schemaPath
+     *            The path to the XML Schemas
+     * @param fixLoadErrors
+     *            if true try to solve issues on loading.
+     * @param snapshot
+     *            The snapshot to record the parsed file to, might be <code>NULL</code>
+     * @throws OALException
+     *             if schema File cannot be accessed
+     * @throws SchemaException
+     *             if XML File is not valid
+     */
+    public RootElement load(File xmlFile, File schemaPath, boolean fixLoadErrors, DocumentSnapshot.Encoder snapshot)
+            throws OALException, SchemaException {
+
         // Check if file is OK
         if (xmlFile == null || !xmlFile.exists() || xmlFile.isDirectory()) {
             throw new OALException("XML file is null, does not exist or is directory. ");
@@ -264,16 +445,39 @@ public class SchemaLoader {
 
         try {
 
-            isValid(schemaFilePath, xmlFile.getAbsolutePath());
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            dbf.setValidating(false);
-            dbf.setNamespaceAware(true);
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            try (FileInputStream is = new FileInputStream(xmlFile)) {
-                Document doc = db.parse(is);
-                return this.load(doc, fixLoadErrors).node();
+            // Validate while reading, so the file is only read once
+            XmlErrorHandler xsdErrorHandler = new XmlErrorHandler();
+            ValidatorHandler validator = getSchema(schemaFilePath).newValidatorHandler();
+            validator.setErrorHandler(xsdErrorHandler);
+            String systemId = xmlFile.toURI().toString();
+
+            RootElement root;
+            try (InputStream is = new BufferedInputStream(new FileInputStream(xmlFile))) {
+                if (this.engine == Engine.STAX) {
+                    try {
+                        XMLStreamReader reader = StaxNodeReader.createReader(is, systemId);
+                        if (snapshot != null) {
+                            reader = snapshot.record(reader);
+                        }
+                        reader = new StaxValidationDelegate(reader, validator, systemId);
+                        root = this.loadStreaming(reader, fixLoadErrors);
+                    } catch (XMLStreamException e) {
+                        LOGGER.error("Error parsing xml file: {}. {}", xmlFile, e.toString(), e);
+                        throw new OALException("Error parsing  xml file: " + xmlFile.getAbsolutePath(), e);
+                    }
+                } else {
+                    Document doc = this.parse(is, systemId, validator);
+                    if (snapshot != null) {
+                        // Before the load, which might fix the document
+                        snapshot.encode(doc);
+                    }
+                    root = this.loadDocument(doc, fixLoadErrors).node();
+                }
             }
 
+            logValidationErrors(xmlFile.getAbsolutePath(), xsdErrorHandler);
+            return root;
+
         } catch (IOException e) {
             LOGGER.error("Error reading xml file: {}. {}", xmlFile, e.getLocalizedMessage(), e);
             throw new OALException("Error reading xml  xml file: " + xmlFile.getAbsolutePath(), e);
@@ -306,19 +510,80 @@ public class SchemaLoader {
         throw new OALException("Cannot determine schema version from XML file: " + xmlFile + "\n");
     }
 
-    private File getFile(String location) {
-        return new File(getClass().getClassLoader().getResource(location).getFile());
+    /**
+     * Loads an already parsed XML Document, e.g. one the changes of an {@link EditJournal} were applied to. The
+     * document is not validated again.
+     *
+     * @param doc
+     *            The XML Document
+     * @param fixLoadErrors
+     *            if true try to solve issues on loading
+     * @return The loaded elements
+     * @throws OALException
+     *             if doc is <code>NULL</code> or empty
+     * @throws SchemaException
+     *             if XML Document is not valid
+     */
+    public RootElement load(Document doc, boolean fixLoadErrors) throws OALException, SchemaException {
+
+        return this.loadDocument(doc, fixLoadErrors).node();
     }
 
-    private Validator initValidator(String xsdPath) throws SAXException {
-        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-        Source schemaFile = new StreamSource(getFile(xsdPath));
-        Schema schema = factory.newSchema(schemaFile);
-        return schema.newValidator();
+    /**
+     * Loads the events of an already parsed XML document with the streaming engine, e.g. the ones read from a
+     * {@link DocumentSnapshot}. The document is not validated again.
+     *
+     * @param reader
+     *            The reader of the XML document, closed after the load
+     * @param fixLoadErrors
+     *            if true try to solve issues on loading
+     * @return The loaded elements
+     * @throws OALException
+     *             if the document is empty, containers are missing or doubled, or it cannot be read
+     * @throws SchemaException
+     *             if XML Document is not valid
+     */
+    public RootElement load(XMLStreamReader reader, boolean fixLoadErrors) throws OALException, SchemaException {
+
+        try {
+            return this.loadStreaming(reader, fixLoadErrors);
+        } catch (XMLStreamException | ParserConfigurationException e) {
+            throw new OALException("Error reading XML document. ", e);
+        }
+    }
+
+    /**
+     * Returns the compiled XML Schema for a schema file in the resources (e.g. schema/oal21.xsd).<br>
+     * Compiled schemas are cached per version, as javax.xml.validation.Schema is immutable and thread safe. Validators
+     * created from it must not be shared between threads.
+     *
+     * @param xsdPath
+     *            Path of the schema in the resources
+     * @return The compiled schema
+     * @throws SAXException
+     *             if the schema cannot be found or compiled
+     */
+    static Schema getSchema(String xsdPath) throws SAXException {
+
+        Schema schema = SchemaLoader.SCHEMAS.get(xsdPath);
+        if (schema == null) {
+            URL location = SchemaLoader.class.getClassLoader().getResource(xsdPath);
+            if (location == null) {
+                throw new SAXException("Cannot find XML schema: " + xsdPath);
+            }
+            // SchemaFactory is not thread safe, so use a new one for each compilation
+            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            schema = factory.newSchema(location);
+            Schema cached = SchemaLoader.SCHEMAS.putIfAbsent(xsdPath, schema);
+            if (cached != null) {
+                schema = cached;
+            }
+        }
+        return schema;
     }
 
     public boolean isValid(String xsdPath, String xmlPath) throws IOException, SAXException {
-        Validator validator = initValidator(xsdPath);
+        Validator validator = getSchema(xsdPath).newValidator();
         XmlErrorHandler xsdErrorHandler = new XmlErrorHandler();
         try {
             validator.setErrorHandler(xsdErrorHandler);
@@ -328,10 +593,39 @@ public class SchemaLoader {
 
         }
 
-        xsdErrorHandler.getExceptions().forEach(e -> LOGGER.error("Error in xml file: {}. {}", xmlPath, e.toString()));
+        logValidationErrors(xmlPath, xsdErrorHandler);
         return xsdErrorHandler.getExceptions().isEmpty();
     }
 
+    private static void logValidationErrors(String xmlPath, XmlErrorHandler xsdErrorHandler) {
+
+        xsdErrorHandler.getExceptions().forEach(e -> LOGGER.error("Error in xml file: {}. {}", xmlPath, e.toString()));
+    }
+
+    /**
+     * Parses a XML file into a DOM Document, passing all events to the given validator while parsing.
+     */
+    private Document parse(InputStream is, String systemId, ValidatorHandler validator)
+            throws IOException, SAXException, ParserConfigurationException {
+
+        SAXParserFactory spf = SAXParserFactory.newInstance();
+        spf.setValidating(false);
+        spf.setNamespaceAware(true);
+        XMLReader reader = spf.newSAXParser().getXMLReader();
+
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        TeeHandler handler = new TeeHandler(dbf.newDocumentBuilder().newDocument(), validator);
+        reader.setContentHandler(handler);
+        reader.setProperty("http://xml.org/sax/properties/lexical-handler", handler);
+
+        InputSource source = new InputSource(is);
+        source.setSystemId(systemId);
+        reader.parse(source);
+
+        return handler.getDocument();
+    }
+
     public class XmlErrorHandler implements ErrorHandler {
 
         private List<SAXParseException> exceptions;
@@ -385,7 +679,7 @@ public class SchemaLoader {
      * @throws SchemaException
      *             if XML File is not valid
      */
-    private Result load(Document doc, boolean fixLoadErrors) throws OALException, SchemaException {
+    private Result loadDocument(Document doc, boolean fixLoadErrors) throws OALException, SchemaException {
 
         // Check if document is OK
         if ((doc == null) || (!doc.hasChildNodes())) {
@@ -393,6 +687,7 @@ public class SchemaLoader {
         }
 
         Element rootElement = doc.getDocumentElement();
+        this.doublicateTargets.clear();
 
         // Get elements here
         // Don't change the sequence of retrieving the elements, or we might
@@ -416,11 +711,21 @@ public class SchemaLoader {
         // --------- Observation -----------
         this.observations = createObservationElements(rootElement, fixLoadErrors);
 
+        RootElement obs = this.finishLoad();
+        return new Result(obs, errors);
+    }
+
+    private RootElement finishLoad() throws SchemaException {
+
         // Bugfix from 0.516 to 0.617
         // Remove all doublicate catalog targets
         // Bugfix from 0.617 to 0.717
         // Also used for fixing catalog datasource strings
         this.removeDoublicateTargets();
+        this.doublicateTargetCount = this.doublicateTargets.size();
+        if (this.doublicateTargetCount > 0) {
+            LOGGER.info("Folded {} doublicate targets into their first occurrence", this.doublicateTargetCount);
+        }
 
         RootElement obs = new RootElement();
         for (IObservation observation : observations) {
@@ -428,7 +733,7 @@ public class SchemaLoader {
         }
 
         logData();
-        return new Result(obs, errors);
+        return obs;
     }
 
     private void logData() {
@@ -468,6 +773,8 @@ public class SchemaLoader {
         } else if (elementContainer.getLength() == 1) {
             element = elementContainer.item(0);
             imagers = createImagerElements(element);
+        } else {
+            imagers = new IImager[0];
         }
     }
 
@@ -555,6 +862,375 @@ public class SchemaLoader {
         observers = createObserverElements(element);
     }
 
+    /**
+     * Loads/parses a XML Document in one pass with StAX, without building a DOM of the whole document.<br>
+     * Every schema element is read into a small detached fragment and created as soon as the containers it depends
+     * on have been read, so only one element is held as DOM at a time. As in the schema, the element containers
+     * must precede the observation elements.
+     *
+     * @param reader
+     *            The reader of the XML document
+     * @throws OALException
+     *             if the document is empty or containers are missing or doubled
+     * @throws SchemaException
+     *             if XML File is not valid
+     */
+    private RootElement loadStreaming(XMLStreamReader reader, boolean fixLoadErrors)
+            throws OALException, SchemaException, XMLStreamException, ParserConfigurationException {
+
+        this.doublicateTargets.clear();
+        this.observers = new IObserver[0];
+        this.sites = new ISite[0];
+        this.sessions = new ISession[0];
+        this.targets = new ITarget[0];
+        this.scopes = new IScope[0];
+        this.eyepieces = new IEyepiece[0];
+        this.lenses = new ILens[0];
+        this.filters = new IFilter[0];
+        this.imagers = new IImager[0];
+
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        dbf.setNamespaceAware(true);
+        Document fragmentOwner = dbf.newDocumentBuilder().newDocument();
+        StreamingState state = new StreamingState(fixLoadErrors);
+
+        try {
+            if (!StaxNodeReader.nextChildElement(reader)) {
+                throw new OALException("XML Schema is NULL or has no child nodes. ");
+            }
+            while (StaxNodeReader.nextChildElement(reader)) {
+                String name = StaxNodeReader.getQualifiedName(reader);
+                if (IObservation.XML_ELEMENT_OBSERVATION.equals(name)) {
+                    state.addObservation(StaxNodeReader.readElement(reader, state.getObservationOwner(fragmentOwner)));
+                } else if (MANDATORY_CONTAINERS.contains(name) || OPTIONAL_CONTAINERS.contains(name)) {
+                    state.openContainer(name);
+                    while (StaxNodeReader.nextChildElement(reader)) {
+                        String elementName = StaxNodeReader.getQualifiedName(reader);
+                        if (StreamingState.isElementOf(name, elementName)) {
+                            state.addElement(name, elementName, StaxNodeReader.readElement(reader, fragmentOwner));
+                        } else {
+                            StaxNodeReader.skipElement(reader);
+                        }
+                    }
+                    state.closeContainer(name);
+                } else {
+                    StaxNodeReader.skipElement(reader);
+                }
+            }
+        } catch (OALException | XMLStreamException | RuntimeException e) {
+            state.cancel();
+            throw e;
+        } finally {
+            reader.close();
+        }
+
+        this.observations = state.finish();
+        return this.finishLoad();
+    }
+
+    /**
+     * Collects the schema elements read by the streaming engine and creates them in the same dependency order as the
+     * DOM engine does (observers before targets, observers and sites before sessions and all before observations).<br>
+     * On parallel loading the observations are read into chunks with a document of their own, and each complete chunk
+     * is created on the fork/join pool while the rest of the document is read.
+     */
+    private final class StreamingState {
+
+        private final boolean fixLoadErrors;
+
+        private final Set<String> openedContainers = new HashSet<>();
+        private final Set<String> closedContainers = new HashSet<>();
+
+        // Elements whose containers are not yet complete, e.g. targets before observers
+        private final Map<String, List<Element>> pendingElements = new LinkedHashMap<>();
+        private final List<Element> pendingObservations = new ArrayList<>();
+
+        // Chunks of observations on parallel loading, and the tasks of the chunks created so far
+        private final List<ObservationChunk> chunks = new ArrayList<>();
+        private final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        private List<Node> chunkNodes = new ArrayList<>(OBSERVATIONS_PER_TASK);
+        private Document chunkOwner = null;
+
+        private final List<IObserver> observerList = new ArrayList<>();
+        private final List<ISite> siteList = new ArrayList<>();
+        private final List<ISession> sessionList = new ArrayList<>();
+        private final List<ITarget> targetList = new ArrayList<>();
+        private final TargetIndex targetIndex = new TargetIndex();
+        private final List<IScope> scopeList = new ArrayList<>();
+        private final List<IEyepiece> eyepieceList = new ArrayList<>();
+        private final List<ILens> lensList = new ArrayList<>();
+        private final List<IFilter> filterList = new ArrayList<>();
+        private final List<IImager> imagerList = new ArrayList<>();
+        private final List<IImager> skySafariImagerList = new ArrayList<>();
+        private final List<IObservation> observationList = new ArrayList<>();
+
+        // Set as soon as all containers are complete and observations can be created
+        private boolean sealed = false;
+
+        private ReferenceContext references = null;
+
+        StreamingState(boolean fixLoadErrors) {
+
+            this.fixLoadErrors = fixLoadErrors;
+        }
+
+        static boolean isElementOf(String container, String elementName) {
+
+            if (RootElement.XML_OBSERVER_CONTAINER.equals(container)) {
+                return IObserver.XML_ELEMENT_OBSERVER.equals(elementName);
+            } else if (RootElement.XML_SITE_CONTAINER.equals(container)) {
+                return ISite.XML_ELEMENT_SITE.equals(elementName);
+            } else if (RootElement.XML_SESSION_CONTAINER.equals(container)) {
+                return ISession.XML_ELEMENT_SESSION.equals(elementName);
+            } else if (RootElement.XML_TARGET_CONTAINER.equals(container)) {
+                return ITarget.XML_ELEMENT_TARGET.equals(elementName);
+            } else if (RootElement.XML_SCOPE_CONTAINER.equals(container)) {
+                return IScope.XML_ELEMENT_SCOPE.equals(elementName);
+            } else if (RootElement.XML_EYEPIECE_CONTAINER.equals(container)) {
+                return IEyepiece.XML_ELEMENT_EYEPIECE.equals(elementName);
+            } else if (RootElement.XML_LENS_CONTAINER.equals(container)) {
+                return ILens.XML_ELEMENT_LENS.equals(elementName);
+            } else if (RootElement.XML_FILTER_CONTAINER.equals(container)) {
+                return IFilter.XML_ELEMENT_FILTER.equals(elementName);
+            } else if (RootElement.XML_IMAGER_CONTAINER.equals(container)) {
+                return IImager.XML_ELEMENT_IMAGER.equals(elementName)
+                        || IImager.XML_ELEMENT_IMAGER_SKY_SAFARI.equals(elementName);
+            }
+            return false;
+        }
+
+        void openContainer(String container) throws OALException {
+
+            if (!this.openedContainers.add(container)) {
+                throw new OALException("Schema XML can only have one " + container + " element. ");
+            }
+            if (this.sealed) {
+                throw new OALException("Schema XML element " + container + " must precede the observation elements. ");
+            }
+        }
+
+        void closeContainer(String container) throws SchemaException {
+
+            this.closedContainers.add(container);
+            this.publish(container);
+
+            // Create elements that have been waiting for this container
+            Iterator<Entry<String, List<Element>>> iterator =
+                    this.pendingElements.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry<String, List<Element>> entry = iterator.next();
+                if (this.isReady(entry.getKey()) && this.closedContainers.contains(entry.getKey())) {
+                    for (Element element : entry.getValue()) {
+                        this.create(entry.getKey(), element.getTagName(), element);
+                    }
+                    iterator.remove();
+                    this.publish(entry.getKey());
+                }
+            }
+        }
+
+        void addElement(String container, String elementName, Element element) throws SchemaException {
+
+            if (this.isReady(container)) {
+                this.create(container, elementName, element);
+            } else {
+                this.pendingElements
+                        .computeIfAbsent(container, k -> new ArrayList<>())
+                        .add(element);
+            }
+        }
+
+        void addObservation(Element observation) {
+
+            if (!this.sealed
+                    && this.closedContainers.containsAll(MANDATORY_CONTAINERS)
+                    && this.pendingElements.isEmpty()) {
+                this.seal();
+            }
+
+            if (SchemaLoader.this.parallel) {
+                this.chunkNodes.add(observation);
+                if (this.chunkNodes.size() == OBSERVATIONS_PER_TASK) {
+                    this.closeChunk();
+                }
+            } else if (this.sealed) {
+                SchemaLoader.this.createObservation(
+                        observation, this.fixLoadErrors, this.references, this.observationList);
+            } else {
+                this.pendingObservations.add(observation);
+            }
+        }
+
+        // Document the next observation is read into
+        Document getObservationOwner(Document fragmentOwner) {
+
+            if (!SchemaLoader.this.parallel) {
+                return fragmentOwner;
+            }
+            if (this.chunkOwner == null) {
+                this.chunkOwner = fragmentOwner.getImplementation().createDocument(null, null, null);
+            }
+            return this.chunkOwner;
+        }
+
+        // Stops the creation of observations, e.g. if the document cannot be read
+        void cancel() {
+
+            for (ForkJoinTask<?> task : this.tasks) {
+                task.cancel(false);
+            }
+        }
+
+        private void closeChunk() {
+
+            this.chunks.add(new ObservationChunk(this.chunkNodes));
+            this.chunkNodes = new ArrayList<>(OBSERVATIONS_PER_TASK);
+            this.chunkOwner = null;
+            if (this.sealed) {
+                this.submitChunks();
+            }
+        }
+
+        // Creates the observations of all chunks not created yet
+        private void submitChunks() {
+
+            for (int i = this.tasks.size(); i < this.chunks.size(); i++) {
+                this.tasks.add(ForkJoinPool.commonPool()
+                        .submit(new ObservationTask(
+                                this.chunks,
+                                i,
+                                i + 1,
+                                this.fixLoadErrors,
+                                this.references,
+                                SchemaLoader.this.internPool)));
+            }
+        }
+
+        IObservation[] finish() throws OALException, SchemaException {
+
+            for (String container : MANDATORY_CONTAINERS) {
+                if (!this.openedContainers.contains(container)) {
+                    throw new OALException("Schema XML can only have one " + container + " element. ");
+                }
+            }
+
+            if (SchemaLoader.this.parallel && !this.chunkNodes.isEmpty()) {
+                this.closeChunk();
+            }
+            if (!this.sealed) {
+                this.seal();
+            }
+            this.createPendingObservations();
+
+            return this.observationList.toArray(new IObservation[] {});
+        }
+
+        private void seal() {
+
+            this.sealed = true;
+            this.references = SchemaLoader.this.createReferenceContext();
+
+            if (SchemaLoader.this.parallel) {
+                this.submitChunks();
+            } else {
+                this.createPendingObservations();
+            }
+        }
+
+        private void createPendingObservations() {
+
+            if (SchemaLoader.this.parallel) {
+                for (ForkJoinTask<?> task : this.tasks) {
+                    task.join();
+                }
+                collectObservations(this.chunks, this.observationList);
+                return;
+            }
+
+            this.observationList.addAll(Arrays.asList(SchemaLoader.this.createObservations(
+                    this.pendingObservations, this.fixLoadErrors, this.references)));
+            this.pendingObservations.clear();
+        }
+
+        private boolean isReady(String container) {
+
+            if (RootElement.XML_TARGET_CONTAINER.equals(container)) {
+                return this.closedContainers.contains(RootElement.XML_OBSERVER_CONTAINER);
+            } else if (RootElement.XML_SESSION_CONTAINER.equals(container)) {
+                return this.closedContainers.contains(RootElement.XML_OBSERVER_CONTAINER)
+                        && this.closedContainers.contains(RootElement.XML_SITE_CONTAINER);
+            }
+            return true;
+        }
+
+        private void create(String container, String elementName, Element element) throws SchemaException {
+
+            if (RootElement.XML_OBSERVER_CONTAINER.equals(container)) {
+                this.observerList.add(new Observer(element));
+            } else if (RootElement.XML_SITE_CONTAINER.equals(container)) {
+                this.siteList.add(new Site(element));
+            } else if (RootElement.XML_SESSION_CONTAINER.equals(container)) {
+                this.sessionList.add(internValues(
+                        SchemaLoader.this.internPool,
+                        new Session(
+                                element,
+                                SchemaLoader.this.dateManager,
+                                SchemaLoader.this.observers,
+                                SchemaLoader.this.sites)));
+            } else if (RootElement.XML_TARGET_CONTAINER.equals(container)) {
+                SchemaLoader.this.createTarget(element, this.targetList, this.targetIndex, SchemaLoader.this.observers);
+            } else if (RootElement.XML_SCOPE_CONTAINER.equals(container)) {
+                this.scopeList.add(new Scope(element));
+            } else if (RootElement.XML_EYEPIECE_CONTAINER.equals(container)) {
+                this.eyepieceList.add(new Eyepiece(element));
+            } else if (RootElement.XML_LENS_CONTAINER.equals(container)) {
+                this.lensList.add(new Lens(element));
+            } else if (RootElement.XML_FILTER_CONTAINER.equals(container)) {
+                this.filterList.add(new Filter(element));
+            } else if (RootElement.XML_IMAGER_CONTAINER.equals(container)) {
+                Optional<IImager> imager = SchemaLoader.this.readImager(element);
+                if (imager.isPresent()) {
+                    // Keep the DOM engine order: all imager elements before the SkySafari ones
+                    if (IImager.XML_ELEMENT_IMAGER.equals(elementName)) {
+                        this.imagerList.add(imager.get());
+                    } else {
+                        this.skySafariImagerList.add(imager.get());
+                    }
+                }
+            }
+        }
+
+        // Makes the elements of a completed container visible to the depending elements
+        private void publish(String container) {
+
+            if (this.pendingElements.containsKey(container)) {
+                return;
+            }
+
+            if (RootElement.XML_OBSERVER_CONTAINER.equals(container)) {
+                SchemaLoader.this.observers = this.observerList.toArray(new IObserver[] {});
+            } else if (RootElement.XML_SITE_CONTAINER.equals(container)) {
+                SchemaLoader.this.sites = this.siteList.toArray(new ISite[] {});
+            } else if (RootElement.XML_SESSION_CONTAINER.equals(container)) {
+                SchemaLoader.this.sessions = this.sessionList.toArray(new ISession[] {});
+            } else if (RootElement.XML_TARGET_CONTAINER.equals(container)) {
+                SchemaLoader.this.targets = this.targetList.toArray(new ITarget[] {});
+            } else if (RootElement.XML_SCOPE_CONTAINER.equals(container)) {
+                SchemaLoader.this.scopes = this.scopeList.toArray(new IScope[] {});
+            } else if (RootElement.XML_EYEPIECE_CONTAINER.equals(container)) {
+                SchemaLoader.this.eyepieces = this.eyepieceList.toArray(new IEyepiece[] {});
+            } else if (RootElement.XML_LENS_CONTAINER.equals(container)) {
+                SchemaLoader.this.lenses = this.lensList.toArray(new ILens[] {});
+            } else if (RootElement.XML_FILTER_CONTAINER.equals(container)) {
+                SchemaLoader.this.filters = this.filterList.toArray(new IFilter[] {});
+            } else if (RootElement.XML_IMAGER_CONTAINER.equals(container)) {
+                List<IImager> all = new ArrayList<>(this.imagerList);
+                all.addAll(this.skySafariImagerList);
+                SchemaLoader.this.imagers = all.toArray(new IImager[] {});
+            }
+        }
+    }
+
     // ----------------------
     // Private Static Methods --------------------------------------------
     // ----------------------
@@ -678,34 +1354,95 @@ public class SchemaLoader {
         Element e = (Element) observations;
         NodeList observationList = e.getElementsByTagName(IObservation.XML_ELEMENT_OBSERVATION);
 
+        List<Node> nodes = new ArrayList<>(observationList.getLength());
+        for (int i = 0; i < observationList.getLength(); i++) {
+            nodes.add(observationList.item(i));
+        }
+
+        return this.createObservations(nodes, fixLoadErrors, this.createReferenceContext());
+    }
+
+    private IObservation[] createObservations(
+            List<? extends Node> nodes, boolean fixLoadErrors, ReferenceContext references) {
+
         // Cannot use array here as loading of observation might fail (target loading
         // might fail cause of XSI type,
         // so this might cause observation loading to fail as well....
-        List<IObservation> obs = new ArrayList<>(observationList.getLength());
-
-        for (int i = 0; i < observationList.getLength(); i++) {
+        List<IObservation> obs = new ArrayList<>(nodes.size());
 
-            try {
-                obs.add(new Observation(
-                        observationList.item(i),
-                        fixLoadErrors,
-                        this.targets,
-                        this.observers,
-                        this.sites,
-                        this.scopes,
-                        this.sessions,
-                        this.eyepieces,
-                        this.filters,
-                        this.imagers,
-                        this.lenses));
-            } catch (SchemaException | IllegalArgumentException se) {
-                LOGGER.error("\n\nContinue loading next observation...\n\n", se);
+        if (!this.parallel || nodes.size() <= OBSERVATIONS_PER_TASK) {
+            for (Node node : nodes) {
+                this.createObservation(node, fixLoadErrors, references, obs);
             }
+        } else {
+            List<ObservationChunk> chunks = splitObservations(nodes);
+            ForkJoinPool.commonPool()
+                    .invoke(new ObservationTask(chunks, 0, chunks.size(), fixLoadErrors, references, this.internPool));
+            collectObservations(chunks, obs);
         }
 
         return (IObservation[]) obs.toArray(new IObservation[] {});
     }
 
+    // Copies the nodes in chunks of OBSERVATIONS_PER_TASK into documents of their
+    // own, in one pass before forking. DOM implementations are not thread safe, not
+    // even for reading, but chunks in different documents can be read concurrently.
+    private static List<ObservationChunk> splitObservations(List<? extends Node> nodes) {
+
+        List<ObservationChunk> chunks = new ArrayList<>((nodes.size() / OBSERVATIONS_PER_TASK) + 1);
+        for (int start = 0; start < nodes.size(); start += OBSERVATIONS_PER_TASK) {
+            List<? extends Node> range = nodes.subList(start, Math.min(start + OBSERVATIONS_PER_TASK, nodes.size()));
+            Document owner = range.get(0).getOwnerDocument().getImplementation().createDocument(null, null, null);
+            List<Node> copies = new ArrayList<>(range.size());
+            for (Node node : range) {
+                copies.add(owner.importNode(node, true));
+            }
+            chunks.add(new ObservationChunk(copies));
+        }
+
+        return chunks;
+    }
+
+    // Adds the created observations and logs the failures in document order, as
+    // the sequential loading does
+    private static void collectObservations(List<ObservationChunk> chunks, List<IObservation> obs) {
+
+        for (ObservationChunk chunk : chunks) {
+            for (int i = 0; i < chunk.created().length; i++) {
+                if (chunk.failures()[i] != null) {
+                    LOGGER.error("\n\nContinue loading next observation...\n\n", chunk.failures()[i]);
+                } else {
+                    obs.add(chunk.created()[i]);
+                }
+            }
+        }
+    }
+
+    // Indexes all loaded elements by ID, so links of observations can be resolved without scanning the arrays
+    private ReferenceContext createReferenceContext() {
+
+        return new ReferenceContext(
+                this.targets,
+                this.observers,
+                this.sites,
+                this.scopes,
+                this.sessions,
+                this.eyepieces,
+                this.filters,
+                this.imagers,
+                this.lenses);
+    }
+
+    private void createObservation(
+            Node observation, boolean fixLoadErrors, ReferenceContext references, List<IObservation> obs) {
+
+        try {
+            obs.add(internValues(this.internPool, new Observation(observation, fixLoadErrors, references)));
+        } catch (SchemaException | IllegalArgumentException se) {
+            LOGGER.error("\n\nContinue loading next observation...\n\n", se);
+        }
+    }
+
     private ITarget[] createTargetElements(Node targets, IObserver... observers) throws SchemaException {
 
         Element e = (Element) targets;
@@ -714,49 +1451,50 @@ public class SchemaLoader {
         // As loading of target might fail (unknown XSI type) we do not know the amount
         // of successfuly loaded elements..
         List<ITarget> targetElements = new ArrayList<>(targetList.getLength());
-
-        // Helper classes
-        Node currentNode = null;
+        TargetIndex targetIndex = new TargetIndex();
 
         for (int i = 0; i < targetList.getLength(); i++) {
+            this.createTarget(targetList.item(i), targetElements, targetIndex, observers);
+        }
 
-            currentNode = targetList.item(i);
+        return (ITarget[]) targetElements.toArray(new ITarget[] {});
+    }
 
-            // Get classname from xsi:type
-            NamedNodeMap attributes = currentNode.getAttributes();
-            if ((attributes != null) && (attributes.getLength() != 0)) {
-                String xsiType = getAttributeXsiTypeOrAssigneGeneric(attributes);
-                ITarget object = null;
-                try {
-                    object = SchemaLoader.getTargetFromXSIType(xsiType, currentNode, observers);
-                } catch (SchemaException se) {
-                    LOGGER.error("\n\nContinue with next target element...\n\n", se);
-                    continue;
-                }
-                if (object != null) {
-                    ITarget currentTarget = null;
-                    currentTarget = object;
-                    // Make sure catalog targets are unique (fixes Bug that might occur with files
-                    // from 0.516)
-                    // if( currentTarget.getDatasource() != null ) { // Target is catalog object
-                    int index = targetElements.indexOf(currentTarget);
-                    if (index != -1) { // Target already in catalog
-                        this.doublicateTargets.put(currentTarget, targetElements.get(index));
-                    }
-                    // }
-                    // Add target (doublicate targets will be removed later when we've the
-                    // observations)
-                    targetElements.add(currentTarget);
-                } else {
-                    throw new SchemaException("Unable to load class of type: " + xsiType);
-                }
+    private void createTarget(
+            Node currentNode, List<ITarget> targetElements, TargetIndex targetIndex, IObserver... observers)
+            throws SchemaException {
 
+        // Get classname from xsi:type
+        NamedNodeMap attributes = currentNode.getAttributes();
+        if ((attributes != null) && (attributes.getLength() != 0)) {
+            String xsiType = getAttributeXsiTypeOrAssigneGeneric(attributes);
+            ITarget object = null;
+            try {
+                object = SchemaLoader.getTargetFromXSIType(xsiType, currentNode, observers);
+            } catch (SchemaException se) {
+                LOGGER.error("\n\nContinue with next target element...\n\n", se);
+                return;
+            }
+            if (object != null) {
+                ITarget currentTarget = internValues(this.internPool, object);
+                // Make sure catalog targets are unique (fixes Bug that might occur with files
+                // from 0.516)
+                // if( currentTarget.getDatasource() != null ) { // Target is catalog object
+                ITarget first = targetIndex.add(currentTarget);
+                if (first != null) { // Target already in catalog
+                    this.doublicateTargets.put(currentTarget.getID(), first);
+                }
+                // }
+                // Add target (doublicate targets will be removed later when we've the
+                // observations)
+                targetElements.add(currentTarget);
             } else {
-                throw new SchemaException("No attribute specified: " + ITarget.XML_XSI_TYPE);
+                throw new SchemaException("Unable to load class of type: " + xsiType);
             }
-        }
 
-        return (ITarget[]) targetElements.toArray(new ITarget[] {});
+        } else {
+            throw new SchemaException("No attribute specified: " + ITarget.XML_XSI_TYPE);
+        }
     }
 
     private String getAttributeXsiTypeOrAssigneGeneric(NamedNodeMap attributes) {
@@ -780,7 +1518,8 @@ public class SchemaLoader {
         ISession[] sessionElements = new ISession[sessionList.getLength()];
 
         for (int i = 0; i < sessionList.getLength(); i++) {
-            sessionElements[i] = new Session(sessionList.item(i), this.dateManager, this.observers, this.sites);
+            sessionElements[i] = internValues(
+                    this.internPool, new Session(sessionList.item(i), this.dateManager, this.observers, this.sites));
         }
 
         return sessionElements;
@@ -978,6 +1717,50 @@ public class SchemaLoader {
         return buffer;
     }
 
+    // Replaces repeated strings of a target by the instances of the intern pool,
+    // right after the target was created. So the duplicates of one element are
+    // garbage right away, instead of piling up until the whole document is loaded.
+    // The xsi:types need no interning, they are constants of the element classes.
+    private static ITarget internValues(InternPool pool, ITarget target) {
+
+        if (pool == null) {
+            return target;
+        }
+        if (target.getDatasource() != null) {
+            target.setDatasource(pool.intern(target.getDatasource()));
+        }
+        String[] aliasNames = target.getAliasNames();
+        if (aliasNames.length > 0) {
+            target.setAliasNames(pool.intern(aliasNames));
+        }
+        return target;
+    }
+
+    // Replaces repeated strings of a session by the instances of the intern pool
+    private static ISession internValues(InternPool pool, ISession session) {
+
+        if (pool == null) {
+            return session;
+        }
+        session.setLanguage(pool.intern(session.getLanguage()));
+        session.setEquipment(pool.intern(session.getEquipment()));
+        session.setWeather(pool.intern(session.getWeather()));
+        return session;
+    }
+
+    // Replaces repeated strings of an observation and its findings by the instances of the intern pool
+    private static IObservation internValues(InternPool pool, IObservation observation) {
+
+        if (pool == null) {
+            return observation;
+        }
+        observation.setAccessories(pool.intern(observation.getAccessories()));
+        for (IFinding finding : observation.getResults()) {
+            finding.setLanguage(pool.intern(finding.getLanguage()));
+        }
+        return observation;
+    }
+
     // Remove doublicate catalog targets
     private void removeDoublicateTargets() {
 
@@ -986,36 +1769,135 @@ public class SchemaLoader {
         }
 
         for (IObservation observation : this.observations) {
-            ITarget current = observation.getTarget();
-            Set<Entry<ITarget, ITarget>> data = this.doublicateTargets.entrySet();
-            for (Entry<ITarget, ITarget> entry : data) {
+            ITarget replacement =
+                    this.doublicateTargets.get(observation.getTarget().getID());
+            if (replacement != null) {
+                observation.setTarget(replacement);
+            }
+        }
+
+        // Remove targets from targets array (cache)
+        // Check targetID is equal (calling equal won't work here!)
+        List<ITarget> targetElements = new ArrayList<>(this.targets.length);
+        for (ITarget current : this.targets) {
+            if (!this.doublicateTargets.containsKey(current.getID())) {
+                targetElements.add(current);
+            }
+        }
+        // Set clean targets array
+        this.targets = (ITarget[]) targetElements.toArray(new ITarget[] {});
+    }
 
-                if (current.equalsID(entry.getKey())) {
-                    observation.setTarget(entry.getValue());
+    /**
+     * Finds the first loaded target a new target is equal to, i.e. the target the equals(Object) method of the new
+     * target accepts. The implementations differ (Target.equals(Object) compares datasource or observer, asymmetric for
+     * targets with both, GenericTarget.equals(Object) does not), but all of them require the same xsi:type and name
+     * (not casesensitive). So loaded targets are grouped by these, and equals(Object) is only called within a group.
+     */
+    static final class TargetIndex {
+
+        // Key=xsi:type and lower case name - Value: Targets with that key, in loading order
+        private final Map<TargetKey, List<ITarget>> targets = new HashMap<>();
+
+        /**
+         * Adds the target to the index.
+         *
+         * @param target
+         *            The new target
+         * @return the first added target the new target is equal to, or <code>null</code> if there is none
+         */
+        ITarget add(ITarget target) {
+
+            if (target.getName() == null) { // Never equal to another target
+                return null;
+            }
+
+            TargetKey key = new TargetKey(target.getXSIType(), target.getName().toLowerCase(Locale.getDefault()));
+            List<ITarget> candidates = this.targets.computeIfAbsent(key, k -> new ArrayList<>(1));
+            for (ITarget candidate : candidates) {
+                if (target.equals(candidate)) {
+                    candidates.add(target);
+                    return candidate;
                 }
             }
+            candidates.add(target);
+
+            return null;
         }
+    }
 
-        Object dT = null;
-        ITarget current = null;
-        Iterator<ITarget> keyIterator = null;
+    private record TargetKey(String xsiType, String name) {}
 
-        // Remove targets from targets array (cache)
-        List<ITarget> targetElements = new ArrayList<>(Arrays.asList(this.targets));
-        ListIterator<ITarget> iterator = targetElements.listIterator();
-        while (iterator.hasNext()) {
-            current = (ITarget) iterator.next();
-            keyIterator = this.doublicateTargets.keySet().iterator();
-
-            while (keyIterator.hasNext()) {
-                dT = keyIterator.next();
-                if (current.equalsID(dT)) { // Check targetID is equal (calling equal won't work here!)
-                    iterator.remove();
+    /**
+     * Observation nodes owned by a document of their own, with the observations created from them. Results and failures
+     * are stored at the index of their node, so the caller can keep the document order.
+     */
+    private record ObservationChunk(List<Node> nodes, IObservation[] created, Exception[] failures) {
+
+        ObservationChunk(List<Node> nodes) {
+
+            this(nodes, new IObservation[nodes.size()], new Exception[nodes.size()]);
+        }
+    }
+
+    /**
+     * Creates the observations of a range of chunks on the fork/join pool. The chunks are independent of each other,
+     * so the tasks need no lock.
+     */
+    private static final class ObservationTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<ObservationChunk> chunks;
+        private final int start;
+        private final int end;
+        private final boolean fixLoadErrors;
+        private final transient ReferenceContext references;
+        private final transient InternPool internPool;
+
+        ObservationTask(
+                List<ObservationChunk> chunks,
+                int start,
+                int end,
+                boolean fixLoadErrors,
+                ReferenceContext references,
+                InternPool internPool) {
+
+            this.chunks = chunks;
+            this.start = start;
+            this.end = end;
+            this.fixLoadErrors = fixLoadErrors;
+            this.references = references;
+            this.internPool = internPool;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (this.end - this.start > 1) {
+                int middle = (this.start + this.end) >>> 1;
+                invokeAll(
+                        new ObservationTask(
+                                this.chunks, this.start, middle, this.fixLoadErrors, this.references, this.internPool),
+                        new ObservationTask(
+                                this.chunks, middle, this.end, this.fixLoadErrors, this.references, this.internPool));
+                return;
+            }
+
+            for (int c = this.start; c < this.end; c++) {
+                ObservationChunk chunk = this.chunks.get(c);
+                for (int i = 0; i < chunk.nodes().size(); i++) {
+                    try {
+                        chunk.created()[i] = internValues(
+                                this.internPool,
+                                new Observation(chunk.nodes().get(i), this.fixLoadErrors, this.references));
+                    } catch (SchemaException | IllegalArgumentException e) {
+                        chunk.failures()[i] = e;
+                    }
                 }
+                chunk.nodes().clear(); // The copies are not needed anymore
             }
         }
-        // Set clean targets array
-        this.targets = (ITarget[]) targetElements.toArray(new ITarget[] {});
     }
 
     record Result(RootElement node, List<String> errors) {}
@@ -0,0 +1,170 @@
+package de.lehmannet.om.util;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * XMLStreamReader which forwards every event it reads to a SAX ContentHandler (usually a
+ * {@link javax.xml.validation.ValidatorHandler}), so the StAX engine validates the document in the same pass it
+ * reads it.<br>
+ * Readers usually stop at the end of the root element. The handler still has to get the end of the document to
+ * finish the validation, so {@link #close()} reads the rest of the document once the root element was read
+ * completely.
+ */
+final class StaxValidationDelegate extends StreamReaderDelegate {
+
+    private final ContentHandler handler;
+
+    // Depth of the current element, text outside the root element is not forwarded
+    private int depth = 0;
+
+    // Whether the end of the root element resp. the end of the document was read
+    private boolean rootEnded = false;
+    private boolean documentEnded = false;
+
+    StaxValidationDelegate(XMLStreamReader reader, ContentHandler handler, String systemId) throws XMLStreamException {
+
+        super(reader);
+        this.handler = handler;
+
+        this.handler.setDocumentLocator(new Locator() {
+
+            @Override
+            public String getPublicId() {
+                return null;
+            }
+
+            @Override
+            public String getSystemId() {
+                return systemId;
+            }
+
+            @Override
+            public int getLineNumber() {
+                Location location = reader.getLocation();
+                return location == null ? -1 : location.getLineNumber();
+            }
+
+            @Override
+            public int getColumnNumber() {
+                Location location = reader.getLocation();
+                return location == null ? -1 : location.getColumnNumber();
+            }
+        });
+
+        try {
+            this.handler.startDocument();
+        } catch (SAXException e) {
+            throw new XMLStreamException(e.getMessage(), reader.getLocation(), e);
+        }
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+
+        int event = super.next();
+        try {
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    this.depth++;
+                    this.startElement();
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    this.depth--;
+                    this.endElement();
+                    this.rootEnded = this.depth == 0;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (this.depth > 0) {
+                        this.handler.characters(this.getTextCharacters(), this.getTextStart(), this.getTextLength());
+                    }
+                    break;
+                case XMLStreamConstants.END_DOCUMENT:
+                    this.documentEnded = true;
+                    this.handler.endDocument();
+                    break;
+                default:
+                    break;
+            }
+        } catch (SAXException e) {
+            throw new XMLStreamException(e.getMessage(), this.getLocation(), e);
+        }
+        return event;
+    }
+
+    /**
+     * Reads the rest of the document if the root element was read completely, so the handler gets the end of the
+     * document, and closes the reader. Documents which were not read completely (e.g. the load failed) are not
+     * validated to their end.
+     */
+    @Override
+    public void close() throws XMLStreamException {
+
+        try {
+            while (this.rootEnded && !this.documentEnded && this.hasNext()) {
+                this.next();
+            }
+        } finally {
+            super.close();
+        }
+    }
+
+    private void startElement() throws SAXException {
+
+        for (int i = 0; i < this.getNamespaceCount(); i++) {
+            this.handler.startPrefixMapping(nullToEmpty(this.getNamespacePrefix(i)), this.getNamespaceURI(i));
+        }
+
+        AttributesImpl attributes = new AttributesImpl();
+        for (int i = 0; i < this.getAttributeCount(); i++) {
+            String prefix = this.getAttributePrefix(i);
+            String localName = this.getAttributeLocalName(i);
+            attributes.addAttribute(
+                    nullToEmpty(this.getAttributeNamespace(i)),
+                    localName,
+                    qualify(prefix, localName),
+                    this.getAttributeType(i),
+                    this.getAttributeValue(i));
+        }
+
+        this.handler.startElement(
+                nullToEmpty(this.getNamespaceURI()),
+                this.getLocalName(),
+                qualify(this.getPrefix(), this.getLocalName()),
+                attributes);
+    }
+
+    private void endElement() throws SAXException {
+
+        this.handler.endElement(
+                nullToEmpty(this.getNamespaceURI()),
+                this.getLocalName(),
+                qualify(this.getPrefix(), this.getLocalName()));
+
+        for (int i = 0; i < this.getNamespaceCount(); i++) {
+            this.handler.endPrefixMapping(nullToEmpty(this.getNamespacePrefix(i)));
+        }
+    }
+
+    private static String qualify(String prefix, String localName) {
+
+        if (prefix == null || prefix.isEmpty()) {
+            return localName;
+        }
+        return prefix + ":" + localName;
+    }
+
+    private static String nullToEmpty(String value) {
+
+        return value == null ? "" : value;
+    }
+}
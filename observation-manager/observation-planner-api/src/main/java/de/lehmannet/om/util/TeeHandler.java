@@ -0,0 +1,206 @@
+package de.lehmannet.om.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.XMLConstants;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.DefaultHandler2;
+
+/**
+ * SAX handler which builds a DOM Document and forwards every content event to a second handler (usually a
+ * {@link javax.xml.validation.ValidatorHandler}), so a file can be validated and parsed in a single pass.<br>
+ * The built DOM has the same node layout as the one of a (non validating) DocumentBuilder: adjacent text is kept in
+ * one text node, CDATA sections and comments are separate nodes and namespace declarations are attributes.
+ */
+final class TeeHandler extends DefaultHandler2 {
+
+    private final Document document;
+
+    private final ContentHandler tee;
+
+    private final StringBuilder text = new StringBuilder();
+
+    private final StringBuilder cdata = new StringBuilder();
+
+    // Namespace declarations (prefix, uri) of the next element
+    private final List<String> prefixMappings = new ArrayList<>();
+
+    private Node current = null;
+
+    private boolean inCDATA = false;
+
+    private boolean inDTD = false;
+
+    TeeHandler(Document document, ContentHandler tee) {
+
+        this.document = document;
+        this.tee = tee;
+    }
+
+    Document getDocument() {
+
+        return this.document;
+    }
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+
+        this.tee.setDocumentLocator(locator);
+    }
+
+    @Override
+    public void startDocument() throws SAXException {
+
+        this.current = this.document;
+        this.tee.startDocument();
+    }
+
+    @Override
+    public void endDocument() throws SAXException {
+
+        this.flushText();
+        this.tee.endDocument();
+    }
+
+    @Override
+    public void startPrefixMapping(String prefix, String uri) throws SAXException {
+
+        this.prefixMappings.add(prefix);
+        this.prefixMappings.add(uri);
+        this.tee.startPrefixMapping(prefix, uri);
+    }
+
+    @Override
+    public void endPrefixMapping(String prefix) throws SAXException {
+
+        this.tee.endPrefixMapping(prefix);
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
+
+        this.flushText();
+
+        Element element = this.document.createElementNS(emptyToNull(uri), qName);
+
+        for (int i = 0; i + 1 < this.prefixMappings.size(); i += 2) {
+            String prefix = this.prefixMappings.get(i);
+            String name = prefix.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE : XMLConstants.XMLNS_ATTRIBUTE + ":" + prefix;
+            element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, name, this.prefixMappings.get(i + 1));
+        }
+        this.prefixMappings.clear();
+
+        for (int i = 0; i < atts.getLength(); i++) {
+            element.setAttributeNS(emptyToNull(atts.getURI(i)), atts.getQName(i), atts.getValue(i));
+        }
+
+        this.current.appendChild(element);
+        this.current = element;
+
+        this.tee.startElement(uri, localName, qName, atts);
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+
+        this.flushText();
+        this.current = this.current.getParentNode();
+
+        this.tee.endElement(uri, localName, qName);
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+
+        if (this.inCDATA) {
+            this.cdata.append(ch, start, length);
+        } else {
+            this.text.append(ch, start, length);
+        }
+
+        this.tee.characters(ch, start, length);
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+
+        this.text.append(ch, start, length);
+
+        this.tee.ignorableWhitespace(ch, start, length);
+    }
+
+    @Override
+    public void processingInstruction(String target, String data) throws SAXException {
+
+        this.flushText();
+        this.current.appendChild(this.document.createProcessingInstruction(target, data));
+
+        this.tee.processingInstruction(target, data);
+    }
+
+    @Override
+    public void skippedEntity(String name) throws SAXException {
+
+        this.tee.skippedEntity(name);
+    }
+
+    @Override
+    public void startCDATA() {
+
+        this.flushText();
+        this.inCDATA = true;
+    }
+
+    @Override
+    public void endCDATA() {
+
+        this.current.appendChild(this.document.createCDATASection(this.cdata.toString()));
+        this.cdata.setLength(0);
+        this.inCDATA = false;
+    }
+
+    @Override
+    public void startDTD(String name, String publicId, String systemId) {
+
+        this.inDTD = true;
+    }
+
+    @Override
+    public void endDTD() {
+
+        this.inDTD = false;
+    }
+
+    @Override
+    public void comment(char[] ch, int start, int length) {
+
+        // Comments of the DTD are not part of the DOM
+        if (this.inDTD || this.current == null) {
+            return;
+        }
+        this.flushText();
+        this.current.appendChild(this.document.createComment(new String(ch, start, length)));
+    }
+
+    private void flushText() {
+
+        if (this.text.length() > 0) {
+            this.current.appendChild(this.document.createTextNode(this.text.toString()));
+            this.text.setLength(0);
+        }
+    }
+
+    private static String emptyToNull(String value) {
+
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return value;
+    }
+}
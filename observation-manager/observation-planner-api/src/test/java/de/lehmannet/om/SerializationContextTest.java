@@ -0,0 +1,109 @@
+package de.lehmannet.om;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class SerializationContextTest {
+
+    @Test
+    public void addLinkedElementOnceTest() throws Exception {
+        final Document document = newDocument();
+        final Element scopes = addContainer(document, RootElement.XML_SCOPE_CONTAINER);
+        final IScope existing = new Scope(80.0f, 0, "Existing scope");
+        existing.addToXmlElement(scopes);
+
+        final SerializationContext context = SerializationContext.attach(document);
+        context.registerContainer(scopes);
+        final IScope scope = new Scope(150.0f, 0, "Linked scope");
+        for (int i = 0; i < 3; i++) {
+            final Element observation = document.createElement(IObservation.XML_ELEMENT_OBSERVATION);
+            document.getDocumentElement().appendChild(observation);
+            scope.addAsLinkToXmlElement(observation, true);
+        }
+        existing.addToXmlElement(scopes);
+        context.detach();
+
+        assertSame(scopes, SerializationContext.getContainer(document, RootElement.XML_SCOPE_CONTAINER), "Container");
+        assertEquals(2, scopes.getElementsByTagName(IScope.XML_ELEMENT_SCOPE).getLength(), "Scopes added once");
+        assertEquals(
+                3,
+                document.getDocumentElement()
+                        .getElementsByTagName(IObservation.XML_ELEMENT_OBSERVATION)
+                        .getLength(),
+                "Links");
+    }
+
+    @Test
+    public void addWithoutContextTest() throws Exception {
+        final Document document = newDocument();
+        final Element scopes = addContainer(document, RootElement.XML_SCOPE_CONTAINER);
+        final IScope scope = new Scope(150.0f, 0, "Scope without context");
+
+        scope.addToXmlElement(scopes);
+        scope.addToXmlElement(scopes);
+        new Scope(80.0f, 0, "Other scope").addToXmlElement(scopes);
+
+        assertEquals(2, scopes.getElementsByTagName(IScope.XML_ELEMENT_SCOPE).getLength(), "Scopes");
+        assertFalse(SerializationContext.isNewElement(scopes, IScope.XML_ELEMENT_SCOPE, scope.getID()), "Found in DOM");
+    }
+
+    @Test
+    public void checkWithoutAddingTest() throws Exception {
+        final Document document = newDocument();
+        final Element scopes = addContainer(document, RootElement.XML_SCOPE_CONTAINER);
+        final IScope scope = new Scope(150.0f, 0, "Checked scope");
+
+        final SerializationContext context = SerializationContext.attach(document);
+        // A check alone does not count as added, e.g. if creating the element failed afterwards
+        assertTrue(SerializationContext.isNewElement(scopes, IScope.XML_ELEMENT_SCOPE, scope.getID()), "New");
+        assertTrue(SerializationContext.isNewElement(scopes, IScope.XML_ELEMENT_SCOPE, scope.getID()), "Still new");
+
+        scope.addToXmlElement(scopes);
+        assertFalse(SerializationContext.isNewElement(scopes, IScope.XML_ELEMENT_SCOPE, scope.getID()), "Added");
+        context.detach();
+    }
+
+    @Test
+    public void serializeAgainAfterDetachTest() throws Exception {
+        final Document document = newDocument();
+        final Element scopes = addContainer(document, RootElement.XML_SCOPE_CONTAINER);
+        final IScope scope = new Scope(150.0f, 0, "Detached scope");
+
+        final SerializationContext context = SerializationContext.attach(document);
+        scope.addToXmlElement(scopes);
+        context.detach();
+
+        // The document is changed without a context, the DOM is searched again
+        scopes.removeChild(scopes.getFirstChild());
+        assertTrue(SerializationContext.isNewElement(scopes, IScope.XML_ELEMENT_SCOPE, scope.getID()), "Removed scope");
+
+        final SerializationContext next = SerializationContext.attach(document);
+        scope.addToXmlElement(scopes);
+        scope.addToXmlElement(scopes);
+        next.detach();
+
+        assertEquals(1, scopes.getElementsByTagName(IScope.XML_ELEMENT_SCOPE).getLength(), "Scope added again");
+    }
+
+    private static Document newDocument() throws Exception {
+
+        final Document document =
+                DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        document.appendChild(RootElement.createRootElement(document));
+        return document;
+    }
+
+    private static Element addContainer(Document document, String name) {
+
+        final Element container = document.createElement(name);
+        document.getDocumentElement().appendChild(container);
+        return container;
+    }
+}
@@ -0,0 +1,84 @@
+package de.lehmannet.om.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CacheFileTest {
+
+    private static final int MAGIC = 0x54455354;
+
+    @Test
+    public void writeAndReadTest(@TempDir Path dir) throws Exception {
+        final File source = newSource(dir);
+        final CacheFile cacheFile = new CacheFile(source, ".test", MAGIC, 1, "UTF-8");
+        assertEquals(dir.resolve(".source.txt.test").toFile(), cacheFile.getFile(), "Hidden file next to source");
+        assertNull(cacheFile.map(), "No cache file");
+
+        cacheFile.write(source.length(), source.lastModified(), out -> out.writeInt(42));
+        assertTrue(cacheFile.getFile().exists(), "Written");
+
+        final ByteBuffer mapped = cacheFile.map();
+        assertNotNull(mapped, "Mapped");
+        assertEquals(42, mapped.getInt(0), "Mapped content after the header");
+        final ByteBuffer read = cacheFile.read();
+        assertNotNull(read, "Read");
+        assertEquals(42, read.getInt(0), "Read content after the header");
+        assertEquals(4, read.remaining(), "Content size");
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(2, files.count(), "No temporary file left");
+        }
+    }
+
+    @Test
+    public void staleCacheFileTest(@TempDir Path dir) throws Exception {
+        final File source = newSource(dir);
+        final CacheFile cacheFile = new CacheFile(source, ".test", MAGIC, 1, "UTF-8");
+        cacheFile.write(source.length(), source.lastModified(), out -> out.writeInt(42));
+
+        assertNull(new CacheFile(source, ".test", MAGIC, 2, "UTF-8").read(), "Other version");
+        assertNull(new CacheFile(source, ".test", MAGIC + 1, 1, "UTF-8").read(), "Other magic");
+        assertNull(new CacheFile(source, ".test", MAGIC, 1, "ISO-8859-1").read(), "Other key");
+
+        // Written for an older state of the source
+        cacheFile.write(source.length(), source.lastModified() - 1000, out -> out.writeInt(42));
+        assertNull(cacheFile.read(), "Other modification time");
+
+        cacheFile.write(source.length(), source.lastModified(), out -> out.writeInt(42));
+        assertNotNull(cacheFile.read(), "Up to date");
+        Files.writeString(source.toPath(), "more", StandardOpenOption.APPEND);
+        assertNull(cacheFile.map(), "Other size");
+
+        cacheFile.delete();
+        assertFalse(cacheFile.getFile().exists(), "Deleted");
+    }
+
+    @Test
+    public void truncatedCacheFileTest(@TempDir Path dir) throws Exception {
+        final File source = newSource(dir);
+        final CacheFile cacheFile = new CacheFile(source, ".test", MAGIC, 1, "");
+        Files.write(cacheFile.getFile().toPath(), new byte[] {0x54, 0x45});
+
+        assertNull(cacheFile.read(), "Truncated read");
+        assertNull(cacheFile.map(), "Truncated mapped");
+    }
+
+    private static File newSource(Path dir) throws Exception {
+
+        final Path source = dir.resolve("source.txt");
+        Files.writeString(source, "Source of the cache file");
+        return source.toFile();
+    }
+}
@@ -0,0 +1,165 @@
+package de.lehmannet.om.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.lehmannet.om.FindingFactory;
+import de.lehmannet.om.GenericFinding;
+import de.lehmannet.om.GenericTarget;
+import de.lehmannet.om.IExtendableSchemaElement;
+import de.lehmannet.om.IFinding;
+import de.lehmannet.om.SchemaOalTypeInfo;
+import de.lehmannet.om.TargetFactory;
+import de.lehmannet.om.TargetStar;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class ConfigLoaderTest {
+
+    // The registry is static, so every test uses types of its own
+
+    @Test
+    public void registrationTest() throws Exception {
+        final TargetFactory targetFactory = GenericTarget::new;
+        final FindingFactory findingFactory = GenericFinding::new;
+        ConfigLoader.loadInternalExtension(new SchemaOalTypeInfo.Builder()
+                .targetClassName("de.lehmannet.om.GenericTarget")
+                .targetType("test:registeredTarget")
+                .targetFactory(targetFactory)
+                .findingClassName("de.lehmannet.om.GenericFinding")
+                .findingType("test:registeredFinding")
+                .findingFactory(findingFactory)
+                .build());
+
+        assertSame(targetFactory, ConfigLoader.getTargetFactory("test:registeredTarget"), "Target factory");
+        assertSame(findingFactory, ConfigLoader.getFindingFactory("test:registeredFinding"), "Finding factory");
+        assertEquals(
+                "de.lehmannet.om.GenericTarget",
+                ConfigLoader.getTargetClassnameFromType("test:registeredTarget"),
+                "Target class name");
+        assertEquals(
+                "de.lehmannet.om.GenericFinding",
+                ConfigLoader.getFindingClassnameFromType("test:registeredFinding"),
+                "Finding class name");
+
+        // The finding type resolves to the factory of its target type and vice versa
+        assertSame(targetFactory, ConfigLoader.getTargetFactory("test:registeredFinding"), "By finding type");
+        assertSame(findingFactory, ConfigLoader.getFindingFactory("test:registeredTarget"), "By target type");
+    }
+
+    @Test
+    public void ancestorTypeTest() throws Exception {
+        final TargetFactory factory = GenericTarget::new;
+        ConfigLoader.loadInternalExtension(targetType("oal:ancestorTarget", "de.lehmannet.om.GenericTarget", factory));
+
+        // Types before OAL 2.0 used the fgca prefix
+        assertSame(factory, ConfigLoader.getTargetFactory("fgca:ancestorTarget"), "Old type");
+        assertEquals(
+                "de.lehmannet.om.GenericTarget",
+                ConfigLoader.getTargetClassnameFromType("fgca:ancestorTarget"),
+                "Class name of old type");
+    }
+
+    @Test
+    public void duplicateTypeTest() throws Exception {
+        final TargetFactory first = GenericTarget::new;
+        final TargetFactory second = TargetStar::new;
+        ConfigLoader.loadInternalExtension(targetType("test:duplicateTarget", "de.lehmannet.om.GenericTarget", first));
+        ConfigLoader.loadInternalExtension(targetType("test:duplicateTarget", "de.lehmannet.om.TargetStar", second));
+
+        // The last registration wins
+        assertSame(second, ConfigLoader.getTargetFactory("test:duplicateTarget"), "Factory replaced");
+        assertEquals(
+                "de.lehmannet.om.TargetStar",
+                ConfigLoader.getTargetClassnameFromType("test:duplicateTarget"),
+                "Class name replaced");
+
+        // Registered again without factory, the type is created by its class name only
+        ConfigLoader.loadInternalExtension(targetType("test:duplicateTarget", "de.lehmannet.om.GenericTarget", null));
+        assertNull(ConfigLoader.getTargetFactory("test:duplicateTarget"), "Factory removed");
+        assertEquals(
+                "de.lehmannet.om.GenericTarget",
+                ConfigLoader.getTargetClassnameFromType("test:duplicateTarget"),
+                "Class name of new registration");
+    }
+
+    @Test
+    public void unknownTypeTest() {
+        assertNull(ConfigLoader.getTargetFactory("test:unknown"), "Unknown target type");
+        assertNull(ConfigLoader.getFindingFactory("test:unknown"), "Unknown finding type");
+        assertNull(ConfigLoader.getImagerFactory("test:unknown"), "Unknown imager type");
+        assertThrows(
+                ConfigException.class,
+                () -> ConfigLoader.getTargetClassnameFromType("test:unknown"),
+                "Unknown target class");
+        assertThrows(
+                ConfigException.class,
+                () -> ConfigLoader.getFindingClassnameFromType("test:unknown"),
+                "Unknown finding class");
+        assertThrows(IllegalArgumentException.class, () -> ConfigLoader.getTargetFactory(null), "No type");
+
+        // Incomplete registrations are ignored
+        ConfigLoader.loadInternalExtension(targetType("test:withoutClass", " ", GenericTarget::new));
+        assertNull(ConfigLoader.getTargetFactory("test:withoutClass"), "Registered without class name");
+    }
+
+    @Test
+    public void createFindingByFactoryTest() throws Exception {
+        final GenericFinding created = new GenericFinding("Created by factory");
+        ConfigLoader.loadInternalExtension(findingType("test:factoryFinding", node -> created));
+        ConfigLoader.loadInternalExtension(findingType("test:failingFinding", node -> {
+            throw new IllegalArgumentException("Broken finding");
+        }));
+
+        final Element result = newResultElement();
+        assertSame(created, SchemaLoader.getFindingFromXSIType("test:factoryFinding", result), "Factory used");
+        final SchemaException failure = assertThrows(
+                SchemaException.class,
+                () -> SchemaLoader.getFindingFromXSIType("test:failingFinding", result),
+                "Factory failure");
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause(), "Cause kept");
+
+        // Types without factory are created by their class name
+        ConfigLoader.loadInternalExtension(findingType("test:classFinding", null));
+        final IFinding generic = SchemaLoader.getFindingFromXSIType("test:classFinding", result);
+        assertInstanceOf(GenericFinding.class, generic, "Created by class name");
+        assertEquals("Seen", generic.getDescription(), "Read from the element");
+    }
+
+    private static SchemaOalTypeInfo targetType(String type, String className, TargetFactory factory) {
+
+        return new SchemaOalTypeInfo.Builder()
+                .targetType(type)
+                .targetClassName(className)
+                .targetFactory(factory)
+                .build();
+    }
+
+    private static SchemaOalTypeInfo findingType(String type, FindingFactory factory) {
+
+        return new SchemaOalTypeInfo.Builder()
+                .findingType(type)
+                .findingClassName("de.lehmannet.om.GenericFinding")
+                .findingFactory(factory)
+                .build();
+    }
+
+    private static Element newResultElement() throws Exception {
+
+        final Document document =
+                DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        final Element result = document.createElement(IFinding.XML_ELEMENT_FINDING);
+        result.setAttribute(IFinding.XML_ELEMENT_ATTRIBUTE_LANGUAGE, "en");
+        result.setAttribute(IExtendableSchemaElement.XML_XSI_TYPE, "test:classFinding");
+        final Element description = document.createElement(IFinding.XML_ELEMENT_DESCRIPTION);
+        description.setTextContent("Seen");
+        result.appendChild(description);
+        document.appendChild(result);
+        return result;
+    }
+}
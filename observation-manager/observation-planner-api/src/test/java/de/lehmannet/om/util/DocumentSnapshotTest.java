@@ -0,0 +1,174 @@
+package de.lehmannet.om.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.lehmannet.om.Angle;
+import de.lehmannet.om.GenericTarget;
+import de.lehmannet.om.IObserver;
+import de.lehmannet.om.Observer;
+import de.lehmannet.om.RootElement;
+import de.lehmannet.om.Scope;
+import de.lehmannet.om.Site;
+import de.lehmannet.om.mapper.StaxNodeReader;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+
+public class DocumentSnapshotTest {
+
+    @Test
+    public void sameEventsAsXmlFileTest(@TempDir Path dir) throws Exception {
+        final File xmlFile = writeFile(dir);
+
+        final List<String> expected;
+        try (InputStream in = Files.newInputStream(xmlFile.toPath())) {
+            expected = events(StaxNodeReader.createReader(in, xmlFile.toURI().toString()));
+        }
+        final XMLStreamReader snapshot = DocumentSnapshot.read(xmlFile);
+        assertNotNull(snapshot, "Snapshot up to date");
+        assertEquals(expected, events(snapshot), "Events");
+
+        final Document document = DocumentSnapshot.readDocument(xmlFile);
+        assertNotNull(document, "Document");
+        assertEquals(
+                "http://groups.google.com/group/openastronomylog",
+                document.getDocumentElement().getNamespaceURI());
+        assertEquals(1, document.getElementsByTagName("target").getLength(), "Target");
+    }
+
+    @Test
+    public void recordWhileLoadingTest(@TempDir Path dir) throws Exception {
+        final File xmlFile = dir.resolve("loaded.xml").toFile();
+        newRootElement("Loaded scope").serializeAsXmlFormatted(xmlFile);
+
+        final List<String> expected;
+        try (InputStream in = Files.newInputStream(xmlFile.toPath())) {
+            expected = events(StaxNodeReader.createReader(in, xmlFile.toURI().toString()));
+        }
+        for (final SchemaLoader.Engine engine : SchemaLoader.Engine.values()) {
+            final SchemaLoader loader = new SchemaLoader();
+            loader.setEngine(engine);
+            final DocumentSnapshot.Encoder snapshot = new DocumentSnapshot.Encoder();
+            loader.load(xmlFile, null, false, snapshot);
+            snapshot.finish(xmlFile);
+            snapshot.write();
+
+            final XMLStreamReader reader = DocumentSnapshot.read(xmlFile);
+            assertNotNull(reader, "Snapshot up to date " + engine);
+            assertEquals(expected, events(reader), "Events " + engine);
+            final SchemaLoader snapshotLoader = new SchemaLoader();
+            snapshotLoader.load(DocumentSnapshot.read(xmlFile), false);
+            assertEquals(loader.getScopes().length, snapshotLoader.getScopes().length, "Scopes " + engine);
+            assertEquals(1, snapshotLoader.getTargets().length, "Targets " + engine);
+        }
+    }
+
+    @Test
+    public void staleSnapshotTest(@TempDir Path dir) throws Exception {
+        final File xmlFile = writeFile(dir);
+        assertNotNull(DocumentSnapshot.read(xmlFile), "Snapshot up to date");
+
+        // The snapshot is not mapped, so it can be replaced right after it was read
+        final DocumentSnapshot.Encoder next = new DocumentSnapshot.Encoder();
+        newRootElement("Other scope").serializeAsXmlFormatted(xmlFile, next);
+        next.write();
+        assertNotNull(DocumentSnapshot.read(xmlFile), "Replaced snapshot up to date");
+
+        Files.writeString(xmlFile.toPath(), "\n", StandardOpenOption.APPEND);
+        assertNull(DocumentSnapshot.read(xmlFile), "Stale snapshot");
+
+        DocumentSnapshot.delete(xmlFile);
+        assertNull(DocumentSnapshot.read(xmlFile), "No snapshot");
+    }
+
+    @Test
+    public void notWrittenAfterChangeTest(@TempDir Path dir) throws Exception {
+        final File xmlFile = dir.resolve("changed.xml").toFile();
+        final DocumentSnapshot.Encoder snapshot = new DocumentSnapshot.Encoder();
+        newRootElement("Scope").serializeAsXmlFormatted(xmlFile, snapshot);
+
+        // Another save changed the file before the snapshot was written
+        Files.writeString(xmlFile.toPath(), "\n", StandardOpenOption.APPEND);
+        snapshot.write();
+        assertFalse(DocumentSnapshot.getSnapshotFile(xmlFile).exists(), "Snapshot not written");
+    }
+
+    private static File writeFile(Path dir) throws Exception {
+
+        final File xmlFile = dir.resolve("snapshot.xml").toFile();
+        final DocumentSnapshot.Encoder snapshot = new DocumentSnapshot.Encoder();
+        newRootElement("Snapshot scope & <lens>").serializeAsXmlFormatted(xmlFile, snapshot);
+        snapshot.write();
+        assertTrue(DocumentSnapshot.getSnapshotFile(xmlFile).exists(), "Snapshot written");
+        return xmlFile;
+    }
+
+    private static RootElement newRootElement(String scopeModel) throws Exception {
+
+        final RootElement root = new RootElement();
+        final IObserver observer = new Observer("Carl", "Sagan");
+        root.addObserver(observer);
+        root.addSite(new Site("Ithaca", new Angle(-76.5, Angle.DEGREE), new Angle(42.4, Angle.DEGREE), -300));
+        root.addScope(new Scope(scopeModel, 150.0f, 750.0f));
+        root.addTarget(new GenericTarget("M 31", observer));
+        return root;
+    }
+
+    // Events without the whitespace between the elements, adjacent text as one event
+    private static List<String> events(XMLStreamReader reader) throws Exception {
+
+        final List<String> events = new ArrayList<>();
+        final StringBuilder text = new StringBuilder();
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.SPACE) {
+                text.append(reader.getText());
+                continue;
+            }
+            if (!text.toString().isBlank()) {
+                events.add("text " + text);
+            }
+            text.setLength(0);
+
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    final TreeSet<String> names = new TreeSet<>();
+                    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                        names.add("xmlns:" + reader.getNamespacePrefix(i) + "=" + reader.getNamespaceURI(i));
+                    }
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        names.add(reader.getAttributeName(i) + "=" + reader.getAttributeValue(i));
+                    }
+                    events.add("start " + reader.getName() + " " + names);
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    events.add("end " + reader.getName());
+                    break;
+                case XMLStreamConstants.CDATA:
+                    events.add("cdata " + reader.getText());
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    events.add("comment " + reader.getText());
+                    break;
+                default:
+                    break;
+            }
+        }
+        reader.close();
+        return events;
+    }
+}
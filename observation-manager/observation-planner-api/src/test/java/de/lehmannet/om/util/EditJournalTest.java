@@ -0,0 +1,117 @@
+package de.lehmannet.om.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.lehmannet.om.IImager;
+import de.lehmannet.om.Imager;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+public class EditJournalTest {
+
+    // Imagers as written by SkySafari
+    private static final String SKY_SAFARI_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<oal:observations xmlns:oal=\"http://groups.google.com/group/openastronomylog\""
+            + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" version=\"2.0\">\n"
+            + "<imagers>\n"
+            + "<ccdCameraType id=\"imager_1\" xsi:type=\"oal:ccdCameraType\">"
+            + "<model>ST-7</model><pixelsX>765</pixelsX><pixelsY>510</pixelsY></ccdCameraType>\n"
+            + "<ccdCameraType id=\"imager_2\" xsi:type=\"oal:ccdCameraType\">"
+            + "<model>ST-8</model><pixelsX>1530</pixelsX><pixelsY>1020</pixelsY></ccdCameraType>\n"
+            + "</imagers>\n"
+            + "</oal:observations>\n";
+
+    @Test
+    public void replayRemovedSkySafariImagerTest(@TempDir Path dir) throws Exception {
+        final File xmlFile = writeSkySafariFile(dir);
+        final Document document = parse(xmlFile);
+        final IImager imager = new TestImager(getSkySafariImager(document, 0));
+
+        try (EditJournal journal = EditJournal.open(xmlFile)) {
+            journal.remove(imager);
+            journal.commit();
+        }
+        try (EditJournal journal = EditJournal.open(xmlFile)) {
+            assertEquals(1, journal.replay(document), "Replayed");
+        }
+
+        assertEquals(
+                1,
+                document.getElementsByTagName(IImager.XML_ELEMENT_IMAGER_SKY_SAFARI)
+                        .getLength(),
+                "Removed imager");
+        assertEquals("imager_2", getSkySafariImager(document, 0).getAttribute("id"), "Kept imager");
+    }
+
+    @Test
+    public void replayChangedSkySafariImagerTest(@TempDir Path dir) throws Exception {
+        final File xmlFile = writeSkySafariFile(dir);
+        final Document document = parse(xmlFile);
+        final Imager imager = new TestImager(getSkySafariImager(document, 0));
+        imager.setModel("ST-7XME");
+
+        try (EditJournal journal = EditJournal.open(xmlFile)) {
+            journal.put(imager);
+        }
+        try (EditJournal journal = EditJournal.open(xmlFile)) {
+            assertEquals(1, journal.replay(document), "Replayed");
+        }
+
+        // Replaced by an imager element, not added a second time
+        assertEquals(
+                1,
+                document.getElementsByTagName(IImager.XML_ELEMENT_IMAGER_SKY_SAFARI)
+                        .getLength(),
+                "Unchanged imager");
+        final Element changed = (Element)
+                document.getElementsByTagName(IImager.XML_ELEMENT_IMAGER).item(0);
+        assertEquals("imager_1", changed.getAttribute("id"), "Changed imager");
+        assertEquals("ST-7XME", changed.getTextContent(), "Changed model");
+    }
+
+    private static File writeSkySafariFile(Path dir) throws Exception {
+
+        final Path xmlFile = dir.resolve("skysafari.xml");
+        Files.writeString(xmlFile, SKY_SAFARI_XML);
+        return xmlFile.toFile();
+    }
+
+    private static Document parse(File xmlFile) throws Exception {
+
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(xmlFile);
+    }
+
+    private static Element getSkySafariImager(Document document, int index) {
+
+        return (Element) document.getElementsByTagName(IImager.XML_ELEMENT_IMAGER_SKY_SAFARI)
+                .item(index);
+    }
+
+    private static final class TestImager extends Imager {
+
+        private TestImager(Node imager) throws SchemaException {
+            super(imager);
+        }
+
+        @Override
+        public String getXSIType() {
+
+            return "oal:ccdCameraType";
+        }
+
+        @Override
+        public void addToXmlElement(Element element) {
+
+            this.createXmlImagerElement(element);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package de.lehmannet.om.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import de.lehmannet.om.Angle;
+import org.junit.jupiter.api.Test;
+
+public class InternPoolTest {
+
+    @Test
+    public void internStringsTest() {
+        final InternPool pool = new InternPool();
+        final String datasource = new String("Messier");
+
+        assertSame(datasource, pool.intern(datasource), "First value kept");
+        assertSame(datasource, pool.intern(new String("Messier")), "Equal value shared");
+        assertNull(pool.intern((String) null), "No value");
+
+        final String[] aliases = {new String("M 31"), new String("Messier"), null};
+        assertSame(aliases, pool.intern(aliases), "Interned in place");
+        assertSame(datasource, aliases[1], "Equal array value shared");
+        assertNull(aliases[2], "No array value");
+        assertEquals(2, pool.size(), "Distinct values");
+    }
+
+    @Test
+    public void internAnglesTest() {
+        final InternPool pool = new InternPool();
+        final Angle angle = pool.intern(new Angle(30.0, Angle.ARCMINUTE));
+
+        assertSame(angle, pool.intern(new Angle(30.0, Angle.ARCMINUTE)), "Same unit and value");
+        // Equal angles in another unit are not shared, as their unit is part of the element
+        assertNotSame(angle, pool.intern(new Angle(0.5, Angle.DEGREE)), "Other unit");
+        assertSame(angle, pool.intern((Object) new Angle(30.0, Angle.ARCMINUTE)), "Same angle as object");
+        assertEquals(2, pool.size(), "Distinct angles");
+    }
+
+    @Test
+    public void boundedPoolTest() {
+        final InternPool pool = new InternPool(2);
+        final Angle angle = pool.intern(new Angle(30.0, Angle.ARCMINUTE));
+        final String first = pool.intern(new String("first"));
+
+        final String value = new String("value");
+        assertSame(value, pool.intern(value), "Pool full, value returned");
+        assertNotSame(value, pool.intern(new String("value")), "Pool full, value not interned");
+        assertSame(first, pool.intern(new String("first")), "Pooled value still shared");
+        assertSame(angle, pool.intern(new Angle(30.0, Angle.ARCMINUTE)), "Pooled angle still shared");
+
+        pool.clear();
+        assertEquals(0, pool.size(), "Cleared");
+        assertSame(value, pool.intern(value), "Interned after clear");
+        assertSame(value, pool.intern(new String("value")), "Interned after clear");
+
+        assertThrows(IllegalArgumentException.class, () -> new InternPool(0), "Empty pool");
+    }
+
+    @Test
+    public void sharedPoolTest() {
+        assertSame(InternPool.getShared(), InternPool.getShared(), "One shared pool");
+        assertNotSame(InternPool.getShared(), new InternPool(), "Pools of their own");
+    }
+}
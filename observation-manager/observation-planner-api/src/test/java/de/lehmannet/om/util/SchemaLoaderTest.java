@@ -0,0 +1,150 @@
+package de.lehmannet.om.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import de.lehmannet.om.GenericTarget;
+import de.lehmannet.om.IObserver;
+import de.lehmannet.om.ITarget;
+import de.lehmannet.om.Observer;
+import de.lehmannet.om.SchemaOalTypeInfo;
+import de.lehmannet.om.Target;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class SchemaLoaderTest {
+
+    private final IObserver carl = new Observer("Carl", "Sagan");
+    private final IObserver edwin = new Observer("Edwin", "Hubble");
+
+    @Test
+    public void targetIndexTest() {
+        final ITarget[] targets = {
+            // Equal by datasource or observer
+            new TestTarget("M 42", "Messier", null),
+            new TestTarget("m 42", " MESSIER ", null),
+            new TestTarget("M 42", "NGC", null),
+            new TestTarget("M 31", "Messier", this.carl),
+            new TestTarget("M 31", null, this.carl),
+            new TestTarget("M 31", null, this.edwin),
+            new TestTarget("M 31", "", this.edwin),
+            new TestTarget("M 31", "messier", null),
+            new TestTarget("M 33", "", this.carl),
+            new TestTarget("m 33", null, this.carl),
+            new TestTarget("M 33", "", null),
+            new TestTarget("M 33", "  ", null),
+            // Equal by name only
+            new GenericTarget("M 42", "Messier"),
+            new GenericTarget("m 42", this.carl),
+            new GenericTarget("M 33", "NGC")
+        };
+
+        // The first equal target is the one the former search of the loaded targets with equals(Object) found
+        final SchemaLoader.TargetIndex index = new SchemaLoader.TargetIndex();
+        final List<ITarget> loaded = new ArrayList<>();
+        for (ITarget target : targets) {
+            final int first = loaded.indexOf(target);
+            final String message = target.getName() + " " + target.getDatasource() + " " + target.getObserver();
+            if (first == -1) {
+                assertNull(index.add(target), message);
+            } else {
+                assertSame(loaded.get(first), index.add(target), message);
+            }
+            loaded.add(target);
+        }
+    }
+
+    @Test
+    public void targetIndexAsymmetricTest() {
+        final ITarget catalogTarget = new TestTarget("M 31", "Messier", this.carl);
+        final ITarget observerTarget = new TestTarget("M 31", null, this.carl);
+
+        // A target without datasource is equal to a catalog target of its observer, but not the other way round
+        final SchemaLoader.TargetIndex index = new SchemaLoader.TargetIndex();
+        assertNull(index.add(catalogTarget), "First target");
+        assertSame(catalogTarget, index.add(observerTarget), "Observer target after catalog target");
+
+        final SchemaLoader.TargetIndex reverse = new SchemaLoader.TargetIndex();
+        assertNull(reverse.add(observerTarget), "First target");
+        assertNull(reverse.add(catalogTarget), "Catalog target after observer target");
+    }
+
+    // Target compared by Target.equals(Object), with datasource and observer as loaded by extensions
+    @Test
+    public void internValuesTest() throws Exception {
+        ConfigLoader.loadInternalExtension(new SchemaOalTypeInfo.Builder()
+                .targetType("test:internTarget")
+                .targetClassName("de.lehmannet.om.GenericTarget")
+                .targetFactory(GenericTarget::new)
+                .build());
+        final String document = "<oal:observations"
+                + " xmlns:oal=\"http://groups.google.com/group/openastronomylog\""
+                + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" version=\"2.0\">"
+                + "<observers/><sites/><sessions/><targets>"
+                + "<target id=\"t1\" xsi:type=\"test:internTarget\"><datasource>Interned</datasource>"
+                + "<name>M 31</name></target>"
+                + "<target id=\"t2\" xsi:type=\"test:internTarget\"><datasource>Interned</datasource>"
+                + "<name>M 33</name></target>"
+                + "</targets><scopes/><eyepieces/><lenses/><filters/><imagers/></oal:observations>";
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        final Document doc =
+                factory.newDocumentBuilder().parse(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)));
+
+        final SchemaLoader loader = new SchemaLoader();
+        loader.setInternPool(InternPool.getShared());
+        loader.load(doc, false);
+
+        final ITarget[] targets = loader.getTargets();
+        assertEquals(2, targets.length, "Loaded targets");
+        assertSame(targets[0].getDatasource(), targets[1].getDatasource(), "Datasource shared by the targets");
+        assertSame(
+                targets[0].getDatasource(),
+                InternPool.getShared().intern(new String("Interned")),
+                "Datasource in the shared pool");
+    }
+
+    private static final class TestTarget extends Target {
+
+        private final String datasource;
+        private final IObserver observer;
+
+        private TestTarget(String name, String datasource, IObserver observer) {
+
+            super(name, "Test");
+            this.datasource = datasource;
+            this.observer = observer;
+        }
+
+        @Override
+        public String getDatasource() {
+
+            return this.datasource;
+        }
+
+        @Override
+        public IObserver getObserver() {
+
+            return this.observer;
+        }
+
+        @Override
+        public String getXSIType() {
+
+            return "oal:deepSkyGX";
+        }
+
+        @Override
+        public void addToXmlElement(Element element) {
+
+            // Not serialized
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package de.lehmannet.om.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.lehmannet.om.mapper.StaxNodeReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.ValidatorHandler;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+public class StaxValidationDelegateTest {
+
+    private static final String SCHEMA = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">"
+            + "<xs:element name=\"list\"><xs:complexType><xs:sequence>"
+            + "<xs:element name=\"item\" minOccurs=\"0\" maxOccurs=\"unbounded\"><xs:complexType>"
+            + "<xs:attribute name=\"id\" type=\"xs:ID\" use=\"required\"/></xs:complexType></xs:element>"
+            + "<xs:element name=\"ref\" minOccurs=\"0\" maxOccurs=\"unbounded\"><xs:complexType>"
+            + "<xs:attribute name=\"target\" type=\"xs:IDREF\" use=\"required\"/></xs:complexType></xs:element>"
+            + "</xs:sequence></xs:complexType></xs:element>"
+            + "</xs:schema>";
+
+    @Test
+    public void danglingReferenceTest() throws Exception {
+        final Result result =
+                read("<list><item id=\"m31\"/><ref target=\"m31\"/><ref target=\"m33\"/></list>\n<!-- End -->", -1);
+
+        // The reader stops at the end of the root element, the delegate reads the rest on close
+        assertTrue(result.documentEnded(), "End of document passed to the validator");
+        assertEquals(1, result.errors().size(), "Dangling reference reported");
+        assertTrue(result.errors().get(0).getMessage().contains("m33"), "Reported reference");
+    }
+
+    @Test
+    public void validReferenceTest() throws Exception {
+        final Result result = read("<list><item id=\"m31\"/><ref target=\"m31\"/></list>", -1);
+
+        assertTrue(result.documentEnded(), "End of document passed to the validator");
+        assertTrue(result.errors().isEmpty(), "No errors " + result.errors());
+    }
+
+    @Test
+    public void incompleteReadTest() throws Exception {
+        // The load stopped after the first child, the rest of the document is not read
+        final Result result = read("<list><item id=\"m31\"/><ref target=\"m33\"/></list>", 1);
+
+        assertFalse(result.documentEnded(), "Not read to the end");
+        assertTrue(result.errors().isEmpty(), "Not validated to the end " + result.errors());
+    }
+
+    private record Result(List<SAXParseException> errors, boolean documentEnded) {}
+
+    // Reads the children of the root element like the streaming engine of the
+    // SchemaLoader, stops after the given number of children (-1 for all)
+    private static Result read(String document, int children) throws Exception {
+
+        final List<SAXParseException> errors = new ArrayList<>();
+        final boolean[] documentEnded = {false};
+        final ValidatorHandler validator = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+                .newSchema(new StreamSource(new StringReader(SCHEMA)))
+                .newValidatorHandler();
+        validator.setErrorHandler(new ErrorHandler() {
+
+            @Override
+            public void warning(SAXParseException exception) {
+                errors.add(exception);
+            }
+
+            @Override
+            public void error(SAXParseException exception) {
+                errors.add(exception);
+            }
+
+            @Override
+            public void fatalError(SAXParseException exception) {
+                errors.add(exception);
+            }
+        });
+
+        final XMLFilterImpl handler = new XMLFilterImpl() {
+
+            @Override
+            public void endDocument() throws SAXException {
+                documentEnded[0] = true;
+                super.endDocument();
+            }
+        };
+        handler.setContentHandler(validator);
+
+        final XMLStreamReader reader = new StaxValidationDelegate(
+                StaxNodeReader.createReader(
+                        new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)), "test.xml"),
+                handler,
+                "test.xml");
+        try {
+            assertTrue(StaxNodeReader.nextChildElement(reader), "Root element");
+            int read = 0;
+            while (read != children && StaxNodeReader.nextChildElement(reader)) {
+                StaxNodeReader.skipElement(reader);
+                read++;
+            }
+        } finally {
+            reader.close();
+        }
+        return new Result(errors, documentEnded[0]);
+    }
+}
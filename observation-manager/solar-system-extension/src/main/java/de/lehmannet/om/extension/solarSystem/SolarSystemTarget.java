@@ -8,9 +8,9 @@
 package de.lehmannet.om.extension.solarSystem;
 
 import de.lehmannet.om.IObserver;
-import de.lehmannet.om.ISchemaElement;
 import de.lehmannet.om.ITarget;
 import de.lehmannet.om.RootElement;
+import de.lehmannet.om.SerializationContext;
 import de.lehmannet.om.Target;
 import de.lehmannet.om.util.SchemaException;
 import java.util.Arrays;
@@ -18,9 +18,7 @@ import java.util.Locale;
 import java.util.ResourceBundle;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * SolarSystemTarget extends the de.lehmannet.om.Target class. Its specialised for solar system targets. A
@@ -306,40 +304,20 @@ public abstract class SolarSystemTarget extends Target {
         Document ownerDoc = element.getOwnerDocument();
 
         // Get or create the container element
-        Element e_Targets = null;
-        NodeList nodeList = ownerDoc.getElementsByTagName(RootElement.XML_TARGET_CONTAINER);
-        if (nodeList.getLength() == 0) { // we're the first element. Create container element
+        Element e_Targets = SerializationContext.getContainer(ownerDoc, RootElement.XML_TARGET_CONTAINER);
+        if (e_Targets == null) { // we're the first element. Create container element
             e_Targets = ownerDoc.createElement(RootElement.XML_TARGET_CONTAINER);
             ownerDoc.getDocumentElement().appendChild(e_Targets);
-        } else {
-            e_Targets = (Element) nodeList.item(0); // there should be only one container element
         }
 
         // Check if this element doesn't exist so far
-        nodeList = e_Targets.getElementsByTagName(ITarget.XML_ELEMENT_TARGET);
-        if (nodeList.getLength() > 0) {
-            Node currentNode = null;
-            NamedNodeMap attributes = null;
-            for (int i = 0; i < nodeList.getLength(); i++) { // iterate over all found nodes
-                currentNode = nodeList.item(i);
-                attributes = currentNode.getAttributes();
-                Node idAttribute = attributes.getNamedItem(ISchemaElement.XML_ELEMENT_ATTRIBUTE_ID);
-                if ((idAttribute != null) // if ID attribute is set and equals this objects ID, return existing element
-                        && (idAttribute
-                                .getNodeValue()
-                                .trim()
-                                .equals(this.getID().trim()))) {
-                    // Not sure if this is good!? Maybe we should return currentNode and make
-                    // doublicity check in caller
-                    // class!?
-                    return;
-                }
-            }
+        if (!SerializationContext.isNewElement(e_Targets, ITarget.XML_ELEMENT_TARGET, this.getID())) {
+            return;
         }
 
         // Create the new target element
         Element e_Target = this.createXmlTargetElement(e_Targets);
-        e_Targets.appendChild(e_Target);
+        SerializationContext.appendElement(e_Targets, e_Target);
 
         // Set XSI:Type
         e_Target.setAttribute(ITarget.XML_XSI_TYPE, xsiType);
@@ -69,36 +69,46 @@ public class SolarSystemExtension extends AbstractExtension {
         this.extensionTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.solarSystem.SolarSystemTargetComet")
                 .targetType(SolarSystemTargetComet.XML_XSI_TYPE_VALUE)
+                .targetFactory(SolarSystemTargetComet::new)
                 .findingClassName("de.lehmannet.om.GenericFinding")
                 .findingType(GenericFinding.XML_XSI_TYPE_VALUE)
+                .findingFactory(GenericFinding::new)
                 .build());
 
         this.extensionTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.solarSystem.SolarSystemTargetMinorPlanet")
                 .targetType(SolarSystemTargetMinorPlanet.XML_XSI_TYPE_VALUE)
+                .targetFactory(SolarSystemTargetMinorPlanet::new)
                 .findingClassName("de.lehmannet.om.GenericFinding")
                 .findingType(GenericFinding.XML_XSI_TYPE_VALUE)
+                .findingFactory(GenericFinding::new)
                 .build());
 
         this.extensionTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.solarSystem.SolarSystemTargetMoon")
                 .targetType(SolarSystemTargetMoon.XML_XSI_TYPE_VALUE)
+                .targetFactory(SolarSystemTargetMoon::new)
                 .findingClassName("de.lehmannet.om.GenericFinding")
                 .findingType(GenericFinding.XML_XSI_TYPE_VALUE)
+                .findingFactory(GenericFinding::new)
                 .build());
 
         this.extensionTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.solarSystem.SolarSystemTargetSun")
                 .targetType(SolarSystemTargetSun.XML_XSI_TYPE_VALUE)
+                .targetFactory(SolarSystemTargetSun::new)
                 .findingClassName("de.lehmannet.om.GenericFinding")
                 .findingType(GenericFinding.XML_XSI_TYPE_VALUE)
+                .findingFactory(GenericFinding::new)
                 .build());
 
         this.extensionTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.solarSystem.SolarSystemTargetPlanet")
                 .targetType(SolarSystemTargetPlanet.XML_XSI_TYPE_VALUE)
+                .targetFactory(SolarSystemTargetPlanet::new)
                 .findingClassName("de.lehmannet.om.GenericFinding")
                 .findingType(GenericFinding.XML_XSI_TYPE_VALUE)
+                .findingFactory(GenericFinding::new)
                 .build());
     }
 
@@ -97,8 +97,10 @@ public class VariableStarsExtension extends AbstractExtension implements ActionL
         this.extensionTypes.add(new SchemaOalTypeInfo.Builder()
                 .targetClassName("de.lehmannet.om.extension.variableStars.TargetVariableStar")
                 .targetType(TargetVariableStar.XML_XSI_TYPE_VALUE)
+                .targetFactory(TargetVariableStar::new)
                 .findingClassName("de.lehmannet.om.extension.variableStars.FindingVariableStar")
                 .findingType(FindingVariableStar.XML_XSI_TYPE_VALUE)
+                .findingFactory(FindingVariableStar::new)
                 .build());
     }
 
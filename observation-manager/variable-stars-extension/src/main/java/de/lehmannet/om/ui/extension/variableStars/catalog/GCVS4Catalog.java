@@ -19,6 +19,10 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.StringTokenizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -134,6 +138,9 @@ public class GCVS4Catalog implements ICatalog {
 
     private final IConfiguration configuration;
 
+    // Designations of all stars, read on first use
+    private volatile String[] targetNames = null;
+
     public GCVS4Catalog(File catalogDir, IConfiguration configuration) {
 
         this.configuration = configuration;
@@ -165,6 +172,20 @@ public class GCVS4Catalog implements ICatalog {
         return new GCVS4SearchPanel(this, configuration);
     }
 
+    @Override
+    public String[] getTargetNames() {
+
+        if (this.targetNames == null) {
+            synchronized (this) {
+                if (this.targetNames == null) {
+                    this.targetNames = this.readTargetNames();
+                }
+            }
+        }
+
+        return this.targetNames.clone();
+    }
+
     @Override
     public ITarget getTarget(String objectName) {
 
@@ -197,6 +218,49 @@ public class GCVS4Catalog implements ICatalog {
         return target;
     }
 
+    // Reads the designation of each line at once, instead of seeking line by line
+    private String[] readTargetNames() {
+
+        if (!this.catalogFile.exists()) {
+            return new String[0];
+        }
+
+        byte[] catalog;
+        try {
+            catalog = Files.readAllBytes(this.catalogFile.toPath());
+        } catch (IOException ioe) {
+            LOGGER.error("Error while accessing catalog file: {}", this.catalogFile, ioe);
+            return new String[0];
+        }
+
+        Set<String> names = new LinkedHashSet<>();
+        for (int line = GCVS4Catalog.LINES_ALL[0] - 1; line <= GCVS4Catalog.LINES_ALL[1]; line++) {
+            int pointerPos = (GCVS4Catalog.CATALOG_LINE_SIZE * line) + 8; // Position of name in line
+            if (pointerPos + 9 > catalog.length) {
+                break;
+            }
+
+            String name = new String(catalog, pointerPos, 9, StandardCharsets.US_ASCII);
+            name = name.replace('*', ' ');
+            name = this.removeWhiteSpaces(name);
+            if (name.length() < 3) { // Empty line
+                continue;
+            }
+
+            // Only names which can be found by searchByName (designation and constellation)
+            try {
+                Constellation.getConstellationByAbbOrName(name.substring(name.length() - 3));
+            } catch (IllegalArgumentException iae) {
+                continue;
+            }
+            names.add(name);
+        }
+
+        LOGGER.debug("Read {} target names of catalog {}", names.size(), GCVS4Catalog.CATALOG_ABB);
+
+        return names.toArray(new String[] {});
+    }
+
     private int searchByName(String objectName) {
 
         int[] lines = null;